@@ -0,0 +1,232 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.ibm.bi.dml.benchmarks;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.apache.wink.json4j.JSONArray;
+import org.apache.wink.json4j.JSONException;
+import org.apache.wink.json4j.JSONObject;
+
+/**
+ * Baseline comparison of two JMH result files (obtained via '-rf json'), 
+ * e.g., of the last release and the current snapshot. For every benchmark 
+ * and parameter configuration contained in both files, the report shows the
+ * relative change of the primary score. A configuration is reported as 
+ * regression if it is slower by more than the given threshold (default 10%)
+ * and the difference exceeds the sum of both score errors (99.9% confidence
+ * intervals), in order to not flag measurement noise.
+ * 
+ * Usage: BenchmarkReport &lt;baseline.json&gt; &lt;current.json&gt; [threshold]
+ * 
+ * The exit code is 1 if any regression was found, which allows to use the 
+ * report as a release check.
+ */
+public class BenchmarkReport 
+{
+	public static final double DEFAULT_THRESHOLD = 0.1;
+	
+	/**
+	 * 
+	 * @param args
+	 * @throws Exception
+	 */
+	public static void main(String[] args) 
+		throws Exception
+	{
+		if( args.length < 2 || args.length > 3 ) {
+			System.err.println("Usage: BenchmarkReport <baseline.json> <current.json> [threshold]");
+			System.exit(-1);
+		}
+		
+		double threshold = (args.length==3) ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+		TreeMap<String, Score> baseline = readResults(args[0]);
+		TreeMap<String, Score> current = readResults(args[1]);
+		
+		int regressions = printReport(baseline, current, threshold);
+		System.exit( (regressions > 0) ? 1 : 0 );
+	}
+	
+	/**
+	 * Prints the comparison of baseline and current results to stdout and
+	 * returns the number of regressions.
+	 * 
+	 * @param baseline
+	 * @param current
+	 * @param threshold
+	 * @return
+	 */
+	public static int printReport(TreeMap<String, Score> baseline, TreeMap<String, Score> current, double threshold)
+	{
+		int regressions = 0;
+		List<String> missing = new ArrayList<String>();
+		
+		System.out.println(String.format("%-90s %14s %14s %9s", "Benchmark", "Baseline", "Current", "Change"));
+		for( Entry<String, Score> e : baseline.entrySet() )
+		{
+			Score base = e.getValue();
+			Score cur = current.get(e.getKey());
+			if( cur == null ) {
+				missing.add(e.getKey());
+				continue;
+			}
+			
+			double change = cur.getRelativeSlowdown(base);
+			boolean regression = change > threshold
+				&& Math.abs(cur.score-base.score) > (cur.error+base.error);
+			regressions += regression ? 1 : 0;
+			
+			System.out.println(String.format("%-90s %14.3f %14.3f %8.1f%% %s", e.getKey(), 
+				base.score, cur.score, change*100, regression ? "REGRESSION" : ""));
+		}
+		
+		//report benchmarks without counterpart (added or removed benchmarks)
+		for( String key : current.keySet() )
+			if( !baseline.containsKey(key) )
+				System.out.println(String.format("%-90s %14s %14.3f", key, "-", current.get(key).score));
+		for( String key : missing )
+			System.out.println(String.format("%-90s %14.3f %14s", key, baseline.get(key).score, "-"));
+		
+		System.out.println("Found "+regressions+" regression(s) with threshold "+threshold+".");
+		
+		return regressions;
+	}
+	
+	/**
+	 * Reads a JMH json result file into a sorted map of benchmark keys 
+	 * (benchmark name and parameter configuration) to scores.
+	 * 
+	 * @param fname
+	 * @return
+	 * @throws IOException
+	 */
+	public static TreeMap<String, Score> readResults(String fname) 
+		throws IOException
+	{
+		TreeMap<String, Score> ret = new TreeMap<String, Score>();
+		
+		Reader reader = new FileReader(fname);
+		try 
+		{
+			JSONArray results = new JSONArray(reader);
+			for( int i=0; i<results.length(); i++ ) {
+				JSONObject res = results.getJSONObject(i);
+				JSONObject metric = res.getJSONObject("primaryMetric");
+				String key = res.getString("benchmark") + getParameterString(res);
+				ret.put(key, new Score(res.getString("mode"), metric.getDouble("score"), 
+						getScoreError(metric), metric.getString("scoreUnit")));
+			}
+		}
+		catch(JSONException ex) {
+			throw new IOException("Failed to parse benchmark results '"+fname+"'.", ex);
+		}
+		finally {
+			reader.close();
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param res
+	 * @return
+	 * @throws JSONException
+	 */
+	private static String getParameterString(JSONObject res) 
+		throws JSONException
+	{
+		if( !res.containsKey("params") )
+			return "";
+		
+		//sort parameter names for deterministic keys
+		JSONObject params = res.getJSONObject("params");
+		List<String> names = new ArrayList<String>();
+		for( Object name : params.keySet() )
+			names.add(String.valueOf(name));
+		Collections.sort(names);
+		
+		StringBuilder sb = new StringBuilder();
+		sb.append("(");
+		for( int i=0; i<names.size(); i++ ) {
+			if( i > 0 )
+				sb.append(",");
+			sb.append(names.get(i));
+			sb.append("=");
+			sb.append(params.getString(names.get(i)));
+		}
+		sb.append(")");
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * 
+	 * @param metric
+	 * @return
+	 * @throws JSONException
+	 */
+	private static double getScoreError(JSONObject metric) 
+		throws JSONException
+	{
+		//note: the error is reported as "NaN" if there are too few iterations
+		if( !metric.containsKey("scoreError") )
+			return 0;
+		double err = metric.getDouble("scoreError");
+		return Double.isNaN(err) ? 0 : err;
+	}
+	
+	/**
+	 * Primary score of a single benchmark configuration.
+	 */
+	public static class Score
+	{
+		public final String mode;
+		public final double score;
+		public final double error;
+		public final String unit;
+		
+		public Score(String mode, double score, double error, String unit) {
+			this.mode = mode;
+			this.score = score;
+			this.error = error;
+			this.unit = unit;
+		}
+		
+		/**
+		 * Relative slowdown of this score compared to the given baseline score,
+		 * i.e., positive values indicate a regression, independent of the 
+		 * benchmark mode (higher throughput, but lower time is better).
+		 * 
+		 * @param base
+		 * @return
+		 */
+		public double getRelativeSlowdown(Score base) {
+			if( "thrpt".equals(mode) )
+				return (base.score - score) / score;
+			else //avgt, sample, ss
+				return (score - base.score) / base.score;
+		}
+	}
+}
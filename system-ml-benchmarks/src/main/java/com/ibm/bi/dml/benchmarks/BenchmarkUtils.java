@@ -0,0 +1,102 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.ibm.bi.dml.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.ibm.bi.dml.runtime.DMLRuntimeException;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.util.LocalFileUtils;
+
+/**
+ * Common utilities of the kernel benchmarks, i.e., creation of deterministic 
+ * input data and of local scratch space for the I/O benchmarks.
+ * 
+ */
+public class BenchmarkUtils 
+{
+	//fixed seed for reproducible inputs across baseline and current runs
+	public static final long SEED = 7;
+	
+	public static final double SPARSITY_DENSE = 1.0;
+	public static final double SPARSITY_SPARSE = 0.01;
+	
+	/**
+	 * Creates a random matrix block with uniformly distributed values in [0,1]
+	 * and the given sparsity, in its default (dense or sparse) representation.
+	 * 
+	 * @param rows
+	 * @param cols
+	 * @param sparsity
+	 * @param seed
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock createRandomMatrix(int rows, int cols, double sparsity, long seed) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock ret = MatrixBlock.randOperations(rows, cols, sparsity, 0, 1, "uniform", seed);
+		ret.examSparsity();
+		return ret;
+	}
+	
+	/**
+	 * Creates a random matrix of positive integer group ids in [1,ngroups].
+	 * 
+	 * @param rows
+	 * @param ngroups
+	 * @param seed
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock createGroupVector(int rows, int ngroups, long seed) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock ret = MatrixBlock.randOperations(rows, 1, 1.0, 1, ngroups+1, "uniform", seed);
+		for( int i=0; i<rows; i++ )
+			ret.quickSetValue(i, 0, Math.min(Math.floor(ret.quickGetValue(i, 0)), ngroups));
+		return ret;
+	}
+	
+	/**
+	 * Creates a new local scratch directory for benchmark outputs.
+	 * 
+	 * @param prefix
+	 * @return
+	 * @throws IOException
+	 */
+	public static String createScratchDir(String prefix) 
+		throws IOException
+	{
+		File dir = File.createTempFile(prefix, "");
+		if( !dir.delete() || !dir.mkdirs() )
+			throw new IOException("Failed to create benchmark scratch directory: "+dir.getAbsolutePath());
+		return dir.getAbsolutePath();
+	}
+	
+	/**
+	 * Deletes the given local scratch directory, including its content.
+	 * 
+	 * @param dir
+	 */
+	public static void deleteScratchDir(String dir)
+	{
+		if( dir != null )
+			LocalFileUtils.deleteFileIfExists(dir);
+	}
+}
@@ -0,0 +1,148 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.ibm.bi.dml.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.bi.dml.runtime.functionobjects.Builtin;
+import com.ibm.bi.dml.runtime.functionobjects.CM;
+import com.ibm.bi.dml.runtime.instructions.InstructionUtils;
+import com.ibm.bi.dml.runtime.instructions.cp.CM_COV_Object;
+import com.ibm.bi.dml.runtime.instructions.mr.GroupedAggregateInstruction;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixIndexes;
+import com.ibm.bi.dml.runtime.matrix.operators.AggregateUnaryOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.CMOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import com.ibm.bi.dml.runtime.matrix.operators.Operator;
+import com.ibm.bi.dml.runtime.matrix.operators.UnaryOperator;
+
+/**
+ * Benchmarks of the LibMatrixAgg kernels: full, row and column aggregates,
+ * cumulative aggregates, as well as central moments and grouped aggregates 
+ * over column vectors.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MatrixAggBenchmark 
+{
+	@Param({"10000", "100000"})
+	public int rows;
+	
+	@Param({"100"})
+	public int cols;
+	
+	@Param({"1.0", "0.01"})
+	public double sparsity;
+	
+	@Param({"1", "8"})
+	public int threads;
+	
+	@Param({"100"})
+	public int ngroups;
+	
+	private MatrixBlock _X = null;  //rows x cols
+	private MatrixBlock _x = null;  //(rows*cols) x 1
+	private MatrixBlock _g = null;  //(rows*cols) x 1, groups
+	
+	@Setup
+	public void setup() 
+		throws Exception
+	{
+		_X = BenchmarkUtils.createRandomMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		_x = BenchmarkUtils.createRandomMatrix(rows*cols, 1, sparsity, BenchmarkUtils.SEED+1);
+		_g = BenchmarkUtils.createGroupVector(rows*cols, ngroups, BenchmarkUtils.SEED+2);
+	}
+	
+	@Benchmark
+	public MatrixBlock sum() 
+		throws Exception
+	{
+		return aggregate("uak+");
+	}
+	
+	@Benchmark
+	public MatrixBlock rowSums() 
+		throws Exception
+	{
+		return aggregate("uark+");
+	}
+	
+	@Benchmark
+	public MatrixBlock colSums() 
+		throws Exception
+	{
+		return aggregate("uack+");
+	}
+	
+	@Benchmark
+	public MatrixBlock cumsum() 
+		throws Exception
+	{
+		UnaryOperator op = new UnaryOperator(Builtin.getBuiltinFnObject("ucumk+"), threads);
+		return (MatrixBlock) _X.unaryOperations(op, new MatrixBlock());
+	}
+	
+	@Benchmark
+	public CM_COV_Object variance() 
+		throws Exception
+	{
+		CMOperator op = new CMOperator(CM.getCMFnObject(AggregateOperationTypes.VARIANCE), 
+				AggregateOperationTypes.VARIANCE, threads);
+		return _x.cmOperations(op, threads);
+	}
+	
+	@Benchmark
+	public MatrixBlock groupedSum() 
+		throws Exception
+	{
+		Operator op = GroupedAggregateInstruction.parseGroupedAggOperator("sum", null);
+		return (MatrixBlock) _g.groupedAggOperations(_x, null, new MatrixBlock(), ngroups, op, threads);
+	}
+	
+	/**
+	 * 
+	 * @param opcode
+	 * @return
+	 * @throws Exception
+	 */
+	private MatrixBlock aggregate(String opcode) 
+		throws Exception
+	{
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		op.setNumThreads(threads);
+		return (MatrixBlock) _X.aggregateUnaryOperations(op, new MatrixBlock(), 
+				_X.getNumRows(), _X.getNumColumns(), new MatrixIndexes(1, 1), true);
+	}
+}
@@ -0,0 +1,128 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.ibm.bi.dml.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.bi.dml.runtime.instructions.InstructionUtils;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.operators.BinaryOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.ScalarOperator;
+
+/**
+ * Benchmarks of the LibMatrixBincell kernels: cell-wise matrix-matrix, 
+ * matrix-vector and matrix-scalar operations.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MatrixBincellBenchmark 
+{
+	@Param({"10000", "100000"})
+	public int rows;
+	
+	@Param({"100"})
+	public int cols;
+	
+	@Param({"1.0", "0.01"})
+	public double sparsity;
+	
+	@Param({"1", "8"})
+	public int threads;
+	
+	private MatrixBlock _X = null;  //rows x cols, given sparsity
+	private MatrixBlock _Y = null;  //rows x cols, given sparsity
+	private MatrixBlock _v = null;  //1 x cols, dense
+	
+	@Setup
+	public void setup() 
+		throws Exception
+	{
+		_X = BenchmarkUtils.createRandomMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		_Y = BenchmarkUtils.createRandomMatrix(rows, cols, sparsity, BenchmarkUtils.SEED+1);
+		_v = BenchmarkUtils.createRandomMatrix(1, cols, BenchmarkUtils.SPARSITY_DENSE, BenchmarkUtils.SEED+2);
+	}
+	
+	@Benchmark
+	public MatrixBlock plus() 
+		throws Exception
+	{
+		return binary("+", _X, _Y);
+	}
+	
+	@Benchmark
+	public MatrixBlock multiply() 
+		throws Exception
+	{
+		return binary("*", _X, _Y);
+	}
+	
+	@Benchmark
+	public MatrixBlock greater() 
+		throws Exception
+	{
+		return binary(">", _X, _Y);
+	}
+	
+	@Benchmark
+	public MatrixBlock minusRowVector() 
+		throws Exception
+	{
+		return binary("-", _X, _v);
+	}
+	
+	@Benchmark
+	public MatrixBlock multiplyScalar() 
+		throws Exception
+	{
+		ScalarOperator op = InstructionUtils.parseScalarBinaryOperator("*", false, 7);
+		op.setNumThreads(threads);
+		return (MatrixBlock) _X.scalarOperations(op, new MatrixBlock());
+	}
+	
+	/**
+	 * 
+	 * @param opcode
+	 * @param m1
+	 * @param m2
+	 * @return
+	 * @throws Exception
+	 */
+	private MatrixBlock binary(String opcode, MatrixBlock m1, MatrixBlock m2) 
+		throws Exception
+	{
+		BinaryOperator op = InstructionUtils.parseBinaryOperator(opcode);
+		op.setNumThreads(threads);
+		return (MatrixBlock) m1.binaryOperations(op, m2, new MatrixBlock());
+	}
+}
@@ -0,0 +1,134 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.ibm.bi.dml.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.bi.dml.parser.DMLTranslator;
+import com.ibm.bi.dml.runtime.io.MatrixReader;
+import com.ibm.bi.dml.runtime.io.MatrixWriter;
+import com.ibm.bi.dml.runtime.io.ReaderBinaryBlock;
+import com.ibm.bi.dml.runtime.io.ReaderBinaryBlockParallel;
+import com.ibm.bi.dml.runtime.io.ReaderTextCSV;
+import com.ibm.bi.dml.runtime.io.ReaderTextCSVParallel;
+import com.ibm.bi.dml.runtime.io.WriterBinaryBlock;
+import com.ibm.bi.dml.runtime.io.WriterBinaryBlockParallel;
+import com.ibm.bi.dml.runtime.io.WriterTextCSV;
+import com.ibm.bi.dml.runtime.matrix.data.CSVFileFormatProperties;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.util.LocalFileUtils;
+
+/**
+ * Benchmarks of the local binary block reader/writer and of the CSV reader.
+ * The sequential and parallel readers/writers are selected explicitly; the 
+ * degree of parallelism of the latter is given by the configured parallel 
+ * read/write parallelism (number of virtual cores by default).
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MatrixIOBenchmark 
+{
+	@Param({"10000", "100000"})
+	public int rows;
+	
+	@Param({"100"})
+	public int cols;
+	
+	@Param({"1.0", "0.01"})
+	public double sparsity;
+	
+	@Param({"false", "true"})
+	public boolean parallel;
+	
+	private MatrixBlock _X = null;
+	private String _dir = null;
+	private String _fnameBinary = null;
+	private String _fnameCSV = null;
+	private String _fnameOut = null;
+	
+	@Setup(Level.Trial)
+	public void setup() 
+		throws Exception
+	{
+		_X = BenchmarkUtils.createRandomMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		
+		//write inputs of read benchmarks (always sequential, i.e., single file)
+		_dir = BenchmarkUtils.createScratchDir("systemml-iobench");
+		_fnameBinary = _dir + "/X.bin";
+		_fnameCSV = _dir + "/X.csv";
+		_fnameOut = _dir + "/Y.bin";
+		long nnz = _X.getNonZeros();
+		new WriterBinaryBlock(-1).writeMatrixToHDFS(_X, _fnameBinary, rows, cols, 
+				DMLTranslator.DMLBlockSize, DMLTranslator.DMLBlockSize, nnz);
+		new WriterTextCSV(new CSVFileFormatProperties()).writeMatrixToHDFS(_X, _fnameCSV, rows, cols, 
+				DMLTranslator.DMLBlockSize, DMLTranslator.DMLBlockSize, nnz);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		BenchmarkUtils.deleteScratchDir(_dir);
+	}
+	
+	@Benchmark
+	public MatrixBlock readBinaryBlock() 
+		throws Exception
+	{
+		MatrixReader reader = parallel ? new ReaderBinaryBlockParallel(true) : new ReaderBinaryBlock(true);
+		return reader.readMatrixFromHDFS(_fnameBinary, rows, cols, 
+				DMLTranslator.DMLBlockSize, DMLTranslator.DMLBlockSize, _X.getNonZeros());
+	}
+	
+	@Benchmark
+	public void writeBinaryBlock() 
+		throws Exception
+	{
+		MatrixWriter writer = parallel ? new WriterBinaryBlockParallel(-1) : new WriterBinaryBlock(-1);
+		writer.writeMatrixToHDFS(_X, _fnameOut, rows, cols, 
+				DMLTranslator.DMLBlockSize, DMLTranslator.DMLBlockSize, _X.getNonZeros());
+		LocalFileUtils.deleteFileIfExists(_fnameOut);
+	}
+	
+	@Benchmark
+	public MatrixBlock readCSV() 
+		throws Exception
+	{
+		CSVFileFormatProperties props = new CSVFileFormatProperties();
+		MatrixReader reader = parallel ? new ReaderTextCSVParallel(props) : new ReaderTextCSV(props);
+		return reader.readMatrixFromHDFS(_fnameCSV, rows, cols, 
+				DMLTranslator.DMLBlockSize, DMLTranslator.DMLBlockSize, _X.getNonZeros());
+	}
+}
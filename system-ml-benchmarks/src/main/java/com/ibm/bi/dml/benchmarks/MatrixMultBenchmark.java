@@ -0,0 +1,142 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.ibm.bi.dml.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.bi.dml.lops.MMTSJ.MMTSJType;
+import com.ibm.bi.dml.lops.MapMultChain.ChainType;
+import com.ibm.bi.dml.lops.WeightedDivMM.WDivMMType;
+import com.ibm.bi.dml.lops.WeightedSquaredLoss.WeightsType;
+import com.ibm.bi.dml.runtime.functionobjects.Multiply;
+import com.ibm.bi.dml.runtime.functionobjects.Plus;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.operators.AggregateBinaryOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.AggregateOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.QuaternaryOperator;
+
+/**
+ * Benchmarks of the LibMatrixMult kernels: matrix-matrix and matrix-vector
+ * multiplication, transpose-self matrix multiplication (tsmm), matrix 
+ * multiplication chains (mmchain), as well as the weighted squared loss 
+ * (wsloss) and weighted divide matrix multiplication (wdivmm) used by ALS.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MatrixMultBenchmark 
+{
+	@Param({"2000", "10000"})
+	public int rows;
+	
+	@Param({"1000"})
+	public int cols;
+	
+	@Param({"1.0", "0.01"})
+	public double sparsity;
+	
+	@Param({"1", "8"})
+	public int threads;
+	
+	//rank of the factors in wsloss and wdivmm
+	@Param({"10"})
+	public int rank;
+	
+	private MatrixBlock _X = null;  //rows x cols, given sparsity
+	private MatrixBlock _Y = null;  //cols x cols, dense
+	private MatrixBlock _v = null;  //cols x 1, dense
+	private MatrixBlock _U = null;  //rows x rank, dense
+	private MatrixBlock _V = null;  //cols x rank, dense
+	private MatrixBlock _W = null;  //rows x cols, given sparsity
+	
+	private AggregateBinaryOperator _mmop = null;
+	
+	@Setup
+	public void setup() 
+		throws Exception
+	{
+		_X = BenchmarkUtils.createRandomMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		_Y = BenchmarkUtils.createRandomMatrix(cols, cols, BenchmarkUtils.SPARSITY_DENSE, BenchmarkUtils.SEED+1);
+		_v = BenchmarkUtils.createRandomMatrix(cols, 1, BenchmarkUtils.SPARSITY_DENSE, BenchmarkUtils.SEED+2);
+		_U = BenchmarkUtils.createRandomMatrix(rows, rank, BenchmarkUtils.SPARSITY_DENSE, BenchmarkUtils.SEED+3);
+		_V = BenchmarkUtils.createRandomMatrix(cols, rank, BenchmarkUtils.SPARSITY_DENSE, BenchmarkUtils.SEED+4);
+		_W = BenchmarkUtils.createRandomMatrix(rows, cols, sparsity, BenchmarkUtils.SEED+5);
+		
+		AggregateOperator agg = new AggregateOperator(0, Plus.getPlusFnObject());
+		_mmop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), agg, threads);
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixMult() 
+		throws Exception
+	{
+		return (MatrixBlock) _X.aggregateBinaryOperations(_X, _Y, new MatrixBlock(), _mmop);
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixVectorMult() 
+		throws Exception
+	{
+		return (MatrixBlock) _X.aggregateBinaryOperations(_X, _v, new MatrixBlock(), _mmop);
+	}
+	
+	@Benchmark
+	public MatrixBlock tsmm() 
+		throws Exception
+	{
+		return _X.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT, threads);
+	}
+	
+	@Benchmark
+	public MatrixBlock mmchain() 
+		throws Exception
+	{
+		return _X.chainMatrixMultOperations(_v, null, new MatrixBlock(), ChainType.XtXv, threads);
+	}
+	
+	@Benchmark
+	public MatrixBlock wsloss() 
+		throws Exception
+	{
+		QuaternaryOperator qop = new QuaternaryOperator(WeightsType.POST);
+		return (MatrixBlock) _X.quaternaryOperations(qop, _U, _V, _W, new MatrixBlock(), threads);
+	}
+	
+	@Benchmark
+	public MatrixBlock wdivmm() 
+		throws Exception
+	{
+		QuaternaryOperator qop = new QuaternaryOperator(WDivMMType.DIV_LEFT);
+		return (MatrixBlock) _W.quaternaryOperations(qop, _U, _V, null, new MatrixBlock(), threads);
+	}
+}
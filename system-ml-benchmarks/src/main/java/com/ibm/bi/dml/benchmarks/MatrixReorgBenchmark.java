@@ -0,0 +1,102 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.ibm.bi.dml.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.bi.dml.runtime.functionobjects.SortIndex;
+import com.ibm.bi.dml.runtime.functionobjects.SwapIndex;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.operators.ReorgOperator;
+
+/**
+ * Benchmarks of the LibMatrixReorg kernels: transpose, order (sort by 
+ * column, with and without index return), and removeEmpty.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MatrixReorgBenchmark 
+{
+	@Param({"10000", "100000"})
+	public int rows;
+	
+	@Param({"100"})
+	public int cols;
+	
+	@Param({"1.0", "0.01"})
+	public double sparsity;
+	
+	@Param({"1", "8"})
+	public int threads;
+	
+	private MatrixBlock _X = null;  //rows x cols, given sparsity
+	
+	@Setup
+	public void setup() 
+		throws Exception
+	{
+		_X = BenchmarkUtils.createRandomMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+	}
+	
+	@Benchmark
+	public MatrixBlock transpose() 
+		throws Exception
+	{
+		ReorgOperator op = new ReorgOperator(SwapIndex.getSwapIndexFnObject(), threads);
+		return (MatrixBlock) _X.reorgOperations(op, new MatrixBlock(), 0, 0, 0);
+	}
+	
+	@Benchmark
+	public MatrixBlock order() 
+		throws Exception
+	{
+		ReorgOperator op = new ReorgOperator(SortIndex.getSortIndexFnObject(1, false, false), threads);
+		return (MatrixBlock) _X.reorgOperations(op, new MatrixBlock(), 0, 0, 0);
+	}
+	
+	@Benchmark
+	public MatrixBlock orderIndexReturn() 
+		throws Exception
+	{
+		ReorgOperator op = new ReorgOperator(SortIndex.getSortIndexFnObject(1, true, true), threads);
+		return (MatrixBlock) _X.reorgOperations(op, new MatrixBlock(), 0, 0, 0);
+	}
+	
+	@Benchmark
+	public MatrixBlock removeEmptyRows() 
+		throws Exception
+	{
+		return _X.removeEmptyOperations(new MatrixBlock(), true, null, threads);
+	}
+}
@@ -81,6 +81,7 @@ import com.ibm.bi.dml.runtime.util.MapReduceTool;
 import com.ibm.bi.dml.utils.Explain;
 import com.ibm.bi.dml.utils.Explain.ExplainCounts;
 import com.ibm.bi.dml.utils.Explain.ExplainType;
+import com.ibm.bi.dml.utils.RuntimeMetrics;
 import com.ibm.bi.dml.utils.Statistics;
 import com.ibm.bi.dml.yarn.DMLAppMasterUtils;
 // import com.ibm.bi.dml.utils.visualize.DotGraph;
@@ -669,6 +670,12 @@ public class DMLScript
 		{  
 			initHadoopExecution( conf );
 			
+			//enable optional runtime metrics (latency histograms, jmx)
+			if( conf.getBooleanValue(DMLConfig.RUNTIME_METRICS) ) {
+				RuntimeMetrics.resetMetrics();
+				RuntimeMetrics.enable(conf.getIntValue(DMLConfig.RUNTIME_METRICS_DUMP_INTERVAL));
+			}
+			
 			//run execute (w/ exception handling to ensure proper shutdown)
 			ec = ExecutionContextFactory.createContext(rtprog);
 			rtprog.execute( ec );  
@@ -683,6 +690,10 @@ public class DMLScript
 			//display statistics (incl caching stats if enabled)
 			Statistics.stopRunTimer();
 			LOG.info(Statistics.display());
+			if( RuntimeMetrics.isEnabled() ) {
+				LOG.info("Runtime metrics:\n" + RuntimeMetrics.display());
+				RuntimeMetrics.disable();
+			}
 			LOG.info("END DML run " + getDateTime() );
 			
 			//cleanup scratch_space and all working dirs
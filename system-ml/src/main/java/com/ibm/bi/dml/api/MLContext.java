@@ -77,6 +77,7 @@ import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
 import com.ibm.bi.dml.runtime.matrix.data.MatrixIndexes;
 import com.ibm.bi.dml.runtime.matrix.data.OutputInfo;
 import com.ibm.bi.dml.utils.Explain;
+import com.ibm.bi.dml.utils.RuntimeMetrics;
 import com.ibm.bi.dml.utils.Statistics;
 import com.ibm.bi.dml.utils.Explain.ExplainCounts;
 
@@ -1334,6 +1335,15 @@ public class MLContext {
 		
 		// System.out.println(Explain.explain(_rtprog));
 		
+		//enable optional runtime metrics (latency histograms, jmx), which are
+		//kept until the next execution in order to allow for jmx inspection
+		if( config.getBooleanValue(DMLConfig.RUNTIME_METRICS) ) {
+			RuntimeMetrics.resetMetrics();
+			RuntimeMetrics.enable(config.getIntValue(DMLConfig.RUNTIME_METRICS_DUMP_INTERVAL));
+		}
+		else if( RuntimeMetrics.isEnabled() )
+			RuntimeMetrics.disable();
+		
 		//core execute runtime program	
 		_rtprog.execute( ec );
 		
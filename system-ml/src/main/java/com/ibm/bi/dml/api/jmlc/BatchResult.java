@@ -0,0 +1,117 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.api.jmlc;
+
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * JMLC (Java Machine Learning Connector) API:
+ * 
+ * Result of a batch execution over stacked row vectors, where the i-th
+ * output row corresponds to the i-th input row. Rows are exposed as 
+ * lightweight views over the shared output block (no copies).
+ */
+public class BatchResult 
+{
+	private MatrixBlock _out = null;
+	
+	protected BatchResult( MatrixBlock out )
+	{
+		_out = out;
+	}
+	
+	public int getNumRows()
+	{
+		return _out.getNumRows();
+	}
+	
+	public int getNumColumns()
+	{
+		return _out.getNumColumns();
+	}
+	
+	/**
+	 * 
+	 * @param i
+	 * @param j
+	 * @return
+	 */
+	public double getValue(int i, int j)
+	{
+		return _out.quickGetValue(i, j);
+	}
+	
+	/**
+	 * Returns a view of the result row of the i-th request.
+	 * 
+	 * @param i
+	 * @return
+	 */
+	public ResultRow getRow(int i)
+	{
+		return new ResultRow(this, i);
+	}
+	
+	/**
+	 * Returns the underlying output matrix block.
+	 * 
+	 * @return
+	 */
+	public MatrixBlock getMatrixBlock()
+	{
+		return _out;
+	}
+	
+	/**
+	 * View of a single result row of a batch result.
+	 */
+	public static class ResultRow
+	{
+		private BatchResult _res = null;
+		private int _row = -1;
+		
+		protected ResultRow( BatchResult res, int row )
+		{
+			_res = res;
+			_row = row;
+		}
+		
+		public int getNumColumns()
+		{
+			return _res.getNumColumns();
+		}
+		
+		public double getValue(int j)
+		{
+			return _res.getValue(_row, j);
+		}
+		
+		/**
+		 * Copies the row values into a new double array.
+		 * 
+		 * @return
+		 */
+		public double[] toArray()
+		{
+			double[] ret = new double[getNumColumns()];
+			for( int j=0; j<ret.length; j++ )
+				ret[j] = getValue(j);
+			return ret;
+		}
+	}
+}
@@ -0,0 +1,250 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.api.jmlc;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.ibm.bi.dml.api.DMLException;
+import com.ibm.bi.dml.api.jmlc.BatchResult.ResultRow;
+
+/**
+ * JMLC (Java Machine Learning Connector) API:
+ * 
+ * Micro-batching scorer for low-latency serving of many small requests. 
+ * Individual row vectors are queued and stacked into a single input matrix,
+ * which is scored by one execution of the prepared script as soon as either
+ * the maximum batch size is reached or the oldest queued request waited for 
+ * the maximum latency. 
+ * 
+ * NOTE: The scorer owns the given prepared script, i.e., the script must
+ * not be used concurrently by other threads.
+ */
+public class BatchScorer 
+{
+	private static final Log LOG = LogFactory.getLog(BatchScorer.class.getName());
+	
+	private final PreparedScript _pstmt;
+	private final String _invar;
+	private final String _outvar;
+	private final int _maxBatchSize;
+	private final long _maxLatency; //in ns
+	
+	private final LinkedBlockingQueue<ScoreRequest> _queue;
+	private final Thread _worker;
+	private volatile boolean _closed = false;
+	
+	/**
+	 * 
+	 * @param pstmt prepared script, taking the stacked input and producing one output row per input row
+	 * @param invar input variable name
+	 * @param outvar output variable name
+	 * @param maxBatchSize maximum number of rows per batch
+	 * @param maxLatencyMs maximum time in ms a request waits for a batch to fill up
+	 */
+	public BatchScorer( PreparedScript pstmt, String invar, String outvar, int maxBatchSize, long maxLatencyMs )
+	{
+		_pstmt = pstmt;
+		_invar = invar;
+		_outvar = outvar;
+		_maxBatchSize = Math.max(maxBatchSize, 1);
+		_maxLatency = TimeUnit.MILLISECONDS.toNanos(Math.max(maxLatencyMs, 0));
+		_queue = new LinkedBlockingQueue<ScoreRequest>();
+		
+		_worker = new Thread(new BatchWorker(), "JMLC-BatchScorer");
+		_worker.setDaemon(true);
+		_worker.start();
+	}
+	
+	/**
+	 * Enqueues the given row vector for scoring.
+	 * 
+	 * @param row
+	 * @return future of the result row
+	 * @throws DMLException
+	 */
+	public synchronized Future<ResultRow> score( double[] row ) 
+		throws DMLException
+	{
+		//check and enqueue atomically wrt close, which drains the queue
+		if( _closed )
+			throw new DMLException("Batch scorer already closed.");
+		
+		ScoreRequest req = new ScoreRequest(row);
+		_queue.add(req);
+		return req;
+	}
+	
+	/**
+	 * Stops the batch worker and fails all pending requests.
+	 */
+	public synchronized void close()
+	{
+		_closed = true;
+		_worker.interrupt();
+		
+		ArrayList<ScoreRequest> pending = new ArrayList<ScoreRequest>();
+		_queue.drainTo(pending);
+		for( ScoreRequest req : pending )
+			req.setError(new DMLException("Batch scorer closed."));
+	}
+	
+	/**
+	 * 
+	 * @param batch
+	 */
+	private void executeBatch( ArrayList<ScoreRequest> batch )
+	{
+		try
+		{
+			ArrayList<double[]> rows = new ArrayList<double[]>(batch.size());
+			for( ScoreRequest req : batch )
+				rows.add(req._row);
+			
+			BatchResult res = _pstmt.executeBatch(_invar, rows, _outvar);
+			for( int i=0; i<batch.size(); i++ )
+				batch.get(i).setResult(res.getRow(i));
+		}
+		catch(Exception ex)
+		{
+			LOG.error("Failed to score batch of "+batch.size()+" requests.", ex);
+			for( ScoreRequest req : batch )
+				req.setError(ex);
+		}
+	}
+	
+	/**
+	 * Worker that collects and executes batches until closed.
+	 */
+	private class BatchWorker implements Runnable
+	{
+		@Override
+		public void run() 
+		{
+			ArrayList<ScoreRequest> batch = new ArrayList<ScoreRequest>();
+			
+			while( !_closed )
+			{
+				try
+				{
+					//wait for first request, which defines the batch deadline
+					ScoreRequest first = _queue.take();
+					batch.add(first);
+					long deadline = first._time + _maxLatency;
+					
+					//collect requests until batch full or deadline reached
+					while( batch.size() < _maxBatchSize ) {
+						long remaining = deadline - System.nanoTime();
+						ScoreRequest req = (remaining > 0) ? 
+							_queue.poll(remaining, TimeUnit.NANOSECONDS) : _queue.poll();
+						if( req == null )
+							break;
+						batch.add(req);
+					}
+					
+					executeBatch(batch);
+				}
+				catch(InterruptedException ex)
+				{
+					//closed, fail current partial batch
+					for( ScoreRequest req : batch )
+						req.setError(new DMLException("Batch scorer closed."));
+				}
+				finally
+				{
+					batch.clear();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Single scoring request, which also serves as future of its result.
+	 */
+	private static class ScoreRequest implements Future<ResultRow>
+	{
+		private final double[] _row;
+		private final long _time;
+		private final CountDownLatch _done = new CountDownLatch(1);
+		private volatile ResultRow _result = null;
+		private volatile Exception _error = null;
+		
+		public ScoreRequest( double[] row ) {
+			_row = row;
+			_time = System.nanoTime();
+		}
+		
+		public void setResult( ResultRow result ) {
+			_result = result;
+			_done.countDown();
+		}
+		
+		public void setError( Exception error ) {
+			_error = error;
+			_done.countDown();
+		}
+		
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return false;
+		}
+		
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+		
+		@Override
+		public boolean isDone() {
+			return _done.getCount() == 0;
+		}
+		
+		@Override
+		public ResultRow get() 
+			throws InterruptedException, ExecutionException 
+		{
+			_done.await();
+			return getResult();
+		}
+		
+		@Override
+		public ResultRow get(long timeout, TimeUnit unit) 
+			throws InterruptedException, ExecutionException, TimeoutException 
+		{
+			if( !_done.await(timeout, unit) )
+				throw new TimeoutException();
+			return getResult();
+		}
+		
+		private ResultRow getResult() 
+			throws ExecutionException
+		{
+			if( _error != null )
+				throw new ExecutionException(_error);
+			return _result;
+		}
+	}
+}
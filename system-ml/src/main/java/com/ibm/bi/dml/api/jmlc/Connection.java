@@ -23,7 +23,12 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -55,19 +60,66 @@ import com.ibm.bi.dml.runtime.util.DataConverter;
  * NOTES: 
  *   * Currently fused API and implementation in order to reduce complexity. 
  *   * See SystemTMulticlassSVMScoreTest for an usage example. 
+ *   * Connections are thread-safe and prepared scripts can be executed concurrently,
+ *     as long as every thread uses its own prepared script (cheap via the plan cache).
+ *     The configuration is scoped per connection and installed thread-locally during
+ *     compilation and execution. Limitations: runtime statistics are process-global
+ *     (and hence aggregated over all concurrent executions), and dynamic recompilation 
+ *     serializes the deep copy of the shared hop dags (synchronized on the hops).
  */
 public class Connection 
 {
+	//default number of compiled programs kept in the plan cache
+	public static final int DEFAULT_PLAN_CACHE_SIZE = 32;
+	
+	//global lock for compilation (parser and compiler rely on static state),
+	//not required for the execution of prepared scripts
+	private static final Object _compileLock = new Object();
 	
 	private DMLConfig _conf = null;
 	
+	//bounded LRU cache of compiled scripts (keyed by script, args, inputs, outputs)
+	private PlanCache _planCache = null;
+	private final AtomicLong _planCacheHits = new AtomicLong(0);
+	private final AtomicLong _planCacheMisses = new AtomicLong(0);
+	private final AtomicLong _planCacheCompileTime = new AtomicLong(0); //in ns
+	
 	/**
 	 * Connection constructor, starting point for any other JMLC API calls.
 	 * 
 	 */
 	public Connection()
+	{
+		this(DEFAULT_PLAN_CACHE_SIZE);
+	}
+	
+	/**
+	 * Connection constructor with a custom plan cache size, where a size
+	 * of zero disables the caching of compiled scripts.
+	 * 
+	 * @param planCacheSize maximum number of cached compiled scripts
+	 */
+	public Connection(int planCacheSize)
 	{
 		//setup basic parameters for embedded execution
+		setupEmbeddedEnvironment();
+		
+		//create connection-specific default configuration
+		_conf = new DMLConfig();
+		
+		//create plan cache
+		_planCache = new PlanCache(Math.max(planCacheSize, 0));
+	}
+	
+	/**
+	 * Sets the process-wide parameters for embedded execution. This is done 
+	 * for every new connection because other APIs in the same JVM (e.g., 
+	 * DMLScript or MLContext) might have modified these settings. Since all 
+	 * connections require the same settings, concurrently executing scripts 
+	 * of other connections are not affected.
+	 */
+	private static synchronized void setupEmbeddedEnvironment()
+	{
 		DataExpression.REJECT_READ_UNKNOWN_SIZE = false;
 		DMLScript.rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
 		OptimizerUtils.PARALLEL_CP_READ_TEXTFORMATS = false;
@@ -76,9 +128,18 @@ public class Connection
 		OptimizerUtils.PARALLEL_CP_WRITE_BINARYFORMATS = false;
 		CacheableData.disableCaching();
 		
-		//create default configuration
-		_conf = new DMLConfig();
-		ConfigurationManager.setConfig(_conf);
+		//global fallback configuration for threads w/o connection scope
+		if( ConfigurationManager.getConfig() == null )
+			ConfigurationManager.setConfig(new DMLConfig());
+	}
+	
+	/**
+	 * Returns the configuration of this connection.
+	 * 
+	 * @return
+	 */
+	public DMLConfig getConfig() {
+		return _conf;
 	}
 	
 	/**
@@ -107,46 +168,132 @@ public class Connection
 	public PreparedScript prepareScript( String script, HashMap<String, String> args, String[] inputs, String[] outputs, boolean parsePyDML) 
 		throws DMLException 
 	{
-		//prepare arguments
+		//probe plan cache, and return cheap copy on hit
+		PlanCacheKey key = new PlanCacheKey(script, args, inputs, outputs, parsePyDML);
+		PreparedScript pscript = _planCache.getScript(key);
+		if( pscript != null ) {
+			_planCacheHits.incrementAndGet();
+			return new PreparedScript(pscript);
+		}
+		_planCacheMisses.incrementAndGet();
+		
+		//compile script and put into plan cache, unless the runtime program 
+		//is modified in place during execution (e.g., parfor optimizer, function 
+		//recompilation) and hence cannot be shared by concurrent executions
+		long t0 = System.nanoTime();
+		pscript = compileScript(script, args, inputs, outputs, parsePyDML);
+		_planCacheCompileTime.addAndGet(System.nanoTime()-t0);
+		if( !pscript.isShareable() )
+			return pscript;
+		_planCache.putScript(key, pscript);
 		
+		return new PreparedScript(pscript);
+	}
+	
+	/**
+	 * 
+	 * @param script
+	 * @param args
+	 * @param inputs
+	 * @param outputs
+	 * @param parsePyDML
+	 * @return
+	 * @throws DMLException
+	 */
+	private PreparedScript compileScript( String script, HashMap<String, String> args, String[] inputs, String[] outputs, boolean parsePyDML) 
+		throws DMLException 
+	{
 		//simplified compilation chain
 		Program rtprog = null;
-		try
+		synchronized( _compileLock )
 		{
-			//parsing
-			AParserWrapper parser = AParserWrapper.createParser(parsePyDML);
-			DMLProgram prog = parser.parse(null, script, args);
+			//re-establish embedded settings, which the compiler relies on
+			setupEmbeddedEnvironment();
+			ConfigurationManager.setLocalConfig(_conf);
+			try
+			{
+				//parsing
+				AParserWrapper parser = AParserWrapper.createParser(parsePyDML);
+				DMLProgram prog = parser.parse(null, script, args);
 			
-			//language validate
-			DMLTranslator dmlt = new DMLTranslator(prog);
-			dmlt.liveVariableAnalysis(prog);			
-			dmlt.validateParseTree(prog);
+				//language validate
+				DMLTranslator dmlt = new DMLTranslator(prog);
+				dmlt.liveVariableAnalysis(prog);			
+				dmlt.validateParseTree(prog);
 			
-			//hop construct/rewrite
-			dmlt.constructHops(prog);
-			dmlt.rewriteHopsDAG(prog);
+				//hop construct/rewrite
+				dmlt.constructHops(prog);
+				dmlt.rewriteHopsDAG(prog);
 			
-			//rewrite persistent reads/writes
-			RewriteRemovePersistentReadWrite rewrite = new RewriteRemovePersistentReadWrite(inputs, outputs);
-			ProgramRewriter rewriter2 = new ProgramRewriter(rewrite);
-			rewriter2.rewriteProgramHopDAGs(prog);
+				//rewrite persistent reads/writes
+				RewriteRemovePersistentReadWrite rewrite = new RewriteRemovePersistentReadWrite(inputs, outputs);
+				ProgramRewriter rewriter2 = new ProgramRewriter(rewrite);
+				rewriter2.rewriteProgramHopDAGs(prog);
 			
-			//lop construct and runtime prog generation
-			dmlt.constructLops(prog);
-			rtprog = prog.getRuntimeProgram(_conf);
+				//lop construct and runtime prog generation
+				dmlt.constructLops(prog);
+				rtprog = prog.getRuntimeProgram(_conf);
 			
-			//final cleanup runtime prog
-			JMLCUtils.cleanupRuntimeProgram(rtprog, outputs);
+				//final cleanup runtime prog
+				JMLCUtils.cleanupRuntimeProgram(rtprog, outputs);
 			
-			//System.out.println(Explain.explain(rtprog));
-		}
-		catch(Exception ex)
-		{
-			throw new DMLException(ex);
+				//System.out.println(Explain.explain(rtprog));
+			}
+			catch(Exception ex)
+			{
+				throw new DMLException(ex);
+			}
+			finally
+			{
+				ConfigurationManager.clearLocalConfig();
+			}
 		}
 			
 		//return newly create precompiled script 
-		return new PreparedScript(rtprog, inputs, outputs);
+		return new PreparedScript(rtprog, inputs, outputs, _conf);
+	}
+	
+	/**
+	 * Returns the number of prepareScript calls served from the plan cache.
+	 * 
+	 * @return
+	 */
+	public long getPlanCacheHits() {
+		return _planCacheHits.get();
+	}
+	
+	/**
+	 * Returns the number of prepareScript calls that required compilation.
+	 * 
+	 * @return
+	 */
+	public long getPlanCacheMisses() {
+		return _planCacheMisses.get();
+	}
+	
+	/**
+	 * Returns the total compilation time of plan cache misses in ms.
+	 * 
+	 * @return
+	 */
+	public double getPlanCacheCompileTime() {
+		return _planCacheCompileTime.get() / 1000000d;
+	}
+	
+	/**
+	 * Returns the current number of cached compiled scripts.
+	 * 
+	 * @return
+	 */
+	public int getPlanCacheSize() {
+		return _planCache.getSize();
+	}
+	
+	/**
+	 * Removes all compiled scripts from the plan cache.
+	 */
+	public void clearPlanCache() {
+		_planCache.clear();
 	}
 	
 	/**
@@ -154,7 +301,7 @@ public class Connection
 	 */
 	public void close()
 	{
-		
+		clearPlanCache();
 	}
 	
 	/**
@@ -241,4 +388,86 @@ public class Connection
 		return ret;
 	}
 	
+	/**
+	 * Key of the plan cache, consisting of the script text, the (order-independent)
+	 * argument map, the input/output variable names, and the parser type. 
+	 */
+	private static class PlanCacheKey
+	{
+		private final String _script;
+		private final TreeMap<String,String> _args;
+		private final String[] _inputs;
+		private final String[] _outputs;
+		private final boolean _pydml;
+		private final int _hash;
+		
+		public PlanCacheKey(String script, HashMap<String,String> args, String[] inputs, String[] outputs, boolean pydml) {
+			_script = script;
+			_args = (args != null) ? new TreeMap<String,String>(args) : new TreeMap<String,String>();
+			_inputs = inputs.clone();
+			_outputs = outputs.clone();
+			_pydml = pydml;
+			_hash = Arrays.hashCode(new Object[]{_script, _args, 
+				Arrays.hashCode(_inputs), Arrays.hashCode(_outputs), _pydml});
+		}
+		
+		@Override
+		public int hashCode() {
+			return _hash;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if( !(o instanceof PlanCacheKey) )
+				return false;
+			PlanCacheKey that = (PlanCacheKey) o;
+			return _hash == that._hash 
+				&& _pydml == that._pydml
+				&& _script.equals(that._script)
+				&& _args.equals(that._args)
+				&& Arrays.equals(_inputs, that._inputs)
+				&& Arrays.equals(_outputs, that._outputs);
+		}
+	}
+	
+	/**
+	 * Bounded LRU cache of compiled scripts, where each entry is the prepared 
+	 * script template whose runtime program is shared by all copies handed out.
+	 * Only scripts whose runtime program is not modified during execution are 
+	 * cached (see JMLCUtils.isShareableRuntimeProgram).
+	 */
+	private static class PlanCache extends LinkedHashMap<PlanCacheKey, PreparedScript>
+	{
+		private static final long serialVersionUID = -3604178815271707345L;
+		
+		private final int _capacity;
+		
+		public PlanCache(int capacity) {
+			super(16, 0.75f, true); //access order for LRU
+			_capacity = capacity;
+		}
+		
+		public synchronized PreparedScript getScript(PlanCacheKey key) {
+			return get(key);
+		}
+		
+		public synchronized void putScript(PlanCacheKey key, PreparedScript script) {
+			if( _capacity > 0 )
+				put(key, script);
+		}
+		
+		public synchronized int getSize() {
+			return size();
+		}
+		
+		@Override
+		public synchronized void clear() {
+			super.clear();
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<PlanCacheKey, PreparedScript> eldest) {
+			return size() > _capacity;
+		}
+	}
 }
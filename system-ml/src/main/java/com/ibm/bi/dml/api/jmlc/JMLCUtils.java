@@ -24,6 +24,7 @@ import java.util.Map.Entry;
 import com.ibm.bi.dml.runtime.controlprogram.ForProgramBlock;
 import com.ibm.bi.dml.runtime.controlprogram.FunctionProgramBlock;
 import com.ibm.bi.dml.runtime.controlprogram.IfProgramBlock;
+import com.ibm.bi.dml.runtime.controlprogram.ParForProgramBlock;
 import com.ibm.bi.dml.runtime.controlprogram.Program;
 import com.ibm.bi.dml.runtime.controlprogram.ProgramBlock;
 import com.ibm.bi.dml.runtime.controlprogram.WhileProgramBlock;
@@ -104,4 +105,73 @@ public class JMLCUtils
 			}
 		}
 	}
+	
+	/**
+	 * Determines if the given runtime program can be shared by concurrent
+	 * executions, i.e., if it is not modified in place during execution. This 
+	 * excludes programs with parfor (rewritten by the parfor optimizer) and
+	 * with functions that are recompiled on every call (recompile once).
+	 * 
+	 * @param prog
+	 * @return
+	 */
+	public static boolean isShareableRuntimeProgram( Program prog )
+	{
+		Map<String, FunctionProgramBlock> funcMap = prog.getFunctionProgramBlocks();
+		if( funcMap != null && !funcMap.isEmpty() )
+		{
+			for( Entry<String, FunctionProgramBlock> e : funcMap.entrySet() )
+			{
+				FunctionProgramBlock fpb = e.getValue();
+				if( fpb.isRecompileOnce() )
+					return false;
+				for( ProgramBlock pb : fpb.getChildBlocks() )
+					if( !rIsShareableRuntimeProgram(pb) )
+						return false;
+			}
+		}
+		
+		for( ProgramBlock pb : prog.getProgramBlocks() )
+			if( !rIsShareableRuntimeProgram(pb) )
+				return false;
+		
+		return true;
+	}
+	
+	/**
+	 * 
+	 * @param pb
+	 * @return
+	 */
+	private static boolean rIsShareableRuntimeProgram( ProgramBlock pb )
+	{
+		boolean ret = true;
+		
+		if( pb instanceof ParForProgramBlock )
+		{
+			ret = false;
+		}
+		else if( pb instanceof WhileProgramBlock )
+		{
+			WhileProgramBlock wpb = (WhileProgramBlock)pb;
+			for( ProgramBlock pbc : wpb.getChildBlocks() )
+				ret &= rIsShareableRuntimeProgram(pbc);
+		}
+		else if( pb instanceof IfProgramBlock )
+		{
+			IfProgramBlock ipb = (IfProgramBlock)pb;
+			for( ProgramBlock pbc : ipb.getChildBlocksIfBody() )
+				ret &= rIsShareableRuntimeProgram(pbc);
+			for( ProgramBlock pbc : ipb.getChildBlocksElseBody() )
+				ret &= rIsShareableRuntimeProgram(pbc);
+		}
+		else if( pb instanceof ForProgramBlock )
+		{
+			ForProgramBlock fpb = (ForProgramBlock)pb;
+			for( ProgramBlock pbc : fpb.getChildBlocks() )
+				ret &= rIsShareableRuntimeProgram(pbc);
+		}
+		
+		return ret;
+	}
 }
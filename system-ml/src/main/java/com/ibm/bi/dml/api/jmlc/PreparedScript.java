@@ -17,7 +17,11 @@
 
 package com.ibm.bi.dml.api.jmlc;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map.Entry;
 
 import com.ibm.bi.dml.api.DMLException;
 import com.ibm.bi.dml.conf.ConfigurationManager;
@@ -39,11 +43,14 @@ import com.ibm.bi.dml.runtime.matrix.data.InputInfo;
 import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
 import com.ibm.bi.dml.runtime.matrix.data.OutputInfo;
 import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.utils.RuntimeMetrics;
 
 /**
  * JMLC (Java Machine Learning Connector) API:
  * 
  * NOTE: Currently fused API and implementation in order to reduce complexity. 
+ * A prepared script is not thread-safe, but multiple prepared scripts (incl 
+ * copies of the same cached script) can be executed concurrently.
  */
 public class PreparedScript 
 {
@@ -55,14 +62,21 @@ public class PreparedScript
 	//internal state (reused)
 	private Program _prog = null;
 	private LocalVariableMap _vars = null; 
+	private DMLConfig _conf = null;
 	
 	/**
 	 * Meant to be invoked only from Connection
 	 */
-	protected PreparedScript( Program prog, String[] inputs, String[] outputs )
+	protected PreparedScript( Program prog, String[] inputs, String[] outputs, DMLConfig conf )
 	{
 		_prog = prog;
 		_vars = new LocalVariableMap();
+		_conf = conf;
+		
+		//enable optional runtime metrics (latency histograms, jmx), which 
+		//accumulate over all executions of prepared scripts
+		if( _conf.getBooleanValue(DMLConfig.RUNTIME_METRICS) )
+			RuntimeMetrics.enable(_conf.getIntValue(DMLConfig.RUNTIME_METRICS_DUMP_INTERVAL));
 		
 		//populate input/output vars
 		_inVarnames = new HashSet<String>();
@@ -73,6 +87,35 @@ public class PreparedScript
 			_outVarnames.add( var );
 	}
 	
+	/**
+	 * Meant to be invoked only from Connection, for cheap copies of cached
+	 * prepared scripts. The copy shares the runtime program (and input/output 
+	 * specification) but has its own symbol table. Hence, this is only valid
+	 * for runtime programs that are not modified in place during execution 
+	 * (see isShareable).
+	 * 
+	 * @param that
+	 */
+	protected PreparedScript( PreparedScript that )
+	{
+		_prog = that._prog;
+		_vars = new LocalVariableMap();
+		_conf = that._conf;
+		_inVarnames = that._inVarnames;
+		_outVarnames = that._outVarnames;
+	}
+	
+	/**
+	 * Indicates if the runtime program of this script can be shared by 
+	 * concurrently executed copies (see JMLCUtils.isShareableRuntimeProgram).
+	 * 
+	 * @return
+	 */
+	protected boolean isShareable()
+	{
+		return JMLCUtils.isShareableRuntimeProgram(_prog);
+	}
+	
 	/**
 	 * 
 	 * @param varname
@@ -153,7 +196,9 @@ public class PreparedScript
 	}
 	
 	/**
-	 * 
+	 * Binds the given matrix block without copy, i.e., the block must not be
+	 * modified until the script execution completed.
+	 *
 	 * @param varname
 	 * @param matrix
 	 * @throws DMLException
@@ -165,9 +210,8 @@ public class PreparedScript
 			throw new DMLException("Unspecified input variable: "+varname);
 		
 		
-		DMLConfig conf = ConfigurationManager.getConfig();
-		String scratch_space = conf.getTextValue(DMLConfig.SCRATCH_SPACE);
-		int blocksize = conf.getIntValue(DMLConfig.DEFAULT_BLOCK_SIZE);
+		String scratch_space = _conf.getTextValue(DMLConfig.SCRATCH_SPACE);
+		int blocksize = _conf.getIntValue(DMLConfig.DEFAULT_BLOCK_SIZE);
 		
 		//create new matrix object
 		MatrixCharacteristics mc = new MatrixCharacteristics(matrix.getNumRows(), matrix.getNumColumns(), blocksize, blocksize);
@@ -196,6 +240,54 @@ public class PreparedScript
 		setMatrix(varname, mb);
 	}
 	
+	/**
+	 * Binds a dense rows x cols matrix given as row-major double array. The
+	 * array is referenced without copy and hence must not be modified until
+	 * the script execution completed.
+	 *
+	 * @param varname
+	 * @param matrix row-major array of length >= rows*cols
+	 * @param rows
+	 * @param cols
+	 * @throws DMLException
+	 */
+	public void setMatrix(String varname, double[] matrix, int rows, int cols)
+		throws DMLException
+	{
+		if( !_inVarnames.contains(varname) )
+			throw new DMLException("Unspecified input variable: "+varname);
+		
+		MatrixBlock mb = new MatrixBlock(rows, cols, false);
+		mb.initDenseUnsafe(matrix, rows, cols);
+		setMatrix(varname, mb);
+	}
+	
+	/**
+	 * Binds a sparse rows x cols matrix given in CSR format (row pointers of
+	 * length rows+1, column indexes and values). In contrast to the dense 
+	 * bindings, this binding copies the input: column indexes and values are 
+	 * copied exactly once into the internal sparse row representation, and 
+	 * hence the given arrays can be modified after the call.
+	 *
+	 * @param varname
+	 * @param rows
+	 * @param cols
+	 * @param rowPtr
+	 * @param colIdx
+	 * @param values
+	 * @throws DMLException
+	 */
+	public void setMatrix(String varname, int rows, int cols, int[] rowPtr, int[] colIdx, double[] values)
+		throws DMLException
+	{
+		if( !_inVarnames.contains(varname) )
+			throw new DMLException("Unspecified input variable: "+varname);
+		
+		MatrixBlock mb = new MatrixBlock(rows, cols, true);
+		mb.initSparseCSR(rows, cols, rowPtr, colIdx, values);
+		setMatrix(varname, mb);
+	}
+	
 	
 	/**
 	 * 
@@ -217,8 +309,107 @@ public class PreparedScript
 		ExecutionContext ec = ExecutionContextFactory.createContext(_prog);	
 		ec.setVariables(_vars);
 		
-		//core execute runtime program	
-		_prog.execute( ec );  
+		return executeScript(ec);
+	}
+	
+	/**
+	 * Executes the script once per given input binding, where each binding 
+	 * maps input variable names to matrices. Inputs that are not part of a 
+	 * binding (e.g., a model bound once via setMatrix) are kept across all
+	 * executions. The execution context is created only once for the entire
+	 * batch in order to reduce per-call overhead. Output variables are 
+	 * detached from the symbol table after each execution, such that 
+	 * subsequent executions do not clean up previously returned results.
+	 * 
+	 * @param bindings
+	 * @return list of result variables, one per binding
+	 * @throws DMLException
+	 */
+	public ArrayList<ResultVariables> executeBatch(List<HashMap<String, MatrixBlock>> bindings) 
+		throws DMLException
+	{
+		ArrayList<ResultVariables> ret = new ArrayList<ResultVariables>();
+		
+		//create and populate execution context once
+		ExecutionContext ec = ExecutionContextFactory.createContext(_prog);	
+		ec.setVariables(_vars);
+		
+		for( HashMap<String, MatrixBlock> binding : bindings ) {
+			for( Entry<String, MatrixBlock> e : binding.entrySet() )
+				setMatrix(e.getKey(), e.getValue());
+			ret.add(executeScript(ec));
+			
+			//detach outputs (except in/out variables, which are rebound or kept)
+			for( String ovar : _outVarnames )
+				if( !_inVarnames.contains(ovar) )
+					_vars.remove(ovar);
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * Executes the script once for a batch of row vectors (micro-batching), 
+	 * which are stacked into a single input matrix. The script is expected
+	 * to produce one output row per input row, which are accessible via the 
+	 * returned batch result without additional copies.
+	 * 
+	 * @param invar input variable name of stacked matrix
+	 * @param rows list of row vectors of equal length
+	 * @param outvar output variable name
+	 * @return
+	 * @throws DMLException
+	 */
+	public BatchResult executeBatch(String invar, List<double[]> rows, String outvar) 
+		throws DMLException
+	{
+		if( rows.isEmpty() )
+			throw new DMLException("Empty batch of input rows.");
+		if( !_outVarnames.contains(outvar) )
+			throw new DMLException("Unspecified output variable: "+outvar);
+		
+		//stack row vectors directly into the dense input block
+		int nrow = rows.size();
+		int ncol = rows.get(0).length;
+		MatrixBlock in = new MatrixBlock(nrow, ncol, false);
+		in.allocateDenseBlock();
+		double[] a = in.getDenseArray();
+		for( int i=0; i<nrow; i++ ) {
+			double[] row = rows.get(i);
+			if( row.length != ncol )
+				throw new DMLException("Inconsistent row length in batch: "+row.length+" vs "+ncol+".");
+			System.arraycopy(row, 0, a, i*ncol, ncol);
+		}
+		in.recomputeNonZeros();
+		in.examSparsity();
+		
+		//bind stacked input and execute once
+		setMatrix(invar, in);
+		ResultVariables rvars = executeScript();
+		MatrixBlock out = rvars.getMatrixBlock(outvar);
+		if( out.getNumRows() != nrow )
+			throw new DMLException("Batch output '"+outvar+"' has "+out.getNumRows()+" rows, expected "+nrow+".");
+		
+		return new BatchResult(out);
+	}
+	
+	/**
+	 * 
+	 * @param ec
+	 * @return
+	 * @throws DMLException
+	 */
+	private ResultVariables executeScript(ExecutionContext ec) 
+		throws DMLException
+	{
+		//core execute runtime program (w/ connection-scoped configuration)
+		ConfigurationManager.setLocalConfig(_conf);
+		try {
+			_prog.execute( ec );  
+		}
+		finally {
+			ConfigurationManager.clearLocalConfig();
+		}
 		
 		//construct results
 		ResultVariables rvars = new ResultVariables();
@@ -79,6 +79,60 @@ public class ResultVariables
 		return ret;
 	}
 	
+	/**
+	 * Returns the output matrix as a matrix block, without conversion 
+	 * into a double array.
+	 * 
+	 * @param varname
+	 * @return
+	 * @throws DMLException
+	 */
+	public MatrixBlock getMatrixBlock(String varname) 
+		throws DMLException
+	{
+		if( !_out.containsKey(varname) )
+			throw new DMLException("Non-existing output variable: "+varname);
+		
+		Data dat = _out.get(varname);
+		
+		//basic checks for data type	
+		if( !(dat instanceof MatrixObject) )
+			throw new DMLException("Expected matrix result '"+varname+"' not a matrix.");
+		
+		MatrixObject mo = (MatrixObject)dat;
+		MatrixBlock mb = mo.acquireRead();
+		mo.release();
+		
+		return mb;
+	}
+	
+	/**
+	 * Returns the output matrix as a row-major double array view of its dense
+	 * block, i.e., without copy for dense outputs. Sparse or empty outputs are
+	 * converted into a dense block once. Note that the returned array might be
+	 * larger than rows*cols if the underlying block has been reused.
+	 *
+	 * @param varname
+	 * @return
+	 * @throws DMLException
+	 */
+	public double[] getDenseArray(String varname)
+		throws DMLException
+	{
+		MatrixBlock mb = getMatrixBlock(varname);
+		
+		//convert sparse or unallocated outputs into dense
+		if( mb.isInSparseFormat() || mb.getDenseArray()==null ) {
+			MatrixBlock tmp = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), false);
+			tmp.copy(mb, false);
+			if( tmp.getDenseArray()==null )
+				tmp.allocateDenseBlock();
+			mb = tmp;
+		}
+		
+		return mb.getDenseArray();
+	}
+	
 	/**
 	 * 
 	 * 
@@ -25,12 +25,14 @@ import org.apache.hadoop.mapred.JobConf;
  * Singleton for accessing the parsed and merged system configuration.
  * 
  * NOTE: parallel execution of multiple DML scripts (in the same JVM) with different configurations  
- *       would require changes/extensions of this class. 
+ *       is supported via thread-local configurations (e.g., per JMLC connection), which take 
+ *       precedence over the global configuration and are inherited by spawned threads (e.g., parfor). 
  */
 public class ConfigurationManager 
 {
 	
-	private static DMLConfig _conf = null; //read systemml configuration
+	private static volatile DMLConfig _conf = null; //read systemml configuration
+	private static final InheritableThreadLocal<DMLConfig> _lconf = new InheritableThreadLocal<DMLConfig>();
 	private static JobConf _rJob = null; //cached job conf for read-only operations	
 	
 	static{
@@ -42,18 +44,40 @@ public class ConfigurationManager
 	 * 
 	 * @param conf
 	 */
-	public synchronized static void setConfig( DMLConfig conf )
+	public static void setConfig( DMLConfig conf )
 	{
 		_conf = conf;
 	}
 	
 	/**
+	 * Returns the thread-local configuration if set, otherwise the global
+	 * configuration. 
 	 * 
 	 * @return
 	 */
-	public synchronized static DMLConfig getConfig()
+	public static DMLConfig getConfig()
 	{
-		return _conf;
+		DMLConfig lconf = _lconf.get();
+		return (lconf != null) ? lconf : _conf;
+	}
+	
+	/**
+	 * Sets a thread-local configuration, which overrides the global 
+	 * configuration for the current thread and threads spawned by it.
+	 * 
+	 * @param conf
+	 */
+	public static void setLocalConfig( DMLConfig conf )
+	{
+		_lconf.set(conf);
+	}
+	
+	/**
+	 * Removes the thread-local configuration of the current thread.
+	 */
+	public static void clearLocalConfig()
+	{
+		_lconf.remove();
 	}
 	
     /**
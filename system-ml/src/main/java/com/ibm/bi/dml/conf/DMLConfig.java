@@ -67,6 +67,12 @@ public class DMLConfig
 	public static final String YARN_APPQUEUE    	= "dml.yarn.app.queue"; 
 	public static final String CP_PARALLEL_MATRIXMULT = "cp.parallel.matrixmult";
 	public static final String CP_PARALLEL_TEXTIO   = "cp.parallel.textio";
+	public static final String CP_CACHING_POLICY    = "cp.caching.policy";
+	public static final String CP_CACHING_ASYNC_EVICTION = "cp.caching.async.eviction";
+	public static final String CP_CACHING_COMPRESSION = "cp.caching.compression";
+	public static final String CP_CACHING_PREFETCH  = "cp.caching.prefetch";
+	public static final String RUNTIME_METRICS      = "runtime.metrics";
+	public static final String RUNTIME_METRICS_DUMP_INTERVAL = "runtime.metrics.dump.interval";
 
 	//obsolete nimble configuration (removed 06/24/2015)
 	//public static final String NUM_MERGE_TASKS      = "NumMergeTasks";
@@ -107,6 +113,12 @@ public class DMLConfig
 		//_defaultVals.put(NIMBLE_SCRATCH,       "nimbleoutput" );	
 		_defaultVals.put(CP_PARALLEL_MATRIXMULT, "true" );
 		_defaultVals.put(CP_PARALLEL_TEXTIO,     "true" );
+		_defaultVals.put(CP_CACHING_POLICY,      "fifo" );
+		_defaultVals.put(CP_CACHING_ASYNC_EVICTION, "false" );
+		_defaultVals.put(CP_CACHING_COMPRESSION, "false" );
+		_defaultVals.put(CP_CACHING_PREFETCH,    "false" );
+		_defaultVals.put(RUNTIME_METRICS,        "false" );
+		_defaultVals.put(RUNTIME_METRICS_DUMP_INTERVAL, "0" );
 	}
 	
 	public DMLConfig()
@@ -420,7 +432,10 @@ public class DMLConfig
 				YARN_APPMASTER, YARN_APPMASTERMEM, YARN_MAPREDUCEMEM,
 				//NUM_MERGE_TASKS, NUM_SOW_THREADS,NUM_REAP_THREADS,
 				//SOWER_WAIT_INTERVAL,REAPER_WAIT_INTERVAL,NIMBLE_SCRATCH 
-				CP_PARALLEL_MATRIXMULT, CP_PARALLEL_TEXTIO
+				CP_PARALLEL_MATRIXMULT, CP_PARALLEL_TEXTIO, 
+				CP_CACHING_POLICY, CP_CACHING_ASYNC_EVICTION, CP_CACHING_COMPRESSION, 
+				CP_CACHING_PREFETCH,
+				RUNTIME_METRICS, RUNTIME_METRICS_DUMP_INTERVAL
 		}; 
 		
 		StringBuilder sb = new StringBuilder();
@@ -17,6 +17,7 @@
 
 package com.ibm.bi.dml.hops;
 
+import com.ibm.bi.dml.hops.Hop.MultiThreadedHop;
 import com.ibm.bi.dml.hops.rewrite.HopRewriteUtils;
 import com.ibm.bi.dml.lops.Aggregate;
 import com.ibm.bi.dml.lops.AppendGAlignedSP;
@@ -59,7 +60,7 @@ import com.ibm.bi.dml.runtime.matrix.mapred.DistributedCacheInput;
  * 		Semantic: align indices (sort), then perform operation
  */
 
-public class BinaryOp extends Hop 
+public class BinaryOp extends Hop implements MultiThreadedHop
 {
 	
 	//we use the full remote memory budget (but reduced by sort buffer), 
@@ -67,6 +68,7 @@ public class BinaryOp extends Hop
 	
 	private Hop.OpOp2 op;
 	private boolean outer = false;
+	private int _maxNumThreads = -1; //-1 for unlimited
 	
 	public static AppendMethod FORCED_APPEND_METHOD = null;
 	public enum AppendMethod { 
@@ -120,6 +122,16 @@ public class BinaryOp extends Hop
 		return outer;
 	}
 	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
 	@Override
 	public Lop constructLops() 
 		throws HopsException, LopsException 
@@ -243,11 +255,12 @@ public class BinaryOp extends Hop
 		}
 		else 
 		{
+			int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 			SortKeys sort = SortKeys.constructSortByValueLop(
 					getInput().get(0).constructLops(), 
 					getInput().get(1).constructLops(), 
 					SortKeys.OperationTypes.WithWeights, 
-					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et);
+					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et, k);
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(), 
@@ -310,11 +323,12 @@ public class BinaryOp extends Hop
 			setLops(pick);
 		}
 		else {
+			int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 			SortKeys sort = SortKeys.constructSortByValueLop(
 					getInput().get(0).constructLops(), 
 					getInput().get(1).constructLops(), 
 					SortKeys.OperationTypes.WithWeights, 
-					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et);
+					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et, k);
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(),
@@ -343,10 +357,11 @@ public class BinaryOp extends Hop
 		// The output data type is a SCALAR if central moment 
 		// gets computed in CP/SPARK, and it will be MATRIX otherwise.
 		DataType dt = (et == ExecType.MR ? DataType.MATRIX : DataType.SCALAR );
+		int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 		CentralMoment cm = new CentralMoment(
 				getInput().get(0).constructLops(), 
 				getInput().get(1).constructLops(),
-				dt, getValueType(), et);
+				null, dt, getValueType(), et, k);
 
 		setLineNumbers(cm);
 		
@@ -403,10 +418,11 @@ public class BinaryOp extends Hop
 		}
 		else //CP/SPARK
 		{
+			int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 			CoVariance cov = new CoVariance(
 					getInput().get(0).constructLops(), 
 					getInput().get(1).constructLops(), 
-					getDataType(), getValueType(), et);
+					null, getDataType(), getValueType(), et, k);
 			cov.getOutputParameters().setDimensions(0, 0, 0, 0, -1);
 			setLineNumbers(cov);
 			setLops(cov);
@@ -464,10 +480,11 @@ public class BinaryOp extends Hop
 		}
 		else //CP/SPARK 
 		{
+			int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 			SortKeys sort = SortKeys.constructSortByValueLop(
 								getInput().get(0).constructLops(), 
 								SortKeys.OperationTypes.WithoutWeights, 
-								DataType.MATRIX, ValueType.DOUBLE, et );
+								DataType.MATRIX, ValueType.DOUBLE, et, k );
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(),
@@ -583,8 +600,9 @@ public class BinaryOp extends Hop
 				ot = HopsOpOp2LopsU.get(op);
 			
 			
+			int k = (et == ExecType.CP) ? OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : 1;
 			Unary unary1 = new Unary(getInput().get(0).constructLops(),
-						   getInput().get(1).constructLops(), ot, getDataType(), getValueType(), et);
+						   getInput().get(1).constructLops(), ot, getDataType(), getValueType(), et, k);
 		
 			setOutputDimensions(unary1);
 			setLineNumbers(unary1);
@@ -597,8 +615,9 @@ public class BinaryOp extends Hop
 			ExecType et = optFindExecType();
 			if ( et == ExecType.CP ) 
 			{
+				int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 				Binary binary = new Binary(getInput().get(0).constructLops(), getInput().get(1).constructLops(), HopsOpOp2LopsB.get(op),
-						getDataType(), getValueType(), et);
+						getDataType(), getValueType(), et, k);
 				
 				setOutputDimensions(binary);
 				setLineNumbers(binary);
@@ -1517,6 +1536,7 @@ public class BinaryOp extends Hop
 		//copy specific attributes
 		ret.op = op;
 		ret.outer = outer;
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
@@ -1530,6 +1550,7 @@ public class BinaryOp extends Hop
 		BinaryOp that2 = (BinaryOp)that;
 		return (   op == that2.op
 				&& outer == that2.outer
+				&& _maxNumThreads == that2._maxNumThreads
 				&& getInput().get(0) == that2.getInput().get(0)
 				&& getInput().get(1) == that2.getInput().get(1));
 	}
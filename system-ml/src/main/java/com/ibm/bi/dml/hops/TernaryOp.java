@@ -17,6 +17,7 @@
 
 package com.ibm.bi.dml.hops;
 
+import com.ibm.bi.dml.hops.Hop.MultiThreadedHop;
 import com.ibm.bi.dml.hops.rewrite.HopRewriteUtils;
 import com.ibm.bi.dml.lops.Aggregate;
 import com.ibm.bi.dml.lops.CentralMoment;
@@ -52,12 +53,13 @@ import com.ibm.bi.dml.runtime.matrix.MatrixCharacteristics;
  * however, since there does not exist a real TernaryOp yet - we can leave it as is for now. 
  */
 
-public class TernaryOp extends Hop 
+public class TernaryOp extends Hop implements MultiThreadedHop
 {
 	
 	public static boolean ALLOW_CTABLE_SEQUENCE_REWRITES = true;
 	
 	private OpOp3 _op = null;
+	private int _maxNumThreads = -1; //-1 for unlimited
 	
 	//ctable specific flags 
 	// flag to indicate the existence of additional inputs representing output dimensions
@@ -104,6 +106,16 @@ public class TernaryOp extends Hop
 		return _op;
 	}
 	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
 	public void setDisjointInputs(boolean flag){
 		_disjointInputs = flag;
 	}
@@ -194,11 +206,12 @@ public class TernaryOp extends Hop
 		}
 		else //CP / SPARK
 		{
+			int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 			CentralMoment cm = new CentralMoment(
 					getInput().get(0).constructLops(),
 					getInput().get(1).constructLops(),
 					getInput().get(2).constructLops(),
-					getDataType(), getValueType(), et);
+					getDataType(), getValueType(), et, k);
 			cm.getOutputParameters().setDimensions(0, 0, 0, 0, -1);
 			setLineNumbers(cm);
 			setLops(cm);
@@ -252,11 +265,12 @@ public class TernaryOp extends Hop
 		}
 		else //CP / SPARK
 		{
+			int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 			CoVariance cov = new CoVariance(
 					getInput().get(0).constructLops(), 
 					getInput().get(1).constructLops(), 
 					getInput().get(2).constructLops(), 
-					getDataType(), getValueType(), et);
+					getDataType(), getValueType(), et, k);
 			cov.getOutputParameters().setDimensions(0, 0, 0, 0, -1);
 			setLineNumbers(cov);
 			setLops(cov);
@@ -320,11 +334,12 @@ public class TernaryOp extends Hop
 		}
 		else //CP/Spark 
 		{
+			int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 			SortKeys sort = SortKeys.constructSortByValueLop(
 					getInput().get(0).constructLops(), 
 					getInput().get(1).constructLops(), 
 					SortKeys.OperationTypes.WithWeights, 
-					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et);
+					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et, k);
 			PickByCount pick = new PickByCount(
 					sort,
 					getInput().get(2).constructLops(),
@@ -395,7 +410,8 @@ public class TernaryOp extends Hop
 				inputLops[1] = ((ParameterizedBuiltinOp)getInput().get(1)).getTargetHop().getInput().get(0).constructLops();
 			}
 			
-			Ternary tertiary = new Ternary(inputLops, tertiaryOp, getDataType(), getValueType(), ignoreZeros, et);
+			int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
+			Ternary tertiary = new Ternary(inputLops, tertiaryOp, getDataType(), getValueType(), ignoreZeros, et, k);
 			
 			tertiary.getOutputParameters().setDimensions(_dim1, _dim2, getRowsInBlock(), getColsInBlock(), -1);
 			tertiary.setAllPositions(this.getBeginLine(), this.getBeginColumn(), this.getEndLine(), this.getEndColumn());
@@ -861,6 +877,7 @@ public class TernaryOp extends Hop
 		ret._op = _op;
 		ret._dimInputsPresent  = _dimInputsPresent;
 		ret._disjointInputs    = _disjointInputs;
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
@@ -888,7 +905,8 @@ public class TernaryOp extends Hop
 		
 		//compare optimizer hints and parameters
 		ret &= _disjointInputs == that2._disjointInputs
-			&& _outputEmptyBlocks == that2._outputEmptyBlocks;
+			&& _outputEmptyBlocks == that2._outputEmptyBlocks
+			&& _maxNumThreads == that2._maxNumThreads;
 		
 		return ret;
 	}
@@ -19,6 +19,7 @@ package com.ibm.bi.dml.hops;
 
 import java.util.ArrayList;
 
+import com.ibm.bi.dml.hops.Hop.MultiThreadedHop;
 import com.ibm.bi.dml.lops.Aggregate;
 import com.ibm.bi.dml.lops.Aggregate.OperationTypes;
 import com.ibm.bi.dml.lops.CombineUnary;
@@ -45,10 +46,11 @@ import com.ibm.bi.dml.runtime.matrix.MatrixCharacteristics;
  * 		Semantic: given a value, perform the operation (independent of other values)
  */
 
-public class UnaryOp extends Hop 
+public class UnaryOp extends Hop implements MultiThreadedHop
 {
 
 	private OpOp1 _op = null;
+	private int _maxNumThreads = -1; //-1 for unlimited
 
 	
 	private UnaryOp() {
@@ -74,6 +76,16 @@ public class UnaryOp extends Hop
 		return _op;
 	}
 	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
 	public void printMe() throws HopsException {
 		if (LOG.isDebugEnabled()){
 			if (getVisited() != VisitStatus.DONE) {
@@ -148,8 +160,9 @@ public class UnaryOp extends Hop
 				}
 				else //default unary 
 				{
+					int k = (et == ExecType.CP) ? OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : 1;
 					Unary unary1 = new Unary(input.constructLops(), HopsOpOp1LopsU.get(_op), 
-							                 getDataType(), getValueType(), et);
+							                 getDataType(), getValueType(), et, k);
 					setOutputDimensions(unary1);
 					setLineNumbers(unary1);
 					setLops(unary1);
@@ -210,10 +223,11 @@ public class UnaryOp extends Hop
 			return pick;
 		}
 		else {
+			int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 			SortKeys sort = SortKeys.constructSortByValueLop(
 								getInput().get(0).constructLops(), 
 								SortKeys.OperationTypes.WithoutWeights, 
-								DataType.MATRIX, ValueType.DOUBLE, et );
+								DataType.MATRIX, ValueType.DOUBLE, et, k );
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(),
@@ -319,10 +333,11 @@ public class UnaryOp extends Hop
 			return iqm;
 		}
 		else {
+			int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 			SortKeys sort = SortKeys.constructSortByValueLop(
 					input.constructLops(), 
 					SortKeys.OperationTypes.WithoutWeights, 
-					DataType.MATRIX, ValueType.DOUBLE, et );
+					DataType.MATRIX, ValueType.DOUBLE, et, k );
 			sort.getOutputParameters().setDimensions(
 					input.getDim1(),
 					input.getDim2(),
@@ -593,7 +608,7 @@ public class UnaryOp extends Hop
 	 */
 	private boolean isInMemoryOperation() 
 	{
-		return ( _op == OpOp1.INVERSE );
+		return ( _op == OpOp1.INVERSE || _op == OpOp1.CHOLESKY );
 	}
 	
 	/**
@@ -673,7 +688,7 @@ public class UnaryOp extends Hop
 			setRequiresRecompile();
 
 		//ensure cp exec type for single-node operations
-		if( _op == OpOp1.PRINT || _op == OpOp1.STOP || _op == OpOp1.INVERSE || _op == OpOp1.EIGEN )
+		if( _op == OpOp1.PRINT || _op == OpOp1.STOP || _op == OpOp1.INVERSE || _op == OpOp1.CHOLESKY || _op == OpOp1.EIGEN )
 			_etype = ExecType.CP;
 		
 		return _etype;
@@ -718,6 +733,7 @@ public class UnaryOp extends Hop
 		
 		//copy specific attributes
 		ret._op = _op;
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
@@ -741,6 +757,7 @@ public class UnaryOp extends Hop
 		
 		UnaryOp that2 = (UnaryOp)that;		
 		return (   _op == that2._op
+				&& _maxNumThreads == that2._maxNumThreads
 				&& getInput().get(0) == that2.getInput().get(0));
 	}
 }
@@ -157,18 +157,22 @@ public class Recompiler
 		ArrayList<Instruction> newInst = null;
 
 		//need for synchronization as we do temp changes in shared hops/lops
-		//however, we create deep copies for most dags to allow for concurrent recompile
+		//however, we create deep copies for most dags to allow for concurrent recompile,
+		//where only the copy requires synchronization on the shared hops (e.g., parfor, jmlc)
+		if( !inplace ) {
+			synchronized( hops ) {
+				// deep copy hop dag (for non-reversable rewrites)
+				hops = deepCopyHopsDag(hops);
+			}
+		}
+		
 		synchronized( hops ) 
 		{	
 			LOG.debug ("\n**************** Optimizer (Recompile) *************\nMemory Budget = " + 
 					   OptimizerUtils.toMB(OptimizerUtils.getLocalMemBudget()) + " MB");
 	
 			// prepare hops dag for recompile
-			if( !inplace ){ 
-				// deep copy hop dag (for non-reversable rewrites)
-				hops = deepCopyHopsDag(hops);
-			}
-			else {
+			if( inplace ) {
 				// clear existing lops
 				Hop.resetVisitStatus(hops);
 				for( Hop hopRoot : hops )
@@ -256,18 +260,22 @@ public class Recompiler
 		ArrayList<Instruction> newInst = null;
 
 		//need for synchronization as we do temp changes in shared hops/lops
+		//(for deep copies, only the copy requires synchronization on the shared hops)
+		if( !inplace ) {
+			synchronized( hops ) {
+				// deep copy hop dag (for non-reversable rewrites)
+				//(this also clears existing lops in the created dag) 
+				hops = deepCopyHopsDag(hops);	
+			}
+		}
+		
 		synchronized( hops ) 
 		{	
 			LOG.debug ("\n**************** Optimizer (Recompile) *************\nMemory Budget = " + 
 					   OptimizerUtils.toMB(OptimizerUtils.getLocalMemBudget()) + " MB");
 
 			// prepare hops dag for recompile
-			if( !inplace ) {
-				// deep copy hop dag (for non-reversable rewrites)
-				//(this also clears existing lops in the created dag) 
-				hops = deepCopyHopsDag(hops);	
-			}
-			else {
+			if( inplace ) {
 				// clear existing lops
 				hops.resetVisitStatus();
 				rClearLops( hops );	
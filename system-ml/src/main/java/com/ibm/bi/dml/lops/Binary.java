@@ -159,6 +159,29 @@ public class Binary extends Lop
 		}
 	}
 	
+	/**
+	 * Indicates if the given cell-wise operation supports multi-threaded
+	 * execution in CP (arithmetic and relational operations).
+	 * 
+	 * @param op
+	 * @return
+	 */
+	public static boolean isMultiThreadedOp( OperationTypes op ) {
+		return op == OperationTypes.ADD 
+			|| op == OperationTypes.SUBTRACT
+			|| op == OperationTypes.MULTIPLY
+			|| op == OperationTypes.DIVIDE
+			|| op == OperationTypes.MODULUS
+			|| op == OperationTypes.INTDIV
+			|| op == OperationTypes.MINUS1_MULTIPLY
+			|| op == OperationTypes.LESS_THAN
+			|| op == OperationTypes.LESS_THAN_OR_EQUALS
+			|| op == OperationTypes.GREATER_THAN
+			|| op == OperationTypes.GREATER_THAN_OR_EQUALS
+			|| op == OperationTypes.EQUALS
+			|| op == OperationTypes.NOT_EQUALS;
+	}
+	
 	@Override
 	public String getInstructions(String input1, String input2, String output) 
 		throws LopsException 
@@ -177,8 +200,10 @@ public class Binary extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
-		//append degree of parallelism for matrix multiplications
-		if( operation == OperationTypes.MATMULT && getExecType()==ExecType.CP ) {
+		//append degree of parallelism for matrix multiplications, solve, and 
+		//multi-threaded cell-wise arithmetic/relational operations
+		if( getExecType()==ExecType.CP && (operation == OperationTypes.MATMULT 
+			|| operation == OperationTypes.SOLVE || isMultiThreadedOp(operation)) ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( numThreads );
 		}	
@@ -28,6 +28,7 @@ import com.ibm.bi.dml.parser.Expression.*;
  */
 public class CentralMoment extends Lop 
 {
+	private int _numThreads = 1;
 	
 	/**
 	 * Constructor to perform central moment.
@@ -76,6 +77,11 @@ public class CentralMoment extends Lop
 		super(Lop.Type.CentralMoment, dt, vt);
 		init(input1, input2, input3, et);
 	}
+	
+	public CentralMoment(Lop input1, Lop input2, Lop input3, DataType dt, ValueType vt, ExecType et, int numThreads) {
+		this(input1, input2, input3, dt, vt, et);
+		_numThreads = numThreads;
+	}
 
 	@Override
 	public String toString() {
@@ -113,6 +119,12 @@ public class CentralMoment extends Lop
 		
 		sb.append( prepOutputOperand(output));
 		
+		//append degree of parallelism
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
@@ -141,6 +153,12 @@ public class CentralMoment extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
+		//append degree of parallelism
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
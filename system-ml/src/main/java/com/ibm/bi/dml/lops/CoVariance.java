@@ -30,6 +30,7 @@ import com.ibm.bi.dml.parser.Expression.ValueType;
 public class CoVariance extends Lop 
 {
 
+	private int _numThreads = 1;
 	
 	/**
 	 * Constructor to perform covariance.
@@ -55,6 +56,11 @@ public class CoVariance extends Lop
 		super(Lop.Type.CoVariance, dt, vt);
 		init(input1, input2, input3, et);
 	}
+	
+	public CoVariance(Lop input1, Lop input2, Lop input3, DataType dt, ValueType vt, ExecType et, int numThreads) throws LopsException {
+		this(input1, input2, input3, dt, vt, et);
+		_numThreads = numThreads;
+	}
 
 	private void init(Lop input1, Lop input2, Lop input3, ExecType et) 
 		throws LopsException 
@@ -124,6 +130,12 @@ public class CoVariance extends Lop
 
 		sb.append( this.prepOutputOperand(output));
 		
+		//append degree of parallelism
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 
@@ -152,6 +164,12 @@ public class CoVariance extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
+		//append degree of parallelism
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 
@@ -35,6 +35,7 @@ public class GroupedAggregate extends Lop
 {
 	
 	private HashMap<String, Lop> _inputParams;
+	private int _numThreads = 1;
 	private static final String opcode = "groupedagg";
 	public static final String COMBINEDINPUT = "combinedinput";
 	
@@ -115,6 +116,13 @@ public class GroupedAggregate extends Lop
 		super(Lop.Type.GroupedAgg, dt, vt);
 		init(inputParameterLops, dt, vt, et);
 	}
+	
+	public GroupedAggregate(
+			HashMap<String, Lop> inputParameterLops, 
+			DataType dt, ValueType vt, ExecType et, int k) {
+		this(inputParameterLops, dt, vt, et);
+		_numThreads = k;
+	}
 
 	@Override
 	public String toString() {
@@ -177,6 +185,14 @@ public class GroupedAggregate extends Lop
 			}
 		}
 		
+		//append degree of parallelism for multi-threaded cp operations
+		if( getExecType()==ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( "k" );
+			sb.append( Lop.NAME_VALUE_SEPARATOR );
+			sb.append( _numThreads );
+		}
+		
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( this.prepOutputOperand(output));
 		
@@ -44,6 +44,9 @@ public class ParameterizedBuiltin extends Lop
 	private OperationTypes _operation;
 	private HashMap<String, Lop> _inputParams;
 	private boolean _bRmEmptyBC;
+	
+	//cp-specific parameters
+	private int _numThreads = 1;
 
 	/**
 	 * Creates a new builtin function LOP.
@@ -144,6 +147,13 @@ public class ParameterizedBuiltin extends Lop
 		_bRmEmptyBC = bRmEmptyBC;
 	}
 	
+	public ParameterizedBuiltin(HashMap<String, Lop> paramLops, OperationTypes op, DataType dt, ValueType vt, ExecType et, int k) 
+			throws HopsException 
+	{
+		this(paramLops, op, dt, vt, et);
+		_numThreads = k;
+	}
+	
 	public OperationTypes getOp() { 
 		return _operation; 
 	}
@@ -280,6 +290,14 @@ public class ParameterizedBuiltin extends Lop
 			sb.append( _bRmEmptyBC );
 			sb.append(OPERAND_DELIMITOR);
 		}
+		
+		//append degree of parallelism for multi-threaded cp operations
+		if( getExecType()==ExecType.CP && _operation == OperationTypes.RMEMPTY ) {
+			sb.append( "k" );
+			sb.append( NAME_VALUE_SEPARATOR );
+			sb.append( _numThreads );
+			sb.append( OPERAND_DELIMITOR );
+		}
 
 		sb.append(this.prepOutputOperand(output));
 		
@@ -34,6 +34,7 @@ public class Ternary extends Lop
 {
 	
 	private boolean _ignoreZeros = false;
+	private int _numThreads = 1;
 	
 	public enum OperationTypes { 
 		CTABLE_TRANSFORM, 
@@ -56,6 +57,11 @@ public class Ternary extends Lop
 		_ignoreZeros = ignoreZeros;
 	}
 	
+	public Ternary(Lop[] inputLops, OperationTypes op, DataType dt, ValueType vt, boolean ignoreZeros, ExecType et, int k) {
+		this(inputLops, op, dt, vt, ignoreZeros, et);
+		_numThreads = k;
+	}
+	
 	private void init(Lop[] inputLops, OperationTypes op, ExecType et) {
 		operation = op;
 		
@@ -188,6 +194,12 @@ public class Ternary extends Lop
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( _ignoreZeros );
 		
+		//append degree of parallelism (CP only)
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 
@@ -43,6 +43,9 @@ public class Transform extends Lop
 	
 	private OperationTypes operation = null;
 	
+	//cp-specific parameters
+	private int _numThreads = 1;
+	
 	/**
 	 * Constructor when we have one input.
 	 * @param input
@@ -55,6 +58,13 @@ public class Transform extends Lop
 		init(input, op, dt, vt, et);
 	}
 	
+	public Transform(Lop input, Transform.OperationTypes op, DataType dt, ValueType vt, ExecType et, int k) 
+	{
+		super(Lop.Type.Transform, dt, vt);		
+		init(input, op, dt, vt, et);
+		_numThreads = k;
+	}
+	
 	public Transform(Lop input, Transform.OperationTypes op, DataType dt, ValueType vt) 
 	{
 		super(Lop.Type.Transform, dt, vt);		
@@ -68,6 +78,14 @@ public class Transform extends Lop
 		init(input, op, dt, vt, et);
 	}
 	
+	public Transform(Lop input, Transform.OperationTypes op, DataType dt, ValueType vt, ExecType et, boolean bSortIndInMem, int k) 
+	{
+		super(Lop.Type.Transform, dt, vt);		
+		_bSortIndInMem = bSortIndInMem;
+		_numThreads = k;
+		init(input, op, dt, vt, et);
+	}
+	
 	private void init (Lop input, Transform.OperationTypes op, DataType dt, ValueType vt, ExecType et) 
 	{
 		operation = op;
@@ -160,6 +178,12 @@ public class Transform extends Lop
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( this.prepOutputOperand(output));
 		
+		//append degree of parallelism for multi-threaded transpose
+		if( getExecType()==ExecType.CP && operation == OperationTypes.Transpose ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 
@@ -194,6 +218,13 @@ public class Transform extends Lop
 			sb.append( _bSortIndInMem);
 		}
 		
+		//append degree of parallelism for multi-threaded reshape and sort
+		if( getExecType()==ExecType.CP && (operation == OperationTypes.Reshape 
+			|| operation == OperationTypes.Sort) ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
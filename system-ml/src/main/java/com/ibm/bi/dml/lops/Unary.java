@@ -35,7 +35,7 @@ public class Unary extends Lop
 {
 	
 	public enum OperationTypes {
-		ADD, SUBTRACT, SUBTRACTRIGHT, MULTIPLY, MULTIPLY2, DIVIDE, MODULUS, INTDIV, MINUS1_MULTIPLY, POW, POW2, LOG, MAX, MIN, NOT, ABS, SIN, COS, TAN, ASIN, ACOS, ATAN, SQRT, EXP, Over, LESS_THAN, LESS_THAN_OR_EQUALS, GREATER_THAN, GREATER_THAN_OR_EQUALS, EQUALS, NOT_EQUALS, ROUND, CEIL, FLOOR, MR_IQM, INVERSE,
+		ADD, SUBTRACT, SUBTRACTRIGHT, MULTIPLY, MULTIPLY2, DIVIDE, MODULUS, INTDIV, MINUS1_MULTIPLY, POW, POW2, LOG, MAX, MIN, NOT, ABS, SIN, COS, TAN, ASIN, ACOS, ATAN, SQRT, EXP, Over, LESS_THAN, LESS_THAN_OR_EQUALS, GREATER_THAN, GREATER_THAN_OR_EQUALS, EQUALS, NOT_EQUALS, ROUND, CEIL, FLOOR, MR_IQM, INVERSE, CHOLESKY,
 		CUMSUM, CUMPROD, CUMMIN, CUMMAX,
 		SPROP, SIGMOID, SELP, SUBTRACT_NZ, LOG_NZ,
 		NOTSUPPORTED
@@ -44,6 +44,9 @@ public class Unary extends Lop
 	OperationTypes operation;
 
 	Lop valInput;
+	
+	//cp-specific parameters
+	private int _numThreads = 1;
 
 	/**
 	 * Constructor to perform a unary operation with 2 inputs
@@ -57,6 +60,12 @@ public class Unary extends Lop
 		init(input1, input2, op, dt, vt, et);
 	}
 	
+	public Unary(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et, int numThreads) {
+		super(Lop.Type.UNARY, dt, vt);
+		init(input1, input2, op, dt, vt, et);
+		_numThreads = numThreads;
+	}
+	
 	public Unary(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt) {
 		super(Lop.Type.UNARY, dt, vt);
 		init(input1, input2, op, dt, vt, ExecType.MR);
@@ -108,13 +117,19 @@ public class Unary extends Lop
 		init(input1, op, dt, vt, et);
 	}
 	
+	public Unary(Lop input1, OperationTypes op, DataType dt, ValueType vt, ExecType et, int numThreads) {
+		super(Lop.Type.UNARY, dt, vt);
+		init(input1, op, dt, vt, et);
+		_numThreads = numThreads;
+	}
+	
 	public Unary(Lop input1, OperationTypes op, DataType dt, ValueType vt) {
 		super(Lop.Type.UNARY, dt, vt);
 		init(input1, op, dt, vt, ExecType.MR);
 	}
 	
 	private ExecType forceExecType(OperationTypes op, ExecType et) {
-		if ( op == OperationTypes.INVERSE )
+		if ( op == OperationTypes.INVERSE || op == OperationTypes.CHOLESKY )
 			return ExecType.CP;
 		return et;
 	}
@@ -276,6 +291,9 @@ public class Unary extends Lop
 		case INVERSE:
 			return "inverse";
 			
+		case CHOLESKY:
+			return "cholesky";
+			
 		case MR_IQM:
 			return "qpick";
 
@@ -308,6 +326,12 @@ public class Unary extends Lop
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( this.prepOutputOperand(output));
 			
+			//append degree of parallelism for multi-threaded unary operations
+			if( getExecType() == ExecType.CP && isMultiThreadedUnaryOp(operation) ) {
+				sb.append( OPERAND_DELIMITOR );
+				sb.append( _numThreads );
+			}
+			
 			return sb.toString();
 
 		} else {
@@ -351,9 +375,74 @@ public class Unary extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
+		//append degree of parallelism for multi-threaded matrix-scalar operations
+		if( getExecType() == ExecType.CP && isMultiThreadedOp(operation) ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
+	/**
+	 * Indicates if the given matrix-scalar operation supports multi-threaded
+	 * execution in CP (arithmetic and relational operations).
+	 * 
+	 * @param op
+	 * @return
+	 */
+	public static boolean isMultiThreadedOp( OperationTypes op ) {
+		return op == OperationTypes.ADD 
+			|| op == OperationTypes.SUBTRACT
+			|| op == OperationTypes.SUBTRACT_NZ
+			|| op == OperationTypes.MULTIPLY
+			|| op == OperationTypes.MULTIPLY2
+			|| op == OperationTypes.DIVIDE
+			|| op == OperationTypes.MODULUS
+			|| op == OperationTypes.INTDIV
+			|| op == OperationTypes.MINUS1_MULTIPLY
+			|| op == OperationTypes.POW
+			|| op == OperationTypes.POW2
+			|| op == OperationTypes.LESS_THAN
+			|| op == OperationTypes.LESS_THAN_OR_EQUALS
+			|| op == OperationTypes.GREATER_THAN
+			|| op == OperationTypes.GREATER_THAN_OR_EQUALS
+			|| op == OperationTypes.EQUALS
+			|| op == OperationTypes.NOT_EQUALS;
+	}
+	
+	/**
+	 * Indicates if the given single-input matrix operation supports 
+	 * multi-threaded execution in CP (builtin unary operations).
+	 * 
+	 * @param op
+	 * @return
+	 */
+	public static boolean isMultiThreadedUnaryOp( OperationTypes op ) {
+		return op == OperationTypes.ABS 
+			|| op == OperationTypes.SIN
+			|| op == OperationTypes.COS
+			|| op == OperationTypes.TAN
+			|| op == OperationTypes.ASIN
+			|| op == OperationTypes.ACOS
+			|| op == OperationTypes.ATAN
+			|| op == OperationTypes.SQRT
+			|| op == OperationTypes.EXP
+			|| op == OperationTypes.LOG
+			|| op == OperationTypes.ROUND
+			|| op == OperationTypes.CEIL
+			|| op == OperationTypes.FLOOR
+			|| op == OperationTypes.CUMSUM
+			|| op == OperationTypes.CUMPROD
+			|| op == OperationTypes.CUMMIN
+			|| op == OperationTypes.CUMMAX
+			|| op == OperationTypes.SPROP
+			|| op == OperationTypes.SIGMOID
+			|| op == OperationTypes.SELP
+			|| op == OperationTypes.INVERSE
+			|| op == OperationTypes.CHOLESKY;
+	}
+	
 	@Override
 	public String getInstructions(int inputIndex1, int inputIndex2,
 			int outputIndex) throws LopsException {
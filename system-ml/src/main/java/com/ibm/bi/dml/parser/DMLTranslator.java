@@ -2664,6 +2664,11 @@ public class DMLTranslator
 			currBuiltinOp=new UnaryOp(target.getName(), target.getDataType(), target.getValueType(), 
 					Hop.OpOp1.INVERSE, expr);
 			break;
+			
+		case CHOLESKY:
+			currBuiltinOp=new UnaryOp(target.getName(), target.getDataType(), target.getValueType(), 
+					Hop.OpOp1.CHOLESKY, expr);
+			break;
 		
 		case OUTER:
 			if( !(expr3 instanceof LiteralOp) )
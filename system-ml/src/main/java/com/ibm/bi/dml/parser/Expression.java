@@ -108,6 +108,7 @@ public abstract class Expression
 		RBIND,
 		MEDIAN,
 		INVERSE,
+		CHOLESKY,
 		SAMPLE
 	};
 
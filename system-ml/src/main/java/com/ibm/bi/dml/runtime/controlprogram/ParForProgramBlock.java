@@ -57,6 +57,7 @@ import com.ibm.bi.dml.runtime.controlprogram.parfor.DataPartitionerRemoteMR;
 import com.ibm.bi.dml.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import com.ibm.bi.dml.runtime.controlprogram.parfor.LocalParWorker;
 import com.ibm.bi.dml.runtime.controlprogram.parfor.LocalTaskQueue;
+import com.ibm.bi.dml.runtime.controlprogram.parfor.LocalTaskSource;
 import com.ibm.bi.dml.runtime.controlprogram.parfor.ParForBody;
 import com.ibm.bi.dml.runtime.controlprogram.parfor.ProgramConverter;
 import com.ibm.bi.dml.runtime.controlprogram.parfor.RemoteDPParForMR;
@@ -78,6 +79,7 @@ import com.ibm.bi.dml.runtime.controlprogram.parfor.TaskPartitionerFactoringCmin
 import com.ibm.bi.dml.runtime.controlprogram.parfor.TaskPartitionerFixedsize;
 import com.ibm.bi.dml.runtime.controlprogram.parfor.TaskPartitionerNaive;
 import com.ibm.bi.dml.runtime.controlprogram.parfor.TaskPartitionerStatic;
+import com.ibm.bi.dml.runtime.controlprogram.parfor.WorkStealingTaskPool;
 import com.ibm.bi.dml.runtime.controlprogram.parfor.mqo.RuntimePiggybacking;
 import com.ibm.bi.dml.runtime.controlprogram.parfor.opt.CostEstimator;
 import com.ibm.bi.dml.runtime.controlprogram.parfor.opt.CostEstimatorHops;
@@ -135,6 +137,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		FACTORING,  //factoring task partitioner  
 		FACTORING_CMIN,  //constrained factoring task partitioner, uses tasksize as min constraint
 		FACTORING_CMAX,  //constrained factoring task partitioner, uses tasksize as max constraint
+		WORK_STEALING,   //work-stealing with adaptive range splitting (local only), uses tasksize as min grain
 		UNSPECIFIED
 	}
 	
@@ -212,7 +215,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	public static       boolean ALLOW_REUSE_MR_JVMS         = true;    // potential benefits: less setup costs per task, NOTE> cannot be used MR4490 in Hadoop 1.0.3, still not fixed in 1.1.1
 	public static       boolean ALLOW_REUSE_MR_PAR_WORKER   = ALLOW_REUSE_MR_JVMS; //potential benefits: less initialization, reuse in-memory objects and result consolidation!
 	public static final boolean USE_FLEX_SCHEDULER_CONF     = false;
-	public static final boolean USE_PARALLEL_RESULT_MERGE   = false;    // if result merge is run in parallel or serial 
+	public static final boolean USE_PARALLEL_RESULT_MERGE   = true;     // if result merge is run in parallel or serial 
 	public static final boolean USE_PARALLEL_RESULT_MERGE_REMOTE = true; // if remote result merge should be run in parallel for multiple result vars
 	public static final boolean ALLOW_DATA_COLOCATION       = true;
 	public static final boolean CREATE_UNSCOPED_RESULTVARS  = true;
@@ -285,6 +288,9 @@ public class ParForProgramBlock extends ForProgramBlock
 	protected long[] 		   	                    _pwIDs   = null;
 	protected HashMap<Long,ArrayList<ProgramBlock>> _pbcache = null;
 	
+	// result variables w/o other references (in-place result merge)
+	protected HashSet<String>    _inPlaceResultVars = null;
+	
 	
 	static
 	{
@@ -592,6 +598,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		//preserve shared input/result variables of cleanup
 		ArrayList<String> varList = ec.getVarList();
 		HashMap<String, Boolean> varState = ec.pinVariables(varList);
+		_inPlaceResultVars = getUnreferencedResultVariables(ec, varState);
 		
 		try 
 		{		
@@ -693,6 +700,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		 * Step 2) create tasks
 		 *         put tasks into queue
 		 *         mark end of task input stream
+		 *         (for work stealing, tasks are created on demand by the workers)
 		 * Step 3) join all threads (wait for finished work)
 		 * Step 4) collect results from each parallel worker
 		 */
@@ -712,13 +720,17 @@ public class ParForProgramBlock extends ForProgramBlock
 		try
 		{
 			// Step 1) init parallel workers, task queue and threads
+			boolean workStealing = (_taskPartitioner == PTaskPartitioner.WORK_STEALING);
 			LocalTaskQueue<Task> queue = new LocalTaskQueue<Task>();
+			WorkStealingTaskPool pool = workStealing ? new WorkStealingTaskPool(
+					_iterablePredicateVars[0], from, to, incr, _numThreads, _taskSize) : null;
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			for( int i=0; i<_numThreads; i++ )
 			{
 				//create parallel workers as (lazy) deep copies
-				workers[i] = createParallelWorker( _pwIDs[i], queue, ec ); 
+				workers[i] = createParallelWorker( _pwIDs[i], 
+						workStealing ? pool.getTaskSource(i) : queue, ec ); 
 				threads[i] = new Thread( workers[i] );
 				threads[i].setPriority(Thread.MAX_PRIORITY); 
 			}
@@ -735,16 +747,25 @@ public class ParForProgramBlock extends ForProgramBlock
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_INIT_PARWRK_T, tinit);
 			
 			// Step 2) create tasks 
-			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
-			long numIterations = partitioner.getNumIterations();
+			long numIterations = -1;
 			long numCreatedTasks = -1;
-			if( USE_STREAMING_TASK_CREATION )
+			if( workStealing )
+			{
+				//tasks created on demand via adaptive range splitting
+				numIterations = pool.getNumIterations();
+			}
+			else if( USE_STREAMING_TASK_CREATION )
 			{
+				TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
+				numIterations = partitioner.getNumIterations();
+				
 				//put tasks into queue (parworker start work on first tasks while creating tasks) 
 				numCreatedTasks = partitioner.createTasks(queue);		
 			}
 			else
 			{
+				TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
+				numIterations = partitioner.getNumIterations();
 				List<Task> tasks = partitioner.createTasks();
 				numCreatedTasks = tasks.size();
 				
@@ -761,6 +782,8 @@ public class ParForProgramBlock extends ForProgramBlock
 			// Step 3) join all threads (wait for finished work)
 			for( Thread thread : threads )
 				thread.join();
+			if( workStealing )
+				numCreatedTasks = pool.getNumCreatedTasks();
 			
 			if( _monitor ) 
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_EXEC_T, time.stop());
@@ -774,6 +797,8 @@ public class ParForProgramBlock extends ForProgramBlock
 				localVariables[i] = workers[i].getVariables();
 				numExecutedTasks += workers[i].getExecutedTasks();
 				numExecutedIterations += workers[i].getExecutedIterations();			
+				if( DMLScript.STATISTICS )
+					Statistics.incrementParForWorkerTime(workers[i].getBusyTime(), workers[i].getIdleTime());
 			}
 			//consolidate results into global symbol table
 			consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations, numExecutedTasks, 
@@ -1346,6 +1371,30 @@ public class ParForProgramBlock extends ForProgramBlock
 		}
 	}
 	
+	/**
+	 * Determines all result variables whose old output is not referenced otherwise,
+	 * i.e., that were unpinned before the parfor (not a function input, or result 
+	 * of a parent parfor) and are not referenced by other variables. For these
+	 * variables, the result merge can update the old output in-place.
+	 * 
+	 * @param ec
+	 * @param varState
+	 * @return
+	 */
+	private HashSet<String> getUnreferencedResultVariables( ExecutionContext ec, HashMap<String,Boolean> varState )
+	{
+		HashSet<String> ret = new HashSet<String>();
+		for( String var : _resultVars ) {
+			Data dat = ec.getVariable(var);
+			if( dat instanceof MatrixObject && varState.containsKey(var) && varState.get(var) 
+				&& ec.getVariables().getNumReferences(dat, true) == 1 )
+			{
+				ret.add(var);
+			}
+		}
+		return ret;
+	}
+	
 	/**
 	 * 
 	 * @param ec
@@ -1396,7 +1445,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	 * @throws DMLRuntimeException
 	 * @throws CloneNotSupportedException
 	 */
-	private LocalParWorker createParallelWorker(long pwID, LocalTaskQueue<Task> queue, ExecutionContext ec) 
+	private LocalParWorker createParallelWorker(long pwID, LocalTaskSource<Task> queue, ExecutionContext ec) 
 		throws DMLRuntimeException
 	{
 		LocalParWorker pw = null; 
@@ -1469,6 +1518,9 @@ public class ParForProgramBlock extends ForProgramBlock
                         					   from, to, incr );
 				break;
 			case FACTORING:
+			case WORK_STEALING: 
+				//work stealing only applies to local parfor (see executeLocalParFor),
+				//remote parfor falls back to factoring 
 				tp = new TaskPartitionerFactoring( _taskSize,_numThreads, _iterablePredicateVars[0],
 							                       from, to, incr );
 				break;
@@ -1774,6 +1826,7 @@ public class ParForProgramBlock extends ForProgramBlock
 						in[i] = (MatrixObject) results[i].get( var ); 			
 					String fname = constructResultMergeFileName();
 					ResultMerge rm = createResultMerge(_resultMerge, out, in, fname, ec);
+					rm.setInPlace( _inPlaceResultVars != null && _inPlaceResultVars.contains(var) );
 					MatrixObject outNew = null;
 					if( USE_PARALLEL_RESULT_MERGE )
 						outNew = rm.executeParallelMerge( _numThreads );
@@ -2097,6 +2150,7 @@ public class ParForProgramBlock extends ForProgramBlock
 					String fname = constructResultMergeFileName();
 				
 					ResultMerge rm = createResultMerge(_resultMerge, out, in, fname, _ec);
+					rm.setInPlace( _inPlaceResultVars != null && _inPlaceResultVars.contains(varname) );
 					MatrixObject outNew = null;
 					if( USE_PARALLEL_RESULT_MERGE )
 						outNew = rm.executeParallelMerge( _numThreads );
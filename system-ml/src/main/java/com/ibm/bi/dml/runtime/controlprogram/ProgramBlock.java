@@ -28,14 +28,17 @@ import com.ibm.bi.dml.hops.Hop;
 import com.ibm.bi.dml.hops.OptimizerUtils;
 import com.ibm.bi.dml.hops.recompile.Recompiler;
 import com.ibm.bi.dml.parser.StatementBlock;
+import com.ibm.bi.dml.parser.Expression.DataType;
 import com.ibm.bi.dml.parser.Expression.ValueType;
 import com.ibm.bi.dml.runtime.DMLRuntimeException;
 import com.ibm.bi.dml.runtime.DMLScriptException;
 import com.ibm.bi.dml.runtime.DMLUnsupportedOperationException;
+import com.ibm.bi.dml.runtime.controlprogram.caching.CacheableData;
 import com.ibm.bi.dml.runtime.controlprogram.caching.MatrixObject;
 import com.ibm.bi.dml.runtime.controlprogram.context.ExecutionContext;
 import com.ibm.bi.dml.runtime.instructions.Instruction;
 import com.ibm.bi.dml.runtime.instructions.cp.BooleanObject;
+import com.ibm.bi.dml.runtime.instructions.cp.CPOperand;
 import com.ibm.bi.dml.runtime.instructions.cp.ComputationCPInstruction;
 import com.ibm.bi.dml.runtime.instructions.cp.Data;
 import com.ibm.bi.dml.runtime.instructions.cp.DoubleObject;
@@ -44,6 +47,7 @@ import com.ibm.bi.dml.runtime.instructions.cp.ScalarObject;
 import com.ibm.bi.dml.runtime.instructions.cp.StringObject;
 import com.ibm.bi.dml.runtime.instructions.cp.VariableCPInstruction;
 import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.utils.RuntimeMetrics;
 import com.ibm.bi.dml.utils.Statistics;
 import com.ibm.bi.dml.yarn.DMLAppMasterUtils;
 
@@ -220,6 +224,10 @@ public class ProgramBlock
 			//indexed access required due to dynamic add
 			Instruction currInst = inst.get(i);
 			
+			//prefetch evicted inputs of subsequent instructions
+			if( CacheableData.CACHING_PREFETCH )
+				prefetchInputs(inst, i+1, ec);
+			
 			//execute instruction
 			ec.updateDebugState(i);
 			executeSingleInstruction(currInst, ec);
@@ -285,6 +293,44 @@ public class ProgramBlock
 		return ret;
 	}
 	
+	/**
+	 * Triggers asynchronous restores of evicted matrix inputs of the next
+	 * instructions (starting at the given position) in order to hide local
+	 * read I/O behind the execution of the current instruction.
+	 * 
+	 * @param inst
+	 * @param pos
+	 * @param ec
+	 */
+	private void prefetchInputs( ArrayList<Instruction> inst, int pos, ExecutionContext ec )
+	{
+		int end = Math.min(pos+CacheableData.CACHING_PREFETCH_DISTANCE, inst.size());
+		for( int i=pos; i<end; i++ ) 
+		{
+			Instruction tmp = inst.get(i);
+			if( tmp instanceof ComputationCPInstruction ) {
+				ComputationCPInstruction cinst = (ComputationCPInstruction) tmp;
+				prefetchInput(cinst.input1, ec);
+				prefetchInput(cinst.input2, ec);
+				prefetchInput(cinst.input3, ec);
+			}
+		}
+	}
+	
+	/**
+	 * 
+	 * @param input
+	 * @param ec
+	 */
+	private void prefetchInput( CPOperand input, ExecutionContext ec )
+	{
+		if( input != null && input.getDataType() == DataType.MATRIX ) {
+			Data dat = ec.getVariable(input.getName());
+			if( dat instanceof MatrixObject )
+				((MatrixObject)dat).prefetch();
+		}
+	}
+	
 	/**
 	 * 
 	 * 
@@ -297,8 +343,10 @@ public class ProgramBlock
 		try 
 		{	
 			// start time measurement for statistics
-			long t0 = (DMLScript.STATISTICS || LOG.isTraceEnabled()) ? 
+			boolean metrics = RuntimeMetrics.isEnabled();
+			long t0 = (DMLScript.STATISTICS || metrics || LOG.isTraceEnabled()) ? 
 					System.nanoTime() : 0;
+			long a0 = metrics ? RuntimeMetrics.getThreadAllocatedBytes() : -1;
 					
 			// pre-process instruction (debug state, inst patching, listeners)
 			Instruction tmp = currInst.preprocessInstruction( ec );
@@ -314,6 +362,13 @@ public class ProgramBlock
 				Statistics.maintainCPHeavyHitters(
 						tmp.getExtendedOpcode(), System.nanoTime()-t0);
 			}
+			
+			// maintain optional runtime metrics (latency histograms, allocations)
+			if( metrics ) {
+				long a1 = (a0 >= 0) ? RuntimeMetrics.getThreadAllocatedBytes() : -1;
+				RuntimeMetrics.maintainInstructionMetrics(tmp.getExtendedOpcode(), 
+						System.nanoTime()-t0, (a1 >= 0) ? a1-a0 : -1);
+			}
 				
 			// optional trace information (instruction and runtime)
 			if( LOG.isTraceEnabled() ) {
@@ -20,6 +20,7 @@ package com.ibm.bi.dml.runtime.controlprogram.caching;
 import java.io.DataOutput;
 import java.io.IOException;
 
+import com.ibm.bi.dml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
 import com.ibm.bi.dml.runtime.util.LocalFileUtils;
 
@@ -33,9 +34,12 @@ public class ByteBuffer
 	private boolean _serialized;	
 	private boolean _sparse;
 	private long _size;
+	private long _usize; //uncompressed size
+	private int _numAccesses; //guarded by write buffer stripe lock
 	
 	protected byte[]       _bdata = null; //sparse matrix
 	protected MatrixBlock  _mdata = null; //dense matrix
+	protected byte[][]     _cdata = null; //compressed matrix (segments)
 	
 	public ByteBuffer( long size )
 	{
@@ -87,6 +91,40 @@ public class ByteBuffer
 		_serialized = true;
 	}
 	
+	/**
+	 * Serializes the given matrix into its on-disk binary representation 
+	 * and compresses the serialized bytes. Afterwards, the buffer size
+	 * is the compressed size.
+	 * 
+	 * @param mb
+	 * @throws IOException
+	 */
+	public void compressMatrix( MatrixBlock mb ) 
+		throws IOException
+	{
+		_sparse = mb.evalSparseFormatOnDisk(); //intended target representation
+		
+		try
+		{
+			//deep serialize into temporary buffer
+			byte[] tmp = new byte[(int)_size];
+			DataOutput dout = new CacheDataOutput(tmp);
+			mb.write(dout);
+			
+			//compress serialized buffer (multi-threaded for large buffers)
+			_cdata = CacheCompression.compress(tmp, 
+					InfrastructureAnalyzer.getLocalParallelism());
+		}
+		catch(Exception ex)
+		{
+			throw new IOException("Failed to compress matrix block.", ex);
+		}
+		
+		_usize = _size;
+		_size = CacheCompression.getCompressedSize(_cdata);
+		_serialized = true;
+	}
+	
 	/**
 	 * 
 	 * @return
@@ -97,7 +135,14 @@ public class ByteBuffer
 	{
 		MatrixBlock ret = null;
 		
-		if( _sparse )
+		if( _cdata != null )
+		{
+			//decompress and deserialize
+			CacheDataInput din = new CacheDataInput(decompress());
+			ret = new MatrixBlock();
+			ret.readFields(din);
+		}
+		else if( _sparse )
 		{
 			//ByteArrayInputStream bis = new ByteArrayInputStream(_bdata);
 			//DataInputStream din = new DataInputStream(bis); 
@@ -121,7 +166,12 @@ public class ByteBuffer
 	public void evictBuffer( String fname ) 
 		throws IOException
 	{
-		if( _sparse )
+		if( _cdata != null )
+		{
+			//write out decompressed byte serialized array
+			LocalFileUtils.writeByteArrayToLocal(fname, decompress());
+		}
+		else if( _sparse )
 		{
 			//write out byte serialized array
 			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
@@ -143,6 +193,45 @@ public class ByteBuffer
 		return _size;
 	}
 	
+	/**
+	 * Indicates if the buffer holds a compressed matrix.
+	 * 
+	 * @return
+	 */
+	public boolean isCompressed()
+	{
+		return (_cdata != null);
+	}
+	
+	/**
+	 * Returns the ratio of uncompressed to compressed size, or 1 if 
+	 * the buffer is not compressed.
+	 * 
+	 * @return
+	 */
+	public double getCompressionRatio()
+	{
+		return (_cdata != null && _size > 0) ? (double)_usize/_size : 1;
+	}
+	
+	/**
+	 * Returns the number of buffer reads, used for cost-aware eviction.
+	 * 
+	 * @return
+	 */
+	public int getNumAccesses()
+	{
+		return _numAccesses;
+	}
+	
+	/**
+	 * 
+	 */
+	public void incrementAccesses()
+	{
+		_numAccesses++;
+	}
+	
 	/**
 	 * 
 	 * @return
@@ -155,7 +244,11 @@ public class ByteBuffer
 	public void freeMemory()
 	{
 		//clear strong references to buffer/matrix
-		if( _sparse )
+		if( _cdata != null )
+		{
+			_cdata = null;
+		}
+		else if( _sparse )
 		{
 			if( CacheableData.CACHING_BUFFER_PAGECACHE )
 				PageCache.putPage(_bdata);
@@ -181,6 +274,32 @@ public class ByteBuffer
 		}
 	}
 	
+	/**
+	 * Determines if a matrix of the given serialized size can be compressed, 
+	 * which requires a temporary byte array of that size.
+	 * 
+	 * @param size
+	 * @return
+	 */
+	public static boolean isValidCompressedCapacity( long size )
+	{
+		return ( size <= Integer.MAX_VALUE );
+	}
+	
+	/**
+	 * 
+	 * @return
+	 * @throws IOException
+	 */
+	private byte[] decompress() 
+		throws IOException
+	{
+		byte[] ret = new byte[(int)_usize];
+		CacheCompression.decompress(_cdata, ret, 
+				InfrastructureAnalyzer.getLocalParallelism());
+		return ret;
+	}
+	
 	/**
 	 * Determines if byte buffer can hold the given size given this specific matrix block.
 	 * This call is consistent with 'serializeMatrix' and allows for internal optimization
@@ -0,0 +1,308 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.controlprogram.caching;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression of serialized matrix blocks for the write buffer. The serialized
+ * byte array is split into fixed-size segments, which are compressed and 
+ * decompressed independently (in parallel for large buffers) with a fast 
+ * deflate configuration (best speed). Multi-threaded (de)compression uses
+ * a shared pool of daemon threads, which is set up with the write buffer.
+ * 
+ */
+public class CacheCompression 
+{
+	
+	//uncompressed segment size in bytes
+	public static final int SEGMENT_SIZE = 4*1024*1024;
+	
+	//shared thread pool for multi-threaded (de)compression
+	private static ExecutorService _pool = null;
+	
+	/**
+	 * Creates the shared thread pool with the given number of threads,
+	 * if not already created.
+	 * 
+	 * @param k
+	 */
+	public static synchronized void init( int k )
+	{
+		if( _pool == null && k > 1 )
+			_pool = Executors.newFixedThreadPool(k, 
+					new LazyWriteBuffer.CacheThreadFactory("Compress"));
+	}
+	
+	/**
+	 * Shuts down the shared thread pool, if created.
+	 */
+	public static synchronized void cleanup()
+	{
+		if( _pool != null ) {
+			_pool.shutdown();
+			_pool = null;
+		}
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	private static synchronized ExecutorService getPool()
+	{
+		return _pool;
+	}
+	
+	/**
+	 * 
+	 * @param data
+	 * @param k
+	 * @return
+	 * @throws IOException
+	 */
+	public static byte[][] compress( byte[] data, int k ) 
+		throws IOException
+	{
+		int nseg = getNumSegments(data.length);
+		byte[][] ret = new byte[nseg][];
+		ExecutorService pool = getPool();
+		
+		if( k <= 1 || nseg <= 1 || pool == null ) //SINGLE-THREADED
+		{
+			Deflater def = new Deflater(Deflater.BEST_SPEED);
+			byte[] tmp = new byte[SEGMENT_SIZE+(SEGMENT_SIZE>>10)+64];
+			for( int i=0; i<nseg; i++ )
+				ret[i] = compressSegment(def, data, i, tmp);
+			def.end();
+		}
+		else //MULTI-THREADED
+		{
+			try
+			{
+				ArrayList<CompressTask> tasks = new ArrayList<CompressTask>();
+				int blklen = (int)(Math.ceil((double)nseg/k));
+				for( int i=0; i<k & i*blklen<nseg; i++ )
+					tasks.add(new CompressTask(data, ret, i*blklen, Math.min((i+1)*blklen, nseg)));
+				List<Future<Object>> rtasks = pool.invokeAll(tasks);
+				for( Future<Object> rtask : rtasks )
+					rtask.get(); //error handling
+			}
+			catch(Exception ex) {
+				throw new IOException("Failed to compress buffer.", ex);
+			}
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param cdata
+	 * @param out
+	 * @param k
+	 * @throws IOException
+	 */
+	public static void decompress( byte[][] cdata, byte[] out, int k ) 
+		throws IOException
+	{
+		int nseg = cdata.length;
+		ExecutorService pool = getPool();
+		
+		if( k <= 1 || nseg <= 1 || pool == null ) //SINGLE-THREADED
+		{
+			Inflater inf = new Inflater();
+			for( int i=0; i<nseg; i++ )
+				decompressSegment(inf, cdata, i, out);
+			inf.end();
+		}
+		else //MULTI-THREADED
+		{
+			try
+			{
+				ArrayList<DecompressTask> tasks = new ArrayList<DecompressTask>();
+				int blklen = (int)(Math.ceil((double)nseg/k));
+				for( int i=0; i<k & i*blklen<nseg; i++ )
+					tasks.add(new DecompressTask(cdata, out, i*blklen, Math.min((i+1)*blklen, nseg)));
+				List<Future<Object>> rtasks = pool.invokeAll(tasks);
+				for( Future<Object> rtask : rtasks )
+					rtask.get(); //error handling
+			}
+			catch(Exception ex) {
+				throw new IOException("Failed to decompress buffer.", ex);
+			}
+		}
+	}
+	
+	/**
+	 * 
+	 * @param cdata
+	 * @return
+	 */
+	public static long getCompressedSize( byte[][] cdata )
+	{
+		long ret = 0;
+		for( byte[] seg : cdata )
+			ret += seg.length;
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param len
+	 * @return
+	 */
+	private static int getNumSegments( int len )
+	{
+		return (int)Math.ceil((double)len/SEGMENT_SIZE);
+	}
+	
+	/**
+	 * 
+	 * @param def
+	 * @param data
+	 * @param seg
+	 * @param tmp
+	 * @return
+	 */
+	private static byte[] compressSegment( Deflater def, byte[] data, int seg, byte[] tmp )
+	{
+		int off = seg * SEGMENT_SIZE;
+		int len = Math.min(SEGMENT_SIZE, data.length-off);
+		
+		def.reset();
+		def.setInput(data, off, len);
+		def.finish();
+		
+		//compress into temporary buffer, growing if incompressible
+		int clen = 0;
+		while( !def.finished() ) {
+			if( clen == tmp.length ) {
+				byte[] tmp2 = new byte[2*tmp.length];
+				System.arraycopy(tmp, 0, tmp2, 0, clen);
+				tmp = tmp2;
+			}
+			clen += def.deflate(tmp, clen, tmp.length-clen);
+		}
+		
+		//copy into exact-size segment
+		byte[] ret = new byte[clen];
+		System.arraycopy(tmp, 0, ret, 0, clen);
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param inf
+	 * @param cdata
+	 * @param seg
+	 * @param out
+	 * @throws IOException
+	 */
+	private static void decompressSegment( Inflater inf, byte[][] cdata, int seg, byte[] out ) 
+		throws IOException
+	{
+		int off = seg * SEGMENT_SIZE;
+		int len = Math.min(SEGMENT_SIZE, out.length-off);
+		
+		inf.reset();
+		inf.setInput(cdata[seg]);
+		try {
+			int pos = 0;
+			while( pos < len && !inf.finished() )
+				pos += inf.inflate(out, off+pos, len-pos);
+			if( pos != len )
+				throw new IOException("Corrupted buffer segment "+seg+": "+pos+" instead of "+len+" bytes.");
+		}
+		catch(DataFormatException ex) {
+			throw new IOException(ex);
+		}
+	}
+	
+	
+	///////////////////////////////////////////////
+	// Task Implementations for Multi-Threaded Operations
+	///////////////////////////////////////////////
+	
+	/**
+	 * 
+	 */
+	private static class CompressTask implements Callable<Object> 
+	{
+		private byte[] _data = null;
+		private byte[][] _cdata = null;
+		private int _sl = -1;
+		private int _su = -1;
+		
+		protected CompressTask( byte[] data, byte[][] cdata, int sl, int su ) {
+			_data = data;
+			_cdata = cdata;
+			_sl = sl;
+			_su = su;
+		}
+		
+		@Override
+		public Object call() 
+		{
+			Deflater def = new Deflater(Deflater.BEST_SPEED);
+			byte[] tmp = new byte[SEGMENT_SIZE+(SEGMENT_SIZE>>10)+64];
+			for( int i=_sl; i<_su; i++ )
+				_cdata[i] = compressSegment(def, _data, i, tmp);
+			def.end();
+			return null;
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class DecompressTask implements Callable<Object> 
+	{
+		private byte[][] _cdata = null;
+		private byte[] _out = null;
+		private int _sl = -1;
+		private int _su = -1;
+		
+		protected DecompressTask( byte[][] cdata, byte[] out, int sl, int su ) {
+			_cdata = cdata;
+			_out = out;
+			_sl = sl;
+			_su = su;
+		}
+		
+		@Override
+		public Object call() 
+			throws IOException
+		{
+			Inflater inf = new Inflater();
+			for( int i=_sl; i<_su; i++ )
+				decompressSegment(inf, _cdata, i, _out);
+			inf.end();
+			return null;
+		}
+	}
+}
@@ -19,10 +19,15 @@ package com.ibm.bi.dml.runtime.controlprogram.caching;
 
 import java.util.concurrent.atomic.AtomicLong;
 
+import com.ibm.bi.dml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+
 /**
  * This singleton provides basic caching statistics in CP.
  * 
  * 1) Hit statistics for caching (mem, fs, hdfs, total)
+ * 2) Write buffer hit/miss statistics per replacement policy
+ * 3) Write buffer compression statistics (blocks, bytes)
+ * 4) Prefetch statistics (prefetches, hits, wasted, time saved)
  * 
  * NOTE: In order to provide accurate statistics in multi-threaded
  * synchronized increments are required. Since those functions are 
@@ -60,6 +65,21 @@ public class CacheStatistics
 	private static AtomicLong _numWritesFS     = null;
 	private static AtomicLong _numWritesHDFS   = null;
 	
+	//write buffer hit/miss statistics (per replacement policy)
+	private static AtomicLong[] _numBuffPolicyHits   = null;
+	private static AtomicLong[] _numBuffPolicyMisses = null;
+	
+	//write buffer compression statistics
+	private static AtomicLong _numBuffCompressed = null;
+	private static AtomicLong _bytesBuffUncompressed = null;
+	private static AtomicLong _bytesBuffCompressed = null;
+	
+	//prefetch statistics
+	private static AtomicLong _numPrefetches       = null;
+	private static AtomicLong _numPrefetchHits     = null;
+	private static AtomicLong _numPrefetchesWasted = null;
+	private static AtomicLong _ctimePrefetchSaved  = null; //in nano sec
+	
 	//time statistics caching
 	private static AtomicLong _ctimeAcquireR   = null; //in nano sec
 	private static AtomicLong _ctimeAcquireM   = null; //in nano sec
@@ -83,6 +103,23 @@ public class CacheStatistics
 		_numWritesFS = new AtomicLong(0);
 		_numWritesHDFS = new AtomicLong(0);
 		
+		int npol = RPolicy.values().length;
+		_numBuffPolicyHits = new AtomicLong[npol];
+		_numBuffPolicyMisses = new AtomicLong[npol];
+		for( int i=0; i<npol; i++ ) {
+			_numBuffPolicyHits[i] = new AtomicLong(0);
+			_numBuffPolicyMisses[i] = new AtomicLong(0);
+		}
+		
+		_numBuffCompressed = new AtomicLong(0);
+		_bytesBuffUncompressed = new AtomicLong(0);
+		_bytesBuffCompressed = new AtomicLong(0);
+		
+		_numPrefetches = new AtomicLong(0);
+		_numPrefetchHits = new AtomicLong(0);
+		_numPrefetchesWasted = new AtomicLong(0);
+		_ctimePrefetchSaved = new AtomicLong(0);
+		
 		_ctimeAcquireR = new AtomicLong(0);
 		_ctimeAcquireM = new AtomicLong(0);
 		_ctimeRelease = new AtomicLong(0);
@@ -209,6 +246,82 @@ public class CacheStatistics
 		return _numWritesHDFS.get();
 	}
 	
+	public static void incrementBuffPolicyAccess(RPolicy policy, boolean hit)
+	{
+		if( hit )
+			_numBuffPolicyHits[policy.ordinal()].incrementAndGet();
+		else
+			_numBuffPolicyMisses[policy.ordinal()].incrementAndGet();
+	}
+	
+	public static long getBuffPolicyHits(RPolicy policy)
+	{
+		return _numBuffPolicyHits[policy.ordinal()].get();
+	}
+	
+	public static long getBuffPolicyMisses(RPolicy policy)
+	{
+		return _numBuffPolicyMisses[policy.ordinal()].get();
+	}
+	
+	public static void incrementBuffCompression(long usize, long csize)
+	{
+		_numBuffCompressed.incrementAndGet();
+		_bytesBuffUncompressed.addAndGet(usize);
+		_bytesBuffCompressed.addAndGet(csize);
+	}
+	
+	public static long getBuffCompressed()
+	{
+		return _numBuffCompressed.get();
+	}
+	
+	public static double getBuffCompressionRatio()
+	{
+		long csize = _bytesBuffCompressed.get();
+		return (csize > 0) ? (double)_bytesBuffUncompressed.get()/csize : 1;
+	}
+	
+	public static void incrementPrefetches()
+	{
+		_numPrefetches.incrementAndGet();
+	}
+	
+	public static long getPrefetches()
+	{
+		return _numPrefetches.get();
+	}
+	
+	public static void incrementPrefetchHits()
+	{
+		_numPrefetchHits.incrementAndGet();
+	}
+	
+	public static long getPrefetchHits()
+	{
+		return _numPrefetchHits.get();
+	}
+	
+	public static void incrementPrefetchesWasted()
+	{
+		_numPrefetchesWasted.incrementAndGet();
+	}
+	
+	public static long getPrefetchesWasted()
+	{
+		return _numPrefetchesWasted.get();
+	}
+	
+	public static void incrementPrefetchTimeSaved(long delta)
+	{
+		_ctimePrefetchSaved.addAndGet(delta);
+	}
+	
+	public static long getPrefetchTimeSaved()
+	{
+		return _ctimePrefetchSaved.get();
+	}
+	
 	public static void incrementAcquireRTime(long delta)
 	{
 		_ctimeAcquireR.addAndGet(delta);
@@ -279,6 +392,50 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	public static String displayBuffPolicyHits()
+	{	
+		StringBuilder sb = new StringBuilder();
+		for( RPolicy policy : RPolicy.values() ) {
+			long hits = _numBuffPolicyHits[policy.ordinal()].get();
+			long misses = _numBuffPolicyMisses[policy.ordinal()].get();
+			if( hits+misses > 0 ) {
+				if( sb.length() > 0 )
+					sb.append(", ");
+				sb.append(policy.name());
+				sb.append(" ");
+				sb.append(hits);
+				sb.append("/");
+				sb.append(misses);
+			}
+		}
+		
+		return sb.toString();
+	}
+	
+	public static String displayBuffCompression()
+	{	
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numBuffCompressed.get());
+		sb.append("/");
+		sb.append(String.format("%.2f", getBuffCompressionRatio()));
+		
+		return sb.toString();
+	}
+	
+	public static String displayPrefetch()
+	{	
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPrefetches.get());
+		sb.append("/");
+		sb.append(_numPrefetchHits.get());
+		sb.append("/");
+		sb.append(_numPrefetchesWasted.get());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimePrefetchSaved.get())/1000000000)); //in sec
+		
+		return sb.toString();
+	}
+	
 	public static String displayTime()
 	{	
 		StringBuilder sb = new StringBuilder();
@@ -24,6 +24,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.ibm.bi.dml.api.DMLScript;
+import com.ibm.bi.dml.conf.ConfigurationManager;
+import com.ibm.bi.dml.conf.DMLConfig;
 import com.ibm.bi.dml.parser.Expression.DataType;
 import com.ibm.bi.dml.parser.Expression.ValueType;
 import com.ibm.bi.dml.runtime.DMLRuntimeException;
@@ -57,9 +59,13 @@ public abstract class CacheableData extends Data
     
 	public static final long 	CACHING_THRESHOLD = 4*1024; //obj not s.t. caching if below threshold [in bytes]
 	public static final double 	CACHING_BUFFER_SIZE = 0.15; 
-	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
+	public static RPolicy       CACHING_BUFFER_POLICY = RPolicy.FIFO; //replacement policy (cp.caching.policy)
+	public static boolean       CACHING_BUFFER_ASYNC_EVICTION = false; //write evicted buffers on background threads (cp.caching.async.eviction)
 	public static final boolean CACHING_BUFFER_PAGECACHE = false; 
+	public static boolean       CACHING_BUFFER_COMPRESSION = false; //compressed serialized buffers (cp.caching.compression)
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;
+	public static boolean       CACHING_PREFETCH = false; //async prefetch of evicted matrices (cp.caching.prefetch)
+	public static final int     CACHING_PREFETCH_DISTANCE = 2; //lookahead in number of instructions
 	
 	public static final String CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	
@@ -425,6 +431,17 @@ public abstract class CacheableData extends Data
 		{
 			throw new IOException(e);
 		}
+		
+		//obtain buffer and prefetch configuration (before buffer init)
+		DMLConfig conf = ConfigurationManager.getConfig();
+		CACHING_BUFFER_POLICY = (conf != null) ? 
+				getBufferPolicy(conf.getTextValue(DMLConfig.CP_CACHING_POLICY)) : RPolicy.FIFO;
+		CACHING_BUFFER_ASYNC_EVICTION = (conf != null) 
+				&& conf.getBooleanValue(DMLConfig.CP_CACHING_ASYNC_EVICTION);
+		CACHING_BUFFER_COMPRESSION = (conf != null) 
+				&& conf.getBooleanValue(DMLConfig.CP_CACHING_COMPRESSION);
+		CACHING_PREFETCH = (conf != null) 
+				&& conf.getBooleanValue(DMLConfig.CP_CACHING_PREFETCH);
 	
 		//init write-ahead buffer
 		LazyWriteBuffer.init();
@@ -432,6 +449,23 @@ public abstract class CacheableData extends Data
 		_activeFlag = true; //turn on caching
 	}
 	
+	/**
+	 * 
+	 * @param policy
+	 * @return
+	 * @throws IOException
+	 */
+	private static RPolicy getBufferPolicy( String policy ) 
+		throws IOException
+	{
+		try {
+			return RPolicy.valueOf(policy.trim().toUpperCase());
+		}
+		catch(IllegalArgumentException ex) {
+			throw new IOException("Unsupported buffer replacement policy: "+policy, ex);
+		}
+	}
+	
 	public static synchronized boolean isCachingActive()
 	{
 		return _activeFlag;
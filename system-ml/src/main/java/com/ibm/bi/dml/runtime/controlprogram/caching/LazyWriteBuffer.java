@@ -17,37 +17,102 @@
 
 package com.ibm.bi.dml.runtime.controlprogram.caching;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import com.ibm.bi.dml.api.DMLScript;
 import com.ibm.bi.dml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
 import com.ibm.bi.dml.runtime.util.LocalFileUtils;
+import com.ibm.bi.dml.utils.RuntimeMetrics;
 
 /**
- * 
+ * Write buffer (buffer pool) for evicted matrix blocks. In order to allow for
+ * concurrent writes/reads of parfor workers, the buffer is partitioned into
+ * lock stripes (by file name), where each stripe maintains its own eviction
+ * queue. The global size limit is enforced via an atomic size counter and
+ * victims are selected round-robin over all stripes according to the 
+ * configured replacement policy. Evicted buffers are optionally written
+ * asynchronously to local disk in order to take the write off the critical 
+ * path of the evicting thread. Writes of the same file are serialized in eviction
+ * order, and buffers with pending writes remain accounted in the buffer size until 
+ * they are freed. On write failures, buffers remain pending (and accounted) until 
+ * they are deleted or overwritten, and failures are raised on subsequent 
+ * reservations. Furthermore, matrices evicted to local disk 
+ * can be prefetched asynchronously ahead of their use. Prefetched matrices are 
+ * counted against the buffer limit as well, but are only admitted if they fit 
+ * into the remaining buffer (i.e., prefetching never triggers evictions).
  * 
  */
 public class LazyWriteBuffer 
 {
+	private static final Log LOG = LogFactory.getLog(LazyWriteBuffer.class.getName());
 	
 	public enum RPolicy{
-		FIFO,
-		LRU
+		FIFO, //first-in, first-out
+		LRU,  //least recently used
+		COST, //least accesses per byte (recency as tie breaker)
+		SIZE  //largest buffer first
 	}
 	
+	//number of lock stripes (power of two)
+	private static final int NUM_STRIPES = 16;
+	
 	//global size limit in bytes
 	private static long _limit; 
 	
-	//current size in bytes
-	private static long _size;  
+	//current size in bytes (incl pending asynchronous writes)
+	private static AtomicLong _size = new AtomicLong(0);  
+	
+	//size in bytes of buffers with pending asynchronous writes
+	private static AtomicLong _pendingSize = new AtomicLong(0);
+	private static final Object _pendingLock = new Object();
+	
+	//max time in ms to wait for pending writes before re-checking the size
+	private static final long PENDING_WAIT_MS = 10;
 	
-	//eviction queue of <filename,buffer> pairs (implemented via linked hash map 
+	//eviction queues of <filename,buffer> pairs (implemented via linked hash map 
 	//for (1) queue semantics and (2) constant time get/insert/delete operations)
-	private static EvictionQueue _mQueue;
+	private static EvictionQueue[] _mQueues;
+	
+	//round-robin position for victim selection over stripes
+	private static AtomicInteger _evictPos = new AtomicInteger(0);
+	
+	//evicted buffers with pending asynchronous writes to local FS
+	private static ConcurrentHashMap<String, EvictionTask> _mPending;
+	
+	//last submitted asynchronous write per file (for ordering writes of the same file)
+	private static ConcurrentHashMap<String, EvictionTask> _mWriting;
+	
+	//thread pool for asynchronous eviction and futures of submitted evictions
+	private static ExecutorService _evictPool;
+	private static ConcurrentLinkedQueue<Future<Object>> _evictFutures;
+	
+	//prefetched matrices (read from local FS) and thread pool for prefetching
+	private static ConcurrentHashMap<String, PrefetchTask> _mPrefetch;
+	private static ExecutorService _prefetchPool;
+	
+	//size in bytes of prefetched matrices (not yet consumed by reads)
+	private static AtomicLong _prefetchSize = new AtomicLong(0);
 	
 	static 
 	{
@@ -65,56 +130,50 @@ public class LazyWriteBuffer
 	public static void writeMatrix( String fname, MatrixBlock mb ) 
 		throws IOException
 	{	
+		//invalidate prefetched and pending (old) matrix
+		invalidatePrefetch( fname );
+		invalidatePendingEviction( fname );
+		
 		long lSize = mb.getExactSizeOnDisk(); 
 		boolean requiresWrite = (   lSize > _limit  //global buffer limit
 				                 || !ByteBuffer.isValidCapacity(lSize, mb) ); //local buffer limit
 	
 		if( !requiresWrite ) //if it fits in writebuffer
 		{			
-			ByteBuffer bbuff = null;
+			//create buffer (reserve mem), and lock
+			ByteBuffer bbuff = new ByteBuffer( lSize );
 			
-			//modify buffer pool
-			synchronized( _mQueue )
-			{
-				//evict matrices to make room (by default FIFO)
-				while( _size+lSize >= _limit )
-				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
-					
-					if( tmp != null )
-					{
-						//wait for pending serialization
-						tmp.checkSerialized();
-						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size-=tmp.getSize();
-						
-						if( DMLScript.STATISTICS )
-							CacheStatistics.incrementFSWrites();
-					}
-				}
-				
-				//create buffer (reserve mem), and lock
-				bbuff = new ByteBuffer( lSize );
-				
-				//put placeholder into buffer pool 
-				_mQueue.addLast(fname, bbuff);
-				_size += lSize;	
+			//compress matrix (before reservation of compressed size)
+			boolean compress = CacheableData.CACHING_BUFFER_COMPRESSION 
+					&& ByteBuffer.isValidCompressedCapacity(lSize);
+			if( compress ) {
+				bbuff.compressMatrix(mb);
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementBuffCompression(lSize, bbuff.getSize());
+				lSize = bbuff.getSize();
+			}
+			
+			//evict matrices to make room and reserve memory
+			reserveMemory( lSize );
+			
+			//put placeholder into buffer pool 
+			EvictionQueue queue = getQueue( fname );
+			synchronized( queue ) {
+				queue.addLast(fname, bbuff);
 			}
 			
 			//serialize matrix (outside synchronized critical path)
-			bbuff.serializeMatrix(mb);
+			if( !compress )
+				bbuff.serializeMatrix(mb);
 			
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffWrites();
 		}	
 		else
 		{
+			//wait for pending write of the old matrix (same file)
+			waitForPendingEviction( fname );
+			
 			//write directly to local FS (bypass buffer if too large)
 			LocalFileUtils.writeMatrixBlockToLocal(fname, mb);
 			if( DMLScript.STATISTICS )
@@ -130,18 +189,29 @@ public class LazyWriteBuffer
 	{
 		boolean requiresDelete = true;
 		
-		synchronized( _mQueue )
+		//invalidate prefetched matrix
+		invalidatePrefetch( fname );
+		
+		EvictionQueue queue = getQueue( fname );
+		synchronized( queue )
 		{
 			//remove queue entry 
-			ByteBuffer ldata = _mQueue.remove(fname);
+			ByteBuffer ldata = queue.remove(fname);
 			if( ldata != null )
 			{
-				_size -= ldata.getSize(); 
+				_size.addAndGet( -ldata.getSize() ); 
 				requiresDelete = false;
 				ldata.freeMemory(); //cleanup
 			}
 		}
 		
+		//remove pending eviction (file deleted by eviction task, unless failed)
+		if( requiresDelete ) {
+			EvictionTask task = _mPending.remove(fname);
+			if( task != null && !task.releaseIfFailed() )
+				requiresDelete = false;
+		}
+		
 		//delete from FS if required
 		if( requiresDelete )
 			LocalFileUtils.deleteFileIfExists(fname, true);
@@ -160,44 +230,135 @@ public class LazyWriteBuffer
 		ByteBuffer ldata = null;
 		
 		//probe write buffer
-		synchronized( _mQueue )
+		EvictionQueue queue = getQueue( fname );
+		synchronized( queue )
 		{
-			ldata = _mQueue.get(fname);
+			ldata = queue.get(fname);
 			
 			//modify eviction order (accordingly to access)
-			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU 
-				&& ldata != null )
+			if( ldata != null ) 
 			{
-				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
+				ldata.incrementAccesses();
+				if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU 
+					|| CacheableData.CACHING_BUFFER_POLICY == RPolicy.COST )
+				{
+					//reinsert entry at end of eviction queue
+					queue.remove( fname );
+					queue.addLast( fname, ldata );
+				}
 			}
 		}
 		
+		//probe pending evictions (not yet written to FS)
+		if( ldata == null ) {
+			EvictionTask task = _mPending.get(fname);
+			if( task != null )
+				ldata = task.getBuffer();
+		}
+		
+		if( DMLScript.STATISTICS || RuntimeMetrics.isEnabled() )
+			CacheStatistics.incrementBuffPolicyAccess(
+					CacheableData.CACHING_BUFFER_POLICY, ldata != null);
+		
 		//deserialize or read from FS if required
 		if( ldata != null )
 		{
 			mb = ldata.deserializeMatrix();
-			if( DMLScript.STATISTICS )
+			if( DMLScript.STATISTICS || RuntimeMetrics.isEnabled() )
 				CacheStatistics.incrementFSBuffHits();
 		}
 		else
 		{
-			mb = LocalFileUtils.readMatrixBlockFromLocal(fname); //read from FS
-			if( DMLScript.STATISTICS )
+			//probe prefetched matrices (wait for pending read)
+			PrefetchTask ptask = (_mPrefetch != null) ? _mPrefetch.remove(fname) : null;
+			if( ptask != null ) {
+				mb = ptask.getResult();
+				_prefetchSize.addAndGet( -ptask.getSize() );
+			}
+			
+			//read from FS if not prefetched or prefetch failed
+			if( mb == null )
+				mb = readMatrixFromLocal(fname);
+			if( DMLScript.STATISTICS || RuntimeMetrics.isEnabled() )
 				CacheStatistics.incrementFSHits();
 		}
 		
 		return mb;
 	}
+	
+	/**
+	 * Asynchronously reads the given matrix from local FS, if it is not in the
+	 * write buffer. A subsequent readMatrix obtains the prefetched matrix or
+	 * waits for the pending read. 
+	 * 
+	 * @param fname
+	 */
+	public static void prefetchMatrix( String fname )
+	{
+		//check for prefetch enabled, max in-flight prefetches, existing prefetch
+		if(    _prefetchPool == null 
+			|| _mPrefetch.size() >= CacheableData.CACHING_PREFETCH_DISTANCE*4
+			|| _mPrefetch.containsKey(fname) )
+		{
+			return;
+		}
+		
+		//skip matrices in write buffer (no local FS read)
+		EvictionQueue queue = getQueue( fname );
+		synchronized( queue ) {
+			if( queue.containsKey(fname) )
+				return;
+		}
+		if( _mPending.containsKey(fname) )
+			return;
+		
+		//skip matrices that do not fit into the remaining buffer 
+		//(size estimate via local file size, no evictions for prefetch)
+		long lSize = new File(fname).length();
+		if( _size.get() + _prefetchSize.get() + lSize >= _limit )
+			return;
+		
+		//submit prefetch task
+		PrefetchTask ptask = new PrefetchTask( fname, lSize );
+		if( _mPrefetch.putIfAbsent(fname, ptask) == null ) {
+			_prefetchSize.addAndGet( lSize );
+			_prefetchPool.execute( ptask.getFuture() );
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementPrefetches();
+		}
+	}
 		
 	/**
 	 * 
 	 */
 	public static void init()
 	{
-		_mQueue = new EvictionQueue();		
-		_size = 0;
+		//wait for pending evictions of previous initialization
+		shutdownEvictionPool();
+		
+		_mQueues = new EvictionQueue[NUM_STRIPES];
+		for( int i=0; i<NUM_STRIPES; i++ )
+			_mQueues[i] = new EvictionQueue();
+		_mPending = new ConcurrentHashMap<String, EvictionTask>();
+		_mWriting = new ConcurrentHashMap<String, EvictionTask>();
+		_evictFutures = new ConcurrentLinkedQueue<Future<Object>>();
+		_size.set(0);
+		_pendingSize.set(0);
+		
+		_mPrefetch = new ConcurrentHashMap<String, PrefetchTask>();
+		_prefetchSize.set(0);
+		
+		if( CacheableData.CACHING_BUFFER_ASYNC_EVICTION ) {
+			int par = InfrastructureAnalyzer.getLocalParallelism();
+			_evictPool = Executors.newFixedThreadPool(
+					Math.max(1, Math.min(4, par/2)), new CacheThreadFactory("Evict"));
+		}
+		if( CacheableData.CACHING_PREFETCH ) {
+			_prefetchPool = Executors.newSingleThreadExecutor(
+					new CacheThreadFactory("Prefetch"));
+		}
+		if( CacheableData.CACHING_BUFFER_COMPRESSION )
+			CacheCompression.init(InfrastructureAnalyzer.getLocalParallelism());
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
 	}
@@ -207,8 +368,21 @@ public class LazyWriteBuffer
 	 */
 	public static void cleanup()
 	{
-		if( _mQueue!=null )
-			_mQueue.clear();
+		//wait for pending evictions (before cache dir cleanup)
+		shutdownEvictionPool();
+		
+		//cancel outstanding prefetches
+		if( _mPrefetch!=null )
+			for( String fname : _mPrefetch.keySet() )
+				invalidatePrefetch(fname);
+		
+		if( _mQueues!=null )
+			for( EvictionQueue queue : _mQueues )
+				synchronized( queue ) {
+					queue.clear();
+				}
+		if( _mPending!=null )
+			_mPending.clear();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.clear();
 	}
@@ -223,6 +397,28 @@ public class LazyWriteBuffer
 		return (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
 	}
 	
+	/**
+	 * Returns the size in bytes of buffered matrices, including evicted
+	 * matrices with pending or failed asynchronous writes.
+	 * 
+	 * @return
+	 */
+	public static long getBufferedSize()
+	{
+		return _size.get();
+	}
+	
+	/**
+	 * Returns the size in bytes of prefetched matrices that have not 
+	 * been consumed by reads yet.
+	 * 
+	 * @return
+	 */
+	public static long getPrefetchSize()
+	{
+		return _prefetchSize.get();
+	}
+	
 	/**
 	 * 
 	 */
@@ -231,20 +427,294 @@ public class LazyWriteBuffer
 		System.out.println("WRITE BUFFER STATUS ("+position+") --");
 		
 		//print buffer meta data
+		int size = 0;
+		for( EvictionQueue queue : _mQueues )
+			size += queue.size();
 		System.out.println("\tWB: Buffer Meta Data: " +
 				     "limit="+_limit+", " +
-				     "size[bytes]="+_size+", " +
-				     "size[elements]="+_mQueue.size()+"/"+_mQueue.size());
+				     "size[bytes]="+_size.get()+", " +
+				     "size[elements]="+size+", " +
+				     "pending[elements]="+_mPending.size());
 		
 		//print current buffer entries
-		int count = _mQueue.size();
-		for( Entry<String, ByteBuffer> entry : _mQueue.entrySet() )
+		int count = size;
+		for( EvictionQueue queue : _mQueues )
+			synchronized( queue )
+			{
+				for( Entry<String, ByteBuffer> entry : queue.entrySet() )
+				{
+					String fname = entry.getKey();
+					ByteBuffer bbuff = entry.getValue();
+					
+					System.out.println("\tWB: buffer element ("+count+"): "+fname+", "+bbuff.getSize()+", "+bbuff.isInSparseFormat()+", "+bbuff.getCompressionRatio());
+					count--;
+				}
+			}
+	}
+	
+	/**
+	 * 
+	 * @param fname
+	 * @return
+	 */
+	private static EvictionQueue getQueue( String fname )
+	{
+		//spread hash bits to avoid stripe skew of similar file names
+		int h = fname.hashCode();
+		h ^= (h >>> 16);
+		return _mQueues[ h & (NUM_STRIPES-1) ];
+	}
+	
+	/**
+	 * Reserves the given size in the buffer pool, where we evict matrices
+	 * (according to the replacement policy) until the new buffer fits. If 
+	 * the pending asynchronous writes already free enough memory, we wait 
+	 * for their completion instead of evicting additional matrices.
+	 * 
+	 * @param lSize
+	 * @throws IOException
+	 */
+	private static void reserveMemory( long lSize ) 
+		throws IOException
+	{
+		//raise failures of completed asynchronous evictions
+		checkEvictionFailures();
+		
+		while( true )
+		{
+			long size = _size.get();
+			long psize = _prefetchSize.get();
+			if( size + psize + lSize < _limit ) {
+				if( _size.compareAndSet(size, size+lSize) )
+					return;
+			}
+			else if( size - _pendingSize.get() + psize + lSize < _limit ) {
+				//pending evictions free sufficient memory (backpressure)
+				waitForPendingEvictions();
+			}
+			else if( !evictVictim() ) {
+				//nothing left to evict (concurrent reservations)
+				if( _pendingSize.get() > 0 ) {
+					waitForPendingEvictions();
+					continue;
+				}
+				_size.addAndGet( lSize );
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Waits until a pending asynchronous eviction completed or the max
+	 * wait time elapsed.
+	 * 
+	 * @throws IOException
+	 */
+	private static void waitForPendingEvictions() 
+		throws IOException
+	{
+		synchronized( _pendingLock )
+		{
+			try {
+				if( _pendingSize.get() > 0 )
+					_pendingLock.wait( PENDING_WAIT_MS );
+			}
+			catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for pending evictions.", ex);
+			}
+		}
+	}
+	
+	/**
+	 * Waits until the last submitted asynchronous eviction of the given 
+	 * file completed, if any.
+	 * 
+	 * @param fname
+	 * @throws IOException
+	 */
+	private static void waitForPendingEviction( String fname ) 
+		throws IOException
+	{
+		EvictionTask task = (_mWriting != null) ? _mWriting.get(fname) : null;
+		if( task != null )
+			task.waitForCompletion();
+	}
+	
+	/**
+	 * Removes the pending asynchronous eviction of the given file, if any. 
+	 * The eviction task deletes its file after completion, while the memory
+	 * of failed evictions is released immediately.
+	 * 
+	 * @param fname
+	 */
+	private static void invalidatePendingEviction( String fname )
+	{
+		EvictionTask task = (_mPending != null) ? _mPending.remove(fname) : null;
+		if( task != null )
+			task.releaseIfFailed();
+	}
+	
+	/**
+	 * Checks the completed asynchronous evictions (in submission order) and 
+	 * raises the first failure.
+	 * 
+	 * @throws IOException
+	 */
+	private static void checkEvictionFailures() 
+		throws IOException
+	{
+		if( _evictFutures == null )
+			return;
+		
+		Future<Object> future = null;
+		while( (future = _evictFutures.peek()) != null && future.isDone() ) 
+		{
+			_evictFutures.remove(future);
+			try {
+				future.get();
+			}
+			catch(ExecutionException ex) {
+				throw new IOException("Failed asynchronous eviction.", ex.getCause());
+			}
+			catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IOException(ex);
+			}
+		}
+	}
+	
+	/**
+	 * Selects a victim round-robin over all lock stripes and evicts it
+	 * to local FS (synchronously or asynchronously).
+	 * 
+	 * @return false if the buffer pool is empty
+	 * @throws IOException
+	 */
+	private static boolean evictVictim() 
+		throws IOException
+	{
+		boolean async = (_evictPool != null);
+		Entry<String, ByteBuffer> entry = null;
+		
+		for( int i=0; i<NUM_STRIPES && entry==null; i++ )
+		{
+			EvictionQueue queue = _mQueues[ _evictPos.getAndIncrement() & (NUM_STRIPES-1) ];
+			synchronized( queue )
+			{
+				if( !queue.isEmpty() ) {
+					entry = queue.removeVictim( CacheableData.CACHING_BUFFER_POLICY );
+					
+					//register and submit pending eviction (visible before queue lock 
+					//release, and submitted in eviction order of the same file)
+					if( async ) {
+						String ftmp = entry.getKey();
+						ByteBuffer tmp = entry.getValue();
+						EvictionTask task = new EvictionTask(ftmp, tmp, _mWriting.get(ftmp));
+						_mWriting.put(ftmp, task);
+						_mPending.put(ftmp, task);
+						_pendingSize.addAndGet( tmp.getSize() );
+						_evictFutures.add( _evictPool.submit(task) );
+					}
+				}
+			}
+		}
+		
+		if( entry == null )
+			return false;
+		
+		if( !async )
 		{
-			String fname = entry.getKey();
-			ByteBuffer bbuff = entry.getValue();
+			String ftmp = entry.getKey();
+			ByteBuffer tmp = entry.getValue();
 			
-			System.out.println("\tWB: buffer element ("+count+"): "+fname+", "+bbuff.getSize()+", "+bbuff.isInSparseFormat());
-			count--;
+			try
+			{
+				//wait for pending serialization
+				tmp.checkSerialized();
+				
+				//evict matrix
+				tmp.evictBuffer(ftmp);
+				tmp.freeMemory();
+			}
+			finally
+			{
+				//release reserved memory (buffer no longer referenced)
+				_size.addAndGet( -tmp.getSize() );
+			}
+			
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementFSWrites();
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * 
+	 */
+	private static void shutdownEvictionPool()
+	{
+		//shutdown prefetch pool (pending reads canceled)
+		if( _prefetchPool != null ) {
+			_prefetchPool.shutdownNow();
+			_prefetchPool = null;
+		}
+		
+		if( _evictPool == null ) {
+			CacheCompression.cleanup();
+			return;
+		}
+		
+		_evictPool.shutdown();
+		try {
+			_evictPool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		_evictPool = null;
+		
+		//shutdown compression pool (after pending evictions)
+		CacheCompression.cleanup();
+		
+		//log failures not raised by subsequent reservations
+		try {
+			checkEvictionFailures();
+		}
+		catch(IOException ex) {
+			LOG.error("Failed asynchronous eviction.", ex);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param fname
+	 * @return
+	 * @throws IOException
+	 */
+	private static MatrixBlock readMatrixFromLocal( String fname ) 
+		throws IOException
+	{
+		//read from FS (large blocks via file channels)
+		return LocalFileUtils.readMatrixBlockFromLocal(fname);
+	}
+	
+	/**
+	 * 
+	 * @param fname
+	 */
+	private static void invalidatePrefetch( String fname )
+	{
+		if( _mPrefetch == null )
+			return;
+		
+		PrefetchTask ptask = _mPrefetch.remove(fname);
+		if( ptask != null ) {
+			ptask.getFuture().cancel(false);
+			_prefetchSize.addAndGet( -ptask.getSize() );
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementPrefetchesWasted();
 		}
 	}
 	
@@ -274,5 +744,244 @@ public class LazyWriteBuffer
 			
 			return entry;
 		}
+		
+		public Entry<String, ByteBuffer> removeVictim( RPolicy policy )
+		{
+			//queue order (insertion or access order) 
+			if( policy == RPolicy.FIFO || policy == RPolicy.LRU )
+				return removeFirst();
+			
+			//scan for entry with largest size or min accesses per byte,
+			//where the first (oldest) entry wins on ties
+			Entry<String, ByteBuffer> victim = null;
+			double vscore = -1;
+			for( Entry<String, ByteBuffer> entry : entrySet() ) {
+				ByteBuffer bbuff = entry.getValue();
+				double score = (policy == RPolicy.SIZE) ? bbuff.getSize() :
+					(double)bbuff.getSize() / (bbuff.getNumAccesses()+1);
+				if( score > vscore ) {
+					victim = entry;
+					vscore = score;
+				}
+			}
+			
+			remove( victim.getKey() );
+			return victim;
+		}
+	}
+	
+	/**
+	 * Task for asynchronously writing an evicted buffer to local FS. Tasks
+	 * of the same file are chained in eviction order, i.e., each task waits
+	 * for the completion of the previous task of its file before writing.
+	 * 
+	 */
+	private static class EvictionTask implements Callable<Object>
+	{
+		private String _fname = null;
+		private ByteBuffer _bbuff = null;
+		private EvictionTask _prev = null; //previous eviction of the same file
+		private CountDownLatch _done = new CountDownLatch(1);
+		private boolean _failed = false;   //guarded by this
+		private boolean _released = false; //guarded by this
+		
+		protected EvictionTask( String fname, ByteBuffer bbuff, EvictionTask prev ) {
+			_fname = fname;
+			_bbuff = bbuff;
+			_prev = prev;
+		}
+		
+		public ByteBuffer getBuffer() {
+			return _bbuff;
+		}
+		
+		@Override
+		public Object call() 
+			throws IOException
+		{
+			try
+			{
+				//wait for previous write of the same file (submitted before
+				//this task to the same fifo pool, hence no deadlocks)
+				if( _prev != null ) {
+					_prev.waitForCompletion();
+					_prev = null;
+				}
+				
+				//wait for pending serialization
+				_bbuff.checkSerialized();
+				
+				//evict matrix
+				_bbuff.evictBuffer(_fname);
+				
+				//unregister pending eviction; if already removed, the matrix 
+				//has been deleted or overwritten in the meantime (no free memory
+				//because concurrent readers might still use the buffer)
+				if( !_mPending.remove(_fname, this) )
+					LocalFileUtils.deleteFileIfExists(_fname, true);
+				releaseMemory();
+				
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementFSWrites();
+			}
+			catch(IOException ex) 
+			{
+				//the buffer remains pending (reads served from memory) and keeps
+				//its memory until the matrix is deleted or overwritten
+				synchronized( this ) {
+					_failed = true;
+				}
+				if( _mPending.get(_fname) != this ) {
+					LocalFileUtils.deleteFileIfExists(_fname, true);
+					releaseMemory();
+				}
+				throw new IOException("Failed to evict buffer "+_fname+".", ex);
+			}
+			finally
+			{
+				//unregister pending write and notify waiting reservations/writes
+				_pendingSize.addAndGet( -_bbuff.getSize() );
+				_mWriting.remove(_fname, this);
+				_done.countDown();
+				synchronized( _pendingLock ) {
+					_pendingLock.notifyAll();
+				}
+			}
+			
+			return null;
+		}
+		
+		/**
+		 * Waits for the completion (successful or failed) of this task.
+		 * 
+		 * @throws IOException
+		 */
+		public void waitForCompletion() 
+			throws IOException
+		{
+			try {
+				_done.await();
+			}
+			catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for pending eviction of "+_fname+".", ex);
+			}
+		}
+		
+		/**
+		 * Releases the reserved memory of a failed eviction, which has
+		 * been removed from the pending evictions by the caller.
+		 * 
+		 * @return true if the eviction failed (file not deleted by this task)
+		 */
+		public boolean releaseIfFailed()
+		{
+			boolean failed = false;
+			synchronized( this ) {
+				failed = _failed;
+			}
+			if( failed )
+				releaseMemory();
+			return failed;
+		}
+		
+		/**
+		 * Releases the reserved memory of this buffer exactly once.
+		 */
+		private void releaseMemory()
+		{
+			synchronized( this ) {
+				if( _released )
+					return;
+				_released = true;
+			}
+			_size.addAndGet( -_bbuff.getSize() );
+		}
+	}
+	
+	/**
+	 * Task for asynchronously reading an evicted matrix from local FS.
+	 * 
+	 */
+	private static class PrefetchTask implements Callable<MatrixBlock>
+	{
+		private String _fname = null;
+		private long _lsize = -1; //estimated size in bytes
+		private FutureTask<MatrixBlock> _future = null;
+		private volatile long _time = 0; //read time in nano sec
+		
+		protected PrefetchTask( String fname, long size ) {
+			_fname = fname;
+			_lsize = size;
+			_future = new FutureTask<MatrixBlock>(this);
+		}
+		
+		public FutureTask<MatrixBlock> getFuture() {
+			return _future;
+		}
+		
+		public long getSize() {
+			return _lsize;
+		}
+		
+		@Override
+		public MatrixBlock call() 
+			throws IOException
+		{
+			long t0 = System.nanoTime();
+			MatrixBlock ret = readMatrixFromLocal(_fname);
+			_time = System.nanoTime() - t0;
+			return ret;
+		}
+		
+		/**
+		 * Returns the prefetched matrix (waiting for a pending read), or null 
+		 * if the prefetch failed.
+		 * 
+		 * @return
+		 */
+		public MatrixBlock getResult()
+		{
+			long t0 = System.nanoTime();
+			MatrixBlock ret = null;
+			try {
+				ret = _future.get();
+			}
+			catch(Exception ex) {
+				//prefetch failed or canceled (read on demand)
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementPrefetchesWasted();
+				return null;
+			}
+			
+			//time saved is the read time not spent waiting
+			if( DMLScript.STATISTICS ) {
+				long twait = System.nanoTime() - t0;
+				CacheStatistics.incrementPrefetchHits();
+				CacheStatistics.incrementPrefetchTimeSaved(Math.max(0, _time-twait));
+			}
+			return ret;
+		}
+	}
+	
+	/**
+	 * Thread factory for daemon eviction, prefetch and compression threads.
+	 * 
+	 */
+	protected static class CacheThreadFactory implements ThreadFactory
+	{
+		private String _name = null;
+		private AtomicInteger _count = new AtomicInteger(0);
+		
+		protected CacheThreadFactory( String name ) {
+			_name = name;
+		}
+		
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "SystemML-"+_name+"-"+_count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
 	}
 }
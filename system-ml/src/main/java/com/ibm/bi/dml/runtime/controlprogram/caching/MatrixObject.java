@@ -35,6 +35,8 @@ import com.ibm.bi.dml.runtime.controlprogram.context.SparkExecutionContext;
 import com.ibm.bi.dml.runtime.instructions.spark.data.BroadcastObject;
 import com.ibm.bi.dml.runtime.instructions.spark.data.RDDObject;
 import com.ibm.bi.dml.runtime.instructions.spark.data.RDDProperties;
+import com.ibm.bi.dml.runtime.io.MatrixReaderFactory;
+import com.ibm.bi.dml.runtime.io.ReaderBinaryBlockIndexed;
 import com.ibm.bi.dml.runtime.matrix.MatrixCharacteristics;
 import com.ibm.bi.dml.runtime.matrix.MatrixDimensionsMetaData;
 import com.ibm.bi.dml.runtime.matrix.MatrixFormatMetaData;
@@ -47,6 +49,7 @@ import com.ibm.bi.dml.runtime.matrix.data.OutputInfo;
 import com.ibm.bi.dml.runtime.util.DataConverter;
 import com.ibm.bi.dml.runtime.util.IndexRange;
 import com.ibm.bi.dml.runtime.util.MapReduceTool;
+import com.ibm.bi.dml.utils.RuntimeMetrics;
 
 
 /**
@@ -483,7 +486,7 @@ public class MatrixObject extends CacheableData
 		{			
 			try
 			{
-				if( DMLScript.STATISTICS )
+				if( DMLScript.STATISTICS || RuntimeMetrics.isEnabled() )
 					CacheStatistics.incrementHDFSHits();
 				
 				if( getRDDHandle()==null || getRDDHandle().allowsShortCircuitRead() )
@@ -520,7 +523,7 @@ public class MatrixObject extends CacheableData
 			
 			_isAcquireFromEmpty = true;
 		}
-		else if( DMLScript.STATISTICS )
+		else if( DMLScript.STATISTICS || RuntimeMetrics.isEnabled() )
 		{
 			if( _data!=null )
 				CacheStatistics.incrementMemHits();
@@ -538,6 +541,24 @@ public class MatrixObject extends CacheableData
 		return _data;
 	}
 	
+	/**
+	 * Triggers an asynchronous restore of an evicted matrix from local FS,
+	 * which is consumed by a subsequent acquireRead or acquireModify.
+	 * The cache status remains unchanged.
+	 * 
+	 * In-Status:  CACHED (evicted);
+	 * Out-Status: CACHED.
+	 */
+	public synchronized void prefetch()
+	{
+		//only matrices evicted to write buffer / local FS (no soft reference)
+		if(    isCachingActive() && isCached(false) && _data == null 
+			&& (_cache == null || _cache.get() == null) )
+		{
+			LazyWriteBuffer.prefetchMatrix( getCacheFilePathAndName() );
+		}
+	}
+	
 	/**
 	 * Acquires the exclusive "write" lock for a thread that wants to change matrix
 	 * cell values.  Produces the reference to the matrix data, restores the matrix
@@ -1137,6 +1158,62 @@ public class MatrixObject extends CacheableData
 	}
 	
 	
+	/**
+	 * Indicates if an index range can be read directly from the backing file, i.e., 
+	 * the matrix is neither in memory nor dirty, and stored in the indexed binary block 
+	 * format which allows to read only the blocks overlapping the range.
+	 * 
+	 * @return
+	 */
+	public synchronized boolean isIndexedRangeReadAvailable()
+	{
+		return ( _data == null && (_cache == null || _cache.get() == null) 
+			&& isEmpty(true) && !_dirtyFlag && _hdfsFileName != null
+			&& _metaData instanceof MatrixFormatMetaData
+			&& ((MatrixFormatMetaData)_metaData).getInputInfo() == InputInfo.BinaryBlockIndexedInputInfo );
+	}
+	
+	/**
+	 * Reads the given index range from the backing indexed binary block file, without
+	 * reading the entire matrix into memory. The cache status remains unchanged.
+	 * 
+	 * @param pred
+	 * @return
+	 * @throws CacheException
+	 */
+	public synchronized MatrixBlock readMatrixRange( IndexRange pred ) 
+		throws CacheException
+	{
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Acquire range "+_varName+" "+pred);
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		if( !isIndexedRangeReadAvailable() )
+			throw new CacheStatusException ("MatrixObject not available to indexed range read.");
+		
+		MatrixBlock mb = null;
+		try
+		{
+			MatrixFormatMetaData iimd = (MatrixFormatMetaData) _metaData;
+			MatrixCharacteristics mc = iimd.getMatrixCharacteristics();
+			ReaderBinaryBlockIndexed reader = (ReaderBinaryBlockIndexed) 
+					MatrixReaderFactory.createMatrixReader(iimd.getInputInfo());
+			mb = reader.readMatrixRangeFromHDFS(_hdfsFileName, mc.getRows(), mc.getCols(), 
+					mc.getRowsPerBlock(), mc.getColsPerBlock(), pred);
+		}
+		catch(Exception ex)
+		{
+			throw new CacheException(ex);
+		}
+		
+		if( DMLScript.STATISTICS ){
+			long t1 = System.nanoTime();
+			CacheStatistics.incrementAcquireRTime(t1-t0);
+		}
+		
+		return mb;
+	}
+	
 	/**
 	 * 
 	 * @param pred
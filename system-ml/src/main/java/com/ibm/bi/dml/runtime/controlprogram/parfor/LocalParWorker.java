@@ -35,14 +35,17 @@ import com.ibm.bi.dml.runtime.controlprogram.parfor.stat.Timing;
  */
 public class LocalParWorker extends ParWorker implements Runnable
 {
-	protected LocalTaskQueue<Task> _taskQueue   = null;
+	protected LocalTaskSource<Task> _taskQueue  = null;
 	
 	protected Collection<String> _fnNames = null;
 	
 	protected boolean   _stopped     = false;
 	protected int 		_max_retry   = -1;
 	
-	public LocalParWorker( long ID, LocalTaskQueue<Task> q, ParForBody body, int max_retry, boolean monitor )	
+	protected long      _busyTime    = 0; //in nano sec
+	protected long      _idleTime    = 0; //in nano sec
+	
+	public LocalParWorker( long ID, LocalTaskSource<Task> q, ParForBody body, int max_retry, boolean monitor )	
 	{
 		super(ID, body, monitor);
 
@@ -68,6 +71,26 @@ public class LocalParWorker extends ParWorker implements Runnable
 		return _fnNames;
 	}
 	
+	/**
+	 * Returns the time spent executing tasks in milliseconds, and hence should
+	 * only be called after execution.
+	 * 
+	 * @return
+	 */
+	public double getBusyTime() {
+		return _busyTime / 1e6;
+	}
+	
+	/**
+	 * Returns the time spent waiting for tasks in milliseconds, and hence should 
+	 * only be called after execution.
+	 * 
+	 * @return
+	 */
+	public double getIdleTime() {
+		return _idleTime / 1e6;
+	}
+	
 	@Override
 	public void run() 
 	{
@@ -86,9 +109,11 @@ public class LocalParWorker extends ParWorker implements Runnable
 		while( !_stopped ) 
 		{
 			//dequeue the next task (abort on NO_MORE_TASKS or error)
+			long t0 = System.nanoTime();
 			try
 			{
 				lTask = _taskQueue.dequeueTask();
+				_idleTime += System.nanoTime() - t0;
 				
 				if( lTask == LocalTaskQueue.NO_MORE_TASKS ) // task queue closed (no more tasks)
 					break; //normal end of parallel worker
@@ -102,6 +127,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 			}
 			
 			//execute the task sequentially (re-try on error)
+			long t1 = System.nanoTime();
 			boolean success = false;
 			int retrys = _max_retry;
 			
@@ -129,6 +155,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 					}
 				}
 			}
+			_busyTime += System.nanoTime() - t1;
 		}	
 
 		//setup fair scheduler pool for worker thread
@@ -141,6 +168,8 @@ public class LocalParWorker extends ParWorker implements Runnable
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMTASKS, _numTasks);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMITERS, _numIters);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_EXEC_T, time1.stop());
+			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_BUSY_T, getBusyTime());
+			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_IDLE_T, getIdleTime());
 		}
 	}
 }
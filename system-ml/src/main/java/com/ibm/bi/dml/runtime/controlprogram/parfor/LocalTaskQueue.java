@@ -34,7 +34,7 @@ import org.apache.commons.logging.LogFactory;
  * 
  *
  */
-public class LocalTaskQueue<T> 
+public class LocalTaskQueue<T> implements LocalTaskSource<T>
 {
 	
 	public static final int    MAX_SIZE      = 100000; //main memory constraint
@@ -76,6 +76,7 @@ public class LocalTaskQueue<T>
 	 * @return
 	 * @throws InterruptedException
 	 */
+	@Override
 	@SuppressWarnings("unchecked")
 	public synchronized T dequeueTask() 
 		throws InterruptedException
@@ -0,0 +1,38 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.controlprogram.parfor;
+
+/**
+ * Source of tasks for local parfor workers. Workers only consume tasks, 
+ * which allows them to run over the central LocalTaskQueue as well as 
+ * over a worker-specific view of the WorkStealingTaskPool, where tasks 
+ * are created on demand.
+ * 
+ */
+public interface LocalTaskSource<T> 
+{
+	/**
+	 * Blocking read of the next task, where NO_MORE_TASKS (null) signals 
+	 * that all tasks have been consumed.
+	 * 
+	 * @return
+	 * @throws InterruptedException
+	 */
+	public T dequeueTask() 
+		throws InterruptedException;
+}
@@ -45,6 +45,9 @@ public abstract class ResultMerge
 	protected MatrixObject[] _inputs      = null; 
 	protected String         _outputFName = null;
 	
+	//hint that the old output is not referenced otherwise
+	protected boolean        _inPlace     = false;
+	
 	protected ResultMerge( )
 	{
 		
@@ -57,6 +60,18 @@ public abstract class ResultMerge
 		_outputFName = outputFilename;
 	}
 	
+	/**
+	 * Indicates that the old output matrix is no longer referenced and hence,
+	 * can be updated in-place by the merge (only exploited by local in-memory
+	 * parallel merge).
+	 * 
+	 * @param inPlace
+	 */
+	public void setInPlace( boolean inPlace )
+	{
+		_inPlace = inPlace;
+	}
+	
 	/**
 	 * Merge all given input matrices sequentially into the given output matrix.
 	 * The required space in-memory is the size of the output matrix plus the size
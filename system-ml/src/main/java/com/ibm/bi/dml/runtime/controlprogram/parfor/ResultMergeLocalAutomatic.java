@@ -53,6 +53,7 @@ public class ResultMergeLocalAutomatic extends ResultMerge
 		else
 			_rm = new ResultMergeLocalFile( _output, _inputs, _outputFName );
 		
+		_rm.setInPlace(_inPlace);
 		MatrixObject ret = _rm.executeSerialMerge();
 
 		LOG.trace("Automatic result merge ("+_rm.getClass().getName()+") executed in "+time.stop()+"ms.");
@@ -73,6 +74,7 @@ public class ResultMergeLocalAutomatic extends ResultMerge
 		else
 			_rm = new ResultMergeLocalFile( _output, _inputs, _outputFName );
 		
+		_rm.setInPlace(_inPlace);
 		return _rm.executeParallelMerge(par);	
 	}
 }
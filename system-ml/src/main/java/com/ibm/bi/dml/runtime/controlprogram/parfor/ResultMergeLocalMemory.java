@@ -18,6 +18,12 @@
 package com.ibm.bi.dml.runtime.controlprogram.parfor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.ibm.bi.dml.parser.Expression.DataType;
 import com.ibm.bi.dml.parser.Expression.ValueType;
@@ -29,12 +35,14 @@ import com.ibm.bi.dml.runtime.matrix.MatrixFormatMetaData;
 import com.ibm.bi.dml.runtime.matrix.data.InputInfo;
 import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
 import com.ibm.bi.dml.runtime.matrix.data.OutputInfo;
+import com.ibm.bi.dml.runtime.matrix.data.SparseRow;
 import com.ibm.bi.dml.runtime.util.DataConverter;
 
 /**
  * Local in-memory realization of result merge. If the resulting matrix is
  * small enough to fit into the JVM memory, this class can be used for efficient 
- * serial or multi-threaded merge.
+ * serial or multi-threaded merge. The multi-threaded merge partitions the output
+ * by rows and, if the old output is no longer referenced, updates it in-place.
  * 
  * 
  */
@@ -143,11 +151,7 @@ public class ResultMergeLocalMemory extends ResultMerge
 	{		
 		MatrixObject moNew = null; //always create new matrix object (required for nested parallelism)
 	
-		//Timing time = null;
 		LOG.trace("ResultMerge (local, in-memory): Execute parallel (par="+par+") merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+")");
-		//	time = new Timing();
-		//	time.start();
-		
 
 		try
 		{
@@ -163,38 +167,43 @@ public class ResultMergeLocalMemory extends ResultMerge
 			
 			if( !inMO.isEmpty() ) //if there exist something to merge
 			{
-				//get old output matrix from cache for compare
-				//NOTE: always in dense representation in order to allow for parallel unsynchronized access 
-				long rows = outMB.getNumRows();
-				long cols = outMB.getNumColumns();
-				MatrixBlock outMBNew = new MatrixBlock((int)rows, (int)cols, false);
-				outMBNew.allocateDenseBlockUnsafe((int)rows, (int)cols);
+				//read/pin all inputs (required for row-partitioned merge)
+				MatrixBlock[] inMB = new MatrixBlock[inMO.size()];
+				for( int i=0; i<inMB.length; i++ ) {
+					LOG.trace("ResultMerge (local, in-memory): Merge input "+inMO.get(i).getVarName()+" (fname="+inMO.get(i).getFileName()+")");
+					inMB[i] = inMO.get(i).acquireRead(); //incl. implicit read from HDFS
+				}
 				
-				//create compare matrix if required (existing data in result)
-				_compare = createCompareMatrix(outMB);
-				if( _compare != null )
-					outMBNew.copy(outMB);
+				//create merge target (in-place update of old output if possible)
+				MatrixBlock outMBNew = createMergeTarget(outMB, inMB);
+				boolean compare = (outMB.getNonZeros() > 0); //existing data in result
 				
-				//parallel merge of all inputs
-
-				int numThreads = Math.min(par, inMO.size()); //number of inputs can be lower than par
-				numThreads = Math.min(numThreads, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
-				Thread[] threads = new Thread[ numThreads ];
-				for( int k=0; k<inMO.size(); k+=numThreads ) //multiple waves if necessary
+				//row-partitioned parallel merge of all inputs, where each thread 
+				//exclusively owns a disjoint range of output rows (no synchronization)
+				int rlen = outMBNew.getNumRows();
+				int k = Math.min(par, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
+				k = Math.max(Math.min(k, rlen), 1);
+				ExecutorService pool = Executors.newFixedThreadPool( k );
+				long nnz = 0;
+				try
 				{
-					//create and start threads
-					for( int i=0; i<threads.length; i++ )
-					{
-						ResultMergeWorker rmw = new ResultMergeWorker(inMO.get(k+i), outMBNew);
-						threads[i] = new Thread(rmw);
-						threads[i].setPriority(Thread.MAX_PRIORITY);
-						threads[i].start(); // start execution
-					}	
-					//wait for all workers to finish
-					for( int i=0; i<threads.length; i++ )
-					{
-						threads[i].join();
-					}
+					ArrayList<ResultMergeRowsTask> tasks = new ArrayList<ResultMergeRowsTask>();
+					int blklen = (int)(Math.ceil((double)rlen/k));
+					for( int i=0; i<k & i*blklen<rlen; i++ )
+						tasks.add(new ResultMergeRowsTask(outMBNew, inMB, compare, i*blklen, Math.min((i+1)*blklen, rlen)));
+					List<Future<Long>> rt = pool.invokeAll(tasks);
+					for( Future<Long> task : rt )
+						nnz += task.get();
+				}
+				finally {
+					pool.shutdown();
+				}
+				outMBNew.setNonZeros(nnz);
+				
+				//unpin and clear in-memory inputs
+				for( MatrixObject in : inMO ) {
+					in.release();
+					in.clearData();
 				}
 				
 				//create new output matrix 
@@ -216,11 +225,57 @@ public class ResultMergeLocalMemory extends ResultMerge
 			throw new DMLRuntimeException(ex);
 		}
 		
-		//LOG.trace("ResultMerge (local, in-memory): Executed parallel (par="+par+") merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+") in "+time.stop()+"ms");
-
 		return moNew;		
 	}
 
+	/**
+	 * Creates the target block of the parallel merge. If the old output is no longer
+	 * referenced (in-place hint), it is directly used as target; otherwise, we create 
+	 * a copy of the old output. Empty outputs are allocated in the representation of 
+	 * the estimated merge result. Since each input is a modified copy of the old output,
+	 * its number of non-zeros relative to the old output estimates its delta.
+	 * 
+	 * @param outMB
+	 * @param inMB
+	 * @return
+	 */
+	private MatrixBlock createMergeTarget( MatrixBlock outMB, MatrixBlock[] inMB )
+	{
+		int rlen = outMB.getNumRows();
+		int clen = outMB.getNumColumns();
+		long outNNZ = outMB.getNonZeros();
+		
+		//estimate number of non-zeros of merge result
+		long estnnz = outNNZ;
+		for( MatrixBlock in : inMB )
+			estnnz += Math.max(in.getNonZeros() - outNNZ, 0);
+		estnnz = Math.min(estnnz, (long)rlen*clen);
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(rlen, clen, estnnz);
+		
+		MatrixBlock ret = null;
+		if( outNNZ > 0 && _inPlace ) {
+			//in-place update of old output (w/o sparse-dense change)
+			ret = outMB;
+		}
+		else if( outNNZ > 0 ) {
+			//deep copy of old output (incl sparse-dense change)
+			ret = new MatrixBlock(rlen, clen, sparse);
+			ret.copy(outMB, sparse);
+		}
+		else {
+			//new empty output
+			ret = new MatrixBlock(rlen, clen, sparse, estnnz);
+		}
+		
+		//allocate target for unsynchronized row updates
+		if( ret.isInSparseFormat() )
+			ret.allocateSparseRowsBlock(false);
+		else
+			ret.allocateDenseBlock(false);
+		
+		return ret;
+	}
+	
 	/**
 	 * 
 	 * @param output
@@ -302,37 +357,212 @@ public class ResultMergeLocalMemory extends ResultMerge
 	
 	
 	/**
-	 * NOTE: only used if matrix in dense
+	 * Merges all inputs into a disjoint row range of the output. For rows with existing
+	 * data in the old output, we compare the inputs against a row-local copy of the
+	 * original row; for all other rows, non-zeros are merged without comparison. Hence,
+	 * we never materialize a full compare matrix. Appended sparse rows are sorted 
+	 * at the end of each row, i.e., in parallel as well.
 	 */
-	private class ResultMergeWorker implements Runnable
+	private static class ResultMergeRowsTask implements Callable<Long>
 	{
-		private MatrixObject _inMO  = null;
-		private MatrixBlock  _outMB = null;
+		private MatrixBlock   _out = null;
+		private MatrixBlock[] _in = null;
+		private boolean _compare = false;
+		private int _rl = -1;
+		private int _ru = -1;
 		
-		public ResultMergeWorker(MatrixObject inMO, MatrixBlock outMB)
+		public ResultMergeRowsTask( MatrixBlock out, MatrixBlock[] in, boolean compare, int rl, int ru )
 		{
-			_inMO  = inMO;
-			_outMB = outMB;
+			_out = out;
+			_in = in;
+			_compare = compare;
+			_rl = rl;
+			_ru = ru;
 		}
 
 		@Override
-		public void run() 
+		public Long call() 
+			throws DMLRuntimeException
 		{
-			//read each input if required
-			try
+			int n = _out.getNumColumns();
+			double[] orig = _compare ? new double[n] : null;
+			double[] tmp = _compare ? new double[n] : null;
+			long lnnz = 0;
+			
+			for( int i=_rl; i<_ru; i++ )
 			{
-				LOG.trace("ResultMerge (local, in-memory): Merge input "+_inMO.getVarName()+" (fname="+_inMO.getFileName()+")");
+				//compare only if existing data in original row
+				boolean rcompare = _compare && getRow(_out, i, orig);
 				
-				MatrixBlock inMB = _inMO.acquireRead(); //incl. implicit read from HDFS
-				merge( _outMB, inMB, false );
-				_inMO.release();
-				_inMO.clearData();
+				if( _out.isInSparseFormat() )
+					lnnz += mergeRowSparse(i, rcompare, orig, tmp);
+				else
+					lnnz += mergeRowDense(i, rcompare, orig, tmp);
 			}
-			catch(Exception ex)
+			
+			return lnnz;
+		}
+		
+		/**
+		 * 
+		 * @param i
+		 * @param compare
+		 * @param orig
+		 * @param tmp
+		 * @return number of non-zeros of merged row
+		 */
+		private long mergeRowDense( int i, boolean compare, double[] orig, double[] tmp )
+		{
+			int n = _out.getNumColumns();
+			double[] c = _out.getDenseArray();
+			int cix = i * n;
+			
+			for( MatrixBlock in : _in )
 			{
-				throw new RuntimeException("Failed to parallel merge result.", ex);
+				if( compare ) {
+					getRow(in, i, tmp);
+					for( int j=0; j<n; j++ )
+						if( isChanged(tmp[j], orig[j]) )
+							c[cix+j] = tmp[j];
+				}
+				else if( in.isInSparseFormat() ) {
+					SparseRow[] b = in.getSparseRows();
+					if( b == null || b[i] == null || b[i].isEmpty() )
+						continue;
+					int blen = b[i].size();
+					int[] bix = b[i].getIndexContainer();
+					double[] bval = b[i].getValueContainer();
+					for( int j=0; j<blen; j++ )
+						if( bval[j] != 0 )
+							c[cix+bix[j]] = bval[j];
+				}
+				else if( in.getDenseArray() != null ) {
+					double[] b = in.getDenseArray();
+					for( int j=0; j<n; j++ )
+						if( b[cix+j] != 0 )
+							c[cix+j] = b[cix+j];
+				}
+			}
+			
+			long lnnz = 0;
+			for( int j=0; j<n; j++ )
+				if( c[cix+j] != 0 )
+					lnnz++;
+			return lnnz;
+		}
+		
+		/**
+		 * 
+		 * @param i
+		 * @param compare
+		 * @param orig
+		 * @param tmp
+		 * @return number of non-zeros of merged row
+		 */
+		private long mergeRowSparse( int i, boolean compare, double[] orig, double[] tmp )
+		{
+			int n = _out.getNumColumns();
+			SparseRow[] c = _out.getSparseRows();
+			boolean appended = false;
+			
+			for( MatrixBlock in : _in )
+			{
+				if( compare ) {
+					//in-order updates via set (no sort required)
+					getRow(in, i, tmp);
+					for( int j=0; j<n; j++ )
+						if( isChanged(tmp[j], orig[j]) ) {
+							if( c[i] == null )
+								c[i] = new SparseRow(-1, n);
+							c[i].set(j, tmp[j]);
+						}
+				}
+				else if( in.isInSparseFormat() ) {
+					SparseRow[] b = in.getSparseRows();
+					if( b == null || b[i] == null || b[i].isEmpty() )
+						continue;
+					if( c[i] == null || c[i].isEmpty() ) {
+						//copy entire sparse row (no sort required)
+						c[i] = new SparseRow(b[i]);
+					}
+					else {
+						int blen = b[i].size();
+						int[] bix = b[i].getIndexContainer();
+						double[] bval = b[i].getValueContainer();
+						for( int j=0; j<blen; j++ )
+							c[i].append(bix[j], bval[j]);
+						appended = true;
+					}
+				}
+				else if( in.getDenseArray() != null ) {
+					double[] b = in.getDenseArray();
+					for( int j=0, bix=i*n; j<n; j++ )
+						if( b[bix+j] != 0 ) {
+							if( c[i] == null )
+								c[i] = new SparseRow(-1, n);
+							c[i].append(j, b[bix+j]);
+							appended = true;
+						}
+				}
 			}
+			
+			//sort sparse row due to append-only
+			if( appended && c[i].size() > 1 )
+				c[i].sort();
+			
+			return (c[i] != null) ? c[i].size() : 0;
 		}
 		
+		/**
+		 * Copies row i of the given block into the dense row buffer.
+		 * 
+		 * @param mb
+		 * @param i
+		 * @param row
+		 * @return true if the row contains non-zeros
+		 */
+		private static boolean getRow( MatrixBlock mb, int i, double[] row )
+		{
+			int n = mb.getNumColumns();
+			boolean nonEmpty = false;
+			
+			if( mb.isInSparseFormat() ) {
+				Arrays.fill(row, 0);
+				SparseRow[] a = mb.getSparseRows();
+				if( a != null && a[i] != null && !a[i].isEmpty() ) {
+					int alen = a[i].size();
+					int[] aix = a[i].getIndexContainer();
+					double[] avals = a[i].getValueContainer();
+					for( int j=0; j<alen; j++ ) {
+						row[aix[j]] = avals[j];
+						nonEmpty |= (avals[j] != 0);
+					}
+				}
+			}
+			else if( mb.getDenseArray() != null ) {
+				System.arraycopy(mb.getDenseArray(), i*n, row, 0, n);
+				for( int j=0; j<n & !nonEmpty; j++ )
+					nonEmpty = (row[j] != 0);
+			}
+			else {
+				Arrays.fill(row, 0);
+			}
+			
+			return nonEmpty;
+		}
+		
+		/**
+		 * Indicates a new value, with explicit NaN awareness because for cases 
+		 * were the original matrix contains NaNs, NaN != NaN (see mergeWithComp).
+		 * 
+		 * @param value
+		 * @param orig
+		 * @return
+		 */
+		private static boolean isChanged( double value, double orig )
+		{
+			return (value != orig && !Double.isNaN(value))    //for new values only (div)
+				|| Double.isNaN(value) != Double.isNaN(orig); //NaN awareness
+		}
 	}
 }
@@ -0,0 +1,239 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.controlprogram.parfor;
+
+import java.util.ArrayList;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.ibm.bi.dml.runtime.controlprogram.parfor.Task.TaskType;
+import com.ibm.bi.dml.runtime.instructions.cp.IntObject;
+
+/**
+ * This class provides a work-stealing alternative to the central LocalTaskQueue for 
+ * local parfor execution. Each worker owns a deque of iteration ranges, initialized 
+ * with a static partitioning of the iteration space. Workers take ranges from the head 
+ * of their own deque and steal from the tail of other workers' deques if their own deque 
+ * is empty. Hence, there is no central point of contention and idle workers always steal 
+ * the largest remaining ranges.
+ * 
+ * Ranges are split adaptively (lazy binary splitting): a worker splits off the upper half
+ * of its current range only if its own deque is empty, i.e., if no work is exposed for
+ * potential thieves; otherwise it takes a chunk of the min grain size (tasksize) and pushes 
+ * back the remaining range. Accordingly, the number of tasks adapts to the observed load 
+ * imbalance instead of being fixed upfront as with the factoring task partitioners.
+ * 
+ * NOTE: We use per-worker deques instead of a ForkJoinPool in order to remain
+ * compatible with Java 6. Tasks are created on demand and hence, there is no 
+ * MAX_SIZE constraint as for the central task queue.
+ * 
+ */
+public class WorkStealingTaskPool 
+{
+	
+	public static final long IDLE_WAIT_NS = 50000; //50us between unsuccessful steal attempts
+	
+	private String _iterVarName = null;
+	private long _incr = -1;
+	private long _grain = -1;
+	private long _numIter = -1;
+	
+	private ArrayList<LinkedBlockingDeque<long[]>> _deques = null; //ranges as [from, to]
+	private AtomicLong _unassigned = null; //num iterations not yet assigned to a task
+	private AtomicLong _numTasks = null;  //num created tasks
+	
+	/**
+	 * 
+	 * @param iterVarName
+	 * @param fromVal
+	 * @param toVal
+	 * @param incrVal
+	 * @param numWorkers
+	 * @param grain
+	 */
+	public WorkStealingTaskPool( String iterVarName, IntObject fromVal, IntObject toVal, IntObject incrVal, int numWorkers, long grain )
+	{
+		_iterVarName = iterVarName;
+		_incr = incrVal.getLongValue();
+		_grain = Math.max(grain, 1);
+		
+		long from = fromVal.getLongValue();
+		long to = toVal.getLongValue();
+		_numIter = Math.max((long)Math.ceil(((double)(to-from+1)) / _incr), 0);
+		_unassigned = new AtomicLong(_numIter);
+		_numTasks = new AtomicLong(0);
+		
+		//initial static partitioning of iteration space (one range per worker)
+		_deques = new ArrayList<LinkedBlockingDeque<long[]>>();
+		long blklen = (long)Math.ceil((double)_numIter/numWorkers);
+		for( int i=0; i<numWorkers; i++ ) {
+			LinkedBlockingDeque<long[]> deque = new LinkedBlockingDeque<long[]>();
+			if( i*blklen < _numIter ) {
+				long lfrom = from + i*blklen*_incr;
+				long lto = from + (Math.min((i+1)*blklen, _numIter)-1)*_incr;
+				deque.offerLast(new long[]{lfrom, lto});
+			}
+			_deques.add(deque);
+		}
+	}
+	
+	/**
+	 * Returns the total number of iterations.
+	 * 
+	 * @return
+	 */
+	public long getNumIterations()
+	{
+		return _numIter;
+	}
+	
+	/**
+	 * Returns the number of tasks created so far, and hence should only be called
+	 * after execution in order to obtain the total number of tasks.
+	 * 
+	 * @return
+	 */
+	public long getNumCreatedTasks()
+	{
+		return _numTasks.get();
+	}
+	
+	/**
+	 * Returns a task source view on the deque of the given worker, which can be 
+	 * passed to a LocalParWorker.
+	 * 
+	 * @param workerID
+	 * @return
+	 */
+	public LocalTaskSource<Task> getTaskSource( int workerID )
+	{
+		return new WorkerTaskSource(workerID);
+	}
+	
+	/**
+	 * Obtains the next task for the given worker, either from its own deque or 
+	 * by stealing from other workers. This call blocks until a task is available 
+	 * or all iterations have been assigned (NO_MORE_TASKS).
+	 * 
+	 * @param workerID
+	 * @return
+	 */
+	public Task dequeueTask( int workerID )
+	{
+		LinkedBlockingDeque<long[]> own = _deques.get(workerID);
+		
+		while( _unassigned.get() > 0 )
+		{
+			//take from own deque or steal from others
+			long[] range = own.pollFirst();
+			if( range == null )
+				range = steal(workerID);
+			if( range == null ) {
+				//wait for other workers to split their ranges
+				LockSupport.parkNanos(IDLE_WAIT_NS);
+				continue;
+			}
+			
+			//lazy binary splitting (expose work only if own deque empty)
+			while( getNumIterations(range) > _grain && own.isEmpty() ) {
+				long mid = range[0] + (getNumIterations(range)+1)/2 * _incr;
+				own.offerFirst(new long[]{mid, range[1]});
+				range = new long[]{range[0], mid-_incr};
+			}
+			
+			//take chunk of grain size and push back remaining range
+			if( getNumIterations(range) > _grain ) {
+				long end = range[0] + (_grain-1) * _incr;
+				own.offerFirst(new long[]{end+_incr, range[1]});
+				range = new long[]{range[0], end};
+			}
+			
+			_unassigned.addAndGet(-getNumIterations(range));
+			_numTasks.incrementAndGet();
+			return createTask(range);
+		}
+		
+		return null; //NO_MORE_TASKS
+	}
+	
+	/**
+	 * Steals a range from the tail of another worker's deque, where the victims
+	 * are probed in round-robin order starting at the next worker.
+	 * 
+	 * @param workerID
+	 * @return
+	 */
+	private long[] steal( int workerID )
+	{
+		int k = _deques.size();
+		for( int i=1; i<k; i++ ) {
+			long[] range = _deques.get((workerID+i)%k).pollLast();
+			if( range != null )
+				return range;
+		}
+		return null;
+	}
+	
+	/**
+	 * 
+	 * @param range
+	 * @return
+	 */
+	private long getNumIterations( long[] range )
+	{
+		return (range[1]-range[0]) / _incr + 1;
+	}
+	
+	/**
+	 * 
+	 * @param range
+	 * @return
+	 */
+	private Task createTask( long[] range )
+	{
+		Task task = new Task( TaskType.RANGE );
+		task.addIteration(new IntObject(_iterVarName, range[0])); //from
+		task.addIteration(new IntObject(_iterVarName, range[1])); //to
+		task.addIteration(new IntObject(_iterVarName, _incr));    //increment
+		return task;
+	}
+	
+	/**
+	 * Task source view on a single worker's deque, which allows to reuse the 
+	 * LocalParWorker for work-stealing execution.
+	 */
+	private class WorkerTaskSource implements LocalTaskSource<Task>
+	{
+		private int _workerID = -1;
+		
+		public WorkerTaskSource( int workerID ) {
+			_workerID = workerID;
+		}
+		
+		@Override
+		public Task dequeueTask() {
+			return WorkStealingTaskPool.this.dequeueTask(_workerID);
+		}
+		
+		@Override
+		public String toString() {
+			return "WORK-STEALING TASK SOURCE (worker="+_workerID+", size="+_deques.get(_workerID).size()+")\n";
+		}
+	}
+}
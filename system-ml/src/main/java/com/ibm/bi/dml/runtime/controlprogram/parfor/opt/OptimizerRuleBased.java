@@ -2764,7 +2764,11 @@ public class OptimizerRuleBased extends Optimizer
 			return ( rows>=0 && cols>=0 && MatrixBlock.estimateSizeInMemory(rows, cols, 1.0) < memBudget/4 );
 		}
 		else
-			return ( rows>=0 && cols>=0 && rows*cols < Math.pow(Hop.CPThreshold, 2) );
+		{
+			//1/2 mem budget because: 2xout (copy of old output w/o in-place), inputs already
+			//in memory of parfor workers, and row-wise compare instead of full compare matrix
+			return ( rows>=0 && cols>=0 && MatrixBlock.estimateSizeInMemory(rows, cols, 1.0) < memBudget/2 );
+		}
 	}
 
 	
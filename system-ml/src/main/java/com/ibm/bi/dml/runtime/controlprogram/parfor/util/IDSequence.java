@@ -17,15 +17,18 @@
 
 package com.ibm.bi.dml.runtime.controlprogram.parfor.util;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * ID sequence for generating unique long identifiers with start 0 and increment 1.
  * 
+ * NOTE: The sequence is lock-free (CAS-based), because shared sequences such as 
+ * variable or hop IDs are accessed by concurrent executions (e.g., JMLC, parfor).
  */
 public class IDSequence 
 {
-
 	
-	private long _current = -1;
+	private final AtomicLong _current = new AtomicLong(-1);
 	private boolean wrapAround = false;
 	
 	public IDSequence()
@@ -44,36 +47,25 @@ public class IDSequence
 	 * 
 	 * @return ID
 	 */
-	public synchronized long getNextID()
-	{
-		_current++;
-		
-		if( _current == Long.MAX_VALUE ) {
-			if (wrapAround)
-				reset();
-			else
-				throw new RuntimeException("WARNING: IDSequence will produced numeric overflow.");
-		}
-		
-		return _current;
-	}
-	
-	public synchronized void reset()
-	{
-		_current = 0;
-	}
-	
-	/*
-	private AtomicLong _seq = new AtomicLong(0);
-	
 	public long getNextID()
 	{
-		return _seq.getAndIncrement();
+		while( true ) {
+			long cur = _current.get();
+			long next = cur + 1;
+			
+			if( next == Long.MAX_VALUE ) {
+				if( !wrapAround )
+					throw new RuntimeException("WARNING: IDSequence will produced numeric overflow.");
+				next = 0;
+			}
+			
+			if( _current.compareAndSet(cur, next) )
+				return next;
+		}
 	}
 	
 	public void reset()
 	{
-		_seq = new AtomicLong( 0 );
+		_current.set(0);
 	}
-	*/
 }
@@ -48,7 +48,7 @@ public class Builtin extends ValueFunction
 
 	private static final long serialVersionUID = 3836744687789840574L;
 	
-	public enum BuiltinFunctionCode { INVALID, SIN, COS, TAN, ASIN, ACOS, ATAN, LOG, LOG_NZ, MIN, MAX, ABS, SQRT, EXP, PLOGP, PRINT, NROW, NCOL, LENGTH, ROUND, MAXINDEX, MININDEX, STOP, CEIL, FLOOR, CUMSUM, CUMPROD, CUMMIN, CUMMAX, INVERSE, SPROP, SIGMOID, SELP };
+	public enum BuiltinFunctionCode { INVALID, SIN, COS, TAN, ASIN, ACOS, ATAN, LOG, LOG_NZ, MIN, MAX, ABS, SQRT, EXP, PLOGP, PRINT, NROW, NCOL, LENGTH, ROUND, MAXINDEX, MININDEX, STOP, CEIL, FLOOR, CUMSUM, CUMPROD, CUMMIN, CUMMAX, INVERSE, CHOLESKY, SPROP, SIGMOID, SELP };
 	public BuiltinFunctionCode bFunc;
 	
 	private static final boolean FASTMATH = true;
@@ -86,6 +86,7 @@ public class Builtin extends ValueFunction
 		String2BuiltinFunctionCode.put( "ucummin", BuiltinFunctionCode.CUMMIN);
 		String2BuiltinFunctionCode.put( "ucummax", BuiltinFunctionCode.CUMMAX);
 		String2BuiltinFunctionCode.put( "inverse", BuiltinFunctionCode.INVERSE);
+		String2BuiltinFunctionCode.put( "cholesky", BuiltinFunctionCode.CHOLESKY);
 		String2BuiltinFunctionCode.put( "sprop",   BuiltinFunctionCode.SPROP);
 		String2BuiltinFunctionCode.put( "sigmoid",   BuiltinFunctionCode.SIGMOID);
 		String2BuiltinFunctionCode.put( "sel+",   BuiltinFunctionCode.SELP);
@@ -96,7 +97,7 @@ public class Builtin extends ValueFunction
 	private static Builtin logObj = null, lognzObj = null, minObj = null, maxObj = null, maxindexObj = null, minindexObj=null;
 	private static Builtin absObj = null, sqrtObj = null, expObj = null, plogpObj = null, printObj = null;
 	private static Builtin nrowObj = null, ncolObj = null, lengthObj = null, roundObj = null, ceilObj=null, floorObj=null; 
-	private static Builtin inverseObj=null, cumsumObj=null, cumprodObj=null, cumminObj=null, cummaxObj=null;
+	private static Builtin inverseObj=null, choleskyObj=null, cumsumObj=null, cumprodObj=null, cumminObj=null, cummaxObj=null;
 	private static Builtin stopObj = null, spropObj = null, sigmoidObj = null, selpObj = null;
 	
 	private Builtin(BuiltinFunctionCode bf) {
@@ -243,6 +244,10 @@ public class Builtin extends ValueFunction
 			if ( inverseObj == null )
 				inverseObj = new Builtin(BuiltinFunctionCode.INVERSE);
 			return inverseObj;	
+		case CHOLESKY:
+			if ( choleskyObj == null )
+				choleskyObj = new Builtin(BuiltinFunctionCode.CHOLESKY);
+			return choleskyObj;	
 		case STOP:
 			if ( stopObj == null )
 				stopObj = new Builtin(BuiltinFunctionCode.STOP);
@@ -298,6 +303,7 @@ public class Builtin extends ValueFunction
 		case FLOOR:
 		case CUMSUM:
 		case INVERSE:
+		case CHOLESKY:
 		case SPROP:	
 		case SIGMOID:
 		case SELP:
@@ -161,6 +161,7 @@ public class CPInstructionParser extends InstructionParser
 		String2CPInstructionType.put( "ucummax", CPINSTRUCTION_TYPE.BuiltinUnary);
 		String2CPInstructionType.put( "stop"  , CPINSTRUCTION_TYPE.BuiltinUnary);
 		String2CPInstructionType.put( "inverse", CPINSTRUCTION_TYPE.BuiltinUnary);
+		String2CPInstructionType.put( "cholesky", CPINSTRUCTION_TYPE.BuiltinUnary);
 		String2CPInstructionType.put( "sprop", CPINSTRUCTION_TYPE.BuiltinUnary);
 		String2CPInstructionType.put( "sigmoid", CPINSTRUCTION_TYPE.BuiltinUnary);
 		String2CPInstructionType.put( "sel+", CPINSTRUCTION_TYPE.BuiltinUnary);
@@ -355,8 +356,12 @@ public class CPInstructionParser extends InstructionParser
 					// B=log(A), y=log(x)
 					return (CPInstruction) BuiltinUnaryCPInstruction.parseInstruction(str);
 				} else if ( parts.length == 4 ) {
-					// B=log(A,10), y=log(x,10)
-					return (CPInstruction) BuiltinBinaryCPInstruction.parseInstruction(str);
+					// B=log(A) w/ degree of parallelism (plain integer w/o value type),
+					// B=log(A,10), y=log(x,10) (second operand w/ data and value type)
+					if( !parts[3].contains(Instruction.VALUETYPE_PREFIX) )
+						return (CPInstruction) BuiltinUnaryCPInstruction.parseInstruction(str);
+					else
+						return (CPInstruction) BuiltinBinaryCPInstruction.parseInstruction(str);
 				}
 			}
 			else {
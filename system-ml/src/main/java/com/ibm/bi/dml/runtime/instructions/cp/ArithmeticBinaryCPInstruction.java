@@ -72,6 +72,7 @@ public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction
 		Operator operator = (dt1 != dt2) ?
 					InstructionUtils.parseScalarBinaryOperator(opcode, (dt1 == DataType.SCALAR)) : 
 					InstructionUtils.parseBinaryOperator(opcode);
+		setNumThreads(operator, parseNumThreads(str));
 		
 		if ( opcode.equalsIgnoreCase("+") && dt1 == DataType.SCALAR && dt2 == DataType.SCALAR) 
 		{
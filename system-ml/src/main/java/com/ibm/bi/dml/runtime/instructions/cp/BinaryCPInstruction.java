@@ -19,7 +19,9 @@ package com.ibm.bi.dml.runtime.instructions.cp;
 
 import com.ibm.bi.dml.runtime.DMLRuntimeException;
 import com.ibm.bi.dml.runtime.instructions.InstructionUtils;
+import com.ibm.bi.dml.runtime.matrix.operators.BinaryOperator;
 import com.ibm.bi.dml.runtime.matrix.operators.Operator;
+import com.ibm.bi.dml.runtime.matrix.operators.ScalarOperator;
 
 
 public abstract class BinaryCPInstruction extends ComputationCPInstruction
@@ -39,7 +41,8 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction
 		throws DMLRuntimeException
 	{	
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(instr);
-		InstructionUtils.checkNumFields ( parts, 3 );
+		//note: optional 4th field is the degree of parallelism of matrix operations
+		InstructionUtils.checkNumFields ( parts, 3, 4 );
 		
 		String opcode = parts[0];
 		in1.split(parts[1]);
@@ -49,6 +52,33 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction
 		return opcode;
 	}
 	
+	/**
+	 * Parses the optional degree of parallelism, which is compiled as the last field of 
+	 * multi-threaded matrix-matrix and matrix-scalar instructions.
+	 * 
+	 * @param instr
+	 * @return degree of parallelism, 1 if not specified
+	 */
+	protected static int parseNumThreads(String instr)
+	{
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(instr);
+		return (parts.length > 4) ? Integer.parseInt(parts[4]) : 1;
+	}
+	
+	/**
+	 * Sets the degree of parallelism of the given binary or scalar operator.
+	 * 
+	 * @param op
+	 * @param k
+	 */
+	protected static void setNumThreads(Operator op, int k)
+	{
+		if( op instanceof BinaryOperator )
+			((BinaryOperator)op).setNumThreads(k);
+		else if( op instanceof ScalarOperator )
+			((ScalarOperator)op).setNumThreads(k);
+	}
+	
 	protected static String parseBinaryInstruction(String instr, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand out)
 		throws DMLRuntimeException
 	{
@@ -61,7 +61,9 @@ public abstract class BuiltinBinaryCPInstruction extends BinaryCPInstruction
 		} else if (in1.getDataType() != in2.getDataType()) {
 			return new MatrixScalarBuiltinCPInstruction(new RightScalarOperator(func, 0), in1, in2, out, opcode, str);					
 		} else { // if ( in1.getDataType() == DataType.MATRIX && in2.getDataType() == DataType.MATRIX ) {
-			return new MatrixMatrixBuiltinCPInstruction(new BinaryOperator(func), in1, in2, out, opcode, str);	
+			BinaryOperator bop = new BinaryOperator(func);
+			setNumThreads(bop, parseNumThreads(str));
+			return new MatrixMatrixBuiltinCPInstruction(bop, in1, in2, out, opcode, str);	
 		} 
 	}
 }
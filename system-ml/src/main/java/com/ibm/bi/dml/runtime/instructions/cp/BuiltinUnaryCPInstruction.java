@@ -56,7 +56,7 @@ public abstract class BuiltinUnaryCPInstruction extends UnaryCPInstruction
 		String opcode = null;
 		ValueFunction func = null;
 		
-		if( parts.length==4 ) //print or stop
+		if( parts.length==4 && (parts[0].equals("print") || parts[0].equals("stop")) ) //print or stop
 		{
 			opcode = parts[0];
 			in.split(parts[1]);
@@ -65,6 +65,16 @@ public abstract class BuiltinUnaryCPInstruction extends UnaryCPInstruction
 			
 			return new ScalarBuiltinCPInstruction(new SimpleOperator(func), in, out, opcode, str);
 		}
+		else if( parts.length==4 ) //2+1, matrix with degree of parallelism
+		{
+			opcode = parts[0];
+			in.split(parts[1]);
+			out.split(parts[2]);
+			int k = Integer.parseInt(parts[3]);
+			func = Builtin.getBuiltinFnObject(opcode);
+			
+			return new MatrixBuiltinCPInstruction(new UnaryOperator(func, k), in, out, opcode, str);
+		}
 		else //2+1, general case
 		{
 			opcode = parseUnaryInstruction(str, in, out);
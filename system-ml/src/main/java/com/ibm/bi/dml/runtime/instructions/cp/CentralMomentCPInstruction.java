@@ -54,17 +54,26 @@ public class CentralMomentCPInstruction extends AggregateUnaryCPInstruction
 			throw new DMLRuntimeException("Unsupported opcode "+opcode);
 		}
 			
-		if ( parts.length == 4 ) {
-			// Example: CP.cm.mVar0.Var1.mVar2; (without weights)
+		if ( parts.length == 5 ) {
+			// Example: CP.cm.mVar0.Var1.mVar2.k; (without weights)
 			in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-			parseUnaryInstruction(str, in1, in2, out);
+			in1.split(parts[1]);
+			in2.split(parts[2]);
+			out.split(parts[3]);
 		}
-		else if ( parts.length == 5) {
-			// CP.cm.mVar0.mVar1.Var2.mVar3; (with weights)
+		else if ( parts.length == 6 ) {
+			// CP.cm.mVar0.mVar1.Var2.mVar3.k; (with weights)
 			in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 			in3 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-			parseUnaryInstruction(str, in1, in2, in3, out);
+			in1.split(parts[1]);
+			in2.split(parts[2]);
+			in3.split(parts[3]);
+			out.split(parts[4]);
 		}
+		else {
+			throw new DMLRuntimeException("Invalid number of arguments in Instruction: " + str);
+		}
+		int k = Integer.parseInt(parts[parts.length-1]);
 	
 		/* 
 		 * Exact order of the central moment MAY NOT be known at compilation time.
@@ -86,7 +95,7 @@ public class CentralMomentCPInstruction extends AggregateUnaryCPInstruction
 		}
 		
 		AggregateOperationTypes opType = CMOperator.getCMAggOpType(cmOrder);
-		CMOperator cm = new CMOperator(CM.getCMFnObject(opType), opType);
+		CMOperator cm = new CMOperator(CM.getCMFnObject(opType), opType, k);
 		return new CentralMomentCPInstruction(cm, in1, in2, in3, out, opcode, str);
 	}
 	
@@ -115,11 +124,11 @@ public class CentralMomentCPInstruction extends AggregateUnaryCPInstruction
 		
 		CM_COV_Object cmobj = null; 
 		if (input3 == null ) {
-			cmobj = matBlock.cmOperations(cm_op);
+			cmobj = matBlock.cmOperations(cm_op, cm_op.getNumThreads());
 		}
 		else {
 			MatrixBlock wtBlock = ec.getMatrixInput(input2.getName());
-			cmobj = matBlock.cmOperations(cm_op, wtBlock);
+			cmobj = matBlock.cmOperations(cm_op, wtBlock, cm_op.getNumThreads());
 			ec.releaseMatrixInput(input2.getName());
 		}
 		
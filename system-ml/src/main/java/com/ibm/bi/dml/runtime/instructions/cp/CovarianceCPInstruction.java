@@ -65,15 +65,23 @@ public class CovarianceCPInstruction extends BinaryCPInstruction
 			throw new DMLRuntimeException("CovarianceCPInstruction.parseInstruction():: Unknown opcode " + opcode);
 		}
 		
-		COVOperator cov = new COVOperator(COV.getCOMFnObject());
-		if ( parts.length == 4 ) {
-			// CP.cov.mVar0.mVar1.mVar2
-			parseBinaryInstruction(str, in1, in2, out);
+		if ( parts.length == 5 ) {
+			// CP.cov.mVar0.mVar1.mVar2.k
+			in1.split(parts[1]);
+			in2.split(parts[2]);
+			out.split(parts[3]);
+			int k = Integer.parseInt(parts[4]);
+			COVOperator cov = new COVOperator(COV.getCOMFnObject(), k);
 			return new CovarianceCPInstruction(cov, in1, in2, out, opcode, str);
-		} else if ( parts.length == 5 ) {
-			// CP.cov.mVar0.mVar1.mVar2.mVar3
+		} else if ( parts.length == 6 ) {
+			// CP.cov.mVar0.mVar1.mVar2.mVar3.k
 			in3 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-			parseBinaryInstruction(str, in1, in2, in3, out);
+			in1.split(parts[1]);
+			in2.split(parts[2]);
+			in3.split(parts[3]);
+			out.split(parts[4]);
+			int k = Integer.parseInt(parts[5]);
+			COVOperator cov = new COVOperator(COV.getCOMFnObject(), k);
 			return new CovarianceCPInstruction(cov, in1, in2, in3, out, opcode, str);
 		}
 		else {
@@ -95,7 +103,7 @@ public class CovarianceCPInstruction extends BinaryCPInstruction
 		if ( input3 == null ) 
 		{
 			// Unweighted: cov.mvar0.mvar1.out
-			covobj = matBlock1.covOperations(cov_op, matBlock2);
+			covobj = matBlock1.covOperations(cov_op, matBlock2, cov_op.getNumThreads());
 			
 			ec.releaseMatrixInput(input1.getName());
 			ec.releaseMatrixInput(input2.getName());
@@ -105,7 +113,7 @@ public class CovarianceCPInstruction extends BinaryCPInstruction
 			// Weighted: cov.mvar0.mvar1.weights.out
 	        MatrixBlock wtBlock = ec.getMatrixInput(input3.getName());
 			
-			covobj = matBlock1.covOperations(cov_op, matBlock2, wtBlock);
+			covobj = matBlock1.covOperations(cov_op, matBlock2, wtBlock, cov_op.getNumThreads());
 			
 			ec.releaseMatrixInput(input1.getName());
 			ec.releaseMatrixInput(input2.getName());
@@ -43,7 +43,7 @@ public class MatrixBuiltinCPInstruction extends BuiltinUnaryCPInstruction
 		
 		String opcode = getOpcode();
 		if(LibCommonsMath.isSupportedUnaryOperation(opcode)) {
-			resultBlock = LibCommonsMath.unaryOperations((MatrixObject)ec.getVariable(input1.getName()),getOpcode());
+			resultBlock = LibCommonsMath.unaryOperations((MatrixObject)ec.getVariable(input1.getName()),getOpcode(),u_op.getNumThreads());
 			ec.setMatrixOutput(output_name, resultBlock);
 		}
 		else {
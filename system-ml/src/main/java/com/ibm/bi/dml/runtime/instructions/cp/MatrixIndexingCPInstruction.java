@@ -143,6 +143,8 @@ public class MatrixIndexingCPInstruction extends UnaryCPInstruction
 			
 			if( mo.isPartitioned() ) //via data partitioning
 				resultBlock = mo.readMatrixPartition( new IndexRange(rl+1,ru+1,cl+1,cu+1) );
+			else if( mo.isIndexedRangeReadAvailable() ) //via indexed read of overlapping blocks
+				resultBlock = mo.readMatrixRange( new IndexRange(rl+1,ru+1,cl+1,cu+1) );
 			else //via slicing the in-memory matrix
 			{
 				//execute right indexing operation
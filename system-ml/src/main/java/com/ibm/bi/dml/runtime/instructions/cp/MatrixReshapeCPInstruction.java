@@ -37,6 +37,7 @@ public class MatrixReshapeCPInstruction extends UnaryCPInstruction
 	private CPOperand _opRows = null;
 	private CPOperand _opCols = null;
 	private CPOperand _opByRow = null;
+	private int _numThreads = 1;
 	
 	public MatrixReshapeCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand in4, CPOperand out, String opcode, String istr)
 	{
@@ -48,6 +49,12 @@ public class MatrixReshapeCPInstruction extends UnaryCPInstruction
 		_opByRow = in4;
 	}
 	
+	public MatrixReshapeCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand in4, CPOperand out, int k, String opcode, String istr)
+	{
+		this(op, in1, in2, in3, in4, out, opcode, istr);
+		_numThreads = k;
+	}
+	
 	/**
 	 * 
 	 * @param str
@@ -58,7 +65,7 @@ public class MatrixReshapeCPInstruction extends UnaryCPInstruction
 		throws DMLRuntimeException 
 	{
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
-		InstructionUtils.checkNumFields( parts, 5 );
+		InstructionUtils.checkNumFields( parts, 5, 6 ); //optional k
 		
 		String opcode = parts[0];
 		CPOperand in1 = new CPOperand(parts[1]);
@@ -66,11 +73,12 @@ public class MatrixReshapeCPInstruction extends UnaryCPInstruction
 		CPOperand in3 = new CPOperand(parts[3]);
 		CPOperand in4 = new CPOperand(parts[4]);
 		CPOperand out = new CPOperand(parts[5]);
+		int k = (parts.length==7) ? Integer.parseInt(parts[6]) : 1;
 			 
 		if(!opcode.equalsIgnoreCase("rshape"))
 			throw new DMLRuntimeException("Unknown opcode while parsing an MatrixReshapeInstruction: " + str);
 		else
-			return new MatrixReshapeCPInstruction(new Operator(true), in1, in2, in3, in4, out, opcode, str);
+			return new MatrixReshapeCPInstruction(new Operator(true), in1, in2, in3, in4, out, k, opcode, str);
 	}
 	
 	@Override
@@ -85,7 +93,7 @@ public class MatrixReshapeCPInstruction extends UnaryCPInstruction
 
 		//execute operations 
 		MatrixBlock out = new MatrixBlock();
-		out = LibMatrixReorg.reshape(in, out, rows, cols, byRow.getBooleanValue());
+		out = LibMatrixReorg.reshape(in, out, rows, cols, byRow.getBooleanValue(), _numThreads);
 		
 		//set output and release inputs
 		ec.setMatrixOutput(output.getName(), out);
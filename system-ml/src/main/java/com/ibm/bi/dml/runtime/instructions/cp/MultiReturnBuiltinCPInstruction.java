@@ -18,6 +18,7 @@
 package com.ibm.bi.dml.runtime.instructions.cp;
 
 import java.util.ArrayList;
+import com.ibm.bi.dml.hops.OptimizerUtils;
 import com.ibm.bi.dml.parser.Expression.DataType;
 import com.ibm.bi.dml.parser.Expression.ValueType;
 import com.ibm.bi.dml.runtime.DMLRuntimeException;
@@ -103,8 +104,10 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 		MatrixObject mo = (MatrixObject) ec.getVariable(input1.getName());
 		MatrixBlock[] out = null;
 		
+		//note: no compile-time degree of parallelism for function call lops
+		//hence we use the max local parallelism subject to global constraints
 		if(LibCommonsMath.isSupportedMultiReturnOperation(opcode))
-			out = LibCommonsMath.multiReturnOperations(mo, opcode);
+			out = LibCommonsMath.multiReturnOperations(mo, opcode, OptimizerUtils.getConstrainedNumThreads(-1));
 		else 
 			throw new DMLRuntimeException("Invalid opcode in MultiReturnBuiltin instruction: " + opcode);
 
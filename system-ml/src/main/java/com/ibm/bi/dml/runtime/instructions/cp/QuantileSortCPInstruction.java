@@ -28,6 +28,7 @@ import com.ibm.bi.dml.runtime.instructions.InstructionUtils;
 import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
 import com.ibm.bi.dml.runtime.matrix.operators.Operator;
 import com.ibm.bi.dml.runtime.matrix.operators.SimpleOperator;
+import com.ibm.bi.dml.runtime.util.UtilFunctions;
 
 public class QuantileSortCPInstruction extends UnaryCPInstruction
 {
@@ -38,9 +39,12 @@ public class QuantileSortCPInstruction extends UnaryCPInstruction
 	 * Example instructions: 
 	 *     sort:mVar1:mVar2 (input=mVar1, output=mVar2)
 	 *     sort:mVar1:mVar2:mVar3 (input=mVar1, weights=mVar2, output=mVar3)
+	 * Both variants take an optional trailing degree of parallelism k.
 	 *  
 	 */
 	
+	private int _numThreads = 1;
+	
 	public QuantileSortCPInstruction(Operator op, CPOperand in, CPOperand out, String opcode, String istr){
 		this(op, in, null, out, opcode, istr);
 	}
@@ -50,6 +54,11 @@ public class QuantileSortCPInstruction extends UnaryCPInstruction
 		_cptype = CPINSTRUCTION_TYPE.QSort;
 	}
 	
+	public QuantileSortCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand out, String opcode, String istr, int k){
+		this(op, in1, in2, out, opcode, istr);
+		_numThreads = k;
+	}
+	
 	public static Instruction parseInstruction ( String str ) 
 		throws DMLRuntimeException 
 	{
@@ -61,16 +70,27 @@ public class QuantileSortCPInstruction extends UnaryCPInstruction
 		String opcode = parts[0];
 		
 		if ( opcode.equalsIgnoreCase(SortKeys.OPCODE) ) {
-			if ( parts.length == 3 ) {
+			//strip optional degree of parallelism (integer literal after the output)
+			int k = 1;
+			int len = parts.length;
+			if( len >= 4 && UtilFunctions.isIntegerNumber(parts[len-1]) ) {
+				k = Integer.parseInt(parts[len-1]);
+				len--;
+			}
+			
+			if ( len == 3 ) {
 				// Example: sort:mVar1:mVar2 (input=mVar1, output=mVar2)
-				parseUnaryInstruction(str, in1, out);
-				return new QuantileSortCPInstruction(new SimpleOperator(null), in1, out, opcode, str);
+				in1.split(parts[1]);
+				out.split(parts[2]);
+				return new QuantileSortCPInstruction(new SimpleOperator(null), in1, null, out, opcode, str, k);
 			}
-			else if ( parts.length == 4 ) {
+			else if ( len == 4 ) {
 				// Example: sort:mVar1:mVar2:mVar3 (input=mVar1, weights=mVar2, output=mVar3)
 				in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-				parseUnaryInstruction(str, in1, in2, out);
-				return new QuantileSortCPInstruction(new SimpleOperator(null), in1, in2, out, opcode, str);
+				in1.split(parts[1]);
+				in2.split(parts[2]);
+				out.split(parts[3]);
+				return new QuantileSortCPInstruction(new SimpleOperator(null), in1, in2, out, opcode, str, k);
 			}
 			else {
 				throw new DMLRuntimeException("Invalid number of operands in instruction: " + str);
@@ -93,7 +113,7 @@ public class QuantileSortCPInstruction extends UnaryCPInstruction
 		}
 		
  		//process core instruction
-		MatrixBlock resultBlock = (MatrixBlock) matBlock.sortOperations(wtBlock, new MatrixBlock());
+		MatrixBlock resultBlock = (MatrixBlock) matBlock.sortOperations(wtBlock, new MatrixBlock(), _numThreads);
 		
 		//release inputs
 		ec.releaseMatrixInput(input1.getName());
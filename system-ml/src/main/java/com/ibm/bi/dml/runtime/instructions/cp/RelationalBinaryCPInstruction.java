@@ -35,7 +35,7 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 	}
 	
 	public static Instruction parseInstruction ( String str ) throws DMLRuntimeException {
-		InstructionUtils.checkNumFields (str, 3);
+		InstructionUtils.checkNumFields (str, 3, 4);
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
@@ -73,6 +73,7 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 		Operator operator = (dt1 != dt2) ?
 					InstructionUtils.parseScalarBinaryOperator(opcode, (dt1 == DataType.SCALAR)) : 
 					InstructionUtils.parseBinaryOperator(opcode);
+		setNumThreads(operator, parseNumThreads(str));
 		
 		//for scalar relational operations we only allow boolean operands
 		//or when both operands are numeric (int or double)
@@ -83,15 +83,18 @@ public class ReorgCPInstruction extends UnaryCPInstruction
 		String opcode = parts[0];
 		
 		if ( opcode.equalsIgnoreCase("r'") ) {
-			parseUnaryInstruction(str, in, out); //max 2 operands
-			return new ReorgCPInstruction(new ReorgOperator(SwapIndex.getSwapIndexFnObject()), in, out, opcode, str);
+			InstructionUtils.checkNumFields(parts, 2, 3); //optional k
+			in.split(parts[1]);
+			out.split(parts[2]);
+			int k = (parts.length==4) ? Integer.parseInt(parts[3]) : 1;
+			return new ReorgCPInstruction(new ReorgOperator(SwapIndex.getSwapIndexFnObject(), k), in, out, opcode, str);
 		} 
 		else if ( opcode.equalsIgnoreCase("rdiag") ) {
 			parseUnaryInstruction(str, in, out); //max 2 operands
 			return new ReorgCPInstruction(new ReorgOperator(DiagIndex.getDiagIndexFnObject()), in, out, opcode, str);
 		} 
 		else if ( opcode.equalsIgnoreCase("rsort") ) {
-			InstructionUtils.checkNumFields(parts, 5);
+			InstructionUtils.checkNumFields(parts, 5, 6); //optional k
 			in.split(parts[1]);
 			out.split(parts[5]);
 			CPOperand col = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
@@ -100,8 +103,9 @@ public class ReorgCPInstruction extends UnaryCPInstruction
 			col.split(parts[2]);
 			desc.split(parts[3]);
 			ixret.split(parts[4]);
+			int k = (parts.length==7) ? Integer.parseInt(parts[6]) : 1;
 			
-			return new ReorgCPInstruction(new ReorgOperator(SortIndex.getSortIndexFnObject(1,false,false)), 
+			return new ReorgCPInstruction(new ReorgOperator(SortIndex.getSortIndexFnObject(1,false,false), k), 
 					                      in, col, desc, ixret, out, opcode, str);
 		}
 		else {
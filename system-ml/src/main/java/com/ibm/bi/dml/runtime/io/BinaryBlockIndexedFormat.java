@@ -0,0 +1,662 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixIndexes;
+import com.ibm.bi.dml.runtime.matrix.data.SparseRow;
+import com.ibm.bi.dml.runtime.util.IndexRange;
+
+/**
+ * Seekable, block-compressed binary block file format. In contrast to the sequence-file-based
+ * binary block format, every file consists of a small header, a sequence of independently
+ * encoded blocks, and a footer index from (row-block, col-block) to file offset. Hence, 
+ * readers can directly seek to the blocks required for a given index range. 
+ * 
+ * File layout: [MAGIC, VERSION] [block]* [numBlocks, (rix, cix, offset, length, nnz)*] [footerOffset, MAGIC]
+ * 
+ * Each block is encoded with a lightweight, structure-aware compression scheme that is chosen
+ * per block by its exact encoded size: dense blocks are stored raw, dictionary-coded, or 
+ * dictionary- and run-length-encoded; sparse blocks store per-row delta-encoded column indexes 
+ * (as variable-length integers) and raw or dictionary-coded values. 
+ */
+public class BinaryBlockIndexedFormat 
+{
+	public static final int MAGIC = 0x534D4249; //'SMBI'
+	public static final int VERSION = 1;
+	public static final int TRAILER_SIZE = 12;
+	public static final int ENTRY_SIZE = 36;
+	
+	//max number of distinct values for dictionary encoding (2 byte codes)
+	public static final int MAX_DICT_SIZE = 65536;
+	
+	//block encoding types
+	private static final byte ENC_EMPTY       = 0;
+	private static final byte ENC_DENSE_RAW   = 1;
+	private static final byte ENC_DENSE_DICT  = 2;
+	private static final byte ENC_DENSE_RLE   = 3;
+	private static final byte ENC_SPARSE_RAW  = 4;
+	private static final byte ENC_SPARSE_DICT = 5;
+	
+	/**
+	 * Footer index entry of a single block.
+	 */
+	public static class BlockEntry
+	{
+		private Path _path = null;
+		private long _rix = -1;
+		private long _cix = -1;
+		private long _offset = -1;
+		private int _length = -1;
+		private long _nnz = -1;
+		
+		public BlockEntry(Path path, long rix, long cix, long offset, int length, long nnz)
+		{
+			_path = path;
+			_rix = rix;
+			_cix = cix;
+			_offset = offset;
+			_length = length;
+			_nnz = nnz;
+		}
+		
+		public Path getPath() {
+			return _path;
+		}
+		
+		public long getRowIndex() {
+			return _rix;
+		}
+		
+		public long getColumnIndex() {
+			return _cix;
+		}
+		
+		public long getOffset() {
+			return _offset;
+		}
+		
+		public int getLength() {
+			return _length;
+		}
+		
+		public long getNonZeros() {
+			return _nnz;
+		}
+		
+		/**
+		 * 
+		 * @param ixrange 1-based, inclusive cell index range
+		 * @param brlen
+		 * @param bclen
+		 * @return
+		 */
+		public boolean overlaps(IndexRange ixrange, int brlen, int bclen)
+		{
+			return ( (_rix-1)*brlen+1 <= ixrange.rowEnd && _rix*brlen >= ixrange.rowStart
+				  && (_cix-1)*bclen+1 <= ixrange.colEnd && _cix*bclen >= ixrange.colStart );
+		}
+	}
+	
+	/**
+	 * Appends encoded blocks to a single file and writes the footer index on close.
+	 * Not thread-safe.
+	 */
+	public static class Writer implements Closeable
+	{
+		private FSDataOutputStream _out = null;
+		private ArrayList<BlockEntry> _index = null;
+		private ByteArrayOutputStream _buff = null;
+		private DataOutputStream _dbuff = null;
+		
+		public Writer(FileSystem fs, Path path, int replication) 
+			throws IOException
+		{
+			if( replication > 0 ) //if replication specified (otherwise default)
+				_out = fs.create(path, true, fs.getConf().getInt("io.file.buffer.size", 4096), 
+						         (short)replication, fs.getDefaultBlockSize());
+			else
+				_out = fs.create(path, true);
+			_index = new ArrayList<BlockEntry>();
+			_buff = new ByteArrayOutputStream(64*1024);
+			_dbuff = new DataOutputStream(_buff);
+			
+			//write file header
+			_out.writeInt(MAGIC);
+			_out.writeInt(VERSION);
+		}
+		
+		/**
+		 * 
+		 * @param ix
+		 * @param block
+		 * @throws IOException
+		 */
+		public void append(MatrixIndexes ix, MatrixBlock block) 
+			throws IOException
+		{
+			//encode block into reused buffer
+			_buff.reset();
+			encodeBlock(block, _dbuff);
+			_dbuff.flush();
+			
+			//append block and maintain index
+			long offset = _out.getPos();
+			_buff.writeTo(_out);
+			_index.add(new BlockEntry(null, ix.getRowIndex(), ix.getColumnIndex(), 
+					offset, _buff.size(), block.isEmptyBlock(false) ? 0 : block.getNonZeros()));
+		}
+		
+		@Override
+		public void close() 
+			throws IOException
+		{
+			try
+			{
+				//write footer index and trailer
+				long footerOffset = _out.getPos();
+				_out.writeInt(_index.size());
+				for( BlockEntry e : _index ) {
+					_out.writeLong(e._rix);
+					_out.writeLong(e._cix);
+					_out.writeLong(e._offset);
+					_out.writeInt(e._length);
+					_out.writeLong(e._nnz);
+				}
+				_out.writeLong(footerOffset);
+				_out.writeInt(MAGIC);
+			}
+			finally
+			{
+				_out.close();
+			}
+		}
+	}
+	
+	/**
+	 * Reads the footer index on open and allows random access to individual 
+	 * blocks via positioned reads. Not thread-safe.
+	 */
+	public static class Reader implements Closeable
+	{
+		private FSDataInputStream _in = null;
+		private List<BlockEntry> _index = null;
+		private HashMap<MatrixIndexes, BlockEntry> _map = null;
+		private byte[] _buff = null;
+		
+		public Reader(FileSystem fs, Path path) 
+			throws IOException
+		{
+			long len = fs.getFileStatus(path).getLen();
+			_in = fs.open(path);
+			
+			try
+			{
+				//read and check header and trailer
+				byte[] tmp = new byte[TRAILER_SIZE];
+				_in.readFully(0, tmp, 0, 8);
+				ByteBuffer header = ByteBuffer.wrap(tmp, 0, 8);
+				if( len < 8+TRAILER_SIZE || header.getInt() != MAGIC )
+					throw new IOException("Invalid indexed binary block file: "+path);
+				if( header.getInt() > VERSION )
+					throw new IOException("Unsupported indexed binary block file version: "+path);
+				_in.readFully(len-TRAILER_SIZE, tmp, 0, TRAILER_SIZE);
+				ByteBuffer trailer = ByteBuffer.wrap(tmp);
+				long footerOffset = trailer.getLong();
+				if( trailer.getInt() != MAGIC )
+					throw new IOException("Missing footer index in indexed binary block file: "+path);
+				
+				//read footer index
+				byte[] fbuff = new byte[(int)(len-TRAILER_SIZE-footerOffset)];
+				_in.readFully(footerOffset, fbuff, 0, fbuff.length);
+				ByteBuffer footer = ByteBuffer.wrap(fbuff);
+				int numBlocks = footer.getInt();
+				_index = new ArrayList<BlockEntry>(numBlocks);
+				_map = new HashMap<MatrixIndexes, BlockEntry>();
+				for( int i=0; i<numBlocks; i++ ) {
+					BlockEntry e = new BlockEntry(path, footer.getLong(), footer.getLong(), 
+							footer.getLong(), footer.getInt(), footer.getLong());
+					_index.add(e);
+					_map.put(new MatrixIndexes(e._rix, e._cix), e);
+				}
+			}
+			catch(IOException ex)
+			{
+				IOUtilFunctions.closeSilently(_in);
+				throw ex;
+			}
+		}
+		
+		public List<BlockEntry> getIndex() {
+			return _index;
+		}
+		
+		public BlockEntry getEntry(long rix, long cix) {
+			return _map.get(new MatrixIndexes(rix, cix));
+		}
+		
+		/**
+		 * 
+		 * @param e
+		 * @param ret reused output block, or null
+		 * @return
+		 * @throws IOException
+		 */
+		public MatrixBlock readBlock(BlockEntry e, MatrixBlock ret) 
+			throws IOException
+		{
+			if( _buff == null || _buff.length < e._length )
+				_buff = new byte[e._length];
+			_in.readFully(e._offset, _buff, 0, e._length);
+			
+			return decodeBlock(ByteBuffer.wrap(_buff, 0, e._length), ret);
+		}
+		
+		@Override
+		public void close() 
+			throws IOException
+		{
+			_in.close();
+		}
+	}
+	
+	/**
+	 * Reads the footer indexes of all given files. 
+	 * 
+	 * @param fs
+	 * @param paths
+	 * @return
+	 * @throws IOException
+	 */
+	public static List<BlockEntry> readBlockIndex(FileSystem fs, Path[] paths) 
+		throws IOException
+	{
+		ArrayList<BlockEntry> ret = new ArrayList<BlockEntry>();
+		for( Path lpath : paths ) {
+			Reader reader = new Reader(fs, lpath);
+			try {
+				ret.addAll(reader.getIndex());
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+		return ret;
+	}
+	
+	////////
+	// block encoding and decoding
+	
+	/**
+	 * 
+	 * @param block
+	 * @param out
+	 * @throws IOException
+	 */
+	public static void encodeBlock(MatrixBlock block, DataOutput out) 
+		throws IOException
+	{
+		int rlen = block.getNumRows();
+		int clen = block.getNumColumns();
+		
+		if( block.isEmptyBlock(false) )
+			writeBlockHeader(out, ENC_EMPTY, rlen, clen, 0);
+		else if( block.isInSparseFormat() )
+			encodeSparseBlock(block, out);
+		else
+			encodeDenseBlock(block, out);
+	}
+	
+	/**
+	 * 
+	 * @param in
+	 * @param ret reused output block, or null
+	 * @return
+	 * @throws IOException
+	 */
+	public static MatrixBlock decodeBlock(ByteBuffer in, MatrixBlock ret) 
+		throws IOException
+	{
+		byte type = in.get();
+		int rlen = in.getInt();
+		int clen = in.getInt();
+		long nnz = in.getLong();
+		boolean sparse = (type == ENC_SPARSE_RAW || type == ENC_SPARSE_DICT);
+		
+		//prepare output block
+		if( ret == null )
+			ret = new MatrixBlock(rlen, clen, sparse, nnz);
+		else
+			ret.reset(rlen, clen, sparse, nnz);
+		
+		switch( type )
+		{
+			case ENC_EMPTY: 
+				return ret;
+			case ENC_DENSE_RAW:
+			case ENC_DENSE_DICT:
+			case ENC_DENSE_RLE:
+				decodeDenseBlock(in, type, ret);
+				break;
+			case ENC_SPARSE_RAW:
+			case ENC_SPARSE_DICT:
+				decodeSparseBlock(in, type, ret);
+				break;
+			default:
+				throw new IOException("Unknown block encoding type: "+type);
+		}
+		
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param block
+	 * @param out
+	 * @throws IOException
+	 */
+	private static void encodeDenseBlock(MatrixBlock block, DataOutput out) 
+		throws IOException
+	{
+		int rlen = block.getNumRows();
+		int clen = block.getNumColumns();
+		int len = rlen * clen;
+		double[] a = block.getDenseArray();
+		
+		//build dictionary and compute exact rle size (w/ early abort)
+		HashMap<Double, Integer> dict = new HashMap<Double, Integer>();
+		long rleSize = 0;
+		for( int i=0, rstart=0; i<len && dict.size()<=MAX_DICT_SIZE; i++ ) {
+			Integer code = getOrAddCode(dict, a[i]);
+			if( i+1==len || Double.doubleToRawLongBits(a[i+1])!=Double.doubleToRawLongBits(a[i]) ) {
+				rleSize += getVarIntSize(code) + getVarIntSize(i-rstart+1);
+				rstart = i+1;
+			}
+		}
+		
+		//choose encoding by exact size
+		long rawSize = 8L * len;
+		int ndict = dict.size();
+		int width = (ndict <= 256) ? 1 : 2;
+		long dictSize = 8L * ndict + (long)width * len;
+		rleSize += 8L * ndict;
+		
+		if( ndict > MAX_DICT_SIZE || rawSize <= Math.min(dictSize, rleSize) ) {
+			writeBlockHeader(out, ENC_DENSE_RAW, rlen, clen, block.getNonZeros());
+			for( int i=0; i<len; i++ )
+				out.writeDouble(a[i]);
+		}
+		else if( dictSize <= rleSize ) {
+			writeBlockHeader(out, ENC_DENSE_DICT, rlen, clen, block.getNonZeros());
+			writeDictionary(out, dict);
+			out.writeByte(width);
+			for( int i=0; i<len; i++ )
+				writeCode(out, dict.get(a[i]), width);
+		}
+		else {
+			writeBlockHeader(out, ENC_DENSE_RLE, rlen, clen, block.getNonZeros());
+			writeDictionary(out, dict);
+			for( int i=0, rstart=0; i<len; i++ )
+				if( i+1==len || Double.doubleToRawLongBits(a[i+1])!=Double.doubleToRawLongBits(a[i]) ) {
+					writeVarInt(out, dict.get(a[i]));
+					writeVarInt(out, i-rstart+1);
+					rstart = i+1;
+				}
+		}
+	}
+	
+	/**
+	 * 
+	 * @param in
+	 * @param type
+	 * @param ret
+	 */
+	private static void decodeDenseBlock(ByteBuffer in, byte type, MatrixBlock ret)
+	{
+		int len = ret.getNumRows() * ret.getNumColumns();
+		ret.allocateDenseBlock();
+		double[] c = ret.getDenseArray();
+		
+		if( type == ENC_DENSE_RAW ) {
+			in.asDoubleBuffer().get(c, 0, len);
+			in.position(in.position() + 8*len);
+		}
+		else if( type == ENC_DENSE_DICT ) {
+			double[] dict = readDictionary(in);
+			int width = in.get();
+			for( int i=0; i<len; i++ )
+				c[i] = dict[readCode(in, width)];
+		}
+		else { //ENC_DENSE_RLE
+			double[] dict = readDictionary(in);
+			for( int i=0; i<len; ) {
+				double val = dict[readVarInt(in)];
+				int rlen = readVarInt(in);
+				Arrays.fill(c, i, i+rlen, val);
+				i += rlen;
+			}
+		}
+	}
+	
+	/**
+	 * 
+	 * @param block
+	 * @param out
+	 * @throws IOException
+	 */
+	private static void encodeSparseBlock(MatrixBlock block, DataOutput out) 
+		throws IOException
+	{
+		int rlen = block.getNumRows();
+		int clen = block.getNumColumns();
+		SparseRow[] rows = block.getSparseRows();
+		int nrows = Math.min(rlen, rows.length);
+		
+		//build dictionary of non-zero values (w/ early abort)
+		HashMap<Double, Integer> dict = new HashMap<Double, Integer>();
+		long nnz = 0;
+		for( int i=0; i<nrows && dict.size()<=MAX_DICT_SIZE; i++ ) {
+			if( rows[i] == null || rows[i].isEmpty() ) 
+				continue;
+			int alen = rows[i].size();
+			double[] avals = rows[i].getValueContainer();
+			for( int j=0; j<alen; j++ )
+				getOrAddCode(dict, avals[j]);
+			nnz += alen;
+		}
+		
+		//choose value encoding by exact size (indexes encoded equally)
+		int ndict = dict.size();
+		int width = (ndict <= 256) ? 1 : 2;
+		boolean useDict = ( ndict <= MAX_DICT_SIZE && 8L*ndict + width*nnz < 8L*nnz );
+		
+		writeBlockHeader(out, useDict ? ENC_SPARSE_DICT : ENC_SPARSE_RAW, rlen, clen, block.getNonZeros());
+		if( useDict ) {
+			writeDictionary(out, dict);
+			out.writeByte(width);
+		}
+		for( int i=0; i<rlen; i++ ) {
+			if( i>=nrows || rows[i] == null || rows[i].isEmpty() ) {
+				writeVarInt(out, 0);
+				continue;
+			}
+			int alen = rows[i].size();
+			int[] aix = rows[i].getIndexContainer();
+			double[] avals = rows[i].getValueContainer();
+			writeVarInt(out, alen);
+			//delta-encoded column indexes (sorted, hence positive deltas)
+			for( int j=0, prev=-1; j<alen; j++ ) {
+				writeVarInt(out, aix[j]-prev);
+				prev = aix[j];
+			}
+			if( useDict )
+				for( int j=0; j<alen; j++ )
+					writeCode(out, dict.get(avals[j]), width);
+			else
+				for( int j=0; j<alen; j++ )
+					out.writeDouble(avals[j]);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param in
+	 * @param type
+	 * @param ret
+	 */
+	private static void decodeSparseBlock(ByteBuffer in, byte type, MatrixBlock ret)
+	{
+		int rlen = ret.getNumRows();
+		ret.allocateSparseRowsBlock();
+		SparseRow[] rows = ret.getSparseRows();
+		
+		double[] dict = null;
+		int width = -1;
+		if( type == ENC_SPARSE_DICT ) {
+			dict = readDictionary(in);
+			width = in.get();
+		}
+		
+		for( int i=0; i<rlen; i++ ) {
+			int alen = readVarInt(in);
+			if( alen == 0 ) {
+				rows[i] = null;
+				continue;
+			}
+			SparseRow row = new SparseRow(alen);
+			int[] aix = row.getIndexContainer();
+			double[] avals = row.getValueContainer();
+			for( int j=0, prev=-1; j<alen; j++ ) {
+				aix[j] = prev + readVarInt(in);
+				prev = aix[j];
+			}
+			if( dict != null )
+				for( int j=0; j<alen; j++ )
+					avals[j] = dict[readCode(in, width)];
+			else
+				for( int j=0; j<alen; j++ )
+					avals[j] = in.getDouble();
+			row.setSize(alen);
+			rows[i] = row;
+		}
+	}
+	
+	////////
+	// internal encoding primitives
+	
+	private static void writeBlockHeader(DataOutput out, byte type, int rlen, int clen, long nnz) 
+		throws IOException
+	{
+		out.writeByte(type);
+		out.writeInt(rlen);
+		out.writeInt(clen);
+		out.writeLong(nnz);
+	}
+	
+	private static Integer getOrAddCode(HashMap<Double, Integer> dict, double val)
+	{
+		Integer code = dict.get(val);
+		if( code == null ) {
+			code = dict.size();
+			dict.put(val, code);
+		}
+		return code;
+	}
+	
+	private static void writeDictionary(DataOutput out, HashMap<Double, Integer> dict) 
+		throws IOException
+	{
+		double[] vals = new double[dict.size()];
+		for( Entry<Double, Integer> e : dict.entrySet() )
+			vals[e.getValue()] = e.getKey();
+		out.writeInt(vals.length);
+		for( int i=0; i<vals.length; i++ )
+			out.writeDouble(vals[i]);
+	}
+	
+	private static double[] readDictionary(ByteBuffer in)
+	{
+		double[] ret = new double[in.getInt()];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = in.getDouble();
+		return ret;
+	}
+	
+	private static void writeCode(DataOutput out, int code, int width) 
+		throws IOException
+	{
+		if( width == 1 )
+			out.writeByte(code);
+		else
+			out.writeShort(code);
+	}
+	
+	private static int readCode(ByteBuffer in, int width)
+	{
+		return (width == 1) ? (in.get() & 0xFF) : (in.getShort() & 0xFFFF);
+	}
+	
+	private static void writeVarInt(DataOutput out, int val) 
+		throws IOException
+	{
+		while( (val & ~0x7F) != 0 ) {
+			out.writeByte((val & 0x7F) | 0x80);
+			val >>>= 7;
+		}
+		out.writeByte(val);
+	}
+	
+	private static int readVarInt(ByteBuffer in)
+	{
+		int ret = 0;
+		for( int shift=0; ; shift+=7 ) {
+			byte b = in.get();
+			ret |= (b & 0x7F) << shift;
+			if( (b & 0x80) == 0 )
+				return ret;
+		}
+	}
+	
+	private static int getVarIntSize(int val)
+	{
+		int ret = 1;
+		while( (val & ~0x7F) != 0 ) {
+			val >>>= 7;
+			ret++;
+		}
+		return ret;
+	}
+}
@@ -19,11 +19,13 @@ package com.ibm.bi.dml.runtime.io;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.mutable.MutableBoolean;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.io.SequenceFile;
@@ -35,6 +37,12 @@ public class IOUtilFunctions
 {
 	private static final Log LOG = LogFactory.getLog(UtilFunctions.class.getName());
 
+	//configuration of fast double parsing (exact powers of ten, max digits of exact mantissa)
+	private static final int MAX_FAST_PARSE_DIGITS = 15;
+	private static final int MAX_FAST_PARSE_EXP10 = 22;
+	private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+		1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	
 	
 
 	/**
@@ -138,6 +146,21 @@ public class IOUtilFunctions
 		}
 	}
 	
+	/**
+	 * 
+	 * @param io
+	 */
+	public static void closeSilently( Closeable io ) 
+	{
+		try {
+			if( io != null )
+				io.close();
+        } 
+		catch (Exception ex) {
+           LOG.error("Failed to close IO resource.", ex);
+		}
+	}
+	
 	/**
 	 * 
 	 * @param br
@@ -145,7 +168,276 @@ public class IOUtilFunctions
 	public static double parseDoubleParallel( String str ) 
 	{
 		//return FloatingDecimal.parseDouble(str);
-		return Double.parseDouble(str);
+		return parseDouble(str, 0, str.length());
+	}
+	
+	/**
+	 * Parses a double from the given character range without intermediate string
+	 * allocation. Simple decimals with at most 15 significant digits and a decimal
+	 * exponent within [-22, 22] are converted with a single, correctly rounded 
+	 * multiplication or division (exact because both operands are exact doubles). 
+	 * All other inputs (e.g., long mantissas, large exponents, NaN, Infinity, 
+	 * type suffixes) fall back to Double.parseDouble, hence, the results are 
+	 * always identical to Double.parseDouble.
+	 * 
+	 * @param str
+	 * @param start inclusive
+	 * @param end exclusive
+	 * @return
+	 */
+	public static double parseDouble( CharSequence str, int start, int end )
+	{
+		int pos = start;
+		boolean neg = false;
+		if( pos < end && (str.charAt(pos)=='-' || str.charAt(pos)=='+') )
+			neg = (str.charAt(pos++)=='-');
+		
+		//parse integer and fractional digits
+		long mant = 0;
+		int ndigits = 0;
+		int exp10 = 0;
+		boolean digits = false;
+		boolean frac = false;
+		for( ; pos < end; pos++ ) {
+			char c = str.charAt(pos);
+			if( c == '.' && !frac ) {
+				frac = true;
+				continue;
+			}
+			int d = c - '0';
+			if( d < 0 || d > 9 ) 
+				break;
+			digits = true;
+			if( mant == 0 && d == 0 ) { //leading zero
+				exp10 -= frac ? 1 : 0;
+				continue;
+			}
+			if( ++ndigits > MAX_FAST_PARSE_DIGITS )
+				return Double.parseDouble(str.subSequence(start, end).toString());
+			mant = mant * 10 + d;
+			exp10 -= frac ? 1 : 0;
+		}
+		
+		//parse exponent
+		if( digits && pos < end && (str.charAt(pos)=='e' || str.charAt(pos)=='E') ) {
+			pos++;
+			boolean eneg = false;
+			if( pos < end && (str.charAt(pos)=='-' || str.charAt(pos)=='+') )
+				eneg = (str.charAt(pos++)=='-');
+			int exp = 0;
+			int epos = pos;
+			for( ; pos < end; pos++ ) {
+				int d = str.charAt(pos) - '0';
+				if( d < 0 || d > 9 ) 
+					break;
+				exp = Math.min(exp * 10 + d, 100000);
+			}
+			if( epos == pos ) //no exponent digits
+				digits = false;
+			exp10 += eneg ? -exp : exp;
+		}
+		
+		//fall back to default parser for all other inputs
+		if( !digits || pos != end || (mant != 0 && Math.abs(exp10) > MAX_FAST_PARSE_EXP10) )
+			return Double.parseDouble(str.subSequence(start, end).toString());
+		
+		return composeDouble(neg, mant, exp10);
+	}
+	
+	/**
+	 * Parses a double from the given byte range (ASCII characters) without intermediate 
+	 * string allocation. See parseDouble(CharSequence, int, int) for details.
+	 * 
+	 * @param buf
+	 * @param start inclusive
+	 * @param end exclusive
+	 * @return
+	 */
+	public static double parseDouble( byte[] buf, int start, int end )
+	{
+		int pos = start;
+		boolean neg = false;
+		if( pos < end && (buf[pos]=='-' || buf[pos]=='+') )
+			neg = (buf[pos++]=='-');
+		
+		//parse integer and fractional digits
+		long mant = 0;
+		int ndigits = 0;
+		int exp10 = 0;
+		boolean digits = false;
+		boolean frac = false;
+		for( ; pos < end; pos++ ) {
+			byte c = buf[pos];
+			if( c == '.' && !frac ) {
+				frac = true;
+				continue;
+			}
+			int d = c - '0';
+			if( d < 0 || d > 9 ) 
+				break;
+			digits = true;
+			if( mant == 0 && d == 0 ) { //leading zero
+				exp10 -= frac ? 1 : 0;
+				continue;
+			}
+			if( ++ndigits > MAX_FAST_PARSE_DIGITS )
+				return Double.parseDouble(new String(buf, start, end-start));
+			mant = mant * 10 + d;
+			exp10 -= frac ? 1 : 0;
+		}
+		
+		//parse exponent
+		if( digits && pos < end && (buf[pos]=='e' || buf[pos]=='E') ) {
+			pos++;
+			boolean eneg = false;
+			if( pos < end && (buf[pos]=='-' || buf[pos]=='+') )
+				eneg = (buf[pos++]=='-');
+			int exp = 0;
+			int epos = pos;
+			for( ; pos < end; pos++ ) {
+				int d = buf[pos] - '0';
+				if( d < 0 || d > 9 ) 
+					break;
+				exp = Math.min(exp * 10 + d, 100000);
+			}
+			if( epos == pos ) //no exponent digits
+				digits = false;
+			exp10 += eneg ? -exp : exp;
+		}
+		
+		//fall back to default parser for all other inputs
+		if( !digits || pos != end || (mant != 0 && Math.abs(exp10) > MAX_FAST_PARSE_EXP10) )
+			return Double.parseDouble(new String(buf, start, end-start));
+		
+		return composeDouble(neg, mant, exp10);
+	}
+	
+	/**
+	 * 
+	 * @param neg
+	 * @param mant
+	 * @param exp10
+	 * @return
+	 */
+	private static double composeDouble( boolean neg, long mant, int exp10 )
+	{
+		double ret = mant;
+		if( mant != 0 ) {
+			if( exp10 > 0 )
+				ret *= POW10[exp10];
+			else if( exp10 < 0 )
+				ret /= POW10[-exp10];
+		}
+		return neg ? -ret : ret;
+	}
+	
+	/**
+	 * Parses a long from the given character range without intermediate string
+	 * allocation (with fallback to Long.parseLong for all non-trivial inputs).
+	 * 
+	 * @param str
+	 * @param start inclusive
+	 * @param end exclusive
+	 * @return
+	 */
+	public static long parseLong( CharSequence str, int start, int end )
+	{
+		int pos = start;
+		boolean neg = false;
+		if( pos < end && (str.charAt(pos)=='-' || str.charAt(pos)=='+') )
+			neg = (str.charAt(pos++)=='-');
+		
+		//fall back to default parser for empty or potentially overflowing inputs
+		if( pos == end || end - pos > 18 )
+			return Long.parseLong(str.subSequence(start, end).toString());
+		
+		long ret = 0;
+		for( ; pos < end; pos++ ) {
+			int d = str.charAt(pos) - '0';
+			if( d < 0 || d > 9 ) 
+				return Long.parseLong(str.subSequence(start, end).toString());
+			ret = ret * 10 + d;
+		}
+		return neg ? -ret : ret;
+	}
+	
+	/**
+	 * Parses a delimited line of numeric fields directly from the given byte range,
+	 * without intermediate string allocation. The line and individual fields are 
+	 * trimmed, and empty fields are set to the given fill value. Values of the first 
+	 * maxFields fields are written to out (starting at outPos), but all fields are 
+	 * counted in order to allow for subsequent column checks.
+	 * 
+	 * @param buf
+	 * @param start inclusive
+	 * @param end exclusive
+	 * @param delim delimiter bytes
+	 * @param out
+	 * @param outPos
+	 * @param maxFields
+	 * @param fillValue
+	 * @param emptyFound set to true if an empty field was found
+	 * @return number of fields
+	 */
+	public static int parseDelimitedLine( byte[] buf, int start, int end, byte[] delim, 
+			double[] out, int outPos, int maxFields, double fillValue, MutableBoolean emptyFound )
+	{
+		//trim entire line
+		while( start < end && (buf[start] & 0xFF) <= ' ' )
+			start++;
+		while( end > start && (buf[end-1] & 0xFF) <= ' ' )
+			end--;
+		
+		byte d0 = delim[0];
+		int dlen = delim.length;
+		int nfields = 0;
+		for( int pos = start; ; ) 
+		{
+			//find end of current field
+			int fend = pos;
+			while( fend < end && (buf[fend] != d0 || (dlen > 1 && !matches(buf, fend, end, delim))) )
+				fend++;
+			
+			//parse trimmed field
+			if( nfields < maxFields ) {
+				int fs = pos, fe = fend;
+				while( fs < fe && (buf[fs] & 0xFF) <= ' ' )
+					fs++;
+				while( fe > fs && (buf[fe-1] & 0xFF) <= ' ' )
+					fe--;
+				if( fs == fe ) {
+					emptyFound.setValue(true);
+					out[outPos+nfields] = fillValue;
+				}
+				else
+					out[outPos+nfields] = parseDouble(buf, fs, fe);
+			}
+			nfields++;
+			
+			if( fend >= end )
+				break;
+			pos = fend + dlen;
+		}
+		
+		return nfields;
+	}
+	
+	/**
+	 * 
+	 * @param buf
+	 * @param pos
+	 * @param end
+	 * @param pattern
+	 * @return
+	 */
+	private static boolean matches( byte[] buf, int pos, int end, byte[] pattern )
+	{
+		if( end - pos < pattern.length )
+			return false;
+		for( int i=0; i<pattern.length; i++ )
+			if( buf[pos+i] != pattern[i] )
+				return false;
+		return true;
 	}
 
 	/**
@@ -175,8 +467,20 @@ public class IOUtilFunctions
 	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, String[] parts, long ncol) 
 		throws IOException
 	{
-		int realncol = parts.length;
-		
+		checkAndRaiseErrorCSVNumColumns(fname, line, parts.length, ncol);
+	}
+	
+	/**
+	 * 
+	 * @param fname
+	 * @param line
+	 * @param realncol
+	 * @param ncol
+	 * @throws IOException
+	 */
+	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, int realncol, long ncol) 
+		throws IOException
+	{
 		if( realncol != ncol ) {
 			throw new IOException("Invalid number of columns (" + realncol + ", expected=" + ncol + ") "
 					+ "found in delimited file (" + fname + ") for line: " + line);
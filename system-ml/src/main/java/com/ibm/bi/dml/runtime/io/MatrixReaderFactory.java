@@ -61,6 +61,12 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderBinaryBlock( false );
 		}
+		else if( iinfo == InputInfo.BinaryBlockIndexedInputInfo ) {
+			if( OptimizerUtils.PARALLEL_CP_READ_BINARYFORMATS )
+				reader = new ReaderBinaryBlockIndexedParallel( false );
+			else
+				reader = new ReaderBinaryBlockIndexed( false );
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix reader for unknown input info: "
 		                                   + InputInfo.inputInfoToString(iinfo));
@@ -105,6 +111,12 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderBinaryBlock( props.localFS );
 		}
+		else if( iinfo == InputInfo.BinaryBlockIndexedInputInfo ) {
+			if( OptimizerUtils.PARALLEL_CP_READ_BINARYFORMATS )
+				reader = new ReaderBinaryBlockIndexedParallel( props.localFS );
+			else
+				reader = new ReaderBinaryBlockIndexed( props.localFS );
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix reader for unknown input info: "
 		                                   + InputInfo.inputInfoToString(iinfo));
@@ -87,6 +87,12 @@ public class MatrixWriterFactory
 			else
 				writer = new WriterBinaryBlock(replication);
 		}
+		else if( oinfo == OutputInfo.BinaryBlockIndexedOutputInfo ) {
+			if( OptimizerUtils.PARALLEL_CP_WRITE_BINARYFORMATS )
+				writer = new WriterBinaryBlockIndexedParallel(replication);
+			else
+				writer = new WriterBinaryBlockIndexed(replication);
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix writer for unknown output info: "
 		                                   + OutputInfo.outputInfoToString(oinfo));
@@ -0,0 +1,364 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+
+import com.ibm.bi.dml.conf.ConfigurationManager;
+import com.ibm.bi.dml.runtime.DMLRuntimeException;
+import com.ibm.bi.dml.runtime.io.BinaryBlockIndexedFormat.BlockEntry;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixIndexes;
+import com.ibm.bi.dml.runtime.matrix.mapred.IndexedMatrixValue;
+import com.ibm.bi.dml.runtime.util.IndexRange;
+
+/**
+ * Reader for the seekable, block-compressed binary block format (see BinaryBlockIndexedFormat).
+ * Besides full reads, this reader allows to read only the blocks overlapping a given index 
+ * range, which are located via the footer indexes of all part files.
+ * 
+ */
+public class ReaderBinaryBlockIndexed extends MatrixReader
+{
+	protected boolean _localFS = false;
+	
+	public ReaderBinaryBlockIndexed( boolean localFS )
+	{
+		_localFS = localFS;
+	}
+	
+	public void setLocalFS(boolean flag) {
+		_localFS = flag;
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		return readMatrixRangeFromHDFS(fname, rlen, clen, brlen, bclen, new IndexRange(1, rlen, 1, clen), estnnz);
+	}
+	
+	/**
+	 * Reads the given 1-based, inclusive index range of the matrix into a new matrix block
+	 * of the range dimensions, where only blocks that overlap the range are accessed.
+	 * 
+	 * @param fname
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @param ixrange
+	 * @return
+	 * @throws IOException
+	 * @throws DMLRuntimeException
+	 */
+	public MatrixBlock readMatrixRangeFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, IndexRange ixrange) 
+		throws IOException, DMLRuntimeException 
+	{
+		return readMatrixRangeFromHDFS(fname, rlen, clen, brlen, bclen, ixrange, -1);
+	}
+	
+	/**
+	 * Reads all blocks that overlap the given 1-based, inclusive index range (or all blocks if 
+	 * no range is given) as indexed matrix blocks.
+	 * 
+	 * @param fname
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @param ixrange
+	 * @return
+	 * @throws IOException
+	 * @throws DMLRuntimeException
+	 */
+	public ArrayList<IndexedMatrixValue> readIndexedMatrixBlocksFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, IndexRange ixrange) 
+		throws IOException, DMLRuntimeException 
+	{
+		ArrayList<IndexedMatrixValue> ret = new ArrayList<IndexedMatrixValue>();
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
+		FileSystem fs = _localFS ? FileSystem.getLocal(job) : FileSystem.get(job);
+		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path); 
+		
+		//read footer indexes and probe for required blocks
+		List<BlockEntry> entries = getRequiredBlocks(fs, path, ixrange, brlen, bclen);
+		
+		//read required blocks (opened part files are reused for consecutive entries)
+		BinaryBlockIndexedFormat.Reader reader = null;
+		Path lpath = null;
+		try
+		{
+			for( BlockEntry e : entries ) {
+				if( reader == null || !e.getPath().equals(lpath) ) {
+					IOUtilFunctions.closeSilently(reader);
+					reader = new BinaryBlockIndexedFormat.Reader(fs, e.getPath());
+					lpath = e.getPath();
+				}
+				MatrixBlock value = reader.readBlock(e, null);
+				checkBlockBounds(e, value, rlen, clen, brlen, bclen);
+				ret.add(new IndexedMatrixValue(new MatrixIndexes(e.getRowIndex(), e.getColumnIndex()), value));
+			}
+		}
+		finally
+		{
+			IOUtilFunctions.closeSilently(reader);
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param fname
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @param ixrange
+	 * @param estnnz
+	 * @return
+	 * @throws IOException
+	 * @throws DMLRuntimeException
+	 */
+	private MatrixBlock readMatrixRangeFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, IndexRange ixrange, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
+		FileSystem fs = _localFS ? FileSystem.getLocal(job) : FileSystem.get(job);
+		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path); 
+		
+		//read footer indexes and probe for required blocks
+		List<BlockEntry> entries = getRequiredBlocks(fs, path, ixrange, brlen, bclen);
+		
+		//allocate output matrix block (nnz upper bound from index if unknown)
+		if( estnnz < 0 ) {
+			estnnz = 0;
+			for( BlockEntry e : entries )
+				estnnz += e.getNonZeros();
+		}
+		long rows = ixrange.rowEnd - ixrange.rowStart + 1;
+		long cols = ixrange.colEnd - ixrange.colStart + 1;
+		MatrixBlock ret = createOutputMatrixBlock(rows, cols, estnnz, false, false);
+		
+		//core read 
+		readIndexedBinaryBlocksFromHDFS(fs, entries, ret, ixrange, rlen, clen, brlen, bclen);
+		
+		//finally check if change of sparse/dense block representation required
+		if( !AGGREGATE_BLOCK_NNZ )
+			ret.recomputeNonZeros();
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param fs
+	 * @param entries
+	 * @param dest
+	 * @param ixrange
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @throws IOException
+	 * @throws DMLRuntimeException
+	 */
+	protected void readIndexedBinaryBlocksFromHDFS( FileSystem fs, List<BlockEntry> entries, MatrixBlock dest, IndexRange ixrange, long rlen, long clen, int brlen, int bclen )
+		throws IOException, DMLRuntimeException
+	{
+		long lnnz = readBlocks(fs, entries, dest, ixrange, rlen, clen, brlen, bclen, false);
+		
+		//post-processing
+		dest.setNonZeros( lnnz );
+		if( dest.isInSparseFormat() && spansMultipleColumnBlocks(ixrange, bclen) ) {
+			//no need to sort if 1 column block since always sorted
+			dest.sortSparseRows();
+		}
+	}
+	
+	/**
+	 * Indicates if the given index range overlaps with more than one column block, 
+	 * in which case appends to sparse rows require synchronization and a final sort.
+	 * Note that this does not depend on the range width, because even narrow ranges 
+	 * might cross a column block boundary.
+	 * 
+	 * @param ixrange
+	 * @param bclen
+	 * @return
+	 */
+	protected static boolean spansMultipleColumnBlocks( IndexRange ixrange, int bclen )
+	{
+		return (ixrange.colStart-1)/bclen != (ixrange.colEnd-1)/bclen;
+	}
+	
+	/**
+	 * Reads the given blocks and copies their overlap with the index range into the
+	 * output block. Consecutive blocks of the same part file reuse the opened file.
+	 * 
+	 * @param fs
+	 * @param entries
+	 * @param dest
+	 * @param ixrange
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @param lockSparse
+	 * @return number of non-zeros copied into the output 
+	 * @throws IOException
+	 * @throws DMLRuntimeException
+	 */
+	protected static long readBlocks( FileSystem fs, List<BlockEntry> entries, MatrixBlock dest, IndexRange ixrange, long rlen, long clen, int brlen, int bclen, boolean lockSparse )
+		throws IOException, DMLRuntimeException
+	{
+		boolean sparse = dest.isInSparseFormat();
+		MatrixBlock value = new MatrixBlock();
+		long lnnz = 0;
+		
+		BinaryBlockIndexedFormat.Reader reader = null;
+		Path lpath = null;
+		try
+		{
+			for( BlockEntry e : entries )
+			{
+				//empty block filter (skip entire block)
+				if( e.getNonZeros() == 0 )
+					continue;
+				
+				//open part file if necessary
+				if( reader == null || !e.getPath().equals(lpath) ) {
+					IOUtilFunctions.closeSilently(reader);
+					reader = new BinaryBlockIndexedFormat.Reader(fs, e.getPath());
+					lpath = e.getPath();
+				}
+				
+				//read and decode block
+				value = reader.readBlock(e, value);
+				checkBlockBounds(e, value, rlen, clen, brlen, bclen);
+				
+				//compute overlap of block and index range (0-based, inclusive)
+				long row_offset = (e.getRowIndex()-1)*brlen;
+				long col_offset = (e.getColumnIndex()-1)*bclen;
+				int rl = (int)(Math.max(row_offset, ixrange.rowStart-1) - row_offset);
+				int ru = (int)(Math.min(row_offset+value.getNumRows(), ixrange.rowEnd) - row_offset - 1);
+				int cl = (int)(Math.max(col_offset, ixrange.colStart-1) - col_offset);
+				int cu = (int)(Math.min(col_offset+value.getNumColumns(), ixrange.colEnd) - col_offset - 1);
+				MatrixBlock part = (rl==0 && ru==value.getNumRows()-1 && cl==0 && cu==value.getNumColumns()-1) ?
+						value : value.sliceOperations(rl, ru, cl, cu, new MatrixBlock());
+				int drl = (int)(row_offset + rl - (ixrange.rowStart-1));
+				int dcl = (int)(col_offset + cl - (ixrange.colStart-1));
+				
+				//copy block to result
+				if( sparse )
+				{
+					//note: append requires final sort (but prevents repeated shifting)
+					if( lockSparse ) {
+						synchronized( dest ){ //sparse requires lock, when range spans multiple column blocks
+							dest.appendToSparse(part, drl, dcl);
+						}
+					}
+					else
+						dest.appendToSparse(part, drl, dcl);
+				} 
+				else
+				{
+					dest.copy( drl, drl+part.getNumRows()-1, 
+							   dcl, dcl+part.getNumColumns()-1, part, false );
+				}
+				
+				//maintain nnz as aggregate of block nnz
+				lnnz += part.getNonZeros();
+			}
+		}
+		catch(DMLRuntimeException ex) 
+		{
+			throw new IOException(ex);
+		}
+		finally
+		{
+			IOUtilFunctions.closeSilently(reader);
+		}
+		
+		return lnnz;
+	}
+	
+	/**
+	 * 
+	 * @param fs
+	 * @param path
+	 * @param ixrange
+	 * @param brlen
+	 * @param bclen
+	 * @return
+	 * @throws IOException
+	 */
+	protected static List<BlockEntry> getRequiredBlocks( FileSystem fs, Path path, IndexRange ixrange, int brlen, int bclen ) 
+		throws IOException
+	{
+		List<BlockEntry> entries = BinaryBlockIndexedFormat.readBlockIndex(fs, getSequenceFilePaths(fs, path));
+		if( ixrange == null )
+			return entries;
+		
+		ArrayList<BlockEntry> ret = new ArrayList<BlockEntry>();
+		for( BlockEntry e : entries )
+			if( e.overlaps(ixrange, brlen, bclen) )
+				ret.add(e);
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param e
+	 * @param value
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @throws IOException
+	 */
+	private static void checkBlockBounds( BlockEntry e, MatrixBlock value, long rlen, long clen, int brlen, int bclen ) 
+		throws IOException
+	{
+		long row_offset = (e.getRowIndex()-1)*brlen;
+		long col_offset = (e.getColumnIndex()-1)*bclen;
+		int rows = value.getNumRows();
+		int cols = value.getNumColumns();
+		
+		if( row_offset + rows < 0 || row_offset + rows > rlen || col_offset + cols<0 || col_offset + cols > clen )
+		{
+			throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+					              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+	}
+}
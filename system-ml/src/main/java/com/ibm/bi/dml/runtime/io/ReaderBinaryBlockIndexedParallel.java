@@ -0,0 +1,133 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+
+import com.ibm.bi.dml.hops.OptimizerUtils;
+import com.ibm.bi.dml.runtime.DMLRuntimeException;
+import com.ibm.bi.dml.runtime.io.BinaryBlockIndexedFormat.BlockEntry;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.util.IndexRange;
+
+/**
+ * Parallel reader for the indexed binary block format. Since the footer indexes
+ * provide the offsets of all required blocks, we partition the blocks (not the 
+ * part files) across threads, which also parallelizes reads of single files.
+ * 
+ */
+public class ReaderBinaryBlockIndexedParallel extends ReaderBinaryBlockIndexed
+{
+	private static int _numThreads = 1;
+	
+	public ReaderBinaryBlockIndexedParallel( boolean localFS )
+	{
+		super(localFS);
+		_numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
+	}
+	
+	@Override
+	protected void readIndexedBinaryBlocksFromHDFS( FileSystem fs, List<BlockEntry> entries, MatrixBlock dest, IndexRange ixrange, long rlen, long clen, int brlen, int bclen )
+		throws IOException, DMLRuntimeException
+	{
+		//fall back to sequential read for small inputs
+		int numThreads = Math.min(_numThreads, entries.size());
+		if( numThreads <= 1 ) {
+			super.readIndexedBinaryBlocksFromHDFS(fs, entries, dest, ixrange, rlen, clen, brlen, bclen);
+			return;
+		}
+		
+		//preallocate output for concurrent copies into disjoint regions
+		dest.allocateDenseOrSparseBlock();
+		boolean lockSparse = spansMultipleColumnBlocks(ixrange, bclen);
+		
+		try 
+		{
+			//create read tasks for disjoint, consecutive ranges of blocks
+			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			ArrayList<ReadBlocksTask> tasks = new ArrayList<ReadBlocksTask>();
+			int blklen = (int)Math.ceil((double)entries.size() / numThreads);
+			for( int i=0; i<numThreads & i*blklen<entries.size(); i++ ) {
+				List<BlockEntry> lentries = entries.subList(i*blklen, Math.min((i+1)*blklen, entries.size()));
+				tasks.add(new ReadBlocksTask(fs, lentries, dest, ixrange, rlen, clen, brlen, bclen, lockSparse));
+			}
+			
+			//wait until all tasks have been executed
+			List<Future<Object>> rt = pool.invokeAll(tasks);	
+			pool.shutdown();
+			
+			//check for exceptions and aggregate nnz
+			long lnnz = 0;
+			for( Future<Object> task : rt )
+				lnnz += (Long)task.get();
+			
+			//post-processing
+			dest.setNonZeros( lnnz );
+			if( dest.isInSparseFormat() && lockSparse ) {
+				//no need to sort if 1 column block since always sorted
+				dest.sortSparseRows();
+			}
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of indexed binary block input.", e);
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class ReadBlocksTask implements Callable<Object> 
+	{
+		private FileSystem _fs = null;
+		private List<BlockEntry> _entries = null;
+		private MatrixBlock _dest = null;
+		private IndexRange _ixrange = null;
+		private long _rlen = -1;
+		private long _clen = -1;
+		private int _brlen = -1;
+		private int _bclen = -1;
+		private boolean _lockSparse = false;
+		
+		public ReadBlocksTask( FileSystem fs, List<BlockEntry> entries, MatrixBlock dest, IndexRange ixrange, long rlen, long clen, int brlen, int bclen, boolean lockSparse )
+		{
+			_fs = fs;
+			_entries = entries;
+			_dest = dest;
+			_ixrange = ixrange;
+			_rlen = rlen;
+			_clen = clen;
+			_brlen = brlen;
+			_bclen = bclen;
+			_lockSparse = lockSparse;
+		}
+		
+		@Override
+		public Object call() throws Exception 
+		{
+			return readBlocks(_fs, _entries, _dest, _ixrange, _rlen, _clen, _brlen, _bclen, _lockSparse);
+		}
+	}
+}
@@ -18,14 +18,18 @@
 package com.ibm.bi.dml.runtime.io;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.mutable.MutableBoolean;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.LongWritable;
@@ -43,20 +47,28 @@ import com.ibm.bi.dml.hops.OptimizerUtils;
 import com.ibm.bi.dml.runtime.DMLRuntimeException;
 import com.ibm.bi.dml.runtime.matrix.data.CSVFileFormatProperties;
 import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.data.SparseRow;
 
 /**
- * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in
- * order to compute row offsets and the actual read. We accordingly create count
- * and read tasks and use fixed-size thread pools to execute these tasks. If the
- * target matrix is dense, the inserts are done lock-free. In contrast to
- * textcell parallel read, we also do lock-free inserts. If the matrix is
- * sparse, because splits contain row partitioned lines and hence there is no
- * danger of lost updates. Note, there is also no sorting of sparse rows
- * required because data comes in sorted order per row.
+ * Parallel version of ReaderTextCSV.java. By default, we do a single pass over 
+ * the input, where parse tasks tokenize lines directly from the byte buffers of 
+ * the record readers (without string allocation per line or field) and append 
+ * all non-zeros into growable per-split buffers. Once all splits are parsed, the
+ * row offsets are known and copy tasks write the buffers into the output block.
+ * If these buffers would not fit into memory, we fall back to two passes in order 
+ * to compute row offsets and the actual read. In both cases, if the target matrix 
+ * is dense, the inserts are done lock-free. In contrast to textcell parallel read, 
+ * we also do lock-free inserts if the matrix is sparse, because splits contain row 
+ * partitioned lines and hence there is no danger of lost updates. Note, there is 
+ * also no sorting of sparse rows required because data comes in sorted order per row.
  * 
  */
 public class ReaderTextCSVParallel extends MatrixReader 
 {
+	//internal configuration
+	private static final boolean SINGLE_PASS_READ = true;
+	private static final int INIT_BUFFER_SIZE = 1024;
+	
 	private CSVFileFormatProperties _props = null;
 	private int _numThreads = 1;
 
@@ -101,17 +113,25 @@ public class ReaderTextCSVParallel extends MatrixReader
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		// allocate output matrix block
-		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits,
-				path, job, _props.hasHeader(), _props.getDelim(), estnnz);
-		rlen = ret.getNumRows();
-		clen = ret.getNumColumns();
-
-		// Second Read Pass (read, parse strings, append to matrix block)
-		readCSVMatrixFromHDFS(splits, path, job, ret, rlen, clen, brlen, bclen,
-				_props.hasHeader(), _props.getDelim(), _props.isFill(),
-				_props.getFillValue());
+		MatrixBlock ret = null;
+		if( SINGLE_PASS_READ && isSinglePassReadFeasible(splits, rlen, clen, estnnz, _props.isFill()) ) 
+		{
+			// Single Read Pass (parse into per-split buffers, allocate matrix block, copy)
+			ret = readCSVMatrixFromHDFSSinglePass(splits, path, job, 
+					_props.hasHeader(), _props.getDelim(), _props.isFill(), 
+					_props.getFillValue());
+		}
+		else 
+		{
+			// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
+			ret = computeCSVSizeAndCreateOutputMatrixBlock(splits,
+					path, job, _props.hasHeader(), _props.getDelim(), estnnz);
+	
+			// Second Read Pass (read, parse strings, append to matrix block)
+			readCSVMatrixFromHDFS(splits, path, job, ret, ret.getNumRows(), ret.getNumColumns(), 
+					brlen, bclen, _props.hasHeader(), _props.getDelim(), _props.isFill(),
+					_props.getFillValue());
+		}
 		
 		//post-processing (representation-specific, change of sparse/dense block representation)
 		// - no sorting required for CSV because it is read in sorted order per row
@@ -126,6 +146,124 @@ public class ReaderTextCSVParallel extends MatrixReader
 		return ret;
 	}
 
+	/**
+	 * Indicates if the per-split buffers of a single-pass read (column index and value 
+	 * per non-zero) and the output fit into the local memory budget. Since the buffers 
+	 * grow by doubling, they temporarily require up to 3x their used size. If the size 
+	 * is unknown, we use upper bounds derived from the input size, where every cell
+	 * requires at least one byte (delimiter or newline) and every non-zero, which is 
+	 * not a fill value, at least two bytes.
+	 * 
+	 * @param splits
+	 * @param rlen
+	 * @param clen
+	 * @param estnnz
+	 * @param fill
+	 * @return
+	 * @throws IOException 
+	 */
+	private static boolean isSinglePassReadFeasible(InputSplit[] splits, long rlen, long clen, long estnnz, boolean fill) 
+		throws IOException
+	{
+		double outSize = -1;
+		double nnz = -1;
+		double nrow = -1;
+		
+		if( rlen > 0 && clen > 0 ) {
+			nnz = (estnnz > 0) ? estnnz : rlen * clen;
+			nrow = rlen;
+			outSize = OptimizerUtils.estimateSizeExactSparsity(rlen, clen, (long)nnz);
+		}
+		else {
+			long len = 0;
+			for( InputSplit split : splits )
+				len += split.getLength();
+			nnz = fill ? len : len / 2;
+			nrow = len;
+			outSize = OptimizerUtils.estimateSizeExactSparsity(1, len, 1.0); //dense upper bound
+		}
+		double buffSize = 3 * (12d * nnz + 4d * nrow);
+		
+		return ( outSize + buffSize < OptimizerUtils.getLocalMemBudget() );
+	}
+	
+	/**
+	 * 
+	 * @param splits
+	 * @param path
+	 * @param job
+	 * @param hasHeader
+	 * @param delim
+	 * @param fill
+	 * @param fillValue
+	 * @return
+	 * @throws IOException
+	 * @throws DMLRuntimeException
+	 */
+	private MatrixBlock readCSVMatrixFromHDFSSinglePass(InputSplit[] splits, Path path, JobConf job, 
+			boolean hasHeader, String delim, boolean fill, double fillValue) 
+		throws IOException, DMLRuntimeException
+	{
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		byte[] bdelim = delim.getBytes(Charset.forName("UTF-8"));
+		
+		MatrixBlock ret = null;
+		ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
+		
+		try 
+		{
+			// parse all splits into per-split buffers
+			ArrayList<CSVParseTask> tasks = new ArrayList<CSVParseTask>();
+			for( int i=0; i<splits.length; i++ )
+				tasks.add( new CSVParseTask(splits[i], informat, job, 
+						hasHeader && i==0, bdelim, fill, fillValue) );
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			for( Future<Object> task : rt )
+				task.get();
+			
+			// compute row offsets per split, and check number of columns
+			int nrow = 0;
+			int ncol = -1;
+			long nnz = 0;
+			for( CSVParseTask task : tasks ) {
+				if( task.getNumRows() > 0 ) {
+					if( ncol >= 0 && ncol != task.getNumCols() )
+						throw new IOException("Inconsistent number of columns ("+task.getNumCols()+", expected="+ncol+") "
+								+ "found in delimited file ("+path.toString()+").");
+					ncol = task.getNumCols();
+				}
+				task.setRowOffset(nrow);
+				nrow += task.getNumRows();
+				nnz += task.getNonZeros();
+			}
+			
+			// allocate target matrix block based on exact size and nnz;
+			// need to allocate sparse as well since lock-free insert into target
+			ret = createOutputMatrixBlock(nrow, Math.max(ncol, 0), nnz, true, true);
+			
+			// copy per-split buffers into disjoint row ranges of target
+			ArrayList<CSVCopyTask> tasks2 = new ArrayList<CSVCopyTask>();
+			for( CSVParseTask task : tasks )
+				if( task.getNumRows() > 0 )
+					tasks2.add( new CSVCopyTask(task, ret) );
+			List<Future<Object>> rt2 = pool.invokeAll(tasks2);
+			for( Future<Object> task : rt2 )
+				task.get();
+			
+			ret.setNonZeros(nnz);
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed single-pass parallel read of csv input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		return ret;
+	}
+	
 	/**
 	 * 
 	 * @param path
@@ -410,7 +548,6 @@ public class ReaderTextCSVParallel extends MatrixReader
 		{
 			int row = 0;
 			int col = 0;
-			double cellValue = 0;
 			long lnnz = 0;
 			
 			try 
@@ -424,74 +561,44 @@ public class ReaderTextCSVParallel extends MatrixReader
 					reader.next(key, value);
 				}
 
-				boolean noFillEmpty = false;
 				row = _splitoffsets.getOffsetPerSplit(_splitCount);
 
 				try {
-					if (_sparse) // SPARSE<-value
+					// parse lines directly from text buffer (w/o string allocation)
+					byte[] delim = _delim.getBytes(Charset.forName("UTF-8"));
+					double[] cells = new double[(int)_clen];
+					MutableBoolean emptyFound = new MutableBoolean(false);
+					
+					while (reader.next(key, value)) // foreach line
 					{
-						while (reader.next(key, value)) // foreach line
+						emptyFound.setValue(false);
+						col = IOUtilFunctions.parseDelimitedLine(value.getBytes(), 0, value.getLength(), 
+								delim, cells, 0, (int)_clen, _fillValue, emptyFound);
+						
+						// sanity checks (number of columns, fill values)
+						if( emptyFound.booleanValue() )
+							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(value.toString(), _fill, true);
+						if( col != _clen )
+							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), value.toString(), col, _clen);
+						
+						if (_sparse) // SPARSE<-value
 						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-
-							for (String part : parts) // foreach cell
-							{
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-
-								if( cellValue != 0 ) {
-									_dest.appendValue(row, col, cellValue);
+							for( int j=0; j<col; j++ )
+								if( cells[j] != 0 ) {
+									_dest.appendValue(row, j, cells[j]);
 									lnnz++;
 								}
-								col++;
-							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
-						}
-					} 
-					else // DENSE<-value
-					{
-						while (reader.next(key, value)) // foreach line
+						} 
+						else // DENSE<-value
 						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-
-							for (String part : parts) // foreach cell
-							{
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-								if( cellValue != 0 ) {
-									_dest.setValueDenseUnsafe(row, col, cellValue);
+							for( int j=0; j<col; j++ )
+								if( cells[j] != 0 ) {
+									_dest.setValueDenseUnsafe(row, j, cells[j]);
 									lnnz++;
 								}
-								col++;
-							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
 						}
+						
+						row++;
 					}
 
 					// sanity checks (number of rows)
@@ -530,4 +637,208 @@ public class ReaderTextCSVParallel extends MatrixReader
 			return null;
 		}
 	}
+	
+	/**
+	 * Single-pass parse task, which tokenizes all lines of a split directly from the 
+	 * text buffer and appends the non-zeros into growable buffers (number of non-zeros
+	 * per row, column indexes, and values). The number of columns is determined from 
+	 * the first line and checked for all other lines of the split.
+	 */
+	private static class CSVParseTask implements Callable<Object> 
+	{
+		private InputSplit _split = null;
+		private TextInputFormat _informat = null;
+		private JobConf _job = null;
+		private boolean _hasHeader = false;
+		private byte[] _delim = null;
+		private boolean _fill = false;
+		private double _fillValue = 0;
+		
+		//growable per-split buffers
+		private int[] _rnnz = null;
+		private int[] _cix = null;
+		private double[] _vals = null;
+		private int _nrows = 0;
+		private int _ncols = -1;
+		private int _nnz = 0;
+		private int _roffset = -1;
+		
+		public CSVParseTask(InputSplit split, TextInputFormat informat, JobConf job, 
+				boolean hasHeader, byte[] delim, boolean fill, double fillValue) 
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_hasHeader = hasHeader;
+			_delim = delim;
+			_fill = fill;
+			_fillValue = fillValue;
+		}
+		
+		public int getNumRows() {
+			return _nrows;
+		}
+		
+		public int getNumCols() {
+			return _ncols;
+		}
+		
+		public long getNonZeros() {
+			return _nnz;
+		}
+		
+		public int getRowOffset() {
+			return _roffset;
+		}
+		
+		public void setRowOffset(int roffset) {
+			_roffset = roffset;
+		}
+		
+		/**
+		 * Releases the per-split buffers.
+		 */
+		public void clear() {
+			_rnnz = null;
+			_cix = null;
+			_vals = null;
+		}
+
+		@Override
+		public Object call() 
+			throws Exception 
+		{
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			MutableBoolean emptyFound = new MutableBoolean(false);
+			double[] cells = null;
+			
+			try 
+			{
+				// skip the header line
+				if( _hasHeader )
+					reader.next(key, value);
+				
+				while( reader.next(key, value) ) // foreach line
+				{
+					byte[] buf = value.getBytes();
+					int len = value.getLength();
+					
+					// determine number of columns from first line
+					if( cells == null ) {
+						_ncols = IOUtilFunctions.parseDelimitedLine(buf, 0, len, _delim, null, 0, 0, 0, emptyFound);
+						cells = new double[_ncols];
+						_rnnz = new int[INIT_BUFFER_SIZE];
+						_cix = new int[Math.max(INIT_BUFFER_SIZE, _ncols)];
+						_vals = new double[Math.max(INIT_BUFFER_SIZE, _ncols)];
+					}
+					
+					// parse line directly from text buffer
+					emptyFound.setValue(false);
+					int ncol = IOUtilFunctions.parseDelimitedLine(buf, 0, len, _delim, cells, 0, _ncols, _fillValue, emptyFound);
+					
+					// sanity checks (number of columns, fill values)
+					if( emptyFound.booleanValue() )
+						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(value.toString(), _fill, true);
+					if( ncol != _ncols )
+						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), value.toString(), ncol, _ncols);
+					
+					// append non-zeros to buffers (grow if necessary)
+					if( _nrows == _rnnz.length )
+						_rnnz = Arrays.copyOf(_rnnz, newCapacity(_rnnz.length, _nrows+1));
+					if( _nnz + _ncols > _cix.length ) {
+						int newCap = newCapacity(_cix.length, (long)_nnz + _ncols);
+						_cix = Arrays.copyOf(_cix, newCap);
+						_vals = Arrays.copyOf(_vals, newCap);
+					}
+					int lnnz = 0;
+					for( int j=0; j<_ncols; j++ )
+						if( cells[j] != 0 ) {
+							_cix[_nnz+lnnz] = j;
+							_vals[_nnz+lnnz] = cells[j];
+							lnnz++;
+						}
+					_rnnz[_nrows++] = lnnz;
+					_nnz += lnnz;
+				}
+			}
+			catch(Exception ex) {
+				throw new IOException("Unable to read matrix in text CSV format (split "+_split.toString()+", "
+						+ "line "+(_nrows+1)+"). "+ex.getMessage(), ex);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			
+			return null;
+		}
+		
+		/**
+		 * 
+		 * @param cap
+		 * @param minCap
+		 * @return
+		 * @throws IOException
+		 */
+		private static int newCapacity(int cap, long minCap) 
+			throws IOException
+		{
+			if( minCap > Integer.MAX_VALUE - 8 )
+				throw new IOException("Number of non-zeros per split exceeds max buffer size.");
+			return (int)Math.min(Math.max(2L*cap, minCap), Integer.MAX_VALUE - 8);
+		}
+	}
+	
+	/**
+	 * Copies the buffers of a parsed split into the disjoint row range of the output.
+	 */
+	private static class CSVCopyTask implements Callable<Object> 
+	{
+		private CSVParseTask _task = null;
+		private MatrixBlock _dest = null;
+		
+		public CSVCopyTask(CSVParseTask task, MatrixBlock dest) 
+		{
+			_task = task;
+			_dest = dest;
+		}
+
+		@Override
+		public Object call() 
+			throws Exception 
+		{
+			int[] rnnz = _task._rnnz;
+			int[] cix = _task._cix;
+			double[] vals = _task._vals;
+			int nrows = _task.getNumRows();
+			int roff = _task.getRowOffset();
+			
+			if( _dest.isInSparseFormat() ) //SPARSE
+			{
+				SparseRow[] rows = _dest.getSparseRows();
+				for( int i=0, pos=0; i<nrows; pos+=rnnz[i], i++ ) 
+					if( rnnz[i] > 0 ) {
+						SparseRow row = new SparseRow(rnnz[i]);
+						System.arraycopy(cix, pos, row.getIndexContainer(), 0, rnnz[i]);
+						System.arraycopy(vals, pos, row.getValueContainer(), 0, rnnz[i]);
+						row.setSize(rnnz[i]);
+						rows[roff+i] = row;
+					}
+			}
+			else //DENSE
+			{
+				double[] c = _dest.getDenseArray();
+				int clen = _dest.getNumColumns();
+				for( int i=0, pos=0, cix2=roff*clen; i<nrows; i++, cix2+=clen ) 
+					for( int j=0; j<rnnz[i]; j++, pos++ )
+						c[cix2+cix[pos]] = vals[pos];
+			}
+			
+			//release per-split buffers
+			_task.clear();
+			
+			return null;
+		}
+	}
 }
@@ -0,0 +1,178 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+
+import com.ibm.bi.dml.conf.ConfigurationManager;
+import com.ibm.bi.dml.runtime.DMLRuntimeException;
+import com.ibm.bi.dml.runtime.DMLUnsupportedOperationException;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixIndexes;
+import com.ibm.bi.dml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for the seekable, block-compressed binary block format (see BinaryBlockIndexedFormat).
+ * 
+ */
+public class WriterBinaryBlockIndexed extends MatrixWriter
+{
+	protected int _replication = -1;
+	
+	public WriterBinaryBlockIndexed( int replication )
+	{
+		_replication  = replication;
+	}
+	
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz) 
+		throws IOException, DMLRuntimeException, DMLUnsupportedOperationException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		
+		//bound check for src block
+		if( src.getNumRows() > rlen || src.getNumColumns() > clen )
+		{
+			throw new IOException("Matrix block [1:"+src.getNumRows()+",1:"+src.getNumColumns()+"] " +
+					              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+		
+		//core write
+		writeIndexedBinaryBlockMatrixToHDFS(path, job, src, rlen, clen, brlen, bclen, _replication);
+	}
+	
+	@Override
+	public void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = FileSystem.get(job);
+		
+		BinaryBlockIndexedFormat.Writer writer = new BinaryBlockIndexedFormat.Writer(fs, path, -1);
+		try {
+			MatrixBlock block = new MatrixBlock((int)Math.min(rlen, brlen),
+			                                    (int)Math.min(clen, bclen), true);
+			writer.append(new MatrixIndexes(1, 1), block);
+		}
+		finally {
+			writer.close();
+		}
+	}
+	
+	/**
+	 * 
+	 * @param path
+	 * @param job
+	 * @param src
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @param replication
+	 * @throws IOException
+	 * @throws DMLRuntimeException
+	 * @throws DMLUnsupportedOperationException
+	 */
+	protected void writeIndexedBinaryBlockMatrixToHDFS( Path path, JobConf job, MatrixBlock src, long rlen, long clen, int brlen, int bclen, int replication )
+		throws IOException, DMLRuntimeException, DMLUnsupportedOperationException
+	{
+		FileSystem fs = FileSystem.get(job);
+		writeIndexedBinaryBlockFile(fs, path, src, 0, rlen, brlen, bclen, replication);
+	}
+	
+	/**
+	 * Writes all blocks of the given row range [rl, ru) into a single indexed file.
+	 * 
+	 * @param fs
+	 * @param path
+	 * @param src
+	 * @param rl
+	 * @param ru
+	 * @param brlen
+	 * @param bclen
+	 * @param replication
+	 * @throws IOException
+	 * @throws DMLRuntimeException
+	 * @throws DMLUnsupportedOperationException
+	 */
+	protected static void writeIndexedBinaryBlockFile( FileSystem fs, Path path, MatrixBlock src, long rl, long ru, int brlen, int bclen, int replication )
+		throws IOException, DMLRuntimeException, DMLUnsupportedOperationException
+	{
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		
+		BinaryBlockIndexedFormat.Writer writer = new BinaryBlockIndexedFormat.Writer(fs, path, replication);
+		
+		try
+		{
+			MatrixIndexes indexes = new MatrixIndexes();
+			
+			if( rlen <= brlen && clen <= bclen ) //opt for single block
+			{
+				//directly write single block
+				indexes.setIndexes(1, 1);
+				writer.append(indexes, src);
+			}
+			else //general case
+			{
+				//initialize blocks for reuse (at most 4 different blocks required)
+				MatrixBlock[] blocks = createMatrixBlocksForReuse(rlen, clen, brlen, bclen, 
+						src.isInSparseFormat(), src.getNonZeros());  
+				
+				//create and write subblocks of matrix
+				for(int blockRow = (int)rl/brlen; blockRow < (int)Math.ceil(ru/(double)brlen); blockRow++)
+					for(int blockCol = 0; blockCol < (int)Math.ceil(clen/(double)bclen); blockCol++)
+					{
+						int maxRow = (blockRow*brlen + brlen < rlen) ? brlen : rlen - blockRow*brlen;
+						int maxCol = (blockCol*bclen + bclen < clen) ? bclen : clen - blockCol*bclen;
+				
+						int row_offset = blockRow*brlen;
+						int col_offset = blockCol*bclen;
+						
+						//get reuse matrix block
+						MatrixBlock block = getMatrixBlockForReuse(blocks, maxRow, maxCol, brlen, bclen);
+	
+						//copy submatrix to block
+						src.sliceOperations( row_offset, row_offset+maxRow-1, 
+								             col_offset, col_offset+maxCol-1, block );
+						
+						//encode and append block (incl index maintenance)
+						indexes.setIndexes(blockRow+1, blockCol+1);
+						writer.append(indexes, block);
+							
+						//reset block for later reuse
+						block.reset();
+					}
+			}
+		}
+		finally
+		{
+			writer.close();
+		}
+	}
+}
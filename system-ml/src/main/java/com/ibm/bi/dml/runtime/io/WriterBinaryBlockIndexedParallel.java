@@ -0,0 +1,133 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+
+import com.ibm.bi.dml.conf.DMLConfig;
+import com.ibm.bi.dml.hops.OptimizerUtils;
+import com.ibm.bi.dml.runtime.DMLRuntimeException;
+import com.ibm.bi.dml.runtime.DMLUnsupportedOperationException;
+import com.ibm.bi.dml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.util.MapReduceTool;
+
+/**
+ * Parallel writer for the indexed binary block format, where every thread encodes
+ * and writes a disjoint range of row blocks into its own indexed part file.
+ * 
+ */
+public class WriterBinaryBlockIndexedParallel extends WriterBinaryBlockIndexed
+{
+	public WriterBinaryBlockIndexedParallel( int replication )
+	{
+		super(replication);
+	}
+	
+	@Override
+	protected void writeIndexedBinaryBlockMatrixToHDFS( Path path, JobConf job, MatrixBlock src, long rlen, long clen, int brlen, int bclen, int replication )
+		throws IOException, DMLRuntimeException, DMLUnsupportedOperationException
+	{
+		//estimate output size and number of output blocks (min 1)
+		int numPartFiles = (int)(OptimizerUtils.estimatePartitionedSizeExactSparsity(rlen, clen, brlen, bclen, src.getNonZeros()) 
+						   / InfrastructureAnalyzer.getHDFSBlockSize());
+		numPartFiles = Math.max(numPartFiles, 1);
+		
+		//determine degree of parallelism
+		int numThreads = OptimizerUtils.getParallelBinaryWriteParallelism();
+		numThreads = Math.min(numThreads, numPartFiles);
+		
+		//fall back to sequential write if dop is 1 (e.g., <128MB) in order to create single file
+		if( numThreads <= 1 ) {
+			super.writeIndexedBinaryBlockMatrixToHDFS(path, job, src, rlen, clen, brlen, bclen, replication);
+			return;
+		}
+		
+		//create directory for concurrent tasks
+		MapReduceTool.createDirIfNotExistOnHDFS(path.toString(), DMLConfig.DEFAULT_SHARED_DIR_PERMISSION);
+		FileSystem fs = FileSystem.get(job);
+		
+		//create and execute write tasks
+		try 
+		{
+			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			ArrayList<WriteFileTask> tasks = new ArrayList<WriteFileTask>();
+			int blklen = (int)Math.ceil((double)rlen / brlen / numThreads) * brlen;
+			for(int i=0; i<numThreads & i*blklen<rlen; i++) {
+				Path newPath = new Path(path, String.format("0-m-%05d",i));
+				tasks.add(new WriteFileTask(newPath, fs, src, i*blklen, Math.min((i+1)*blklen, rlen), brlen, bclen, replication));
+			}
+			
+			//wait until all tasks have been executed
+			List<Future<Object>> rt = pool.invokeAll(tasks);	
+			pool.shutdown();
+			
+			//check for exceptions 
+			for( Future<Object> task : rt )
+				task.get();
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel write of indexed binary block input.", e);
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class WriteFileTask implements Callable<Object> 
+	{
+		private Path _path = null;
+		private FileSystem _fs = null;
+		private MatrixBlock _src = null;
+		private long _rl = -1;
+		private long _ru = -1;
+		private int _brlen = -1;
+		private int _bclen = -1;
+		private int _replication = 1;
+		
+		public WriteFileTask(Path path, FileSystem fs, MatrixBlock src, long rl, long ru, int brlen, int bclen, int rep)
+		{
+			_path = path;
+			_fs = fs;
+			_src = src;
+			_rl = rl;
+			_ru = ru;
+			_brlen = brlen;
+			_bclen = bclen;
+			_replication = rep;
+		}
+	
+		@Override
+		public Object call() throws Exception 
+		{
+			writeIndexedBinaryBlockFile(_fs, _path, _src, _rl, _ru, _brlen, _bclen, _replication);
+			
+			return null;
+		}
+	}
+}
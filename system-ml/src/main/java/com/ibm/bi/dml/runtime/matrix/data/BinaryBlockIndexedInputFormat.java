@@ -0,0 +1,110 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.matrix.data;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+
+import com.ibm.bi.dml.runtime.io.BinaryBlockIndexedFormat;
+import com.ibm.bi.dml.runtime.io.BinaryBlockIndexedFormat.BlockEntry;
+
+/**
+ * Input format for the indexed binary block format. Files are not splittable
+ * because blocks are located via the footer index of the entire file.
+ */
+public class BinaryBlockIndexedInputFormat extends FileInputFormat<MatrixIndexes, MatrixBlock>
+{
+	
+	@Override
+	protected boolean isSplitable(FileSystem fs, Path filename) 
+	{
+		return false;
+	}
+	
+	@Override
+	public RecordReader<MatrixIndexes, MatrixBlock> getRecordReader(InputSplit split, JobConf job, Reporter reporter) 
+		throws IOException 
+	{
+		Path path = ((FileSplit)split).getPath();
+		FileSystem fs = path.getFileSystem(job);
+		return new BinaryBlockIndexedRecordReader(new BinaryBlockIndexedFormat.Reader(fs, path));
+	}
+	
+	/**
+	 * Iterates over all blocks in the order of the footer index.
+	 */
+	public static class BinaryBlockIndexedRecordReader implements RecordReader<MatrixIndexes, MatrixBlock>
+	{
+		private BinaryBlockIndexedFormat.Reader _reader = null;
+		private List<BlockEntry> _entries = null;
+		private int _pos = 0;
+		
+		public BinaryBlockIndexedRecordReader(BinaryBlockIndexedFormat.Reader reader)
+		{
+			_reader = reader;
+			_entries = reader.getIndex();
+		}
+		
+		@Override
+		public boolean next(MatrixIndexes key, MatrixBlock value) 
+			throws IOException 
+		{
+			if( _pos >= _entries.size() )
+				return false;
+			
+			BlockEntry e = _entries.get(_pos++);
+			key.setIndexes(e.getRowIndex(), e.getColumnIndex());
+			_reader.readBlock(e, value);
+			return true;
+		}
+		
+		@Override
+		public MatrixIndexes createKey() {
+			return new MatrixIndexes();
+		}
+		
+		@Override
+		public MatrixBlock createValue() {
+			return new MatrixBlock();
+		}
+		
+		@Override
+		public long getPos() throws IOException {
+			return _pos;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			_reader.close();
+		}
+		
+		@Override
+		public float getProgress() throws IOException {
+			return _entries.isEmpty() ? 1f : (float)_pos / _entries.size();
+		}
+	}
+}
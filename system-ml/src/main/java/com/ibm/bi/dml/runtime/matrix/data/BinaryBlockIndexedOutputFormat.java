@@ -0,0 +1,66 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.matrix.data;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.FileOutputFormat;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordWriter;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.util.Progressable;
+
+import com.ibm.bi.dml.runtime.io.BinaryBlockIndexedFormat;
+
+/**
+ * Output format for the indexed binary block format, where each task output 
+ * file carries its own footer index (written on close).
+ */
+public class BinaryBlockIndexedOutputFormat extends FileOutputFormat<MatrixIndexes, MatrixBlock>
+{	
+	
+	public static class BinaryBlockIndexedRecordWriter implements RecordWriter<MatrixIndexes, MatrixBlock>
+	{
+		private BinaryBlockIndexedFormat.Writer _writer = null;
+		
+		public BinaryBlockIndexedRecordWriter(BinaryBlockIndexedFormat.Writer writer)
+		{
+			_writer = writer;
+		}
+		
+		@Override
+		public void close(Reporter report) throws IOException {
+			_writer.close();
+		}
+		
+		@Override
+		public void write(MatrixIndexes key, MatrixBlock value) throws IOException {
+			_writer.append(key, value);
+		}
+	}
+	
+	@Override
+	public RecordWriter<MatrixIndexes, MatrixBlock> getRecordWriter(FileSystem ignored, JobConf job,
+			String name, Progressable progress) throws IOException {
+		Path file = FileOutputFormat.getTaskOutputPath(job, name);
+		FileSystem fs = file.getFileSystem(job);
+		return new BinaryBlockIndexedRecordWriter(new BinaryBlockIndexedFormat.Writer(fs, file, -1));
+	}
+}
@@ -92,6 +92,22 @@ public class CTableMap
 		_maxCol = Math.max(_maxCol, col);
 	}
 	
+	/**
+	 * Aggregates all entries of the given ctable map into this map,
+	 * e.g., for merging partial ctable maps of multi-threaded ctable.
+	 * 
+	 * @param that
+	 */
+	public void aggregate(CTableMap that)
+	{
+		//hash group-by of all entries
+		_map.addAll(that._map);
+		
+		//maintain internal summaries 
+		_maxRow = Math.max(_maxRow, that._maxRow);
+		_maxCol = Math.max(_maxCol, that._maxCol);
+	}
+	
 	/**
 	 * 
 	 * @param rlen
@@ -109,11 +125,13 @@ public class CTableMap
 		if( sparse ) //SPARSE <- cells
 		{
 			//append cells to sparse target (prevent shifting)
-			for( LLDoubleEntry e : _map.extractValues() ) 
+			for( int i=0; i<_map.getCapacity(); i++ ) 
 			{
-				double value = e.value;
-				int rix = (int)e.key1;
-				int cix = (int)e.key2;
+				if( !_map.isUsed(i) ) 
+					continue;
+				double value = _map.getValue(i);
+				int rix = (int)_map.getKey1(i);
+				int cix = (int)_map.getKey2(i);
 				if( value != 0 && rix<=rlen && cix<=clen )
 					mb.appendValue( rix-1, cix-1, value );
 			}
@@ -124,11 +142,13 @@ public class CTableMap
 		else  //DENSE <- cells
 		{
 			//directly insert cells into dense target 
-			for( LLDoubleEntry e : _map.extractValues() ) 
+			for( int i=0; i<_map.getCapacity(); i++ ) 
 			{
-				double value = e.value;
-				int rix = (int)e.key1;
-				int cix = (int)e.key2;
+				if( !_map.isUsed(i) ) 
+					continue;
+				double value = _map.getValue(i);
+				int rix = (int)_map.getKey1(i);
+				int cix = (int)_map.getKey2(i);
 				if( value != 0 && rix<=rlen && cix<=clen )
 					mb.quickSetValue( rix-1, cix-1, value );
 			}
@@ -87,6 +87,10 @@ public class InputInfo implements Serializable
 	public static final InputInfo CSVInputInfo=new InputInfo(TextInputFormat.class, 
 			 LongWritable.class, Text.class);
 	
+	// Seekable, block-compressed binary block format with footer index
+	public static final InputInfo BinaryBlockIndexedInputInfo=new InputInfo(BinaryBlockIndexedInputFormat.class, 
+			MatrixIndexes.class, MatrixBlock.class);
+	
 	public static OutputInfo getMatchingOutputInfo(InputInfo ii) throws DMLRuntimeException {
 		if ( ii == InputInfo.BinaryBlockInputInfo )
 			return OutputInfo.BinaryBlockOutputInfo;
@@ -104,6 +108,8 @@ public class InputInfo implements Serializable
 			return OutputInfo.WeightedPairOutputInfo;
 		else if ( ii == InputInfo.CSVInputInfo)
 			return OutputInfo.CSVOutputInfo;
+		else if ( ii == InputInfo.BinaryBlockIndexedInputInfo)
+			return OutputInfo.BinaryBlockIndexedOutputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + ii);
 	}
@@ -129,6 +135,8 @@ public class InputInfo implements Serializable
 			return WeightedPairInputInfo;
 		else if ( str.equalsIgnoreCase("csv"))
 			return CSVInputInfo;
+		else if ( str.equalsIgnoreCase("binaryblockindexed"))
+			return BinaryBlockIndexedInputInfo;
 		return null;
 	}
 	
@@ -151,6 +159,8 @@ public class InputInfo implements Serializable
 			return "matrixmarket";
 		else if ( ii == CSVInputInfo )
 			return "csv";
+		else if ( ii == BinaryBlockIndexedInputInfo )
+			return "binaryblockindexed";
 		else
 			throw new DMLRuntimeException("Unrecognized inputInfo: " + ii);
 	}
@@ -17,30 +17,24 @@
 
 package com.ibm.bi.dml.runtime.matrix.data;
 
-import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.DecompositionSolver;
-import org.apache.commons.math3.linear.EigenDecomposition;
-import org.apache.commons.math3.linear.LUDecomposition;
-import org.apache.commons.math3.linear.QRDecomposition;
-import org.apache.commons.math3.linear.RealMatrix;
-
 import com.ibm.bi.dml.runtime.DMLRuntimeException;
 import com.ibm.bi.dml.runtime.controlprogram.caching.MatrixObject;
-import com.ibm.bi.dml.runtime.util.DataConverter;
 
 /**
- * Library for matrix operations that need invocation of 
- * Apache Commons Math library. 
+ * Library for matrix operations that previously required invocation of 
+ * Apache Commons Math library. All operations are now delegated to the 
+ * native, multi-threaded decompositions in LibMatrixDecomp, which avoids 
+ * the conversion to and from double[][] and the related copies.
  * 
  * This library currently supports following operations:
- * matrix inverse, matrix decompositions (QR, LU, Eigen), solve 
+ * matrix inverse, cholesky, matrix decompositions (QR, LU, Eigen), solve 
  */
 public class LibCommonsMath 
 {
 
 	public static boolean isSupportedUnaryOperation( String opcode )
 	{
-		if ( opcode.equals("inverse") ) {
+		if ( opcode.equals("inverse") || opcode.equals("cholesky") ) {
 			return true;
 		}
 		return false;
@@ -68,177 +62,64 @@ public class LibCommonsMath
 	}
 
 	public static MatrixBlock unaryOperations(MatrixObject inj, String opcode) throws DMLRuntimeException {
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(inj);
-		MatrixBlock out = null;
-		if(opcode.equals("inverse"))
-			out = computeMatrixInverse(matrixInput);
-		
-		return out;
+		return unaryOperations(inj, opcode, 1);
 	}
 	
-	public static MatrixBlock[] multiReturnOperations(MatrixObject in, String opcode) throws DMLRuntimeException {
-		MatrixBlock[] out = null;
-		if(opcode.equals("qr"))
-			out = computeQR(in);
-		else if (opcode.equals("lu"))
-			out = computeLU(in);
-		else if (opcode.equals("eigen"))
-			out = computeEigen(in);
-		return out;
-	}
-	
-	public static MatrixBlock matrixMatrixOperations(MatrixObject in1, MatrixObject in2, String opcode) throws DMLRuntimeException {
+	public static MatrixBlock unaryOperations(MatrixObject inj, String opcode, int k) throws DMLRuntimeException {
+		MatrixBlock in = inj.acquireRead();
 		MatrixBlock out = null;
-		if(opcode.equals("solve"))
-			out = computeSolve(in1, in2);
+		try {
+			if(opcode.equals("inverse"))
+				out = LibMatrixDecomp.inverse(in, k);
+			else if(opcode.equals("cholesky"))
+				out = LibMatrixDecomp.cholesky(in, k);
+		}
+		finally {
+			inj.release();
+		}
+		
 		return out;
 	}
 	
-	/**
-	 * Function to solve a given system of equations.
-	 * 
-	 * @param in1
-	 * @param in2
-	 * @return
-	 * @throws DMLRuntimeException
-	 */
-	private static MatrixBlock computeSolve(MatrixObject in1, MatrixObject in2) throws DMLRuntimeException {
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in1);
-		Array2DRowRealMatrix vectorInput = DataConverter.convertToArray2DRowRealMatrix(in2);
-		
-		/*LUDecompositionImpl ludecompose = new LUDecompositionImpl(matrixInput);
-		DecompositionSolver lusolver = ludecompose.getSolver();
-		RealMatrix solutionMatrix = lusolver.solve(vectorInput);*/
-		
-		// Setup a solver based on QR Decomposition
-		QRDecomposition qrdecompose = new QRDecomposition(matrixInput);
-		DecompositionSolver solver = qrdecompose.getSolver();
-		// Invoke solve
-		RealMatrix solutionMatrix = solver.solve(vectorInput);
-		
-		MatrixBlock solution = DataConverter.convertToMatrixBlock(solutionMatrix.getData());
-		
-		return solution;
+	public static MatrixBlock[] multiReturnOperations(MatrixObject in, String opcode) throws DMLRuntimeException {
+		return multiReturnOperations(in, opcode, 1);
 	}
 	
-	/**
-	 * Function to perform QR decomposition on a given matrix.
-	 * 
-	 * @param in
-	 * @return
-	 * @throws DMLRuntimeException
-	 */
-	private static MatrixBlock[] computeQR(MatrixObject in) throws DMLRuntimeException {
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
-		
-		// Perform QR decomposition
-		QRDecomposition qrdecompose = new QRDecomposition(matrixInput);
-		RealMatrix H = qrdecompose.getH();
-		RealMatrix R = qrdecompose.getR();
+	public static MatrixBlock[] multiReturnOperations(MatrixObject in, String opcode, int k) throws DMLRuntimeException {
+		MatrixBlock mb = in.acquireRead();
+		MatrixBlock[] out = null;
+		try {
+			if(opcode.equals("qr"))
+				out = LibMatrixDecomp.qr(mb, k);
+			else if (opcode.equals("lu"))
+				out = LibMatrixDecomp.lu(mb, k);
+			else if (opcode.equals("eigen"))
+				out = LibMatrixDecomp.eigen(mb);
+		}
+		finally {
+			in.release();
+		}
 		
-		// Read the results into native format
-		MatrixBlock mbH = DataConverter.convertToMatrixBlock(H.getData());
-		MatrixBlock mbR = DataConverter.convertToMatrixBlock(R.getData());
-
-		return new MatrixBlock[] { mbH, mbR };
+		return out;
 	}
 	
-	/**
-	 * Function to perform LU decomposition on a given matrix.
-	 * 
-	 * @param in
-	 * @return
-	 * @throws DMLRuntimeException
-	 */
-	private static MatrixBlock[] computeLU(MatrixObject in) throws DMLRuntimeException {
-		if ( in.getNumRows() != in.getNumColumns() ) {
-			throw new DMLRuntimeException("LU Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + in.getNumRows() + ", cols="+ in.getNumColumns() +")");
-		}
-		
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
-		
-		// Perform LUP decomposition
-		LUDecomposition ludecompose = new LUDecomposition(matrixInput);
-		RealMatrix P = ludecompose.getP();
-		RealMatrix L = ludecompose.getL();
-		RealMatrix U = ludecompose.getU();
-		
-		// Read the results into native format
-		MatrixBlock mbP = DataConverter.convertToMatrixBlock(P.getData());
-		MatrixBlock mbL = DataConverter.convertToMatrixBlock(L.getData());
-		MatrixBlock mbU = DataConverter.convertToMatrixBlock(U.getData());
-
-		return new MatrixBlock[] { mbP, mbL, mbU };
+	public static MatrixBlock matrixMatrixOperations(MatrixObject in1, MatrixObject in2, String opcode) throws DMLRuntimeException {
+		return matrixMatrixOperations(in1, in2, opcode, 1);
 	}
 	
-	/**
-	 * Function to perform Eigen decomposition on a given matrix.
-	 * Input must be a symmetric matrix.
-	 * 
-	 * @param in
-	 * @return
-	 * @throws DMLRuntimeException
-	 */
-	private static MatrixBlock[] computeEigen(MatrixObject in) throws DMLRuntimeException {
-		if ( in.getNumRows() != in.getNumColumns() ) {
-			throw new DMLRuntimeException("Eigen Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + in.getNumRows() + ", cols="+ in.getNumColumns() +")");
+	public static MatrixBlock matrixMatrixOperations(MatrixObject in1, MatrixObject in2, String opcode, int k) throws DMLRuntimeException {
+		MatrixBlock mb1 = in1.acquireRead();
+		MatrixBlock mb2 = in2.acquireRead();
+		MatrixBlock out = null;
+		try {
+			if(opcode.equals("solve"))
+				out = LibMatrixDecomp.solve(mb1, mb2, k);
 		}
-		
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
-		
-		EigenDecomposition eigendecompose = new EigenDecomposition(matrixInput);
-		RealMatrix eVectorsMatrix = eigendecompose.getV();
-		double[][] eVectors = eVectorsMatrix.getData();
-		double[] eValues = eigendecompose.getRealEigenvalues();
-		
-		//Sort the eigen values (and vectors) in increasing order (to be compatible w/ LAPACK.DSYEVR())
-		int n = eValues.length;
-		for (int i = 0; i < n; i++) {
-		    int k = i;
-		    double p = eValues[i];
-		    for (int j = i + 1; j < n; j++) {
-		        if (eValues[j] < p) {
-		            k = j;
-		            p = eValues[j];
-		        }
-		    }
-		    if (k != i) {
-		        eValues[k] = eValues[i];
-		        eValues[i] = p;
-		        for (int j = 0; j < n; j++) {
-		            p = eVectors[j][i];
-		            eVectors[j][i] = eVectors[j][k];
-		            eVectors[j][k] = p;
-		        }
-		    }
+		finally {
+			in1.release();
+			in2.release();
 		}
-
-		MatrixBlock mbValues = DataConverter.convertToMatrixBlock(eValues, true);
-		MatrixBlock mbVectors = DataConverter.convertToMatrixBlock(eVectors);
-
-		return new MatrixBlock[] { mbValues, mbVectors };
-	}
-	
-	/**
-	 * Function to compute matrix inverse via matrix decomposition.
-	 * 
-	 * @param in
-	 * @return
-	 * @throws DMLRuntimeException
-	 */
-	private static MatrixBlock computeMatrixInverse(Array2DRowRealMatrix in) throws DMLRuntimeException {
-		
-		if ( !in.isSquare() )
-			throw new DMLRuntimeException("Input to inv() must be square matrix -- given: a " + in.getRowDimension() + "x" + in.getColumnDimension() + " matrix.");
 		
-		QRDecomposition qrdecompose = new QRDecomposition(in);
-		DecompositionSolver solver = qrdecompose.getSolver();
-		RealMatrix inverseMatrix = solver.getInverse();
-
-		MatrixBlock inverse = DataConverter.convertToMatrixBlock(inverseMatrix.getData());
-		
-		return inverse;
+		return out;
 	}
-
 }
-
@@ -19,15 +19,19 @@ package com.ibm.bi.dml.runtime.matrix.data;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.ibm.bi.dml.lops.PartialAggregate.CorrectionLocationType;
 import com.ibm.bi.dml.runtime.DMLRuntimeException;
 import com.ibm.bi.dml.runtime.DMLUnsupportedOperationException;
 import com.ibm.bi.dml.runtime.functionobjects.Builtin;
 import com.ibm.bi.dml.runtime.functionobjects.Builtin.BuiltinFunctionCode;
+import com.ibm.bi.dml.runtime.functionobjects.CM;
+import com.ibm.bi.dml.runtime.functionobjects.COV;
 import com.ibm.bi.dml.runtime.functionobjects.IndexFunction;
 import com.ibm.bi.dml.runtime.functionobjects.KahanFunction;
 import com.ibm.bi.dml.runtime.functionobjects.KahanPlus;
@@ -39,9 +43,14 @@ import com.ibm.bi.dml.runtime.functionobjects.ReduceCol;
 import com.ibm.bi.dml.runtime.functionobjects.ReduceDiag;
 import com.ibm.bi.dml.runtime.functionobjects.ReduceRow;
 import com.ibm.bi.dml.runtime.functionobjects.ValueFunction;
+import com.ibm.bi.dml.runtime.instructions.cp.CM_COV_Object;
+import com.ibm.bi.dml.runtime.instructions.cp.Data;
 import com.ibm.bi.dml.runtime.instructions.cp.KahanObject;
 import com.ibm.bi.dml.runtime.matrix.operators.AggregateOperator;
 import com.ibm.bi.dml.runtime.matrix.operators.AggregateUnaryOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.CMOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.COVOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.Operator;
 import com.ibm.bi.dml.runtime.matrix.operators.UnaryOperator;
 import com.ibm.bi.dml.runtime.util.UtilFunctions;
 
@@ -312,6 +321,93 @@ public class LibMatrixAgg
 		//System.out.println("uop ("+in.rlen+","+in.clen+","+in.sparse+") in "+time.stop()+"ms.");
 	}
 	
+	/**
+	 * Multi-threaded cumulative aggregates (cumsum, cumprod, cummin, cummax) via
+	 * a two-pass algorithm over row partitions: (1) partial column aggregates per 
+	 * row partition, (2) sequential prefix aggregation over the partial aggregates
+	 * to obtain the offset of each partition, and (3) cumulative aggregation per 
+	 * row partition, initialized with its offset. Since both passes carry the 
+	 * entire aggregation state (incl Kahan corrections), the results are the same 
+	 * as for the single-threaded computation (up to rounding errors of cumsum/cumprod). 
+	 * 
+	 * @param in
+	 * @param out
+	 * @param uop
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void aggregateUnaryMatrix(MatrixBlock in, MatrixBlock out, UnaryOperator uop, int k) 
+		throws DMLRuntimeException
+	{
+		//fall back to sequential version if necessary
+		if(    k <= 1 || (long)in.rlen*in.clen < PAR_NUMCELL_THRESHOLD || in.rlen <= k
+			|| (long)in.clen*2*8*k > PAR_INTERMEDIATE_SIZE_THRESHOLD ) {
+			aggregateUnaryMatrix(in, out, uop);
+			return;
+		}
+		
+		//prepare meta data 
+		AggType aggtype = getAggType(uop);
+		final int m = in.rlen;
+		final int m2 = out.rlen;
+		final int n2 = out.clen;
+		
+		//filter empty input blocks (incl special handling for sparse-unsafe operations)
+		if( in.isEmptyBlock(false) ){
+			aggregateUnaryMatrixEmpty(in, out, aggtype, null);
+			return;
+		}	
+		
+		//allocate output arrays (if required)
+		out.reset(m2, n2, false); //always dense
+		out.allocateDenseBlock();
+		
+		//Timing time = new Timing(true);
+		
+		//core multi-threaded cumulative aggregate computation
+		//(currently: always parallelization over number of rows)
+		ExecutorService pool = Executors.newFixedThreadPool( k );
+		try {
+			int blklen = (int)(Math.ceil((double)m/k));
+			int nblk = (int)(Math.ceil((double)m/blklen));
+			
+			//pass 1: partial aggregates per row partition (w/o last)
+			ArrayList<CumAggTask> tasks = new ArrayList<CumAggTask>();
+			for( int i=0; i<nblk-1; i++ )
+				tasks.add( new CumAggTask(in, null, null, aggtype, uop, i*blklen, Math.min((i+1)*blklen, m)) );
+			List<Future<Object>> rtasks = pool.invokeAll(tasks);	
+			for( Future<Object> rtask : rtasks )
+				rtask.get(); //error handling
+			
+			//prefix aggregation of partial aggregates into offsets
+			ArrayList<CumAggTask> tasks2 = new ArrayList<CumAggTask>();
+			double[] agg = null;
+			for( int i=0; i<nblk; i++ ) {
+				tasks2.add( new CumAggTask(in, (agg!=null)?agg.clone():null, out, 
+						aggtype, uop, i*blklen, Math.min((i+1)*blklen, m)) );
+				if( i < nblk-1 )
+					agg = cumaggregateOffsets(aggtype, uop, agg, tasks.get(i).getResult(), in.clen);
+			}
+			
+			//pass 2: cumulative aggregates per row partition w/ offsets
+			List<Future<Object>> rtasks2 = pool.invokeAll(tasks2);	
+			for( Future<Object> rtask : rtasks2 )
+				rtask.get(); //error handling
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		//cleanup output and change representation (if necessary)
+		out.recomputeNonZeros();
+		out.examSparsity();
+		
+		//System.out.println("uop k="+k+" ("+in.rlen+","+in.clen+","+in.sparse+") in "+time.stop()+"ms.");
+	}
+	
 	/**
 	 * 
 	 * @param in1
@@ -384,6 +480,144 @@ public class LibMatrixAgg
 		return val;			
 	}
 	
+	/**
+	 * Multi-threaded central moment (optionally weighted) or covariance (optionally 
+	 * weighted) over column vectors. For central moments, in2 are the optional weights;
+	 * for covariance, in2 is the second input and in3 are the optional weights. Each
+	 * task aggregates a row partition into its own CM_COV_Object, and the partial 
+	 * aggregates are combined with the merge functions of CM and COV, which are also
+	 * used for combining partial aggregates in MR.
+	 * 
+	 * @param in1
+	 * @param in2
+	 * @param in3
+	 * @param op
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static CM_COV_Object aggregateCmCov(MatrixBlock in1, MatrixBlock in2, MatrixBlock in3, Operator op, int k) 
+		throws DMLRuntimeException
+	{
+		final int m = in1.rlen;
+		ValueFunction fn = (op instanceof CMOperator) ? ((CMOperator)op).fn : ((COVOperator)op).fn;
+		
+		//fall back to sequential version if necessary
+		if( k <= 1 || m < PAR_NUMCELL_THRESHOLD || m <= k ) {
+			return aggregateCmCov(in1, in2, in3, fn, 0, m);
+		}
+		
+		//Timing time = new Timing(true);
+		
+		CM_COV_Object ret = null;
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<CmCovTask> tasks = new ArrayList<CmCovTask>();
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ ) {
+				//note: new cm function object per task due to internal buffers
+				ValueFunction lfn = (op instanceof CMOperator) ? 
+						CM.getCMFnObject(((CMOperator)op).getAggOpType()) : fn;
+				tasks.add( new CmCovTask(in1, in2, in3, lfn, i*blklen, Math.min((i+1)*blklen, m)) );
+			}
+			List<Future<Object>> rtasks = pool.invokeAll(tasks);	
+			pool.shutdown();
+			for( Future<Object> rtask : rtasks )
+				rtask.get(); //error handling
+			
+			//merge partial aggregates (in order of row partitions)
+			ret = new CM_COV_Object();
+			for( CmCovTask task : tasks )
+				fn.execute(ret, task.getResult());
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//System.out.println("cmcov k="+k+" ("+in1.rlen+","+in1.sparse+") in "+time.stop()+"ms.");
+		
+		return ret;
+	}
+	
+	/**
+	 * Multi-threaded grouped aggregate (central moments or sum) over a column vector 
+	 * target. Each task aggregates a row partition into its own group buffers, which 
+	 * are merged per group afterwards. The caller is responsible for validating the 
+	 * inputs and for determining the number of groups.
+	 * 
+	 * @param groups
+	 * @param target
+	 * @param weights
+	 * @param result
+	 * @param numGroups
+	 * @param op
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void groupedAggregate(MatrixBlock groups, MatrixBlock target, MatrixBlock weights, MatrixBlock result, int numGroups, Operator op, int k) 
+		throws DMLRuntimeException
+	{
+		final int m = groups.rlen;
+		final boolean cm = (op instanceof CMOperator);
+		
+		//Timing time = new Timing(true);
+		
+		Data[] buff = null;
+		
+		//fall back to sequential version if necessary
+		//(incl size of group buffers, w/ ~256B per cm object and ~32B per kahan object)
+		if(    k <= 1 || m < PAR_NUMCELL_THRESHOLD || m <= k 
+			|| (long)numGroups*(cm?256:32)*k > PAR_INTERMEDIATE_SIZE_THRESHOLD ) 
+		{
+			ValueFunction fn = cm ? CM.getCMFnObject(((CMOperator)op).getAggOpType()) :
+				((AggregateOperator)op).increOp.fn;
+			buff = createGroupBuffers(op, numGroups);
+			groupedAggregate(groups, target, weights, buff, fn, cm, numGroups, 0, m);
+		}
+		else
+		{
+			try {
+				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ArrayList<GroupedAggTask> tasks = new ArrayList<GroupedAggTask>();
+				int blklen = (int)(Math.ceil((double)m/k));
+				for( int i=0; i<k & i*blklen<m; i++ ) {
+					//note: new cm function object per task due to internal buffers
+					ValueFunction lfn = cm ? CM.getCMFnObject(((CMOperator)op).getAggOpType()) :
+						((AggregateOperator)op).increOp.fn;
+					Data[] lbuff = createGroupBuffers(op, numGroups);
+					tasks.add( new GroupedAggTask(groups, target, weights, lbuff, lfn, cm, numGroups, i*blklen, Math.min((i+1)*blklen, m)) );
+				}
+				List<Future<Object>> rtasks = pool.invokeAll(tasks);	
+				pool.shutdown();
+				for( Future<Object> rtask : rtasks )
+					rtask.get(); //error handling
+			
+				//merge partial group buffers (in order of row partitions)
+				buff = tasks.get(0).getResult();
+				ValueFunction fn = cm ? CM.getCMFnObject(((CMOperator)op).getAggOpType()) : 
+					KahanPlus.getKahanPlusFnObject();
+				for( int i=1; i<tasks.size(); i++ ) {
+					Data[] lbuff = tasks.get(i).getResult();
+					for( int j=0; j<numGroups; j++ ) {
+						if( cm )
+							fn.execute(buff[j], lbuff[j]);
+						else
+							fn.execute(buff[j], ((KahanObject)lbuff[j])._sum, ((KahanObject)lbuff[j])._correction);
+					}
+				}
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		
+		// extract the results from group buffers
+		for( int i=0; i < numGroups; i++ )
+			result.quickSetValue(i, 0, cm ? ((CM_COV_Object)buff[i]).getRequiredResult(op) : ((KahanObject)buff[i])._sum);
+		
+		//System.out.println("groupedagg k="+k+" ("+groups.rlen+","+numGroups+") in "+time.stop()+"ms.");
+	}
+	
 	/**
 	 * 
 	 * @param op
@@ -525,6 +759,52 @@ public class LibMatrixAgg
 			out.binaryOperationsInPlace(laop.increOp, partout);
 	}
 
+	/**
+	 * Aggregates the partial aggregate of a row partition into the running
+	 * offset (prefix aggregate) of all preceding row partitions.
+	 * 
+	 * @param aggtype
+	 * @param uop
+	 * @param agg running offset, or null for the first partition
+	 * @param part partial aggregate of the current partition
+	 * @param n
+	 * @return
+	 */
+	private static double[] cumaggregateOffsets( AggType aggtype, UnaryOperator uop, double[] agg, double[] part, int n )
+	{
+		//first partition: partial aggregate is the offset
+		if( agg == null )
+			return part.clone();
+		
+		switch( aggtype ) 
+		{
+			case CUM_KAHAN_SUM: {
+				//add partial sum and correction to running sum/correction
+				KahanObject kbuff = new KahanObject(0, 0);
+				KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+				for( int j=0; j<n; j++ ) {
+					kbuff.set(agg[j], agg[n+j]);
+					kplus.execute2(kbuff, part[j]);
+					kplus.execute2(kbuff, part[n+j]);
+					agg[j] = kbuff._sum;
+					agg[n+j] = kbuff._correction;
+				}
+				break;
+			}
+			case CUM_PROD:
+				productAgg(part, agg, 0, 0, n);
+				break;
+			case CUM_MIN:
+			case CUM_MAX:
+				builtinAgg(part, agg, 0, n, (Builtin)uop.fn);
+				break;
+			default:
+				//do nothing (not reachable)
+		}
+		
+		return agg;
+	}
+	
 	/**
 	 * 
 	 * @param in1
@@ -617,6 +897,126 @@ public class LibMatrixAgg
 		return kbuff._sum;
 	}
 	
+	/**
+	 * 
+	 * @param in1
+	 * @param in2
+	 * @param in3
+	 * @param fn
+	 * @param rl
+	 * @param ru
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static CM_COV_Object aggregateCmCov(MatrixBlock in1, MatrixBlock in2, MatrixBlock in3, ValueFunction fn, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		CM_COV_Object ret = new CM_COV_Object();
+		
+		if( in2 == null && in3 == null ) //CM
+		{
+			if( in1.sparse ) //SPARSE
+			{
+				SparseRow[] a = in1.sparseRows;
+				int nnz = 0;
+				for( int i=rl; i<Math.min(ru, a.length); i++ ) 
+					if( a[i]!=null && !a[i].isEmpty() ) {
+						double[] avals = a[i].getValueContainer();
+						for( int j=0; j<a[i].size(); j++ )
+							fn.execute(ret, avals[j]);
+						nnz += a[i].size();
+					}
+				//account for zeros in the row partition
+				if( ru-rl-nnz > 0 )
+					fn.execute(ret, 0.0, ru-rl-nnz);
+			}
+			else //DENSE
+			{
+				double[] a = in1.denseBlock;
+				for( int i=rl; i<ru; i++ )
+					fn.execute(ret, a[i]);
+			}
+		}
+		else if( in3 == null ) //WEIGHTED CM, COV
+		{
+			for( int i=rl; i<ru; i++ ) {
+				double v1 = in1.sparse ? in1.quickGetValue(i, 0) : in1.denseBlock[i];
+				double v2 = in2.sparse ? in2.quickGetValue(i, 0) : in2.denseBlock[i];
+				fn.execute(ret, v1, v2);
+			}
+		}
+		else //WEIGHTED COV
+		{
+			COV lfn = (COV)fn;
+			for( int i=rl; i<ru; i++ ) {
+				double v1 = in1.sparse ? in1.quickGetValue(i, 0) : in1.denseBlock[i];
+				double v2 = in2.sparse ? in2.quickGetValue(i, 0) : in2.denseBlock[i];
+				double w = in3.sparse ? in3.quickGetValue(i, 0) : in3.denseBlock[i];
+				lfn.execute(ret, v1, v2, w);
+			}
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param op
+	 * @param numGroups
+	 * @return
+	 */
+	private static Data[] createGroupBuffers(Operator op, int numGroups)
+	{
+		Data[] ret = new Data[numGroups];
+		if( op instanceof CMOperator ) {
+			for( int i=0; i<numGroups; i++ )
+				ret[i] = new CM_COV_Object();
+		}
+		else {
+			double init = ((AggregateOperator)op).initialValue;
+			for( int i=0; i<numGroups; i++ )
+				ret[i] = new KahanObject(init, 0);
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param groups
+	 * @param target
+	 * @param weights
+	 * @param buff
+	 * @param fn
+	 * @param cm
+	 * @param numGroups
+	 * @param rl
+	 * @param ru
+	 * @throws DMLRuntimeException
+	 */
+	private static void groupedAggregate(MatrixBlock groups, MatrixBlock target, MatrixBlock weights, Data[] buff, ValueFunction fn, boolean cm, int numGroups, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		double w = 1; //default weight
+		
+		for( int i=rl; i<ru; i++ )
+		{
+			double d = target.quickGetValue(i, 0);
+			if( !cm && d == 0 ) //sparse-safe sum
+				continue;
+			int g = (int) groups.quickGetValue(i, 0);
+			if( g > numGroups )
+				continue;
+			if( weights != null )
+				w = weights.quickGetValue(i, 0);
+			// buff is 0-indexed, whereas range of values for g = [1,numGroups]
+			if( cm )
+				fn.execute(buff[g-1], d, w);
+			else
+				fn.execute(buff[g-1], d*w);
+		}
+	}
+	
 	/**
 	 * 
 	 * @param in
@@ -1018,19 +1418,19 @@ public class LibMatrixAgg
 			{
 				KahanObject kbuff = new KahanObject(0, 0);
 				KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
-				d_ucumkp(a, c, m, n, kbuff, kplus);
+				d_ucumkp(a, null, c, m, n, kbuff, kplus, rl, ru);
 				break;
 			}
 			case CUM_PROD: //CUMPROD
 			{
-				d_ucumm(a, c, m, n);
+				d_ucumm(a, null, c, m, n, rl, ru);
 				break;
 			}
 			case CUM_MIN:
 			case CUM_MAX:
 			{
 				double init = Double.MAX_VALUE * ((optype==AggType.CUM_MAX)?-1:1);
-				d_ucummxx(a, c, m, n, init, (Builtin)vFn);
+				d_ucummxx(a, null, c, m, n, init, (Builtin)vFn, rl, ru);
 				break;
 			}
 			case MIN: 
@@ -1137,19 +1537,19 @@ public class LibMatrixAgg
 			{
 				KahanObject kbuff = new KahanObject(0, 0);
 				KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
-				s_ucumkp(a, c, m, n, kbuff, kplus);
+				s_ucumkp(a, null, c, m, n, kbuff, kplus, rl, ru);
 				break;
 			}
 			case CUM_PROD: //CUMPROD
 			{
-				s_ucumm(a, c, m, n);
+				s_ucumm(a, null, c, m, n, rl, ru);
 				break;
 			}
 			case CUM_MIN:
 			case CUM_MAX:
 			{
 				double init = Double.MAX_VALUE * ((optype==AggType.CUM_MAX)?-1:1);
-				s_ucummxx(a, c, m, n, init, (Builtin)vFn);
+				s_ucummxx(a, null, c, m, n, init, (Builtin)vFn, rl, ru);
 				break;
 			}
 			case MIN:
@@ -1407,17 +1807,20 @@ public class LibMatrixAgg
 	 * @param n
 	 * @param kbuff
 	 * @param kplus
+	 * @param agg running sum/correction array (or null for neutral 0), updated in-place
+	 * @param rl
+	 * @param ru
 	 */
-	private static void d_ucumkp( double[] a, double[] c, int m, int n, KahanObject kbuff, KahanPlus kplus ) 
+	private static void d_ucumkp( double[] a, double[] agg, double[] c, int m, int n, KahanObject kbuff, KahanPlus kplus, int rl, int ru ) 
 	{
 		//init current row sum/correction arrays w/ neutral 0
-		double[] csums = new double[ 2*n ]; 
-		Arrays.fill(csums, 0); 
+		double[] csums = (agg!=null) ? agg : new double[ 2*n ]; 
 		
 		//scan once and compute prefix sums
-		for( int i=0, aix=0; i<m; i++, aix+=n ) {
+		for( int i=rl, aix=rl*n; i<ru; i++, aix+=n ) {
 			sumAgg( a, csums, aix, 0, n, kbuff, kplus );
-			System.arraycopy(csums, 0, c, aix, n);	
+			if( c != null )
+				System.arraycopy(csums, 0, c, aix, n);	
 		}
 	}
 	
@@ -1428,19 +1831,22 @@ public class LibMatrixAgg
 	 * @param c
 	 * @param m
 	 * @param n
-	 * @param kbuff
-	 * @param kplus
+	 * @param agg running product array (or null for neutral 1), updated in-place
+	 * @param rl
+	 * @param ru
 	 */
-	private static void d_ucumm( double[] a, double[] c, int m, int n ) 
+	private static void d_ucumm( double[] a, double[] agg, double[] c, int m, int n, int rl, int ru ) 
 	{	
 		//init current row product array w/ neutral 1
-		double[] cprods = new double[ n ]; 
-		Arrays.fill(cprods, 1);
+		double[] cprods = (agg!=null) ? agg : new double[ n ]; 
+		if( agg == null )
+			Arrays.fill(cprods, 1);
 		
 		//scan once and compute prefix products
-		for( int i=0, aix=0; i<m; i++, aix+=n ) {
+		for( int i=rl, aix=rl*n; i<ru; i++, aix+=n ) {
 			productAgg( a, cprods, aix, 0, n );
-			System.arraycopy(cprods, 0, c, aix, n);
+			if( c != null )
+				System.arraycopy(cprods, 0, c, aix, n);
 		}			
 	}
 	
@@ -1452,17 +1858,22 @@ public class LibMatrixAgg
 	 * @param m
 	 * @param n
 	 * @param builtin
+	 * @param agg running min/max array (or null for init), updated in-place
+	 * @param rl
+	 * @param ru
 	 */
-	private static void d_ucummxx( double[] a, double[] c, int m, int n, double init, Builtin builtin )
+	private static void d_ucummxx( double[] a, double[] agg, double[] c, int m, int n, double init, Builtin builtin, int rl, int ru )
 	{
 		//init current row min/max array w/ extreme value 
-		double[] cmxx = new double[ n ]; 
-		Arrays.fill(cmxx, init);
+		double[] cmxx = (agg!=null) ? agg : new double[ n ]; 
+		if( agg == null )
+			Arrays.fill(cmxx, init);
 				
 		//scan once and compute prefix min/max
-		for( int i=0, aix=0; i<m; i++, aix+=n ) {
+		for( int i=rl, aix=rl*n; i<ru; i++, aix+=n ) {
 			builtinAgg( a, cmxx, aix, n, builtin );
-			System.arraycopy(cmxx, 0, c, aix, n);
+			if( c != null )
+				System.arraycopy(cmxx, 0, c, aix, n);
 		}
 	}
 	/**
@@ -1839,15 +2250,17 @@ public class LibMatrixAgg
 	 * @param n
 	 * @param kbuff
 	 * @param kplus
+	 * @param agg running sum/correction array (or null for neutral 0), updated in-place
+	 * @param rl
+	 * @param ru
 	 */
-	private static void s_ucumkp( SparseRow[] a, double[] c, int m, int n, KahanObject kbuff, KahanPlus kplus )
+	private static void s_ucumkp( SparseRow[] a, double[] agg, double[] c, int m, int n, KahanObject kbuff, KahanPlus kplus, int rl, int ru )
 	{
 		//init current row sum/correction arrays w/ neutral 0
-		double[] csums = new double[ 2*n ]; 
-		Arrays.fill(csums, 0);
+		double[] csums = (agg!=null) ? agg : new double[ 2*n ]; 
 		
 		//scan once and compute prefix sums
-		for( int i=0, ix=0; i<m; i++, ix+=n )
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
 		{
 			SparseRow arow = a[i];
 			if( arow!=null && !arow.isEmpty() )
@@ -1858,7 +2271,8 @@ public class LibMatrixAgg
 				sumAgg( avals, csums, aix, alen, n, kbuff, kplus );
 			}
 			//always copy current sum (not sparse-safe)
-			System.arraycopy(csums, 0, c, ix, n);
+			if( c != null )
+				System.arraycopy(csums, 0, c, ix, n);
 		}
 	}
 	
@@ -1869,19 +2283,23 @@ public class LibMatrixAgg
 	 * @param c
 	 * @param m
 	 * @param n
+	 * @param agg running product array (or null for neutral 1), updated in-place
+	 * @param rl
+	 * @param ru
 	 */
-	private static void s_ucumm( SparseRow[] a, double[] c, int m, int n )
+	private static void s_ucumm( SparseRow[] a, double[] agg, double[] c, int m, int n, int rl, int ru )
 	{
 		//init current row prod arrays w/ neutral 1
-		double[] cprod = new double[ n ]; 
-		Arrays.fill(cprod, 1);
+		double[] cprod = (agg!=null) ? agg : new double[ n ]; 
+		if( agg == null )
+			Arrays.fill(cprod, 1);
 		
 		//init count arrays (helper, see correction)
 		int[] cnt = new int[ n ]; 
 		Arrays.fill(cnt, 0); //init count array
 				
 		//scan once and compute prefix products
-		for( int i=0, ix=0; i<m; i++, ix+=n )
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
 		{
 			SparseRow arow = a[i];
 			
@@ -1896,12 +2314,14 @@ public class LibMatrixAgg
 
 			//correction (not sparse-safe and cumulative)
 			//note: we need to determine if there are only nnz in a column
+			//(zeros of preceding rows are already reflected in the given agg)
 			for( int j=0; j<n; j++ )
-				if( cnt[j] < i+1 ) //no dense column
+				if( cnt[j] < i-rl+1 ) //no dense column
 					cprod[j] *= 0;
 			
 			//always copy current sum (not sparse-safe)
-			System.arraycopy(cprod, 0, c, ix, n);
+			if( c != null )
+				System.arraycopy(cprod, 0, c, ix, n);
 		}	
 	}
 	
@@ -1914,19 +2334,23 @@ public class LibMatrixAgg
 	 * @param n
 	 * @param init
 	 * @param builtin
+	 * @param agg running min/max array (or null for init), updated in-place
+	 * @param rl
+	 * @param ru
 	 */
-	private static void s_ucummxx( SparseRow[] a, double[] c, int m, int n, double init, Builtin builtin ) 
+	private static void s_ucummxx( SparseRow[] a, double[] agg, double[] c, int m, int n, double init, Builtin builtin, int rl, int ru ) 
 	{
 		//init current row min/max array w/ extreme value 
-		double[] cmxx = new double[ n ]; 
-		Arrays.fill(cmxx, init);
+		double[] cmxx = (agg!=null) ? agg : new double[ n ]; 
+		if( agg == null )
+			Arrays.fill(cmxx, init);
 				
 		//init count arrays (helper, see correction)
 		int[] cnt = new int[ n ]; 
 		Arrays.fill(cnt, 0); //init count array
 		
 		//compute column aggregates min/max
-		for( int i=0, ix=0; i<m; i++, ix+=n )
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
 		{
 			SparseRow arow = a[i];
 			if( arow!=null && !arow.isEmpty() )
@@ -1940,12 +2364,14 @@ public class LibMatrixAgg
 			
 			//correction (not sparse-safe and cumulative)
 			//note: we need to determine if there are only nnz in a column
+			//(zeros of preceding rows are already reflected in the given agg)
 			for( int j=0; j<n; j++ )
-				if( cnt[j] < i+1 ) //no dense column
+				if( cnt[j] < i-rl+1 ) //no dense column
 					cmxx[j] = builtin.execute2(cmxx[j], 0);
 			
 			//always copy current sum (not sparse-safe)
-			System.arraycopy(cmxx, 0, c, ix, n);
+			if( c != null )
+				System.arraycopy(cmxx, 0, c, ix, n);
 		}
 	}
 	
@@ -2822,6 +3248,72 @@ public class LibMatrixAgg
 		}
 	}
 	
+	/**
+	 * 
+	 * 
+	 */
+	private static class CumAggTask extends AggTask 
+	{
+		private MatrixBlock _in  = null;
+		private double[] _agg = null;
+		private MatrixBlock _ret = null;
+		private AggType _aggtype = null;
+		private UnaryOperator _uop = null;		
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected CumAggTask( MatrixBlock in, double[] agg, MatrixBlock ret, AggType aggtype, UnaryOperator uop, int rl, int ru ) 
+			throws DMLRuntimeException
+		{
+			_in = in;
+			_ret = ret;
+			_aggtype = aggtype;
+			_uop = uop;
+			_rl = rl;
+			_ru = ru;
+			
+			//allocate local aggregate w/ neutral values (if no offset given)
+			_agg = (agg!=null) ? agg : new double[(aggtype==AggType.CUM_KAHAN_SUM)?2*in.clen:in.clen];
+			if( agg == null && aggtype != AggType.CUM_KAHAN_SUM ) 
+				Arrays.fill(_agg, (aggtype==AggType.CUM_PROD) ? 1 : 
+					Double.MAX_VALUE * ((aggtype==AggType.CUM_MAX)?-1:1));
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			final int m = _in.rlen;
+			final int n = _in.clen;
+			double[] c = (_ret!=null) ? _ret.getDenseArray() : null;
+			double init = Double.MAX_VALUE * ((_aggtype==AggType.CUM_MAX)?-1:1);
+			
+			if( !_in.sparse ) {
+				double[] a = _in.getDenseArray();
+				switch( _aggtype ) {
+					case CUM_KAHAN_SUM: d_ucumkp(a, _agg, c, m, n, new KahanObject(0, 0), 
+						KahanPlus.getKahanPlusFnObject(), _rl, _ru); break;
+					case CUM_PROD: d_ucumm(a, _agg, c, m, n, _rl, _ru); break;
+					default: d_ucummxx(a, _agg, c, m, n, init, (Builtin)_uop.fn, _rl, _ru);
+				}
+			}
+			else {
+				SparseRow[] a = _in.getSparseRows();
+				switch( _aggtype ) {
+					case CUM_KAHAN_SUM: s_ucumkp(a, _agg, c, m, n, new KahanObject(0, 0), 
+						KahanPlus.getKahanPlusFnObject(), _rl, _ru); break;
+					case CUM_PROD: s_ucumm(a, _agg, c, m, n, _rl, _ru); break;
+					default: s_ucummxx(a, _agg, c, m, n, init, (Builtin)_uop.fn, _rl, _ru);
+				}
+			}
+			
+			return null;
+		}
+		
+		public double[] getResult() {
+			return _agg;
+		}
+	}
+	
 	/**
 	 * 
 	 */
@@ -2859,5 +3351,81 @@ public class LibMatrixAgg
 			return _ret;
 		}
 	}
-}
+	
+	/**
+	 * 
+	 */
+	private static class CmCovTask extends AggTask 
+	{
+		private MatrixBlock _in1  = null;
+		private MatrixBlock _in2  = null;
+		private MatrixBlock _in3  = null;
+		private ValueFunction _fn = null;
+		private CM_COV_Object _ret = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected CmCovTask( MatrixBlock in1, MatrixBlock in2, MatrixBlock in3, ValueFunction fn, int rl, int ru ) 
+		{
+			_in1 = in1;	
+			_in2 = in2;	
+			_in3 = in3;
+			_fn = fn;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			_ret = aggregateCmCov(_in1, _in2, _in3, _fn, _rl, _ru);
+			
+			return null;
+		}
+		
+		public CM_COV_Object getResult() {
+			return _ret;
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class GroupedAggTask extends AggTask 
+	{
+		private MatrixBlock _groups  = null;
+		private MatrixBlock _target  = null;
+		private MatrixBlock _weights  = null;
+		private Data[] _buff = null;
+		private ValueFunction _fn = null;
+		private boolean _cm = false;
+		private int _numGroups = -1;
+		private int _rl = -1;
+		private int _ru = -1;
 
+		protected GroupedAggTask( MatrixBlock groups, MatrixBlock target, MatrixBlock weights, Data[] buff, ValueFunction fn, boolean cm, int numGroups, int rl, int ru ) 
+		{
+			_groups = groups;	
+			_target = target;	
+			_weights = weights;
+			_buff = buff;
+			_fn = fn;
+			_cm = cm;
+			_numGroups = numGroups;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			groupedAggregate(_groups, _target, _weights, _buff, _fn, _cm, _numGroups, _rl, _ru);
+			
+			return null;
+		}
+		
+		public Data[] getResult() {
+			return _buff;
+		}
+	}
+}
@@ -17,7 +17,13 @@
 
 package com.ibm.bi.dml.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.ibm.bi.dml.runtime.DMLRuntimeException;
 import com.ibm.bi.dml.runtime.functionobjects.Divide;
@@ -52,6 +58,8 @@ import com.ibm.bi.dml.runtime.util.SortUtils;
  */
 public class LibMatrixBincell 
 {
+	//internal configuration parameters
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024;   //Min 1M elements
 
 	public enum BinaryAccessType {
 		MATRIX_MATRIX,
@@ -98,6 +106,60 @@ public class LibMatrixBincell
 			ret.examSparsity();
 	}
 	
+	/**
+	 * Multi-threaded matrix-scalar, scalar-matrix binary operations. The parameter k (k>=1)
+	 * determines the max parallelism k' with k'=min(k, vcores, m1.rlen).
+	 *
+	 * @param m1
+	 * @param ret
+	 * @param op
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int k)
+		throws DMLRuntimeException
+	{
+		//fall back to sequential version if necessary
+		long work = (m1.sparse && op.sparseSafe) ? m1.nonZeros : (long)m1.rlen * m1.clen;
+		if(    k <= 1 || m1.isEmptyBlock(false) || work < PAR_NUMCELL_THRESHOLD || m1.rlen <= k
+			|| (op.sparseSafe && m1.sparse!=ret.sparse) || (!op.sparseSafe && ret.sparse) ) {
+			bincellOp(m1, ret, op);
+			return;
+		}
+		
+		//allocate output (once in order to prevent synchronization)
+		if( ret.sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock();
+		
+		//core multi-threaded binary scalar operations
+		//(currently: always parallelization over number of rows)
+		ExecutorService pool = Executors.newFixedThreadPool( k );
+		try {
+			ArrayList<BincellScalarTask> tasks = new ArrayList<BincellScalarTask>();
+			int blklen = (int)(Math.ceil((double)m1.rlen/k));
+			for( int i=0; i<k & i*blklen<m1.rlen; i++ )
+				tasks.add(new BincellScalarTask(m1, ret, op, i*blklen, Math.min((i+1)*blklen, m1.rlen)));
+			List<Future<Long>> rt = pool.invokeAll(tasks);
+			//aggregate partial nnz (and check for errors)
+			ret.nonZeros = 0; //reset after execute
+			for( Future<Long> task : rt )
+				ret.nonZeros += task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		//ensure empty results sparse representation
+		//(no additional memory requirements)
+		if( ret.isEmptyBlock(false) )
+			ret.examSparsity();
+	}
+	
 	/**
 	 * matrix-matrix binary operations, MM, MV
 	 * 
@@ -121,6 +183,60 @@ public class LibMatrixBincell
 			ret.examSparsity();
 	}
 	
+	/**
+	 * Multi-threaded matrix-matrix binary operations, MM, MV. The parameter k (k>=1)
+	 * determines the max parallelism k' with k'=min(k, vcores, m1.rlen). Currently,
+	 * we parallelize all combinations with dense output, i.e., dense-dense MM and MV
+	 * as well as sparse-dense MM for plus, minus, and multiply.
+	 *
+	 * @param m1
+	 * @param m2
+	 * @param ret
+	 * @param op
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k)
+		throws DMLRuntimeException
+	{
+		//fall back to sequential version if necessary
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		if(    k <= 1 || (long)m1.rlen * m1.clen < PAR_NUMCELL_THRESHOLD || m1.rlen <= k
+			|| !isParallelBinary(m1, m2, ret, op, atype) ) {
+			bincellOp(m1, m2, ret, op);
+			return;
+		}
+		
+		//allocate output (always dense, see supported combinations)
+		ret.allocateDenseBlock();
+		
+		//core multi-threaded binary cell operations
+		//(currently: always parallelization over number of rows)
+		ExecutorService pool = Executors.newFixedThreadPool( k );
+		try {
+			ArrayList<BincellTask> tasks = new ArrayList<BincellTask>();
+			int blklen = (int)(Math.ceil((double)m1.rlen/k));
+			for( int i=0; i<k & i*blklen<m1.rlen; i++ )
+				tasks.add(new BincellTask(m1, m2, ret, op, atype, i*blklen, Math.min((i+1)*blklen, m1.rlen)));
+			List<Future<Long>> rt = pool.invokeAll(tasks);
+			//aggregate partial nnz (and check for errors)
+			ret.nonZeros = 0; //reset after execute
+			for( Future<Long> task : rt )
+				ret.nonZeros += task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		//ensure empty results sparse representation
+		//(no additional memory requirements)
+		if( ret.isEmptyBlock(false) )
+			ret.examSparsity();
+	}
+	
 	/**
 	 * NOTE: operations in place always require m1 and m2 to be of equal dimensions
 	 * 
@@ -208,6 +324,39 @@ public class LibMatrixBincell
 		return (op.fn instanceof Divide && rhs.getNonZeros()==(long)rhs.getNumRows()*rhs.getNumColumns());
 	}
 	
+	/**
+	 * Indicates if the given combination of inputs, output and operation is supported by
+	 * the multi-threaded binary cell operations. We only parallelize combinations with dense 
+	 * output and non-empty inputs, where the serial code paths use the same row-range kernels.
+	 * 
+	 * @param m1
+	 * @param m2
+	 * @param ret
+	 * @param op
+	 * @param atype
+	 * @return
+	 */
+	private static boolean isParallelBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, BinaryAccessType atype)
+	{
+		//output and non-empty inputs
+		if( ret.sparse || m1.isEmptyBlock(false) || m2.isEmptyBlock(false) )
+			return false;
+		
+		//dense matrix-vector (sparse-safe and sparse-unsafe)
+		if( atype == BinaryAccessType.MATRIX_COL_VECTOR || atype == BinaryAccessType.MATRIX_ROW_VECTOR )
+			return !m1.sparse && !m2.sparse;
+		
+		//matrix-matrix (dense-dense or sparse-dense for plus, minus, multiply)
+		if( atype == BinaryAccessType.MATRIX_MATRIX ) {
+			boolean safe = op.sparseSafe || isSparseSafeDivide(op, m2);
+			return (!m1.sparse && !m2.sparse)
+				|| (safe && (m1.sparse != m2.sparse) && (op.fn instanceof Plus || op.fn instanceof Minus 
+				   || (op.fn instanceof Multiply && !m2.sparse)));
+		}
+		
+		return false;
+	}
+	
 	//////////////////////////////////////////////////////
 	// private sparse-safe/sparse-unsafe implementations
 	///////////////////////////////////
@@ -313,89 +462,12 @@ public class LibMatrixBincell
 			{
 				//specific case in order to prevent binary search on sparse inputs (see quickget and quickset)
 				ret.allocateDenseBlock();
-				final int m = ret.rlen;
-				final int n = ret.clen;
-				double[] c = ret.denseBlock;
-				
-				//1) process left input: assignment
-				int alen;
-				int[] aix;
-				double[] avals;
-				
-				if( m1.sparse ) //SPARSE left
-				{
-					Arrays.fill(ret.denseBlock, 0, ret.denseBlock.length, 0); 
-					
-					if( m1.sparseRows != null )
-					{
-						for( int i=0, ix=0; i<m; i++, ix+=n ) {
-							SparseRow arow = m1.sparseRows[i];
-							if( arow != null && !arow.isEmpty() )
-							{
-								alen = arow.size();
-								aix = arow.getIndexContainer();
-								avals = arow.getValueContainer();
-								for(int k = 0; k < alen; k++) 
-									c[ix+aix[k]] = avals[k];
-							}
-						}
-					}
-				}
-				else //DENSE left
-				{
-					if( !m1.isEmptyBlock(false) ) 
-						System.arraycopy(m1.denseBlock, 0, c, 0, m*n);
-					else
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
-				}
-				
-				//2) process right input: op.fn (+,-,*), * only if dense
-				if( m2.sparse ) //SPARSE right
-				{				
-					if(m2.sparseRows!=null)
-					{
-						for( int i=0, ix=0; i<m; i++, ix+=n ) {
-							SparseRow arow = m2.sparseRows[i];
-							if( arow != null && !arow.isEmpty() )
-							{
-								alen = arow.size();
-								aix = arow.getIndexContainer();
-								avals = arow.getValueContainer();
-								for(int k = 0; k < alen; k++) 
-									c[ix+aix[k]] = op.fn.execute(c[ix+aix[k]], avals[k]);
-							}
-						}	
-					}
-				}
-				else //DENSE right
-				{
-					if( !m2.isEmptyBlock(false) )
-						for( int i=0; i<m*n; i++ )
-							c[i] = op.fn.execute(c[i], m2.denseBlock[i]);
-					else if(op.fn instanceof Multiply)
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
-				}
-	
-				//3) recompute nnz
-				ret.recomputeNonZeros();
+				ret.nonZeros = safeBinaryMMSparseDenseDense(m1, m2, ret, op, 0, rlen);
 			}
 			else if( !ret.sparse && !m1.sparse && !m2.sparse && m1.denseBlock!=null && m2.denseBlock!=null )
 			{
 				ret.allocateDenseBlock();
-				final int m = ret.rlen;
-				final int n = ret.clen;
-				double[] c = ret.denseBlock;
-				
-				//int nnz = 0;
-				for( int i=0; i<m*n; i++ )
-				{
-					c[i] = op.fn.execute(m1.denseBlock[i], m2.denseBlock[i]);
-					//HotSpot JVM bug causes crash in presence of NaNs 
-					//nnz += (c[i]!=0)? 1 : 0;
-					if( c[i] != 0 )
-						ret.nonZeros++;
-				}
-				//result.nonZeros = nnz;
+				ret.nonZeros = binaryMMDense(m1, m2, ret, op, 0, rlen);
 			}
 			else //generic case
 			{
@@ -414,6 +486,126 @@ public class LibMatrixBincell
 		}
 	}
 	
+	/**
+	 * Sparse-dense or dense-sparse matrix-matrix kernel with dense output for row range
+	 * [rl, ru), which avoids binary search on sparse inputs for plus, minus, and multiply 
+	 * (the latter only with dense right-hand-side). The output is expected to be allocated.
+	 * 
+	 * @param m1
+	 * @param m2
+	 * @param ret
+	 * @param op
+	 * @param rl
+	 * @param ru
+	 * @return number of non-zeros in the given row range of the output
+	 * @throws DMLRuntimeException
+	 */
+	private static long safeBinaryMMSparseDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		final int n = ret.clen;
+		double[] c = ret.denseBlock;
+		
+		//1) process left input: assignment
+		int alen;
+		int[] aix;
+		double[] avals;
+		
+		if( m1.sparse ) //SPARSE left
+		{
+			Arrays.fill(c, rl*n, ru*n, 0); 
+			
+			if( m1.sparseRows != null )
+			{
+				for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
+					SparseRow arow = m1.sparseRows[i];
+					if( arow != null && !arow.isEmpty() )
+					{
+						alen = arow.size();
+						aix = arow.getIndexContainer();
+						avals = arow.getValueContainer();
+						for(int k = 0; k < alen; k++) 
+							c[ix+aix[k]] = avals[k];
+					}
+				}
+			}
+		}
+		else //DENSE left
+		{
+			if( !m1.isEmptyBlock(false) ) 
+				System.arraycopy(m1.denseBlock, rl*n, c, rl*n, (ru-rl)*n);
+			else
+				Arrays.fill(c, rl*n, ru*n, 0); 
+		}
+		
+		//2) process right input: op.fn (+,-,*), * only if dense
+		if( m2.sparse ) //SPARSE right
+		{				
+			if(m2.sparseRows!=null)
+			{
+				for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
+					SparseRow arow = m2.sparseRows[i];
+					if( arow != null && !arow.isEmpty() )
+					{
+						alen = arow.size();
+						aix = arow.getIndexContainer();
+						avals = arow.getValueContainer();
+						for(int k = 0; k < alen; k++) 
+							c[ix+aix[k]] = op.fn.execute(c[ix+aix[k]], avals[k]);
+					}
+				}	
+			}
+		}
+		else //DENSE right
+		{
+			if( !m2.isEmptyBlock(false) ) {
+				double[] b = m2.denseBlock;
+				for( int i=rl*n; i<ru*n; i++ )
+					c[i] = op.fn.execute(c[i], b[i]);
+			}
+			else if(op.fn instanceof Multiply)
+				Arrays.fill(c, rl*n, ru*n, 0); 
+		}
+		
+		//3) recompute nnz of row range (upper bounds inclusive)
+		return ret.recomputeNonZeros(rl, ru-1, 0, n-1);
+	}
+	
+	/**
+	 * Dense-dense matrix-matrix kernel with dense output for row range [rl, ru), which 
+	 * is applicable for both sparse-safe and sparse-unsafe operations. The inputs and
+	 * output are expected to be allocated.
+	 * 
+	 * @param m1
+	 * @param m2
+	 * @param ret
+	 * @param op
+	 * @param rl
+	 * @param ru
+	 * @return number of non-zeros in the given row range of the output
+	 * @throws DMLRuntimeException
+	 */
+	private static long binaryMMDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		final int n = ret.clen;
+		double[] a = m1.denseBlock;
+		double[] b = m2.denseBlock;
+		double[] c = ret.denseBlock;
+		
+		long nnz = 0;
+		for( int i=rl*n; i<ru*n; i++ )
+		{
+			c[i] = op.fn.execute(a[i], b[i]);
+			//HotSpot JVM bug causes crash in presence of NaNs 
+			//nnz += (c[i]!=0)? 1 : 0;
+			if( c[i] != 0 )
+				nnz++;
+		}
+		
+		return nnz;
+	}
+	
 	/**
 	 * 
 	 * @param m1
@@ -427,22 +619,43 @@ public class LibMatrixBincell
 	{
 		boolean isMultiply = (op.fn instanceof Multiply);
 		boolean skipEmpty = (isMultiply);
-		BinaryAccessType atype = getBinaryAccessType(m1, m2);
-		int rlen = m1.rlen;
-		int clen = m1.clen;
 		
 		//early abort on skip and empy
 		if( skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) )
 			return; // skip entire empty block
 		
 		ret.allocateDenseBlock();
+		ret.nonZeros = binaryMVDense(m1, m2, ret, op, 0, m1.rlen);
+	}
+	
+	/**
+	 * Dense matrix-vector kernel for row range [rl, ru), which is applicable for both
+	 * sparse-safe and sparse-unsafe operations. The output is expected to be allocated.
+	 * 
+	 * @param m1
+	 * @param m2
+	 * @param ret
+	 * @param op
+	 * @param rl
+	 * @param ru
+	 * @return number of non-zeros in the given row range of the output 
+	 * @throws DMLRuntimeException 
+	 */
+	private static long binaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		boolean isMultiply = (op.fn instanceof Multiply);
+		boolean skipEmpty = (isMultiply);
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		int clen = m1.clen;
+		
 		double[] a = m1.denseBlock;
 		double[] b = m2.denseBlock;
 		double[] c = ret.denseBlock;
 
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+			for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
 			{
 				//replicate vector value
 				double v2 = (b==null) ? 0 : b[i];
@@ -469,26 +682,27 @@ public class LibMatrixBincell
 			if( a==null && b==null ) //both empty
 			{
 				double v = op.fn.execute( 0, 0 );
-				Arrays.fill(c, 0, rlen*clen, v);
+				Arrays.fill(c, rl*clen, ru*clen, v);
 			}
 			else if( a==null ) //left empty
 			{
 				//compute first row
-				for( int j=0; j<clen; j++ )
-					c[j] = op.fn.execute( 0, b[j] );
+				for( int j=0, ix=rl*clen; j<clen; j++ )
+					c[ix+j] = op.fn.execute( 0, b[j] );
 				//copy first to all other rows
-				for( int i=1, ix=clen; i<rlen; i++, ix+=clen )
-					System.arraycopy(c, 0, c, ix, clen);
+				for( int i=rl+1, ix=(rl+1)*clen; i<ru; i++, ix+=clen )
+					System.arraycopy(c, rl*clen, c, ix, clen);
 			}
 			else //default case (incl right empty) 
 			{
-				for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+				for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
 					for( int j=0; j<clen; j++ )
 						c[ix+j] = op.fn.execute( a[ix+j], ((b!=null) ? b[j] : 0) );	
 			}
 		}
 		
-		ret.recomputeNonZeros();
+		//recompute nnz of row range (upper bounds inclusive)
+		return ret.recomputeNonZeros(rl, ru-1, 0, clen-1);
 	}
 	
 	/**
@@ -816,7 +1030,13 @@ public class LibMatrixBincell
 		int clen = m1.clen;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
-		if( atype == BinaryAccessType.MATRIX_COL_VECTOR ) //MATRIX - COL_VECTOR
+		if(    (atype == BinaryAccessType.MATRIX_COL_VECTOR || atype == BinaryAccessType.MATRIX_ROW_VECTOR)
+			&& !m1.sparse && !m2.sparse && !ret.sparse ) //DENSE MATRIX - VECTOR
+		{
+			ret.allocateDenseBlock();
+			ret.nonZeros = binaryMVDense(m1, m2, ret, op, 0, rlen);
+		}
+		else if( atype == BinaryAccessType.MATRIX_COL_VECTOR ) //MATRIX - COL_VECTOR
 		{
 			for(int r=0; r<rlen; r++)
 			{
@@ -879,6 +1099,12 @@ public class LibMatrixBincell
 						ret.nonZeros++;
 				}
 			}
+			//dense non-empty matrices w/ dense output
+			else if( !ret.sparse && !m1.sparse && !m2.sparse && m1.denseBlock!=null && m2.denseBlock!=null )
+			{
+				ret.allocateDenseBlock();
+				ret.nonZeros = binaryMMDense(m1, m2, ret, op, 0, rlen);
+			}
 			//general case
 			else 
 			{
@@ -913,71 +1139,17 @@ public class LibMatrixBincell
 		if( m1.sparse != ret.sparse )
 			throw new DMLRuntimeException("Unsupported safe binary scalar operations over different input/output representation: "+m1.sparse+" "+ret.sparse);
 		
-		boolean copyOnes = (op.fn instanceof NotEquals && op.getConstant()==0);
-		
 		if( m1.sparse ) //SPARSE <- SPARSE
 		{	
 			//allocate sparse row structure
 			ret.allocateSparseRowsBlock();
-			SparseRow[] a = m1.sparseRows;
-			SparseRow[] c = ret.sparseRows;
-			
-			for(int r=0; r<Math.min(m1.rlen, m1.sparseRows.length); r++) {
-				if( a[r]!=null && !a[r].isEmpty() )
-				{
-					int alen = a[r].size();
-					int[] aix = a[r].getIndexContainer();
-					double[] avals = a[r].getValueContainer();
-					
-					if( copyOnes ) //SPECIAL CASE: e.g., (X != 0) 
-					{
-						//create sparse row without repeated resizing
-						SparseRow crow = new SparseRow(alen);
-						crow.setSize(alen);
-						
-						//memcopy/memset of indexes and values
-						//note: currently we do a safe copy of values because in special cases there
-						//might exist zeros in a sparserow and we need to ensure result correctness
-						System.arraycopy(aix, 0, crow.getIndexContainer(), 0, alen);
-						//Arrays.fill(crow.getValueContainer(), 0, alen, 1);
-						double[] cvals = crow.getValueContainer();
-						for(int j=0; j<alen; j++)
-							cvals[j] = (avals[j] != 0) ? 1 : 0;
-						c[r] = crow;
-						ret.nonZeros+=alen;
-					}
-					else //GENERAL CASE
-					{
-						//create sparse row without repeated resizing for specific ops
-						if( op.fn instanceof Multiply || op.fn instanceof Multiply2 
-							|| op.fn instanceof Power2  )
-						{
-							c[r] = new SparseRow(alen);
-						}
-						
-						for(int j=0; j<alen; j++) {
-							double val = op.executeScalar(avals[j]);
-							ret.appendValue(r, aix[j], val);
-						}
-					}
-				}
-			}
+			ret.nonZeros = safeBinaryScalarSparse(m1, ret, op, 0, m1.rlen);
 		}
 		else //DENSE <- DENSE
 		{
 			//allocate dense block
 			ret.allocateDenseBlock(true);
-		
-			double[] a = m1.denseBlock;
-			double[] c = ret.denseBlock;
-			
-			int limit = m1.rlen*m1.clen;
-			for( int i=0; i<limit; i++ )
-			{
-				c[i] = op.executeScalar( a[i] );
-				if( c[i] != 0 )
-					ret.nonZeros++;
-			}
+			ret.nonZeros = binaryScalarDense(m1, ret, op, 0, m1.rlen);
 		}
 		
 	}
@@ -1009,51 +1181,157 @@ public class LibMatrixBincell
 		if( m1.sparse ) //SPARSE MATRIX
 		{
 			ret.allocateDenseBlock();
+			ret.nonZeros = unsafeBinaryScalarSparse(m1, ret, op, 0, m1.rlen);
+		}
+		else //DENSE MATRIX
+		{
+			//allocate dense block (if necessary), incl clear nnz
+			ret.allocateDenseBlock(true);
 			
-			SparseRow[] a = m1.sparseRows;
-			double[] c = ret.denseBlock;			
-			int m = m1.rlen;
-			int n = m1.clen;
-			
-			//init dense result with unsafe 0-value
-			double cval0 = op.executeScalar(0);
-			Arrays.fill(c, cval0);
-			
-			//compute non-zero input values
-			for(int i=0, cix=0; i<m; i++, cix+=n) 
+			//compute scalar operation, incl nnz maintenance
+			ret.nonZeros = binaryScalarDense(m1, ret, op, 0, m1.rlen);
+		}
+	}
+	
+	/**
+	 * Sparse-safe matrix-scalar kernel with sparse input and output for row range [rl, ru).
+	 * The sparse rows of the output are expected to be allocated.
+	 * 
+	 * @param m1
+	 * @param ret
+	 * @param op
+	 * @param rl
+	 * @param ru
+	 * @return number of non-zeros in the given row range of the output
+	 * @throws DMLRuntimeException
+	 */
+	private static long safeBinaryScalarSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		boolean copyOnes = (op.fn instanceof NotEquals && op.getConstant()==0);
+		boolean allocRows = (op.fn instanceof Multiply || op.fn instanceof Multiply2 
+				             || op.fn instanceof Power2);
+		SparseRow[] a = m1.sparseRows;
+		SparseRow[] c = ret.sparseRows;
+		long nnz = 0;
+		
+		for(int r=rl; r<Math.min(ru, a.length); r++) {
+			if( a[r]!=null && !a[r].isEmpty() )
 			{
-				if( a[i]!=null && !a[i].isEmpty() )
+				int alen = a[r].size();
+				int[] aix = a[r].getIndexContainer();
+				double[] avals = a[r].getValueContainer();
+				
+				if( copyOnes ) //SPECIAL CASE: e.g., (X != 0) 
 				{
-					int alen = a[i].size();
-					int[] aix = a[i].getIndexContainer();
-					double[] avals = a[i].getValueContainer();
+					//create sparse row without repeated resizing
+					SparseRow crow = new SparseRow(alen);
+					crow.setSize(alen);
+					
+					//memcopy/memset of indexes and values
+					//note: currently we do a safe copy of values because in special cases there
+					//might exist zeros in a sparserow and we need to ensure result correctness
+					System.arraycopy(aix, 0, crow.getIndexContainer(), 0, alen);
+					//Arrays.fill(crow.getValueContainer(), 0, alen, 1);
+					double[] cvals = crow.getValueContainer();
+					for(int j=0; j<alen; j++)
+						cvals[j] = (avals[j] != 0) ? 1 : 0;
+					c[r] = crow;
+					nnz += alen;
+				}
+				else //GENERAL CASE
+				{
+					//create sparse row without repeated resizing for specific ops
+					//(otherwise, allocation on demand similar to appendValue)
+					SparseRow crow = allocRows ? new SparseRow(alen) : null;
+					
 					for(int j=0; j<alen; j++) {
 						double val = op.executeScalar(avals[j]);
-						c[ cix+aix[j] ] = val;
+						if( val != 0 ) {
+							if( crow == null )
+								crow = new SparseRow(ret.estimatedNNzsPerRow, ret.clen);
+							crow.append(aix[j], val);
+						}
 					}
+					c[r] = crow;
+					nnz += (crow != null) ? crow.size() : 0;
 				}
 			}
-		
-			//recompute non zeros 
-			ret.recomputeNonZeros();
 		}
-		else //DENSE MATRIX
+		
+		return nnz;
+	}
+	
+	/**
+	 * Sparse-unsafe matrix-scalar kernel with sparse input and dense output for row range 
+	 * [rl, ru). The dense block of the output is expected to be allocated.
+	 * 
+	 * @param m1
+	 * @param ret
+	 * @param op
+	 * @param rl
+	 * @param ru
+	 * @return number of non-zeros in the given row range of the output
+	 * @throws DMLRuntimeException
+	 */
+	private static long unsafeBinaryScalarSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		SparseRow[] a = m1.sparseRows;
+		double[] c = ret.denseBlock;			
+		int n = m1.clen;
+		
+		//init dense result with unsafe 0-value
+		double cval0 = op.executeScalar(0);
+		Arrays.fill(c, rl*n, ru*n, cval0);
+		
+		//compute non-zero input values
+		for(int i=rl, cix=rl*n; i<ru; i++, cix+=n) 
 		{
-			//allocate dense block (if necessary), incl clear nnz
-			ret.allocateDenseBlock(true);
-			
-			double[] a = m1.denseBlock;
-			double[] c = ret.denseBlock;
-			
-			//compute scalar operation, incl nnz maintenance
-			int limit = m1.rlen*m1.clen;
-			for( int i=0; i<limit; i++ )
+			if( a[i]!=null && !a[i].isEmpty() )
 			{
-				c[i] = op.executeScalar( a[i] );
-				if( c[i] != 0 )
-					ret.nonZeros++;
+				int alen = a[i].size();
+				int[] aix = a[i].getIndexContainer();
+				double[] avals = a[i].getValueContainer();
+				for(int j=0; j<alen; j++) {
+					double val = op.executeScalar(avals[j]);
+					c[ cix+aix[j] ] = val;
+				}
 			}
 		}
+	
+		//recompute non zeros of row range (upper bounds inclusive)
+		return ret.recomputeNonZeros(rl, ru-1, 0, n-1);
+	}
+	
+	/**
+	 * Dense matrix-scalar kernel for row range [rl, ru), which is applicable for both
+	 * sparse-safe and sparse-unsafe operations. The output is expected to be allocated.
+	 * 
+	 * @param m1
+	 * @param ret
+	 * @param op
+	 * @param rl
+	 * @param ru
+	 * @return number of non-zeros in the given row range of the output
+	 * @throws DMLRuntimeException
+	 */
+	private static long binaryScalarDense(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		double[] a = m1.denseBlock;
+		double[] c = ret.denseBlock;
+		final int n = m1.clen;
+		
+		long nnz = 0;
+		for( int i=rl*n; i<ru*n; i++ )
+		{
+			c[i] = op.executeScalar( a[i] );
+			if( c[i] != 0 )
+				nnz++;
+		}
+		
+		return nnz;
 	}
 
 	/**
@@ -1316,5 +1594,80 @@ public class LibMatrixBincell
 		}
 	}
 	
+	/////////////////////////////////////////////////////////
+	// Task Implementations for Multi-Threaded Operations  //
+	/////////////////////////////////////////////////////////
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class BincellTask implements Callable<Long> 
+	{
+		private MatrixBlock _m1  = null;
+		private MatrixBlock _m2  = null;
+		private MatrixBlock _ret = null;
+		private BinaryOperator _op = null;
+		private BinaryAccessType _atype = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected BincellTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, BinaryAccessType atype, int rl, int ru ) 
+		{
+			_m1 = m1;
+			_m2 = m2;
+			_ret = ret;
+			_op = op;
+			_atype = atype;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException
+		{
+			//compute binary cell operation on row range, incl nnz maintenance
+			if( _atype == BinaryAccessType.MATRIX_COL_VECTOR || _atype == BinaryAccessType.MATRIX_ROW_VECTOR )
+				return binaryMVDense(_m1, _m2, _ret, _op, _rl, _ru);
+			else if( !_m1.sparse && !_m2.sparse )
+				return binaryMMDense(_m1, _m2, _ret, _op, _rl, _ru);
+			else
+				return safeBinaryMMSparseDenseDense(_m1, _m2, _ret, _op, _rl, _ru);
+		}
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class BincellScalarTask implements Callable<Long> 
+	{
+		private MatrixBlock _m1  = null;
+		private MatrixBlock _ret = null;
+		private ScalarOperator _op = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected BincellScalarTask( MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru ) 
+		{
+			_m1 = m1;
+			_ret = ret;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException
+		{
+			//compute scalar operation on row range, incl nnz maintenance
+			if( !_m1.sparse )
+				return binaryScalarDense(_m1, _ret, _op, _rl, _ru);
+			else if( _op.sparseSafe )
+				return safeBinaryScalarSparse(_m1, _ret, _op, _rl, _ru);
+			else
+				return unsafeBinaryScalarSparse(_m1, _ret, _op, _rl, _ru);
+		}
+	}
 }
 
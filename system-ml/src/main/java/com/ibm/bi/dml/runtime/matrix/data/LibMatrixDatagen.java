@@ -20,10 +20,12 @@ package com.ibm.bi.dml.runtime.matrix.data;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -48,6 +50,9 @@ public class LibMatrixDatagen
 	public static final String RAND_PDF_NORMAL = "normal";
 	public static final String RAND_PDF_POISSON = "poisson";
 	
+	private static final long PAR_NUMCELL_THRESHOLD = 512*1024; //Min 500k elements
+	private static final int SAMPLE_BLOCKSIZE = 64*1024; //seed block of sample w/ replacement
+	
 	private LibMatrixDatagen() {
 		//prevent instantiation via private constructor
 	}
@@ -322,7 +327,7 @@ public class LibMatrixDatagen
 		if ( invokedFromCP ) 
 			seeds = generateSeedsForCP(bigrand, nrb, ncb);
 		
-		genRandomNumbers(invokedFromCP, 0, nrb, out, rgen, nnzInBlocks, bSeed, seeds);
+		genRandomNumbers(invokedFromCP, 0, nrb, 0, ncb, out, rgen, nnzInBlocks, bSeed, seeds);
 		
 		out.recomputeNonZeros();
 	}
@@ -363,7 +368,8 @@ public class LibMatrixDatagen
 		int cpb = rgen._colsPerBlock;
 		double sparsity = rgen._sparsity;
 		
-		if (rows == 1) {
+		//fallback to sequential for small outputs or single blocks (invoked from MR)
+		if( k <= 1 || (long)rows*cols < PAR_NUMCELL_THRESHOLD || bigrand == null ) {
 			generateRandomMatrix(out, rgen, nnzInBlocks, bigrand, bSeed);
 			return;
 		}
@@ -403,7 +409,8 @@ public class LibMatrixDatagen
 				out.nonZeros = 0;
 				return;
 			} 
-			else if( !out.sparse && sparsity==1.0d && min == max ) //equal values
+			else if( !out.sparse && sparsity==1.0d && (min == max  //equal values, dense
+					|| (Double.isNaN(min) && Double.isNaN(max))) ) //min == max == NaN
 			{
 				out.init(min, out.rlen, out.clen); 
 				return;
@@ -423,23 +430,35 @@ public class LibMatrixDatagen
 		int nrb = (int) Math.ceil((double)rows/rpb);
 		int ncb = (int) Math.ceil((double)cols/cpb);
 		
+		//generate all block-level seeds upfront in block order, which makes the 
+		//output independent of the degree of parallelism (same as sequential)
+		long[] seeds = generateSeedsForCP(bigrand, nrb, ncb);
+		
 		try 
 		{
 			ExecutorService pool = Executors.newFixedThreadPool(k);
 			ArrayList<RandTask> tasks = new ArrayList<RandTask>();
-			int blklen = ((int)(Math.ceil((double)nrb/k)));
-			for( int i=0; i<k & i*blklen<nrb; i++ ) {
-				long[] seeds = generateSeedsForCP(bigrand, blklen, ncb);
-				tasks.add(new RandTask(invokedFromCP, i*blklen, Math.min((i+1)*blklen, nrb), 
-						               out, rgen, nnzInBlocks, bSeed, seeds) );	
+			if( nrb < k && ncb > nrb && !out.sparse ) {
+				//column block partitioning for dense outputs with few row blocks
+				//(e.g., row vectors), where tasks write disjoint cells
+				int blklen = ((int)(Math.ceil((double)ncb/k)));
+				for( int i=0; i<k & i*blklen<ncb; i++ )
+					tasks.add(new RandTask(invokedFromCP, 0, nrb, i*blklen, Math.min((i+1)*blklen, ncb), 
+							               out, rgen, nnzInBlocks, bSeed, seeds) );
 			}
-			pool.invokeAll(tasks);
+			else {
+				//row block partitioning
+				int blklen = ((int)(Math.ceil((double)nrb/k)));
+				for( int i=0; i<k & i*blklen<nrb; i++ )
+					tasks.add(new RandTask(invokedFromCP, i*blklen, Math.min((i+1)*blklen, nrb), 0, ncb, 
+							               out, rgen, nnzInBlocks, bSeed, seeds) );	
+			}
+			List<Future<Object>> rtasks = pool.invokeAll(tasks);
 			pool.shutdown();
 			
-			//early error notify in case not all tasks successful
-			for(RandTask rt : tasks) 
-				if( !rt.getReturnCode() ) 
-					throw new DMLRuntimeException("RandGen task failed: " + rt.getErrMsg());
+			//error handling (propagate task exceptions)
+			for( Future<Object> rt : rtasks )
+				rt.get();
 		} 
 		catch (Exception e) {
 			throw new DMLRuntimeException(e);
@@ -468,6 +487,25 @@ public class LibMatrixDatagen
 	 */
 	public static void generateSequence(MatrixBlock out, double from, double to, double incr) 
 		throws DMLRuntimeException 
+	{
+		generateSequence(out, from, to, incr, 1);
+	}
+	
+	/**
+	 * Method to generate a sequence according to the given parameters, 
+	 * multi-threaded over row ranges for large sequences. Each cell is 
+	 * computed as from+i*incr, i.e., the output is independent of the 
+	 * degree of parallelism.
+	 * 
+	 * @param out
+	 * @param from
+	 * @param to
+	 * @param incr
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void generateSequence(MatrixBlock out, double from, double to, double incr, int k) 
+		throws DMLRuntimeException 
 	{
 		boolean neg = (from > to);
 		if (neg != (incr < 0))
@@ -481,12 +519,26 @@ public class LibMatrixDatagen
 		out.allocateDenseBlock();
 		
 		//System.out.println(System.nanoTime() + ": MatrixBlockDSM.seq(): seq("+from+","+to+","+incr+") rows = " + rows);
-		double[] c = out.denseBlock; 
-		
-		c[0] = from;
-		for(int i=1; i < rows; i++) {
-			from += incr;
-			c[i] = from;
+		if( k <= 1 || rows < PAR_NUMCELL_THRESHOLD ) {
+			//sequential execution
+			genSequence(out, from, incr, 0, rows);
+		}
+		else {
+			//parallel execution over row ranges
+			try {
+				ExecutorService pool = Executors.newFixedThreadPool(k);
+				ArrayList<SeqTask> tasks = new ArrayList<SeqTask>();
+				int blklen = (int)(Math.ceil((double)rows/k));
+				for( int i=0; i<k & i*blklen<rows; i++ )
+					tasks.add(new SeqTask(out, from, incr, i*blklen, Math.min((i+1)*blklen, rows)));
+				List<Future<Object>> rtasks = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> rt : rtasks )
+					rt.get(); //error handling
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
 		}
 		
 		out.recomputeNonZeros();
@@ -505,6 +557,29 @@ public class LibMatrixDatagen
      */
 	public static void generateSample(MatrixBlock out, long range, int size, boolean replace, long seed)
 		throws DMLRuntimeException 
+	{
+		generateSample(out, range, size, replace, seed, 1);
+	}
+	
+	/**
+	 * Generates a sample of size <code>size</code> from a range of values [1,range],
+	 * where sampling with replacement is multi-threaded over fixed-size blocks with
+	 * block-level seeds, i.e., the output is independent of the degree of parallelism. 
+	 * Samples of at most one block use the given seed directly (as the sequential 
+	 * sampling before), while larger samples draw from per-block random streams.
+	 * Sampling without replacement (reservoir sampling and shuffle) is inherently 
+	 * sequential and hence always single-threaded.
+	 * 
+	 * @param out
+	 * @param range
+	 * @param size
+	 * @param replace
+	 * @param seed
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void generateSample(MatrixBlock out, long range, int size, boolean replace, long seed, int k)
+		throws DMLRuntimeException 
 	{
 		//set meta data and allocate dense block
 		out.reset(size, 1, false);
@@ -541,14 +616,75 @@ public class LibMatrixDatagen
 		}
 		else 
 		{
-			Random r = new Random(seed);
-			for(int i=0; i < size; i++) 
-				out.setValueDenseUnsafe(i, 0, 1+nextLong(r, range) );
+			//setup block-level seeds (independent of the degree of parallelism),
+			//where a single block directly uses the given seed in order to keep 
+			//the random stream of seeded samples that fit into one block
+			int nb = (int)Math.ceil((double)size/SAMPLE_BLOCKSIZE);
+			long[] seeds = (nb <= 1) ? new long[]{seed} :
+				generateSeedsForCP(setupSeedsForRand(seed), nb, 1);
+			
+			if( k <= 1 || nb <= 1 ) {
+				//sequential execution
+				genSampleWithReplacement(out, range, size, seeds, 0, nb);
+			}
+			else {
+				//parallel execution over seed blocks
+				try {
+					ExecutorService pool = Executors.newFixedThreadPool(k);
+					ArrayList<SampleTask> tasks = new ArrayList<SampleTask>();
+					int blklen = (int)(Math.ceil((double)nb/k));
+					for( int i=0; i<k & i*blklen<nb; i++ )
+						tasks.add(new SampleTask(out, range, size, seeds, i*blklen, Math.min((i+1)*blklen, nb)));
+					List<Future<Object>> rtasks = pool.invokeAll(tasks);
+					pool.shutdown();
+					for( Future<Object> rt : rtasks )
+						rt.get(); //error handling
+				}
+				catch(Exception ex) {
+					throw new DMLRuntimeException(ex);
+				}
+			}
 		}
 		
 		out.recomputeNonZeros();
 		out.examSparsity();
 	}
+	
+	/**
+	 * 
+	 * @param out
+	 * @param from
+	 * @param incr
+	 * @param rl
+	 * @param ru
+	 */
+	private static void genSequence(MatrixBlock out, double from, double incr, int rl, int ru)
+	{
+		double[] c = out.denseBlock;
+		for( int i=rl; i < ru; i++ )
+			c[i] = from + i * incr;
+	}
+	
+	/**
+	 * 
+	 * @param out
+	 * @param range
+	 * @param size
+	 * @param seeds
+	 * @param bl seed block lower bound
+	 * @param bu seed block upper bound (exclusive)
+	 */
+	private static void genSampleWithReplacement(MatrixBlock out, long range, int size, long[] seeds, int bl, int bu)
+	{
+		double[] c = out.denseBlock;
+		for( int bi=bl; bi < bu; bi++ ) {
+			Random r = new Random(seeds[bi]);
+			int rl = bi * SAMPLE_BLOCKSIZE;
+			int ru = Math.min(rl + SAMPLE_BLOCKSIZE, size);
+			for( int i=rl; i < ru; i++ )
+				c[i] = 1 + nextLong(r, range);
+		}
+	}
 
 	/**
 	 * 
@@ -572,16 +708,18 @@ public class LibMatrixDatagen
 	/**
 	 * 
 	 * @param invokedFromCP
-	 * @param rl
-	 * @param ru
+	 * @param rl row block lower bound
+	 * @param ru row block upper bound (exclusive)
+	 * @param cl column block lower bound
+	 * @param cu column block upper bound (exclusive)
 	 * @param out
 	 * @param rgen
 	 * @param nnzInBlocks
 	 * @param bSeed
-	 * @param seeds
+	 * @param seeds block-level seeds of all blocks (in block order)
 	 * @throws DMLRuntimeException
 	 */
-	private static void genRandomNumbers(boolean invokedFromCP, int rl, int ru, MatrixBlock out, RandomMatrixGenerator rgen, long[] nnzInBlocks, long bSeed, long[] seeds) 
+	private static void genRandomNumbers(boolean invokedFromCP, int rl, int ru, int cl, int cu, MatrixBlock out, RandomMatrixGenerator rgen, long[] nnzInBlocks, long bSeed, long[] seeds) 
 		throws DMLRuntimeException 
 	{
 		int rows = rgen._rows;
@@ -604,8 +742,6 @@ public class LibMatrixDatagen
 		int nrb = (int) Math.ceil((double)rows/rpb);
 		int ncb = (int) Math.ceil((double)cols/cpb);
 		int blockrows, blockcols, rowoffset, coloffset;
-		int blockID = rl*ncb;
-		int counter = 0;
 
 		// Setup Pseudo Random Number Generator for cell values based on 'pdf'.
 		if (valuePRNG == null) {
@@ -625,7 +761,8 @@ public class LibMatrixDatagen
 			rowoffset = rbi*rpb;
 
 			// loop through column-block indices
-			for(int cbj=0; cbj < ncb; cbj++, blockID++) {
+			for(int cbj=cl; cbj < cu; cbj++) {
+				int blockID = rbi*ncb + cbj;
 				blockcols = (cbj == ncb-1 ? (cols-cbj*cpb) : cpb);
 				coloffset = cbj*cpb;
 				// Generate a block (rbi,cbj) 
@@ -638,7 +775,7 @@ public class LibMatrixDatagen
 				}
 				else {
 					// case of CP: generate a block-level seed from matrix-level Well1024a seed
-					seed = seeds[counter++]; //bigrand.nextLong();
+					seed = seeds[blockID]; //bigrand.nextLong();
 				}
 				// Initialize the PRNGenerator for cell values
 				valuePRNG.setSeed(seed);
@@ -763,22 +900,24 @@ public class LibMatrixDatagen
 	 */
 	private static class RandTask implements Callable<Object> 
 	{
-		private boolean _rc = true;
-		private String _errMsg = null;
 		private boolean _invokedFromCP = true;
 		private int _rl = 0;
 		private int _ru = 0;
+		private int _cl = 0;
+		private int _cu = 0;
 		private MatrixBlock _out = null;
 		private RandomMatrixGenerator _rgen = new RandomMatrixGenerator();
 		private long[] _nnzInBlocks = null;
 		private long _bSeed = 0;
 		private long[] _seeds = null;
 		
-		public RandTask(boolean invokedFromCP, int rl, int ru, MatrixBlock out, RandomMatrixGenerator rgen, long[] nnzInBlocks, long bSeed, long[] seeds) throws DMLRuntimeException 
+		public RandTask(boolean invokedFromCP, int rl, int ru, int cl, int cu, MatrixBlock out, RandomMatrixGenerator rgen, long[] nnzInBlocks, long bSeed, long[] seeds) throws DMLRuntimeException 
 		{
 			_invokedFromCP = invokedFromCP;
 			_rl = rl;
 			_ru = ru;
+			_cl = cl;
+			_cu = cu;
 			_out = out;
 			_rgen.init(rgen._pdf, rgen._rows, rgen._cols, rgen._rowsPerBlock, rgen._colsPerBlock, rgen._sparsity, rgen._min, rgen._max, rgen._mean);
 			_nnzInBlocks = nnzInBlocks;
@@ -786,21 +925,72 @@ public class LibMatrixDatagen
 			_seeds = seeds;
 		}
 		
-		public boolean getReturnCode() {
-			return _rc;
+		@Override		
+		public Object call() throws Exception
+		{
+			genRandomNumbers(_invokedFromCP, _rl, _ru, _cl, _cu, _out, _rgen, _nnzInBlocks, _bSeed, _seeds);
+			return null;
+		}
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class SeqTask implements Callable<Object> 
+	{
+		private MatrixBlock _out = null;
+		private double _from = 0;
+		private double _incr = 0;
+		private int _rl = 0;
+		private int _ru = 0;
+		
+		public SeqTask(MatrixBlock out, double from, double incr, int rl, int ru)
+		{
+			_out = out;
+			_from = from;
+			_incr = incr;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws Exception
+		{
+			genSequence(_out, _from, _incr, _rl, _ru);
+			return null;
 		}
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class SampleTask implements Callable<Object> 
+	{
+		private MatrixBlock _out = null;
+		private long _range = 0;
+		private int _size = 0;
+		private long[] _seeds = null;
+		private int _bl = 0;
+		private int _bu = 0;
 		
-		public String getErrMsg() {
-			return _errMsg;
+		public SampleTask(MatrixBlock out, long range, int size, long[] seeds, int bl, int bu)
+		{
+			_out = out;
+			_range = range;
+			_size = size;
+			_seeds = seeds;
+			_bl = bl;
+			_bu = bu;
 		}
-
-		@Override		
+		
+		@Override
 		public Object call() throws Exception
 		{
-			genRandomNumbers(_invokedFromCP, _rl, _ru, _out, _rgen, _nnzInBlocks, _bSeed, _seeds);
+			genSampleWithReplacement(_out, _range, _size, _seeds, _bl, _bu);
 			return null;
 		}
-
 	}
 
 }
@@ -0,0 +1,1248 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.ibm.bi.dml.runtime.DMLRuntimeException;
+
+/**
+ * Library for dense matrix decompositions and the solvers built on top of 
+ * them: Cholesky (SPD), LU with partial pivoting, Householder QR, and a 
+ * symmetric eigensolver. All kernels work in-place on a dense row-major 
+ * copy of the input (or its transpose for QR, to keep Householder columns 
+ * contiguous) and avoid the double[][] round-trip of external libraries.
+ * 
+ * Cholesky and LU are blocked right-looking factorizations, where the 
+ * trailing-matrix updates (which dominate the O(n^3) work) are computed 
+ * in parallel over row ranges. QR parallelizes the application of each 
+ * Householder reflector over column ranges, inverse and triangular solves
+ * over right-hand-side column ranges. The symmetric eigensolver 
+ * (Householder tridiagonalization and implicit QL) is single-threaded. 
+ * 
+ * The result semantics (e.g., H/R of QR, P/L/U of LU, ascending eigenvalues)
+ * are equivalent to the previously used Apache Commons Math decompositions.
+ */
+public class LibMatrixDecomp 
+{
+	//internal configuration
+	public static final int BLOCKSIZE = 64;
+	public static final long PAR_NUMCELL_THRESHOLD = 64*1024;
+	public static final double SINGULARITY_THRESHOLD = 1e-11;
+	
+	private LibMatrixDecomp() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Computes the lower triangular Cholesky factor L of a symmetric
+	 * positive definite matrix A, s.t. A = L %*% t(L).
+	 * 
+	 * @param in
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock cholesky( MatrixBlock in, int k ) 
+		throws DMLRuntimeException
+	{
+		checkSquare(in, "cholesky");
+		int n = in.getNumRows();
+		double[] a = toDenseArray(in);
+		
+		if( !choleskyInPlace(a, n, getNumThreads(n, n, k)) )
+			throw new DMLRuntimeException("Input to cholesky() must be a symmetric positive definite matrix.");
+		
+		return toMatrixBlock(a, n, n);
+	}
+	
+	/**
+	 * Computes the LU decomposition with partial pivoting P %*% A = L %*% U,
+	 * and returns the permutation matrix P, the unit lower triangular L, and 
+	 * the upper triangular U.
+	 * 
+	 * @param in
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock[] lu( MatrixBlock in, int k ) 
+		throws DMLRuntimeException
+	{
+		checkSquare(in, "LU Decomposition");
+		int n = in.getNumRows();
+		double[] a = toDenseArray(in);
+		int[] perm = new int[n];
+		
+		luInPlace(a, n, perm, getNumThreads(n, n, k));
+		
+		//extract P, L, U from the packed representation
+		double[] p = new double[n*n];
+		double[] l = new double[n*n];
+		double[] u = new double[n*n];
+		for( int i=0, ix=0; i<n; i++, ix+=n ) {
+			p[ix+perm[i]] = 1;
+			System.arraycopy(a, ix, l, ix, i);
+			l[ix+i] = 1;
+			System.arraycopy(a, ix+i, u, ix+i, n-i);
+		}
+		
+		return new MatrixBlock[]{ toMatrixBlock(p, n, n), 
+			toMatrixBlock(l, n, n), toMatrixBlock(u, n, n) };
+	}
+	
+	/**
+	 * Computes the Householder QR decomposition and returns the matrix of
+	 * Householder vectors H (m x n) and the upper triangular R (m x n).
+	 * 
+	 * @param in
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock[] qr( MatrixBlock in, int k ) 
+		throws DMLRuntimeException
+	{
+		int m = in.getNumRows();
+		int n = in.getNumColumns();
+		double[] qrt = toDenseTransposedArray(in);
+		double[] rdiag = new double[Math.min(m, n)];
+		
+		qrInPlace(qrt, m, n, rdiag, getNumThreads(m, n, k));
+		
+		double[] h = new double[m*n];
+		double[] r = new double[m*n];
+		for( int i=0, ix=0; i<m; i++, ix+=n )
+			for( int j=0; j<Math.min(i+1, n); j++ )
+				h[ix+j] = qrt[j*m+i] / -rdiag[j];
+		for( int i=Math.min(m, n)-1; i>=0; i-- ) {
+			r[i*n+i] = rdiag[i];
+			for( int j=i+1; j<n; j++ )
+				r[i*n+j] = qrt[j*m+i];
+		}
+		
+		return new MatrixBlock[]{ toMatrixBlock(h, m, n), toMatrixBlock(r, m, n) };
+	}
+	
+	/**
+	 * Computes the eigen decomposition of a symmetric matrix and returns
+	 * the eigenvalues (as column vector) and eigenvectors (as columns), 
+	 * both sorted in increasing order of eigenvalues.
+	 * 
+	 * @param in
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock[] eigen( MatrixBlock in ) 
+		throws DMLRuntimeException
+	{
+		checkSquare(in, "Eigen Decomposition");
+		int n = in.getNumRows();
+		double[] v = toDenseArray(in);
+		if( !isSymmetric(v, n) )
+			throw new DMLRuntimeException("Eigen Decomposition can only be done on a symmetric matrix.");
+		
+		double[] d = new double[n];
+		double[] e = new double[n];
+		tridiagonalize(v, n, d, e);
+		tridiagonalQL(v, n, d, e);
+		
+		return new MatrixBlock[]{ toMatrixBlock(d, n, 1), toMatrixBlock(v, n, n) };
+	}
+	
+	/**
+	 * Computes the inverse of a square, non-singular matrix via LU 
+	 * decomposition and forward/backward substitution.
+	 * 
+	 * @param in
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock inverse( MatrixBlock in, int k ) 
+		throws DMLRuntimeException
+	{
+		if( in.getNumRows() != in.getNumColumns() )
+			throw new DMLRuntimeException("Input to inv() must be square matrix -- given: a " + in.getNumRows() + "x" + in.getNumColumns() + " matrix.");
+		
+		int n = in.getNumRows();
+		int lk = getNumThreads(n, n, k);
+		double[] a = toDenseArray(in);
+		int[] perm = new int[n];
+		luInPlace(a, n, perm, lk);
+		checkNonSingular(a, n);
+		
+		//solve A X = I, i.e., L U X = P
+		double[] x = new double[n*n];
+		for( int i=0; i<n; i++ )
+			x[i*n+perm[i]] = 1;
+		luSolveInPlace(a, n, x, n, lk);
+		
+		return toMatrixBlock(x, n, n);
+	}
+	
+	/**
+	 * Solves the system of equations A %*% X = B. For square A, we use 
+	 * Cholesky if A is symmetric positive definite and LU otherwise; 
+	 * for overdetermined systems, we compute the least squares solution 
+	 * via Householder QR.
+	 * 
+	 * @param A
+	 * @param B
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock solve( MatrixBlock A, MatrixBlock B, int k ) 
+		throws DMLRuntimeException
+	{
+		int m = A.getNumRows();
+		int n = A.getNumColumns();
+		int nrhs = B.getNumColumns();
+		if( B.getNumRows() != m )
+			throw new DMLRuntimeException("Dimension mismatch in solve: "+m+"x"+n+" vs "+B.getNumRows()+"x"+nrhs+".");
+		if( m < n )
+			throw new DMLRuntimeException("Solve requires a square or overdetermined system -- given: a " + m + "x" + n + " matrix.");
+		
+		int lk = getNumThreads(m, n, k);
+		double[] b = toDenseArray(B);
+		
+		if( m == n ) 
+		{
+			double[] a = toDenseArray(A);
+			//try cholesky for symmetric inputs, which fails fast if not SPD
+			if( isSymmetric(a, n) ) {
+				double[] l = a.clone();
+				if( choleskyInPlace(l, n, lk) ) {
+					choleskySolveInPlace(l, n, b, nrhs, lk);
+					return toMatrixBlock(b, n, nrhs);
+				}
+			}
+			int[] perm = new int[n];
+			luInPlace(a, n, perm, lk);
+			checkNonSingular(a, n);
+			double[] x = new double[n*nrhs];
+			for( int i=0; i<n; i++ )
+				System.arraycopy(b, perm[i]*nrhs, x, i*nrhs, nrhs);
+			luSolveInPlace(a, n, x, nrhs, lk);
+			return toMatrixBlock(x, n, nrhs);
+		}
+		else 
+		{
+			double[] qrt = toDenseTransposedArray(A);
+			double[] rdiag = new double[n];
+			qrInPlace(qrt, m, n, rdiag, lk);
+			for( int j=0; j<n; j++ )
+				if( Math.abs(rdiag[j]) <= SINGULARITY_THRESHOLD )
+					throw new DMLRuntimeException("Matrix is singular.");
+			double[] x = qrSolve(qrt, m, n, rdiag, b, nrhs);
+			return toMatrixBlock(x, n, nrhs);
+		}
+	}
+	
+	
+	///////////////////////////////////
+	// Cholesky kernels
+	///////////////////////////////////
+	
+	/**
+	 * Blocked right-looking Cholesky decomposition, which overwrites the 
+	 * lower triangle of a with L and zeros out the upper triangle.
+	 * 
+	 * @param a
+	 * @param n
+	 * @param k
+	 * @return false if the input is not positive definite
+	 * @throws DMLRuntimeException
+	 */
+	private static boolean choleskyInPlace( double[] a, int n, int k ) 
+		throws DMLRuntimeException
+	{
+		ExecutorService pool = (k > 1) ? Executors.newFixedThreadPool(k) : null;
+		
+		try
+		{
+			for( int bl=0; bl<n; bl+=BLOCKSIZE ) 
+			{
+				int bu = Math.min(bl+BLOCKSIZE, n);
+				
+				//factorize diagonal block (trailing updates already applied)
+				for( int j=bl; j<bu; j++ ) {
+					int jx = j*n;
+					double d = a[jx+j];
+					for( int p=bl; p<j; p++ )
+						d -= a[jx+p] * a[jx+p];
+					if( !(d > 0) ) 
+						return false;
+					a[jx+j] = Math.sqrt(d);
+					for( int i=j+1; i<bu; i++ )
+						a[i*n+j] = (a[i*n+j] - dotProduct(a, a, i*n+bl, jx+bl, j-bl)) / a[jx+j];
+				}
+				
+				//compute panel below diagonal block and update trailing matrix
+				if( bu < n ) {
+					runRowTasks(pool, k, bu, n, new CholeskyPanelTask(a, n, bl, bu, bu, n));
+					runRowTasks(pool, k, bu, n, new CholeskyUpdateTask(a, n, bl, bu, bu, n));
+				}
+			}
+			
+			//zero out upper triangle
+			for( int i=0, ix=0; i<n; i++, ix+=n )
+				for( int j=i+1; j<n; j++ )
+					a[ix+j] = 0;
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Solves L t(L) X = B in-place in b for a given Cholesky factor L.
+	 * 
+	 * @param l
+	 * @param n
+	 * @param b
+	 * @param nrhs
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	private static void choleskySolveInPlace( double[] l, int n, double[] b, int nrhs, int k ) 
+		throws DMLRuntimeException
+	{
+		//forward substitution L Y = B (non-unit diagonal)
+		for( int i=0, ix=0; i<n; i++, ix+=n ) {
+			int bix = i*nrhs;
+			for( int p=0; p<i; p++ )
+				vectMultiplySub(l[ix+p], b, b, p*nrhs, bix, nrhs);
+			vectDivide(l[ix+i], b, bix, nrhs);
+		}
+		
+		//backward substitution t(L) X = Y
+		for( int i=n-1; i>=0; i-- ) {
+			int bix = i*nrhs;
+			for( int p=i+1; p<n; p++ )
+				vectMultiplySub(l[p*n+i], b, b, p*nrhs, bix, nrhs);
+			vectDivide(l[i*n+i], b, bix, nrhs);
+		}
+	}
+	
+	
+	///////////////////////////////////
+	// LU kernels
+	///////////////////////////////////
+	
+	/**
+	 * Blocked right-looking LU decomposition with partial pivoting, which 
+	 * overwrites a with the packed factors (unit L below, U on and above 
+	 * the diagonal) and returns the row permutation in perm.
+	 * 
+	 * @param a
+	 * @param n
+	 * @param perm
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	private static void luInPlace( double[] a, int n, int[] perm, int k ) 
+		throws DMLRuntimeException
+	{
+		for( int i=0; i<n; i++ )
+			perm[i] = i;
+		
+		ExecutorService pool = (k > 1) ? Executors.newFixedThreadPool(k) : null;
+		double[] tmp = new double[n];
+		
+		try
+		{
+			for( int bl=0; bl<n; bl+=BLOCKSIZE ) 
+			{
+				int bu = Math.min(bl+BLOCKSIZE, n);
+				
+				//unblocked panel factorization of columns [bl,bu)
+				for( int j=bl; j<bu; j++ ) 
+				{
+					//find pivot and swap entire rows
+					int piv = j;
+					double max = Math.abs(a[j*n+j]);
+					for( int i=j+1; i<n; i++ )
+						if( Math.abs(a[i*n+j]) > max ) {
+							max = Math.abs(a[i*n+j]);
+							piv = i;
+						}
+					if( piv != j ) {
+						System.arraycopy(a, piv*n, tmp, 0, n);
+						System.arraycopy(a, j*n, a, piv*n, n);
+						System.arraycopy(tmp, 0, a, j*n, n);
+						int t = perm[piv]; perm[piv] = perm[j]; perm[j] = t;
+					}
+					
+					//compute multipliers and update remaining panel columns
+					double ajj = a[j*n+j];
+					if( ajj == 0 ) 
+						continue; //singular, U retains a zero on the diagonal
+					for( int i=j+1; i<n; i++ ) {
+						int ix = i*n;
+						a[ix+j] /= ajj;
+						vectMultiplySub(a[ix+j], a, a, j*n+j+1, ix+j+1, bu-j-1);
+					}
+				}
+				
+				if( bu < n ) {
+					//compute U12 via forward substitution with unit L11
+					for( int j=bl+1; j<bu; j++ )
+						for( int p=bl; p<j; p++ )
+							vectMultiplySub(a[j*n+p], a, a, p*n+bu, j*n+bu, n-bu);
+					
+					//update trailing matrix A22 -= L21 %*% U12
+					runRowTasks(pool, k, bu, n, new LUUpdateTask(a, n, bl, bu, bu, n));
+				}
+			}
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Solves L U X = B in-place in b for a packed LU decomposition, where
+	 * b is already permuted. The rhs columns are processed in parallel.
+	 * 
+	 * @param lu
+	 * @param n
+	 * @param b
+	 * @param nrhs
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	private static void luSolveInPlace( double[] lu, int n, double[] b, int nrhs, int k ) 
+		throws DMLRuntimeException
+	{
+		if( k <= 1 || nrhs < 2*BLOCKSIZE ) {
+			luSolveInPlace(lu, n, b, nrhs, 0, nrhs);
+		}
+		else {
+			ExecutorService pool = Executors.newFixedThreadPool(k);
+			try {
+				runRowTasks(pool, k, 0, nrhs, new LUSolveTask(lu, n, b, nrhs, 0, nrhs));
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+	}
+	
+	/**
+	 * 
+	 * @param lu
+	 * @param n
+	 * @param b
+	 * @param nrhs
+	 * @param cl
+	 * @param cu
+	 */
+	private static void luSolveInPlace( double[] lu, int n, double[] b, int nrhs, int cl, int cu )
+	{
+		int len = cu - cl;
+		
+		//forward substitution L Y = B (unit diagonal)
+		for( int i=0, ix=0; i<n; i++, ix+=n ) {
+			int bix = i*nrhs+cl;
+			for( int p=0; p<i; p++ ) {
+				double val = lu[ix+p];
+				if( val != 0 )
+					vectMultiplySub(val, b, b, p*nrhs+cl, bix, len);
+			}
+		}
+		
+		//backward substitution U X = Y
+		for( int i=n-1; i>=0; i-- ) {
+			int ix = i*n;
+			int bix = i*nrhs+cl;
+			for( int p=i+1; p<n; p++ ) {
+				double val = lu[ix+p];
+				if( val != 0 )
+					vectMultiplySub(val, b, b, p*nrhs+cl, bix, len);
+			}
+			vectDivide(lu[ix+i], b, bix, len);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param lu
+	 * @param n
+	 * @throws DMLRuntimeException
+	 */
+	private static void checkNonSingular( double[] lu, int n ) 
+		throws DMLRuntimeException
+	{
+		for( int i=0; i<n; i++ )
+			if( Math.abs(lu[i*n+i]) <= SINGULARITY_THRESHOLD )
+				throw new DMLRuntimeException("Matrix is singular.");
+	}
+	
+	
+	///////////////////////////////////
+	// QR kernels
+	///////////////////////////////////
+	
+	/**
+	 * Householder QR decomposition on the transposed input qrt (n x m), 
+	 * which stores the Householder vectors in the lower part and R in the
+	 * upper part (except the diagonal, which is returned in rdiag).
+	 * 
+	 * @param qrt
+	 * @param m
+	 * @param n
+	 * @param rdiag
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	private static void qrInPlace( double[] qrt, int m, int n, double[] rdiag, int k ) 
+		throws DMLRuntimeException
+	{
+		ExecutorService pool = (k > 1) ? Executors.newFixedThreadPool(k) : null;
+		
+		try
+		{
+			for( int minor=0; minor<Math.min(m, n); minor++ )
+			{
+				int mx = minor*m;
+				
+				//compute householder reflector for current column
+				double norm2 = 0;
+				for( int i=minor; i<m; i++ )
+					norm2 += qrt[mx+i] * qrt[mx+i];
+				double a = (qrt[mx+minor] > 0) ? -Math.sqrt(norm2) : Math.sqrt(norm2);
+				rdiag[minor] = a;
+				
+				if( a != 0 ) {
+					qrt[mx+minor] -= a;
+					
+					//apply reflector to remaining columns
+					if( pool != null && (long)(n-minor-1)*(m-minor) >= PAR_NUMCELL_THRESHOLD )
+						runRowTasks(pool, k, minor+1, n, new QRUpdateTask(qrt, m, minor, a, minor+1, n));
+					else
+						qrUpdate(qrt, m, minor, a, minor+1, n);
+				}
+			}
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+	}
+	
+	/**
+	 * 
+	 * @param qrt
+	 * @param m
+	 * @param minor
+	 * @param a
+	 * @param cl
+	 * @param cu
+	 */
+	private static void qrUpdate( double[] qrt, int m, int minor, double a, int cl, int cu )
+	{
+		int mx = minor*m;
+		int len = m-minor;
+		double scale = a * qrt[mx+minor];
+		for( int c=cl; c<cu; c++ ) {
+			int cx = c*m;
+			double alpha = -dotProduct(qrt, qrt, cx+minor, mx+minor, len) / scale;
+			vectMultiplySub(alpha, qrt, qrt, mx+minor, cx+minor, len);
+		}
+	}
+	
+	/**
+	 * Computes the least squares solution for a given QR decomposition,
+	 * by applying t(Q) to B and backward substitution with R.
+	 * 
+	 * @param qrt
+	 * @param m
+	 * @param n
+	 * @param rdiag
+	 * @param b
+	 * @param nrhs
+	 * @return
+	 */
+	private static double[] qrSolve( double[] qrt, int m, int n, double[] rdiag, double[] b, int nrhs )
+	{
+		double[] x = new double[n*nrhs];
+		double[] y = new double[m];
+		
+		for( int c=0; c<nrhs; c++ )
+		{
+			for( int i=0; i<m; i++ )
+				y[i] = b[i*nrhs+c];
+			
+			//apply householder transformations y = t(Q) b
+			for( int minor=0; minor<n; minor++ ) {
+				int mx = minor*m;
+				double dot = dotProduct(y, qrt, minor, mx+minor, m-minor);
+				dot /= rdiag[minor] * qrt[mx+minor];
+				for( int i=minor; i<m; i++ )
+					y[i] += dot * qrt[mx+i];
+			}
+			
+			//backward substitution R x = y
+			for( int j=n-1; j>=0; j-- ) {
+				double xj = y[j] / rdiag[j];
+				x[j*nrhs+c] = xj;
+				int jx = j*m;
+				for( int i=0; i<j; i++ )
+					y[i] -= xj * qrt[jx+i];
+			}
+		}
+		
+		return x;
+	}
+	
+	
+	///////////////////////////////////
+	// Symmetric eigen kernels
+	///////////////////////////////////
+	
+	/**
+	 * Householder reduction to tridiagonal form, which overwrites v with
+	 * the accumulated transformations and returns the diagonal in d and 
+	 * the subdiagonal in e (e[0]=0). Based on the public domain JAMA port 
+	 * of the EISPACK routine tred2.
+	 * 
+	 * @param v
+	 * @param n
+	 * @param d
+	 * @param e
+	 */
+	private static void tridiagonalize( double[] v, int n, double[] d, double[] e )
+	{
+		if( n == 0 )
+			return;
+		
+		for( int j=0; j<n; j++ )
+			d[j] = v[(n-1)*n+j];
+		
+		for( int i=n-1; i>0; i-- ) 
+		{
+			//scale to avoid under/overflow
+			double scale = 0, h = 0;
+			for( int p=0; p<i; p++ )
+				scale += Math.abs(d[p]);
+			
+			if( scale == 0 ) {
+				e[i] = d[i-1];
+				for( int j=0; j<i; j++ ) {
+					d[j] = v[(i-1)*n+j];
+					v[i*n+j] = 0;
+					v[j*n+i] = 0;
+				}
+			}
+			else 
+			{
+				//generate householder vector
+				for( int p=0; p<i; p++ ) {
+					d[p] /= scale;
+					h += d[p] * d[p];
+				}
+				double f = d[i-1];
+				double g = Math.sqrt(h);
+				if( f > 0 )
+					g = -g;
+				e[i] = scale * g;
+				h = h - f * g;
+				d[i-1] = f - g;
+				for( int j=0; j<i; j++ )
+					e[j] = 0;
+				
+				//apply similarity transformation to remaining columns
+				for( int j=0; j<i; j++ ) {
+					f = d[j];
+					v[j*n+i] = f;
+					g = e[j] + v[j*n+j] * f;
+					for( int p=j+1; p<=i-1; p++ ) {
+						g += v[p*n+j] * d[p];
+						e[p] += v[p*n+j] * f;
+					}
+					e[j] = g;
+				}
+				f = 0;
+				for( int j=0; j<i; j++ ) {
+					e[j] /= h;
+					f += e[j] * d[j];
+				}
+				double hh = f / (h + h);
+				for( int j=0; j<i; j++ )
+					e[j] -= hh * d[j];
+				for( int j=0; j<i; j++ ) {
+					f = d[j];
+					g = e[j];
+					for( int p=j; p<=i-1; p++ )
+						v[p*n+j] -= (f * e[p] + g * d[p]);
+					d[j] = v[(i-1)*n+j];
+					v[i*n+j] = 0;
+				}
+			}
+			d[i] = h;
+		}
+		
+		//accumulate transformations
+		for( int i=0; i<n-1; i++ ) 
+		{
+			v[(n-1)*n+i] = v[i*n+i];
+			v[i*n+i] = 1;
+			double h = d[i+1];
+			if( h != 0 ) {
+				for( int p=0; p<=i; p++ )
+					d[p] = v[p*n+i+1] / h;
+				for( int j=0; j<=i; j++ ) {
+					double g = 0;
+					for( int p=0; p<=i; p++ )
+						g += v[p*n+i+1] * v[p*n+j];
+					for( int p=0; p<=i; p++ )
+						v[p*n+j] -= g * d[p];
+				}
+			}
+			for( int p=0; p<=i; p++ )
+				v[p*n+i+1] = 0;
+		}
+		for( int j=0; j<n; j++ ) {
+			d[j] = v[(n-1)*n+j];
+			v[(n-1)*n+j] = 0;
+		}
+		v[(n-1)*n+n-1] = 1;
+		e[0] = 0;
+	}
+	
+	/**
+	 * Symmetric tridiagonal QL algorithm with implicit shifts, which 
+	 * computes the eigenvalues in d and the eigenvectors in v, sorted in 
+	 * increasing order of eigenvalues. Based on the public domain JAMA port 
+	 * of the EISPACK routine tql2.
+	 * 
+	 * @param v
+	 * @param n
+	 * @param d
+	 * @param e
+	 * @throws DMLRuntimeException 
+	 */
+	private static void tridiagonalQL( double[] v, int n, double[] d, double[] e ) 
+		throws DMLRuntimeException
+	{
+		for( int i=1; i<n; i++ )
+			e[i-1] = e[i];
+		if( n > 0 )
+			e[n-1] = 0;
+		
+		double f = 0, tst1 = 0;
+		double eps = Math.pow(2.0, -52.0);
+		for( int l=0; l<n; l++ ) 
+		{
+			//find small subdiagonal element
+			tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+			int m = l;
+			while( m < n ) {
+				if( Math.abs(e[m]) <= eps*tst1 )
+					break;
+				m++;
+			}
+			
+			//if m == l, d[l] is an eigenvalue, otherwise iterate
+			if( m > l ) 
+			{
+				int iter = 0;
+				do {
+					if( ++iter > 30*n )
+						throw new DMLRuntimeException("Eigen Decomposition did not converge.");
+					
+					//compute implicit shift
+					double g = d[l];
+					double p = (d[l+1] - g) / (2 * e[l]);
+					double r = hypot(p, 1);
+					if( p < 0 )
+						r = -r;
+					d[l] = e[l] / (p + r);
+					d[l+1] = e[l] * (p + r);
+					double dl1 = d[l+1];
+					double h = g - d[l];
+					for( int i=l+2; i<n; i++ )
+						d[i] -= h;
+					f += h;
+					
+					//implicit QL transformation
+					p = d[m];
+					double c = 1, c2 = c, c3 = c;
+					double el1 = e[l+1];
+					double s = 0, s2 = 0;
+					for( int i=m-1; i>=l; i-- ) {
+						c3 = c2;
+						c2 = c;
+						s2 = s;
+						g = c * e[i];
+						h = c * p;
+						r = hypot(p, e[i]);
+						e[i+1] = s * r;
+						s = e[i] / r;
+						c = p / r;
+						p = c * d[i] - s * g;
+						d[i+1] = h + s * (c * g + s * d[i]);
+						
+						//accumulate transformation
+						for( int q=0; q<n; q++ ) {
+							int qx = q*n;
+							h = v[qx+i+1];
+							v[qx+i+1] = s * v[qx+i] + c * h;
+							v[qx+i] = c * v[qx+i] - s * h;
+						}
+					}
+					p = -s * s2 * c3 * el1 * e[l] / dl1;
+					e[l] = s * p;
+					d[l] = c * p;
+				}
+				while( Math.abs(e[l]) > eps*tst1 );
+			}
+			d[l] = d[l] + f;
+			e[l] = 0;
+		}
+		
+		//sort eigenvalues and corresponding vectors (increasing order)
+		for( int i=0; i<n-1; i++ ) {
+			int k = i;
+			double p = d[i];
+			for( int j=i+1; j<n; j++ )
+				if( d[j] < p ) {
+					k = j;
+					p = d[j];
+				}
+			if( k != i ) {
+				d[k] = d[i];
+				d[i] = p;
+				for( int j=0; j<n; j++ ) {
+					p = v[j*n+i];
+					v[j*n+i] = v[j*n+k];
+					v[j*n+k] = p;
+				}
+			}
+		}
+	}
+	
+	
+	///////////////////////////////////
+	// Utility functions
+	///////////////////////////////////
+	
+	/**
+	 * 
+	 * @param m
+	 * @param n
+	 * @param k
+	 * @return
+	 */
+	private static int getNumThreads( int m, int n, int k ) {
+		return ((long)m*n >= PAR_NUMCELL_THRESHOLD) ? Math.max(k, 1) : 1;
+	}
+	
+	/**
+	 * 
+	 * @param in
+	 * @param name
+	 * @throws DMLRuntimeException
+	 */
+	private static void checkSquare( MatrixBlock in, String name ) 
+		throws DMLRuntimeException
+	{
+		if( in.getNumRows() != in.getNumColumns() )
+			throw new DMLRuntimeException(name + " can only be done on a square matrix. Input matrix is rectangular (rows=" + in.getNumRows() + ", cols="+ in.getNumColumns() +")");
+	}
+	
+	/**
+	 * 
+	 * @param a
+	 * @param n
+	 * @return
+	 */
+	private static boolean isSymmetric( double[] a, int n )
+	{
+		double max = 0;
+		for( int i=0; i<n*n; i++ )
+			max = Math.max(max, Math.abs(a[i]));
+		double eps = 10 * n * Math.ulp(1.0) * max;
+		
+		for( int i=0; i<n; i++ )
+			for( int j=i+1; j<n; j++ )
+				if( Math.abs(a[i*n+j] - a[j*n+i]) > eps )
+					return false;
+		return true;
+	}
+	
+	/**
+	 * Creates a dense row-major copy of the given matrix block.
+	 * 
+	 * @param in
+	 * @return
+	 */
+	private static double[] toDenseArray( MatrixBlock in )
+	{
+		int m = in.getNumRows();
+		int n = in.getNumColumns();
+		double[] ret = new double[m*n];
+		
+		if( in.isEmptyBlock(false) )
+			return ret;
+		
+		if( in.isInSparseFormat() ) {
+			SparseRowsIterator iter = in.getSparseRowsIterator();
+			while( iter.hasNext() ) {
+				IJV cell = iter.next();
+				ret[cell.i*n+cell.j] = cell.v;
+			}
+		}
+		else {
+			System.arraycopy(in.getDenseArray(), 0, ret, 0, m*n);
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * Creates a dense row-major copy of the transpose of the given matrix block.
+	 * 
+	 * @param in
+	 * @return
+	 */
+	private static double[] toDenseTransposedArray( MatrixBlock in )
+	{
+		int m = in.getNumRows();
+		int n = in.getNumColumns();
+		double[] ret = new double[m*n];
+		
+		if( in.isEmptyBlock(false) )
+			return ret;
+		
+		if( in.isInSparseFormat() ) {
+			SparseRowsIterator iter = in.getSparseRowsIterator();
+			while( iter.hasNext() ) {
+				IJV cell = iter.next();
+				ret[cell.j*m+cell.i] = cell.v;
+			}
+		}
+		else {
+			double[] a = in.getDenseArray();
+			for( int i=0, ix=0; i<m; i++, ix+=n )
+				for( int j=0; j<n; j++ )
+					ret[j*m+i] = a[ix+j];
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param a
+	 * @param m
+	 * @param n
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static MatrixBlock toMatrixBlock( double[] a, int m, int n ) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock ret = new MatrixBlock(m, n, false);
+		ret.init(a, m, n);
+		ret.examSparsity();
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param a
+	 * @param b
+	 * @param ai
+	 * @param bi
+	 * @param len
+	 * @return
+	 */
+	private static double dotProduct( double[] a, double[] b, int ai, int bi, int len )
+	{
+		double val = 0;
+		for( int i=0; i<len; i++ )
+			val += a[ai+i] * b[bi+i];
+		return val;
+	}
+	
+	/**
+	 * Computes c[ci:ci+len] -= aval * b[bi:bi+len].
+	 * 
+	 * @param aval
+	 * @param b
+	 * @param c
+	 * @param bi
+	 * @param ci
+	 * @param len
+	 */
+	private static void vectMultiplySub( double aval, double[] b, double[] c, int bi, int ci, int len )
+	{
+		for( int j=0; j<len; j++ )
+			c[ci+j] -= aval * b[bi+j];
+	}
+	
+	/**
+	 * 
+	 * @param aval
+	 * @param c
+	 * @param ci
+	 * @param len
+	 */
+	private static void vectDivide( double aval, double[] c, int ci, int len )
+	{
+		for( int j=0; j<len; j++ )
+			c[ci+j] /= aval;
+	}
+	
+	/**
+	 * 
+	 * @param a
+	 * @param b
+	 * @return
+	 */
+	private static double hypot( double a, double b )
+	{
+		double aa = Math.abs(a), ab = Math.abs(b);
+		if( aa > ab ) {
+			double r = ab / aa;
+			return aa * Math.sqrt(1 + r * r);
+		}
+		else if( ab != 0 ) {
+			double r = aa / ab;
+			return ab * Math.sqrt(1 + r * r);
+		}
+		return 0;
+	}
+	
+	/**
+	 * Splits the range [rl,ru) into k tasks of the given type and executes
+	 * them on the given thread pool, or directly if no pool is available.
+	 * 
+	 * @param pool
+	 * @param k
+	 * @param rl
+	 * @param ru
+	 * @param task
+	 * @throws DMLRuntimeException
+	 */
+	private static void runRowTasks( ExecutorService pool, int k, int rl, int ru, RangeTask task ) 
+		throws DMLRuntimeException
+	{
+		int len = ru - rl;
+		if( pool == null || k <= 1 || len < 2 ) {
+			task.execute(rl, ru);
+			return;
+		}
+		
+		try {
+			ArrayList<RangeTask> tasks = new ArrayList<RangeTask>();
+			int blklen = (int)(Math.ceil((double)len/k));
+			for( int i=0; i<k & i*blklen<len; i++ )
+				tasks.add(task.createTask(rl+i*blklen, Math.min(rl+(i+1)*blklen, ru)));
+			
+			//execute tasks and check for errors
+			List<Future<Object>> rtasks = pool.invokeAll(tasks);
+			for( Future<Object> rt : rtasks )
+				rt.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Base class for range-partitioned tasks, where a prototype task 
+	 * creates its range-specific instances. 
+	 */
+	private static abstract class RangeTask implements Callable<Object> 
+	{
+		protected int _rl = -1;
+		protected int _ru = -1;
+		
+		protected RangeTask( int rl, int ru ) {
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		protected abstract RangeTask createTask( int rl, int ru );
+		
+		protected abstract void execute( int rl, int ru );
+		
+		@Override
+		public Object call() {
+			execute(_rl, _ru);
+			return null;
+		}
+	}
+	
+	/**
+	 * Computes the Cholesky panel L21 = A21 %*% inv(t(L11)) for a row range.
+	 */
+	private static class CholeskyPanelTask extends RangeTask 
+	{
+		private double[] _a = null;
+		private int _n = -1;
+		private int _bl = -1;
+		private int _bu = -1;
+		
+		protected CholeskyPanelTask( double[] a, int n, int bl, int bu, int rl, int ru ) {
+			super(rl, ru);
+			_a = a; _n = n; _bl = bl; _bu = bu;
+		}
+		
+		@Override
+		protected RangeTask createTask( int rl, int ru ) {
+			return new CholeskyPanelTask(_a, _n, _bl, _bu, rl, ru);
+		}
+		
+		@Override
+		protected void execute( int rl, int ru ) {
+			for( int i=rl, ix=rl*_n; i<ru; i++, ix+=_n )
+				for( int j=_bl; j<_bu; j++ ) {
+					int jx = j*_n;
+					_a[ix+j] = (_a[ix+j] - dotProduct(_a, _a, ix+_bl, jx+_bl, j-_bl)) / _a[jx+j];
+				}
+		}
+	}
+	
+	/**
+	 * Computes the symmetric trailing update A22 -= L21 %*% t(L21) on the 
+	 * lower triangle for a row range.
+	 */
+	private static class CholeskyUpdateTask extends RangeTask 
+	{
+		private double[] _a = null;
+		private int _n = -1;
+		private int _bl = -1;
+		private int _bu = -1;
+		
+		protected CholeskyUpdateTask( double[] a, int n, int bl, int bu, int rl, int ru ) {
+			super(rl, ru);
+			_a = a; _n = n; _bl = bl; _bu = bu;
+		}
+		
+		@Override
+		protected RangeTask createTask( int rl, int ru ) {
+			return new CholeskyUpdateTask(_a, _n, _bl, _bu, rl, ru);
+		}
+		
+		@Override
+		protected void execute( int rl, int ru ) {
+			int len = _bu - _bl;
+			for( int i=rl, ix=rl*_n; i<ru; i++, ix+=_n )
+				for( int j=_bu; j<=i; j++ )
+					_a[ix+j] -= dotProduct(_a, _a, ix+_bl, j*_n+_bl, len);
+		}
+	}
+	
+	/**
+	 * Computes the LU trailing update A22 -= L21 %*% U12 for a row range.
+	 */
+	private static class LUUpdateTask extends RangeTask 
+	{
+		private double[] _a = null;
+		private int _n = -1;
+		private int _bl = -1;
+		private int _bu = -1;
+		
+		protected LUUpdateTask( double[] a, int n, int bl, int bu, int rl, int ru ) {
+			super(rl, ru);
+			_a = a; _n = n; _bl = bl; _bu = bu;
+		}
+		
+		@Override
+		protected RangeTask createTask( int rl, int ru ) {
+			return new LUUpdateTask(_a, _n, _bl, _bu, rl, ru);
+		}
+		
+		@Override
+		protected void execute( int rl, int ru ) {
+			int len = _n - _bu;
+			for( int i=rl, ix=rl*_n; i<ru; i++, ix+=_n )
+				for( int p=_bl; p<_bu; p++ ) {
+					double val = _a[ix+p];
+					if( val != 0 )
+						vectMultiplySub(val, _a, _a, p*_n+_bu, ix+_bu, len);
+				}
+		}
+	}
+	
+	/**
+	 * Solves L U X = B for a range of rhs columns.
+	 */
+	private static class LUSolveTask extends RangeTask 
+	{
+		private double[] _lu = null;
+		private int _n = -1;
+		private double[] _b = null;
+		private int _nrhs = -1;
+		
+		protected LUSolveTask( double[] lu, int n, double[] b, int nrhs, int cl, int cu ) {
+			super(cl, cu);
+			_lu = lu; _n = n; _b = b; _nrhs = nrhs;
+		}
+		
+		@Override
+		protected RangeTask createTask( int cl, int cu ) {
+			return new LUSolveTask(_lu, _n, _b, _nrhs, cl, cu);
+		}
+		
+		@Override
+		protected void execute( int cl, int cu ) {
+			luSolveInPlace(_lu, _n, _b, _nrhs, cl, cu);
+		}
+	}
+	
+	/**
+	 * Applies a Householder reflector to a range of columns.
+	 */
+	private static class QRUpdateTask extends RangeTask 
+	{
+		private double[] _qrt = null;
+		private int _m = -1;
+		private int _minor = -1;
+		private double _alpha = 0;
+		
+		protected QRUpdateTask( double[] qrt, int m, int minor, double alpha, int cl, int cu ) {
+			super(cl, cu);
+			_qrt = qrt; _m = m; _minor = minor; _alpha = alpha;
+		}
+		
+		@Override
+		protected RangeTask createTask( int cl, int cu ) {
+			return new QRUpdateTask(_qrt, _m, _minor, _alpha, cl, cu);
+		}
+		
+		@Override
+		protected void execute( int cl, int cu ) {
+			qrUpdate(_qrt, _m, _minor, _alpha, cl, cu);
+		}
+	}
+}
@@ -24,7 +24,12 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.ibm.bi.dml.runtime.DMLRuntimeException;
 import com.ibm.bi.dml.runtime.DMLUnsupportedOperationException;
@@ -57,6 +62,9 @@ public class LibMatrixReorg
 	public static final boolean SHALLOW_DENSE_ROWWISE_RESHAPE = true;
 	public static final boolean ALLOW_BLOCK_REUSE = false;
 	
+	//minimum number of cells (non-zeros if sparse) for multi-threaded operations
+	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
+	
 	private enum ReorgType {
 		TRANSPOSE,
 		DIAG,
@@ -98,12 +106,15 @@ public class LibMatrixReorg
 		switch( type )
 		{
 			case TRANSPOSE: 
-				return transpose(in, out);
+				if( op.getNumThreads() > 1 )
+					return transpose(in, out, op.getNumThreads());
+				else
+					return transpose(in, out);
 			case DIAG:      
 				return diag(in, out); 
 			case SORT:      
 				SortIndex ix = (SortIndex) op.fn;
-				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn());
+				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn(), op.getNumThreads());
 			
 			default:        
 				throw new DMLRuntimeException("Unsupported reorg operator: "+op.fn);
@@ -139,6 +150,58 @@ public class LibMatrixReorg
 		
 		return out;
 	}
+	
+	/**
+	 * Multi-threaded transpose, where each thread processes a disjoint range of 
+	 * input columns (i.e., output rows) in a cache-blocked manner. For sparse outputs, 
+	 * each thread first counts the non-zeros of its output rows in order to allocate
+	 * them with exact capacity, and subsequently scatters the input non-zeros.
+	 * 
+	 * @param in
+	 * @param out
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock transpose( MatrixBlock in, MatrixBlock out, int k ) 
+		throws DMLRuntimeException
+	{
+		//redirect small, vector, or empty inputs to sequential execution
+		long work = in.sparse ? in.nonZeros : (long)in.rlen * in.clen;
+		if( k <= 1 || in.isEmptyBlock(false) || in.rlen == 1 || in.clen == 1
+			|| in.clen <= k || work < PAR_NUMCELL_THRESHOLD )
+		{
+			return transpose(in, out);
+		}
+		
+		//allocate output arrays (sparse rows allocated by tasks)
+		final int n = in.clen;
+		out.reset(out.rlen, out.clen, out.sparse);
+		out.allocateDenseOrSparseBlock();
+		
+		//core multi-threaded transpose over column partitions of the input
+		ExecutorService pool = Executors.newFixedThreadPool( k );
+		try
+		{
+			ArrayList<TransposeTask> tasks = new ArrayList<TransposeTask>();
+			int blklen = (int)(Math.ceil((double)n/k));
+			for( int i=0; i<k & i*blklen<n; i++ )
+				tasks.add(new TransposeTask(in, out, i*blklen, Math.min((i+1)*blklen, n)));
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			for( Future<Object> task : rt )
+				task.get(); //error handling
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		out.nonZeros = in.nonZeros;
+		
+		return out;
+	}
 
 	/**
 	 * 
@@ -186,11 +249,30 @@ public class LibMatrixReorg
 	 */
 	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret) 
 		throws DMLRuntimeException
+	{
+		return sort(in, out, by, desc, ixret, 1);
+	}
+	
+	/**
+	 * 
+	 * 
+	 * @param in
+	 * @param out
+	 * @param by
+	 * @param desc
+	 * @param ixret
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException 
+	 */
+	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret, int k) 
+		throws DMLRuntimeException
 	{
 		//meta data gathering and preparation
 		boolean sparse = in.isInSparseFormat();
 		int rlen = in.rlen;
 		int clen = in.clen;
+		boolean par = (k > 1 && rlen >= PAR_NUMCELL_THRESHOLD);
 		out.sparse = (in.sparse && !ixret);
 		out.nonZeros = ixret ? rlen : in.nonZeros;
 		
@@ -207,7 +289,10 @@ public class LibMatrixReorg
 			if( !sparse && clen == 1 ) { //DENSE COLUMN VECTOR
 				//in-place quicksort, unstable (no indexes needed)
 				out.copy( in ); //dense
-				Arrays.sort(out.denseBlock);
+				if( par )
+					sortParallel(out.denseBlock, null, k);
+				else
+					Arrays.sort(out.denseBlock);
 				if( desc )
 					sortReverseDense(out);
 				return out;
@@ -233,8 +318,11 @@ public class LibMatrixReorg
 			values[i] = in.quickGetValue(i, by-1);
 		}
 		
-		//sort index vector on extracted data (unstable)
-		SortUtils.sortByValue(0, rlen, values, vix);
+		//sort index vector on extracted data (unstable, or stable if multi-threaded)
+		if( par )
+			sortParallel(values, vix, k);
+		else
+			SortUtils.sortByValue(0, rlen, values, vix);
 
 		//flip order if descending requested (note that this needs to happen
 		//before we ensure stable outputs, hence we also flip values)
@@ -243,8 +331,9 @@ public class LibMatrixReorg
 			sortReverseDense(values);
 		}
 		
-		//final pass to ensure stable output
-		for( int i=0; i<rlen-1; i++ ) {
+		//final pass to ensure stable output (not required for ascending
+		//multi-threaded sort because the merge sort is already stable)
+		for( int i=0; i<rlen-1 && (!par || desc); i++ ) {
 			double tmp = values[i];
 			//determine run of equal values
 			int len = 0;
@@ -290,6 +379,143 @@ public class LibMatrixReorg
 		return out;
 	}
 	
+	/**
+	 * Multi-threaded stable merge sort of the given values and optional index 
+	 * vector. Row partitions are sorted independently and subsequently merged 
+	 * pairwise in log(k) rounds, where each merge is split into independent 
+	 * partitions via binary search. On ties, the left run is always preferred.
+	 * 
+	 * @param values
+	 * @param vix
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	private static void sortParallel( double[] values, int[] vix, int k ) 
+		throws DMLRuntimeException
+	{
+		final int n = values.length;
+		
+		ExecutorService pool = Executors.newFixedThreadPool( k );
+		try
+		{
+			//step 1: sort independent row partitions
+			ArrayList<SortTask> tasks = new ArrayList<SortTask>();
+			int blklen = (int)(Math.ceil((double)n/k));
+			for( int i=0; i<k & i*blklen<n; i++ )
+				tasks.add(new SortTask(values, vix, i*blklen, Math.min((i+1)*blklen, n)));
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			for( Future<Object> task : rt )
+				task.get(); //error handling
+			
+			//step 2: pairwise merge of sorted runs (alternating buffers)
+			double[] a = values, c = new double[n];
+			int[] aix = vix, cix = (vix!=null) ? new int[n] : null;
+			for( long len=blklen; len<n; len*=2 )
+			{
+				int npairs = (int)Math.ceil((double)n/(2*len));
+				int kpair = Math.max(k/npairs, 1);
+				ArrayList<MergeTask> mtasks = new ArrayList<MergeTask>();
+				for( long lo=0; lo<n; lo+=2*len ) {
+					int mid = (int)Math.min(lo+len, n);
+					int hi = (int)Math.min(lo+2*len, n);
+					//split merge by left run partitions and matching right run offsets
+					int plen = (int)Math.ceil((double)(mid-lo)/kpair);
+					int bl = mid;
+					for( int al=(int)lo; al<mid; al+=plen ) {
+						int au = Math.min(al+plen, mid);
+						int bu = (au<mid) ? searchFirstGTE(a, mid, hi, a[au]) : hi;
+						mtasks.add(new MergeTask(a, aix, c, cix, al, au, bl, bu, al+bl-mid));
+						bl = bu;
+					}
+				}
+				rt = pool.invokeAll(mtasks);
+				for( Future<Object> task : rt )
+					task.get(); //error handling
+				
+				//swap input and output buffers
+				double[] tmp = a; a = c; c = tmp;
+				int[] tmpix = aix; aix = cix; cix = tmpix;
+			}
+			
+			//copy final result back into the given arrays
+			if( a != values ) {
+				System.arraycopy(a, 0, values, 0, n);
+				if( vix != null )
+					System.arraycopy(aix, 0, vix, 0, n);
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Merges the sorted runs a[al,au) and a[bl,bu) into c starting at cl,
+	 * where equal values are taken from the left run first (stable).
+	 * 
+	 * @param a
+	 * @param aix
+	 * @param c
+	 * @param cix
+	 * @param al
+	 * @param au
+	 * @param bl
+	 * @param bu
+	 * @param cl
+	 */
+	private static void mergeSortedRuns( double[] a, int[] aix, double[] c, int[] cix, int al, int au, int bl, int bu, int cl )
+	{
+		int i = al, j = bl, pos = cl;
+		
+		if( aix != null ) //w/ index vector
+		{
+			while( i<au && j<bu ) {
+				if( Double.compare(a[j], a[i]) < 0 ) {
+					c[pos] = a[j]; cix[pos++] = aix[j++];
+				}
+				else {
+					c[pos] = a[i]; cix[pos++] = aix[i++];
+				}
+			}
+			System.arraycopy(aix, i, cix, pos, au-i);
+			System.arraycopy(aix, j, cix, pos+au-i, bu-j);
+		}
+		else //values only
+		{
+			while( i<au && j<bu )
+				c[pos++] = (Double.compare(a[j], a[i]) < 0) ? a[j++] : a[i++];
+		}
+		
+		//copy remaining values (at most one non-empty range)
+		System.arraycopy(a, i, c, pos, au-i);
+		System.arraycopy(a, j, c, pos+au-i, bu-j);
+	}
+	
+	/**
+	 * Binary search for the first position in the sorted range a[l,u) 
+	 * with a value greater than or equal to the given value.
+	 * 
+	 * @param a
+	 * @param l
+	 * @param u
+	 * @param val
+	 * @return
+	 */
+	private static int searchFirstGTE( double[] a, int l, int u, double val )
+	{
+		while( l < u ) {
+			int mid = (l+u) >>> 1;
+			if( Double.compare(a[mid], val) < 0 )
+				l = mid + 1;
+			else
+				u = mid;
+		}
+		return l;
+	}
+	
 	/**
 	 * CP reshape operation (single input, single output matrix) 
 	 *
@@ -336,6 +562,74 @@ public class LibMatrixReorg
 		
 		return out;
 	}
+	
+	/**
+	 * Multi-threaded CP reshape operation (single input, single output matrix),
+	 * where each thread processes a disjoint range of output rows (input rows 
+	 * for sparse-dense). Special cases without independent row partitions 
+	 * (e.g., vector reshapes or column-wise sparse reshapes) are executed 
+	 * sequentially.
+	 * 
+	 * @param in
+	 * @param out
+	 * @param rows
+	 * @param cols
+	 * @param rowwise
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock reshape( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int k ) 
+		throws DMLRuntimeException
+	{
+		int rlen = in.rlen;
+		int clen = in.clen;
+		
+		//redirect small or empty inputs to sequential execution (incl validity checks)
+		long work = in.sparse ? in.nonZeros : (long)rlen * clen;
+		if( k <= 1 || in.isEmptyBlock(false) || (rlen==rows && clen==cols) 
+			|| ((long)rlen)*clen != ((long)rows)*cols || work < PAR_NUMCELL_THRESHOLD )
+		{
+			return reshape(in, out, rows, cols, rowwise);
+		}
+		
+		//determine output representation and redirect special cases
+		boolean sp = MatrixBlock.evalSparseFormatInMemory(rows, cols, in.nonZeros);
+		boolean par = (!in.sparse && !sp && !rowwise && rlen>1 && clen>1 && rows>1 && cols>1) //DENSE <- DENSE (colwise)
+			|| (!in.sparse && sp && (rowwise || rlen>1))  //SPARSE <- DENSE
+			|| (in.sparse && sp && rowwise && rows>1)     //SPARSE <- SPARSE (rowwise)
+			|| (in.sparse && !sp && rowwise);             //DENSE <- SPARSE (rowwise)
+		int len = (in.sparse && !sp) ? rlen : rows;
+		if( !par || len <= k )
+			return reshape(in, out, rows, cols, rowwise);
+		
+		//allocate output 
+		out.reset(rows, cols, sp);
+		out.allocateDenseOrSparseBlock();
+		
+		//core multi-threaded reshape over row partitions
+		ExecutorService pool = Executors.newFixedThreadPool( k );
+		try
+		{
+			ArrayList<ReshapeTask> tasks = new ArrayList<ReshapeTask>();
+			int blklen = (int)(Math.ceil((double)len/k));
+			for( int i=0; i<k & i*blklen<len; i++ )
+				tasks.add(new ReshapeTask(in, out, rows, cols, rowwise, i*blklen, Math.min((i+1)*blklen, len)));
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			for( Future<Object> task : rt )
+				task.get(); //error handling
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		out.nonZeros = in.nonZeros;
+		
+		return out;
+	}
 
 
 	/**
@@ -427,6 +721,34 @@ public class LibMatrixReorg
 		else //cols
 			return removeEmptyColumns(in, ret, select);
 	}
+	
+	/**
+	 * Multi-threaded CP rmempty operation (single input, single output matrix),
+	 * where both the scan for non-empty rows/columns and the subsequent copy 
+	 * are executed over disjoint row partitions of the input.
+	 * 
+	 * @param in
+	 * @param ret
+	 * @param rows
+	 * @param select
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 * @throws DMLUnsupportedOperationException
+	 */
+	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, MatrixBlock select, int k) 
+		throws DMLRuntimeException, DMLUnsupportedOperationException
+	{
+		//redirect small or empty inputs to sequential execution
+		long work = in.sparse ? in.nonZeros : (long)in.rlen * in.clen;
+		if( k <= 1 || in.isEmptyBlock(false) || in.rlen <= k || work < PAR_NUMCELL_THRESHOLD )
+			return rmempty(in, ret, rows, select);
+		
+		if( rows )
+			return removeEmptyRows(in, ret, select, k);
+		else //cols
+			return removeEmptyColumns(in, ret, select, k);
+	}
 
 	/**
 	 * MR rmempty interface - for rmempty we cannot view blocks independently, and hence,
@@ -656,34 +978,52 @@ public class LibMatrixReorg
 		//allocate output arrays (if required)
 		out.allocateDenseBlock(false);
 		
-		double[] a = in.getDenseArray();
-		double[] c = out.getDenseArray();
-		
 		if( m==1 || n==1 ) //VECTOR TRANSPOSE
 		{
-			System.arraycopy(a, 0, c, 0, m2*n2);
+			System.arraycopy(in.getDenseArray(), 0, out.getDenseArray(), 0, m2*n2);
 		}
 		else //MATRIX TRANSPOSE
 		{
-			//blocking according to typical L2 cache sizes 
-			final int blocksizeI = 128;
-			final int blocksizeJ = 128; 
-			
-			//blocked execution
-			for( int bi = 0; bi<m; bi+=blocksizeI )
-				for( int bj = 0; bj<n; bj+=blocksizeJ )
+			transposeDenseToDense(in, out, 0, n);
+		}
+	}
+	
+	/**
+	 * Dense-dense transpose of the input column range [cl, cu), 
+	 * i.e., the output row range [cl, cu).
+	 * 
+	 * @param in
+	 * @param out
+	 * @param cl
+	 * @param cu
+	 */
+	private static void transposeDenseToDense(MatrixBlock in, MatrixBlock out, int cl, int cu) 
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		final int n2 = out.clen;
+		
+		double[] a = in.getDenseArray();
+		double[] c = out.getDenseArray();
+		
+		//blocking according to typical L2 cache sizes 
+		final int blocksizeI = 128;
+		final int blocksizeJ = 128; 
+		
+		//blocked execution
+		for( int bi = 0; bi<m; bi+=blocksizeI )
+			for( int bj = cl; bj<cu; bj+=blocksizeJ )
+			{
+				int bimin = Math.min(bi+blocksizeI, m);
+				int bjmin = Math.min(bj+blocksizeJ, cu);
+				//core transpose operation
+				for( int i=bi; i<bimin; i++ )
 				{
-					int bimin = Math.min(bi+blocksizeI, m);
-					int bjmin = Math.min(bj+blocksizeJ, n);
-					//core transpose operation
-					for( int i=bi; i<bimin; i++ )
-					{
-						int aix = i * n + bj;
-						int cix = bj * n2 + i;
-						transposeRow(a, c, aix, cix, n2, bjmin-bj);
-					}
+					int aix = i * n + bj;
+					int cix = bj * n2 + i;
+					transposeRow(a, c, aix, cix, n2, bjmin-bj);
 				}
-		}
+			}
 	}
 	
 	/**
@@ -693,16 +1033,36 @@ public class LibMatrixReorg
 	 */
 	private static void transposeDenseToSparse(MatrixBlock in, MatrixBlock out)
 	{
-		final int m = in.rlen;
 		final int n = in.clen;
 		final int m2 = out.rlen;
 		final int n2 = out.clen;
-		final int ennz2 = (int) (in.nonZeros/m2); 
 		
 		//allocate output arrays (if required)
 		out.reset(m2, n2, true); //always sparse
 		out.allocateSparseRowsBlock();
-				
+		
+		transposeDenseToSparse(in, out, 0, n);
+		
+		out.nonZeros = in.nonZeros;
+	}
+	
+	/**
+	 * Dense-sparse transpose of the input column range [cl, cu), 
+	 * i.e., the output row range [cl, cu).
+	 * 
+	 * @param in
+	 * @param out
+	 * @param cl
+	 * @param cu
+	 */
+	private static void transposeDenseToSparse(MatrixBlock in, MatrixBlock out, int cl, int cu)
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		final int m2 = out.rlen;
+		final int n2 = out.clen;
+		final int ennz2 = (int) (in.nonZeros/m2); 
+		
 		double[] a = in.getDenseArray();
 		SparseRow[] c = out.getSparseRows();
 		
@@ -712,10 +1072,10 @@ public class LibMatrixReorg
 		
 		//blocked execution
 		for( int bi = 0; bi<m; bi+=blocksizeI )
-			for( int bj = 0; bj<n; bj+=blocksizeJ )
+			for( int bj = cl; bj<cu; bj+=blocksizeJ )
 			{
 				int bimin = Math.min(bi+blocksizeI, m);
-				int bjmin = Math.min(bj+blocksizeJ, n);
+				int bjmin = Math.min(bj+blocksizeJ, cu);
 				//core transpose operation
 				for( int i=bi; i<bimin; i++ )				
 					for( int j=bj, aix=i*n+bj; j<bjmin; j++, aix++ )
@@ -725,8 +1085,6 @@ public class LibMatrixReorg
 						c[j].append(i, a[aix]);
 					}
 			}
-		
-		out.nonZeros = in.nonZeros;
 	}
 	
 	/**
@@ -740,7 +1098,6 @@ public class LibMatrixReorg
 		final int n = in.clen;
 		final int m2 = out.rlen;
 		final int n2 = out.clen;
-		final int ennz2 = (int) (in.nonZeros/m2); 
 		
 		//allocate output arrays (if required)
 		out.reset(m2, n2, true); //always sparse
@@ -767,6 +1124,30 @@ public class LibMatrixReorg
 					c[i] = new SparseRow(cnt[i]);
 		}
 		
+		transposeSparseToSparse(in, out, 0, n);
+		
+		out.nonZeros = in.nonZeros;
+	}
+	
+	/**
+	 * Sparse-sparse transpose of the input column range [cl, cu), 
+	 * i.e., the output row range [cl, cu).
+	 * 
+	 * @param in
+	 * @param out
+	 * @param cl
+	 * @param cu
+	 */
+	private static void transposeSparseToSparse(MatrixBlock in, MatrixBlock out, int cl, int cu)
+	{
+		final int m = in.rlen;
+		final int m2 = out.rlen;
+		final int n2 = out.clen;
+		final int ennz2 = (int) (in.nonZeros/m2); 
+		
+		SparseRow[] a = in.getSparseRows();
+		SparseRow[] c = out.getSparseRows();
+		
 		//blocking according to typical L2 cache sizes 
 		final int blocksizeI = 128;
 		final int blocksizeJ = 128; 
@@ -777,11 +1158,11 @@ public class LibMatrixReorg
 		//blocked execution
 		for( int bi = 0; bi<m; bi+=blocksizeI )
 		{
-			Arrays.fill(ix, 0);
-			for( int bj = 0; bj<n; bj+=blocksizeJ )
+			int bimin = Math.min(bi+blocksizeI, m);
+			initBlockBoundaries(a, ix, bi, bimin, cl);
+			for( int bj = cl; bj<cu; bj+=blocksizeJ )
 			{
-				int bimin = Math.min(bi+blocksizeI, m);
-				int bjmin = Math.min(bj+blocksizeJ, n);
+				int bjmin = Math.min(bj+blocksizeJ, cu);
 
 				//core transpose operation
 				for( int i=bi, iix=0; i<bimin; i++, iix++ )
@@ -804,7 +1185,6 @@ public class LibMatrixReorg
 				}
 			}
 		}
-		out.nonZeros = in.nonZeros;
 	}
 	
 	/**
@@ -825,12 +1205,10 @@ public class LibMatrixReorg
 		out.reset(m2, n2, false); //always dense
 		out.allocateDenseBlock();
 		
-		SparseRow[] a = in.getSparseRows();
-		double[] c = out.getDenseArray();
-		
 		if( m==1 ) //ROW VECTOR TRANSPOSE
 		{
-			SparseRow arow = a[0];
+			SparseRow arow = in.getSparseRows()[0];
+			double[] c = out.getDenseArray();
 			int alen = arow.size();
 			int[] aix = arow.getIndexContainer();
 			double[] avals = arow.getValueContainer();
@@ -839,47 +1217,126 @@ public class LibMatrixReorg
 		}
 		else //MATRIX TRANSPOSE
 		{
-			//blocking according to typical L2 cache sizes 
-			final int blocksizeI = 128;
-			final int blocksizeJ = 128; 
+			transposeSparseToDense(in, out, 0, n);
+		}
+		out.nonZeros = in.nonZeros;
+	}
+	
+	/**
+	 * Sparse-dense transpose of the input column range [cl, cu), 
+	 * i.e., the output row range [cl, cu).
+	 * 
+	 * @param in
+	 * @param out
+	 * @param cl
+	 * @param cu
+	 */
+	private static void transposeSparseToDense(MatrixBlock in, MatrixBlock out, int cl, int cu) 
+	{
+		final int m = in.rlen;
+		final int n2 = out.clen;
 		
-			//temporary array for block boundaries (for preventing binary search) 
-			int[] ix = new int[blocksizeI];
-			
-			//blocked execution
-			for( int bi = 0; bi<m; bi+=blocksizeI )
+		SparseRow[] a = in.getSparseRows();
+		double[] c = out.getDenseArray();
+		
+		//blocking according to typical L2 cache sizes 
+		final int blocksizeI = 128;
+		final int blocksizeJ = 128; 
+	
+		//temporary array for block boundaries (for preventing binary search) 
+		int[] ix = new int[blocksizeI];
+		
+		//blocked execution
+		for( int bi = 0; bi<m; bi+=blocksizeI )
+		{
+			int bimin = Math.min(bi+blocksizeI, m);
+			initBlockBoundaries(a, ix, bi, bimin, cl);
+			for( int bj = cl; bj<cu; bj+=blocksizeJ )
 			{
-				Arrays.fill(ix, 0);
-				for( int bj = 0; bj<n; bj+=blocksizeJ )
+				int bjmin = Math.min(bj+blocksizeJ, cu);
+				
+				//core transpose operation
+				for( int i=bi, iix=0; i<bimin; i++, iix++ )
 				{
-					int bimin = Math.min(bi+blocksizeI, m);
-					int bjmin = Math.min(bj+blocksizeJ, n);
-	
-					//core transpose operation
-					for( int i=bi, iix=0; i<bimin; i++, iix++ )
+					SparseRow arow = a[i];
+					if( arow!=null && !arow.isEmpty() )
 					{
-						SparseRow arow = a[i];
-						if( arow!=null && !arow.isEmpty() )
-						{
-							int alen = arow.size();
-							double[] avals = arow.getValueContainer();
-							int[] aix = arow.getIndexContainer();
-							int j = ix[iix]; //last block boundary
-							for( ; j<alen && aix[j]<bjmin; j++ )
-								c[ aix[j]*n2+i ] = avals[ j ];
-							ix[iix] = j; //keep block boundary						
-						}
+						int alen = arow.size();
+						double[] avals = arow.getValueContainer();
+						int[] aix = arow.getIndexContainer();
+						int j = ix[iix]; //last block boundary
+						for( ; j<alen && aix[j]<bjmin; j++ )
+							c[ aix[j]*n2+i ] = avals[ j ];
+						ix[iix] = j; //keep block boundary						
 					}
 				}
 			}
 		}
-		out.nonZeros = in.nonZeros;
 	}
 	
 	/**
+	 * Initializes the block boundaries of the rows [rl, ru) to the position
+	 * of the first non-zero with column index >= cl (or the row size if none).
 	 * 
 	 * @param a
-	 * @param c
+	 * @param ix
+	 * @param rl
+	 * @param ru
+	 * @param cl
+	 */
+	private static void initBlockBoundaries( SparseRow[] a, int[] ix, int rl, int ru, int cl )
+	{
+		for( int i=rl, iix=0; i<ru; i++, iix++ ) {
+			SparseRow arow = a[i];
+			if( cl == 0 || arow==null || arow.isEmpty() )
+				ix[iix] = 0;
+			else {
+				int pos = arow.searchIndexesFirstGTE(cl);
+				ix[iix] = (pos >= 0) ? pos : arow.size();
+			}
+		}
+	}
+	
+	/**
+	 * Counts the non-zeros per input column in the range [cl, cu) and allocates
+	 * the corresponding output sparse rows with exact capacity. This first pass 
+	 * of the parallel sparse transpose prevents sparse row reallocations.
+	 * 
+	 * @param in
+	 * @param out
+	 * @param cl
+	 * @param cu
+	 */
+	private static void allocateTransposeSparseRows(MatrixBlock in, MatrixBlock out, int cl, int cu)
+	{
+		final int m = in.rlen;
+		SparseRow[] a = in.getSparseRows();
+		SparseRow[] c = out.getSparseRows();
+		
+		//count non-zeros per output row
+		int[] cnt = new int[cu-cl];
+		for( int i=0; i<m; i++ ) {
+			SparseRow arow = a[i];
+			if( arow!=null && !arow.isEmpty() ) {
+				int alen = arow.size();
+				int[] aix = arow.getIndexContainer();
+				int j = (cl==0) ? 0 : arow.searchIndexesFirstGTE(cl);
+				if( j < 0 ) continue;
+				for( ; j<alen && aix[j]<cu; j++ )
+					cnt[aix[j]-cl]++;
+			}
+		}
+		
+		//allocate output sparse rows
+		for( int i=cl; i<cu; i++ )
+			if( cnt[i-cl] > 0 )
+				c[i] = new SparseRow(cnt[i-cl]);
+	}
+	
+	/**
+	 * 
+	 * @param a
+	 * @param c
 	 * @param aix
 	 * @param cix
 	 * @param n2
@@ -1008,21 +1465,41 @@ public class LibMatrixReorg
 			}
 			else //GENERAL CASE: MATRIX->MATRIX
 			{
-				//note: cache-friendly on c but not an a
-				for( int i=0, cix=0; i<rows; i++ )
-					for( int j=0, aix2=i; j<cols; j++, aix2+=rows )
-					{
-						int ai = aix2%rlen;
-						int aj = aix2/rlen;
-						c[ cix++ ] = a[ ai*clen+aj ];				
-					}			
-				//index conversion c[i,j]<- a[k,l]: 
-				// k = (rows*j+i)%rlen
-				// l = (rows*j+i)/rlen
+				reshapeDense(in, out, rows, cols, 0, rows);
 			}
 		}
 	}
 	
+	/**
+	 * Column-wise dense-dense reshape (general case) of the output row range [rl, ru).
+	 * 
+	 * @param in
+	 * @param out
+	 * @param rows
+	 * @param cols
+	 * @param rl
+	 * @param ru
+	 */
+	private static void reshapeDense( MatrixBlock in, MatrixBlock out, int rows, int cols, int rl, int ru ) 
+	{
+		int rlen = in.rlen;
+		int clen = in.clen;
+		double[] a = in.denseBlock;
+		double[] c = out.denseBlock;
+		
+		//note: cache-friendly on c but not an a
+		for( int i=rl, cix=rl*cols; i<ru; i++ )
+			for( int j=0, aix2=i; j<cols; j++, aix2+=rows )
+			{
+				int ai = aix2%rlen;
+				int aj = aix2/rlen;
+				c[ cix++ ] = a[ ai*clen+aj ];				
+			}			
+		//index conversion c[i,j]<- a[k,l]: 
+		// k = (rows*j+i)%rlen
+		// l = (rows*j+i)/rlen
+	}
+	
 	/**
 	 * 
 	 * @param in
@@ -1074,29 +1551,7 @@ public class LibMatrixReorg
 			}
 			else //GENERAL CASE: MATRIX->MATRIX
 			{
-				//note: cache-friendly on a but not c; append-only
-				//long cix because total cells in sparse can be larger than int
-				long cix = 0;
-				
-				for( int i=0; i<rlen; i++ ) 
-				{
-					SparseRow arow = aRows[i];
-					if( arow!=null && !arow.isEmpty() ){
-						int alen = arow.size();
-						int[] aix = arow.getIndexContainer();
-						double[] avals = arow.getValueContainer();	
-						for( int j=0; j<alen; j++ )
-						{
-							int ci = (int)((cix+aix[j])/cols);
-							int cj = (int)((cix+aix[j])%cols);       
-							if( cRows[ci] == null )
-								cRows[ci] = new SparseRow(estnnz, cols);
-							cRows[ci].append(cj, avals[j]);
-						}
-					}	
-					
-					cix += clen;
-				}
+				reshapeSparse(in, out, rows, cols, 0, rows);
 			}
 		}	
 		else //colwise
@@ -1150,6 +1605,55 @@ public class LibMatrixReorg
 		}
 	}
 	
+	/**
+	 * Row-wise sparse-sparse reshape (general case) of the output row range [rl, ru).
+	 * 
+	 * @param in
+	 * @param out
+	 * @param rows
+	 * @param cols
+	 * @param rl
+	 * @param ru
+	 */
+	private static void reshapeSparse( MatrixBlock in, MatrixBlock out, int rows, int cols, int rl, int ru )
+	{
+		int rlen = in.rlen;
+		int clen = in.clen;
+		int estnnz = (int) (in.nonZeros/rows);
+		SparseRow[] aRows = in.sparseRows;
+		SparseRow[] cRows = out.sparseRows;
+		
+		//determine input row range of output rows [rl, ru)
+		int arl = (int)(((long)rl*cols)/clen);
+		int aru = (int)Math.min(rlen, (((long)ru*cols)+clen-1)/clen);
+		
+		//note: cache-friendly on a but not c; append-only
+		//long cix because total cells in sparse can be larger than int
+		long cix = (long)arl*clen;
+		
+		for( int i=arl; i<aru; i++ ) 
+		{
+			SparseRow arow = aRows[i];
+			if( arow!=null && !arow.isEmpty() ){
+				int alen = arow.size();
+				int[] aix = arow.getIndexContainer();
+				double[] avals = arow.getValueContainer();	
+				for( int j=0; j<alen; j++ )
+				{
+					int ci = (int)((cix+aix[j])/cols);
+					int cj = (int)((cix+aix[j])%cols);       
+					if( ci < rl || ci >= ru ) //output row of other partition
+						continue;
+					if( cRows[ci] == null )
+						cRows[ci] = new SparseRow(estnnz, cols);
+					cRows[ci].append(cj, avals[j]);
+				}
+			}	
+			
+			cix += clen;
+		}
+	}
+	
 	/**
 	 * 
 	 * @param in
@@ -1161,7 +1665,6 @@ public class LibMatrixReorg
 	private static void reshapeDenseToSparse( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise )
 	{
 		int rlen = in.rlen;
-		int clen = in.clen;
 		
 		//reshape empty block
 		if( in.denseBlock == null )
@@ -1176,14 +1679,51 @@ public class LibMatrixReorg
 		double[] a = in.denseBlock;
 		SparseRow[] cRows = out.sparseRows;
 		
-		if( rowwise )
+		if( !rowwise && rlen==1 ) //VECTOR->MATRIX
+		{
+			//note: cache-friendly on a but not c; append-only
+			for( int j=0, aix=0; j<cols; j++ )
+				for( int i=0; i<rows; i++ ) 
+				{
+					double val = a[aix++];
+					if( val != 0 ){
+						if( cRows[i] == null )
+							cRows[i] = new SparseRow(estnnz, cols);
+						cRows[i].append(j, val);
+					}
+				}
+		}
+		else //GENERAL CASE: MATRIX->MATRIX
 		{
 			//NOTES on special cases
-			// * vector-matrix, matrix-vector not really different from general
-			
-			//GENERAL CASE: MATRIX->MATRIX
+			// * vector-matrix (rowwise), matrix-vector not really different from general
+			reshapeDenseToSparse(in, out, rows, cols, rowwise, 0, rows);
+		}
+	}
+	
+	/**
+	 * Dense-sparse reshape (general case) of the output row range [rl, ru).
+	 * 
+	 * @param in
+	 * @param out
+	 * @param rows
+	 * @param cols
+	 * @param rowwise
+	 * @param rl
+	 * @param ru
+	 */
+	private static void reshapeDenseToSparse( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int rl, int ru )
+	{
+		int rlen = in.rlen;
+		int clen = in.clen;
+		int estnnz = (int) (in.nonZeros/rows);
+		double[] a = in.denseBlock;
+		SparseRow[] cRows = out.sparseRows;
+		
+		if( rowwise )
+		{
 			//note: cache-friendly on a and c; append-only
-			for( int i=0, aix=0; i<rows; i++ ) 
+			for( int i=rl, aix=rl*cols; i<ru; i++ ) 
 				for( int j=0; j<cols; j++ )
 				{
 					double val = a[aix++];
@@ -1196,39 +1736,19 @@ public class LibMatrixReorg
 		}	
 		else //colwise
 		{
-			//NOTES on special cases
-			// * matrix-vector not really different from general
-			
-			if( rlen==1 ) //VECTOR->MATRIX
-			{
-				//note: cache-friendly on a but not c; append-only
-				for( int j=0, aix=0; j<cols; j++ )
-					for( int i=0; i<rows; i++ ) 
-					{
-						double val = a[aix++];
-						if( val != 0 ){
-							if( cRows[i] == null )
-								cRows[i] = new SparseRow(estnnz, cols);
-							cRows[i].append(j, val);
-						}
+			//note: cache-friendly on c but not a; append-only
+			for( int i=rl; i<ru; i++ )
+				for( int j=0, aix2=i; j<cols; j++, aix2+=rows )
+				{
+					int ai = aix2%rlen;
+					int aj = aix2/rlen;
+					double val = a[ ai*clen+aj ];
+					if( val != 0 ){
+						if( cRows[i] == null )
+							cRows[i] = new SparseRow(estnnz, cols);
+						cRows[i].append(j, val);
 					}
-			}
-			else //GENERAL CASE: MATRIX->MATRIX
-			{
-				//note: cache-friendly on c but not a; append-only
-				for( int i=0; i<rows; i++ )
-					for( int j=0, aix2=i; j<cols; j++, aix2+=rows )
-					{
-						int ai = aix2%rlen;
-						int aj = aix2/rlen;
-						double val = a[ ai*clen+aj ];
-						if( val != 0 ){
-							if( cRows[i] == null )
-								cRows[i] = new SparseRow(estnnz, cols);
-							cRows[i].append(j, val);
-						}
-					}			
-			}
+				}			
 		}
 	}
 	
@@ -1264,18 +1784,7 @@ public class LibMatrixReorg
 			// * vector-matrix, matrix-vector not really different from general
 			
 			//GENERAL CASE: MATRIX->MATRIX
-			//note: cache-friendly on a and c
-			for( int i=0, cix=0; i<rlen; i++, cix+=clen ) 
-			{
-				SparseRow arow = aRows[i];
-				if( arow!=null && !arow.isEmpty() ){
-					int alen = arow.size();
-					int[] aix = arow.getIndexContainer();
-					double[] avals = arow.getValueContainer();	
-					for( int j=0; j<alen; j++ )
-						c[cix+aix[j]] = avals[j];
-				}	
-			}
+			reshapeSparseToDense(in, out, 0, rlen);
 		}	
 		else //colwise
 		{
@@ -1321,6 +1830,58 @@ public class LibMatrixReorg
 		}
 	}
 	
+	/**
+	 * Row-wise sparse-dense reshape of the input row range [rl, ru).
+	 * 
+	 * @param in
+	 * @param out
+	 * @param rl
+	 * @param ru
+	 */
+	private static void reshapeSparseToDense( MatrixBlock in, MatrixBlock out, int rl, int ru ) 
+	{
+		int clen = in.clen;
+		SparseRow[] aRows = in.sparseRows;
+		double[] c = out.denseBlock;
+		
+		//note: cache-friendly on a and c
+		for( int i=rl, cix=rl*clen; i<ru; i++, cix+=clen ) 
+		{
+			SparseRow arow = aRows[i];
+			if( arow!=null && !arow.isEmpty() ){
+				int alen = arow.size();
+				int[] aix = arow.getIndexContainer();
+				double[] avals = arow.getValueContainer();	
+				for( int j=0; j<alen; j++ )
+					c[cix+aix[j]] = avals[j];
+			}	
+		}
+	}
+	
+	/**
+	 * Reshape of the given row range (see multi-threaded reshape for the
+	 * supported cases and the semantics of the row range).
+	 * 
+	 * @param in
+	 * @param out
+	 * @param rows
+	 * @param cols
+	 * @param rowwise
+	 * @param rl
+	 * @param ru
+	 */
+	private static void reshape( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int rl, int ru ) 
+	{
+		if( !in.sparse && !out.sparse )
+			reshapeDense(in, out, rows, cols, rl, ru);
+		else if( !in.sparse )
+			reshapeDenseToSparse(in, out, rows, cols, rowwise, rl, ru);
+		else if( out.sparse )
+			reshapeSparse(in, out, rows, cols, rl, ru);
+		else
+			reshapeSparseToDense(in, out, rl, ru);
+	}
+	
 	///////////////////////////////
 	// private MR implementation //
 	///////////////////////////////
@@ -1673,32 +2234,7 @@ public class LibMatrixReorg
 		
 			flags = new boolean[ m ]; //false
 			//Step 1: scan block and determine non-empty rows
-			
-			if( in.sparse ) //SPARSE 
-			{
-				SparseRow[] a = in.sparseRows;
-				
-				for ( int i=0; i < m; i++ )
-					if ( a[i] != null && !a[i].isEmpty() ) {
-						flags[i] = true;
-						rlen2++;
-					}
-			}
-			else //DENSE
-			{
-				double[] a = in.denseBlock;
-				
-				for(int i=0, aix=0; i<m; i++, aix+=n) {
-					for(int j=0; j<n; j++)
-						if( a[aix+j] != 0 )
-						{
-							flags[i] = true;
-							rlen2++;
-							//early abort for current row
-							break; 
-						}
-				}
-			}
+			rlen2 = scanNonEmptyRows(in, flags, 0, m);
 		} else {			
 			flags = DataConverter.convertToBooleanVector(select);
 			rlen2 = (int)select.getNonZeros();
@@ -1772,27 +2308,7 @@ public class LibMatrixReorg
 		
 		if (select == null) {
 			flags = new boolean[ n ]; //false
-			if( in.sparse ) //SPARSE 
-			{
-				SparseRow[] a = in.sparseRows;
-				
-				for( int i=0; i<m; i++ ) 
-					if ( a[i] != null && !a[i].isEmpty() ) {
-						int alen = a[i].size();
-						int[] aix = a[i].getIndexContainer();
-						for( int j=0; j<alen; j++ )
-							flags[ aix[j] ] = true;
-					}
-			}
-			else //DENSE
-			{
-				double[] a = in.denseBlock;
-				
-				for(int i=0, aix=0; i<m; i++)
-					for(int j=0; j<n; j++, aix++)
-						if( a[aix] != 0 )
-							flags[j] = true; 	
-			}
+			scanNonEmptyColumns(in, flags, 0, m);
 		} else {			
 			flags = DataConverter.convertToBooleanVector(select);
 		}
@@ -1859,6 +2375,384 @@ public class LibMatrixReorg
 		return ret;
 	}
 	
+	
+	/**
+	 * 
+	 * @param in
+	 * @param ret
+	 * @param select
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static MatrixBlock removeEmptyRows(MatrixBlock in, MatrixBlock ret, MatrixBlock select, int k) 
+		throws DMLRuntimeException
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		final int blklen = (int)(Math.ceil((double)m/k));
+		
+		ExecutorService pool = Executors.newFixedThreadPool( k );
+		try
+		{
+			//Step 1: scan block and determine non-empty rows (in parallel)
+			boolean[] flags = null;
+			if( select == null ) {
+				flags = new boolean[ m ]; //false
+				ArrayList<RemoveEmptyScanTask> tasks = new ArrayList<RemoveEmptyScanTask>();
+				for( int i=0; i<k & i*blklen<m; i++ )
+					tasks.add(new RemoveEmptyScanTask(in, flags, true, i*blklen, Math.min((i+1)*blklen, m)));
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get(); //error handling
+			}
+			else {
+				flags = DataConverter.convertToBooleanVector(select);
+			}
+			
+			//Step 2: determine output row offsets of all partitions
+			int[] offsets = new int[k];
+			int rlen2 = 0;
+			for( int i=0; i<m; i++ ) {
+				if( i % blklen == 0 )
+					offsets[i/blklen] = rlen2;
+				rlen2 += flags[i] ? 1 : 0;
+			}
+			
+			//Step 3: reset result and copy rows (in parallel)
+			rlen2 = Math.max(rlen2, 1); //ensure valid output
+			boolean sp = MatrixBlock.evalSparseFormatInMemory(rlen2, n, in.nonZeros);
+			ret.reset(rlen2, n, sp);
+			ret.allocateDenseOrSparseBlock();
+			
+			ArrayList<RemoveEmptyCopyTask> tasks = new ArrayList<RemoveEmptyCopyTask>();
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new RemoveEmptyCopyTask(in, ret, flags, offsets[i], true, i*blklen, Math.min((i+1)*blklen, m)));
+			List<Future<Long>> rt = pool.invokeAll(tasks);
+			
+			//aggregate partial nnz
+			long nnz = 0;
+			for( Future<Long> task : rt )
+				nnz += task.get();
+			ret.nonZeros = nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		//check sparsity
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param in
+	 * @param ret
+	 * @param select
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static MatrixBlock removeEmptyColumns(MatrixBlock in, MatrixBlock ret, MatrixBlock select, int k) 
+		throws DMLRuntimeException
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		final int blklen = (int)(Math.ceil((double)m/k));
+		
+		ExecutorService pool = Executors.newFixedThreadPool( k );
+		try
+		{
+			//Step 1: scan block and determine non-empty columns (in parallel)
+			//(concurrent tasks only set flags to true, which is safe w/o synchronization)
+			boolean[] flags = null;
+			if( select == null ) {
+				flags = new boolean[ n ]; //false
+				ArrayList<RemoveEmptyScanTask> tasks = new ArrayList<RemoveEmptyScanTask>();
+				for( int i=0; i<k & i*blklen<m; i++ )
+					tasks.add(new RemoveEmptyScanTask(in, flags, false, i*blklen, Math.min((i+1)*blklen, m)));
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get(); //error handling
+			}
+			else {
+				flags = DataConverter.convertToBooleanVector(select);
+			}
+			
+			//Step 2: determine number of columns and create mapping of flags to target indexes
+			int clen2 = 0;
+			int[] cix = new int[n];
+			for( int j=0; j<n; j++ )
+				if( flags[j] )
+					cix[j] = clen2++;
+			
+			//Step 3: reset result and copy cols (in parallel)
+			clen2 = Math.max(clen2, 1); //ensure valid output
+			boolean sp = MatrixBlock.evalSparseFormatInMemory(m, clen2, in.nonZeros);
+			ret.reset(m, clen2, sp);
+			ret.allocateDenseOrSparseBlock();
+			
+			ArrayList<RemoveEmptyCopyTask> tasks = new ArrayList<RemoveEmptyCopyTask>();
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new RemoveEmptyCopyTask(in, ret, flags, cix, i*blklen, Math.min((i+1)*blklen, m)));
+			List<Future<Long>> rt = pool.invokeAll(tasks);
+			
+			//aggregate partial nnz
+			long nnz = 0;
+			for( Future<Long> task : rt )
+				nnz += task.get();
+			ret.nonZeros = nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		//check sparsity
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	/**
+	 * Determines the non-empty rows of the input row range [rl, ru).
+	 * 
+	 * @param in
+	 * @param flags
+	 * @param rl
+	 * @param ru
+	 * @return
+	 */
+	private static int scanNonEmptyRows(MatrixBlock in, boolean[] flags, int rl, int ru)
+	{
+		final int n = in.clen;
+		int lrlen2 = 0;
+		
+		if( in.sparse ) //SPARSE 
+		{
+			SparseRow[] a = in.sparseRows;
+			
+			for ( int i=rl; i < ru; i++ )
+				if ( a[i] != null && !a[i].isEmpty() ) {
+					flags[i] = true;
+					lrlen2++;
+				}
+		}
+		else //DENSE
+		{
+			double[] a = in.denseBlock;
+			
+			for(int i=rl, aix=rl*n; i<ru; i++, aix+=n) {
+				for(int j=0; j<n; j++)
+					if( a[aix+j] != 0 )
+					{
+						flags[i] = true;
+						lrlen2++;
+						//early abort for current row
+						break; 
+					}
+			}
+		}
+		
+		return lrlen2;
+	}
+	
+	/**
+	 * Determines the non-empty columns of the input row range [rl, ru).
+	 * 
+	 * @param in
+	 * @param flags
+	 * @param rl
+	 * @param ru
+	 */
+	private static void scanNonEmptyColumns(MatrixBlock in, boolean[] flags, int rl, int ru)
+	{
+		final int n = in.clen;
+		
+		if( in.sparse ) //SPARSE 
+		{
+			SparseRow[] a = in.sparseRows;
+			
+			for( int i=rl; i<ru; i++ ) 
+				if ( a[i] != null && !a[i].isEmpty() ) {
+					int alen = a[i].size();
+					int[] aix = a[i].getIndexContainer();
+					for( int j=0; j<alen; j++ )
+						flags[ aix[j] ] = true;
+				}
+		}
+		else //DENSE
+		{
+			double[] a = in.denseBlock;
+			
+			for(int i=rl, aix=rl*n; i<ru; i++)
+				for(int j=0; j<n; j++, aix++)
+					if( a[aix] != 0 )
+						flags[j] = true; 	
+		}
+	}
+	
+	/**
+	 * Copies the selected rows of the input row range [rl, ru) into the 
+	 * preallocated output, starting at output row cix. Returns the number 
+	 * of copied non-zeros.
+	 * 
+	 * @param in
+	 * @param ret
+	 * @param flags
+	 * @param rl
+	 * @param ru
+	 * @param cix
+	 * @return
+	 */
+	private static long copyNonEmptyRows(MatrixBlock in, MatrixBlock ret, boolean[] flags, int rl, int ru, int cix)
+	{
+		final int n = in.clen;
+		long lnnz = 0;
+		
+		if( in.sparse ) //* <- SPARSE
+		{
+			SparseRow[] a = in.sparseRows;
+			for( int i=rl; i<ru; i++ ) {
+				if( !flags[i] ) 
+					continue;
+				if( a[i] != null && !a[i].isEmpty() ) {
+					int alen = a[i].size();
+					if( ret.sparse ) {
+						ret.sparseRows[cix] = new SparseRow(a[i]);
+					}
+					else {
+						int[] aix = a[i].getIndexContainer();
+						double[] avals = a[i].getValueContainer();
+						double[] c = ret.denseBlock;
+						for( int j=0, lcix=cix*n; j<alen; j++ )
+							c[lcix+aix[j]] = avals[j];
+					}
+					lnnz += alen;
+				}
+				cix++;
+			}
+		}
+		else if( !ret.sparse )  //DENSE <- DENSE
+		{
+			double[] a = in.denseBlock;
+			double[] c = ret.denseBlock;
+			
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
+				if( flags[i] ) {
+					System.arraycopy(a, aix, c, cix*n, n);
+					for( int j=0; j<n; j++ )
+						lnnz += (a[aix+j]!=0) ? 1 : 0;
+					cix++; //target index
+				}
+		}
+		else //SPARSE <- DENSE
+		{
+			double[] a = in.denseBlock;
+			SparseRow[] c = ret.sparseRows;
+			
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
+				if( flags[i] ) {
+					SparseRow crow = new SparseRow((int)(in.nonZeros/ret.rlen), n);
+					for( int j=0; j<n; j++ )
+						crow.append(j, a[aix+j]);
+					if( !crow.isEmpty() ) {
+						c[cix] = crow;
+						lnnz += crow.size();
+					}
+					cix++;
+				}
+		}
+		
+		return lnnz;
+	}
+	
+	/**
+	 * Copies the selected columns of the input row range [rl, ru) into the
+	 * preallocated output, where cix maps input to output column indexes. 
+	 * Returns the number of copied non-zeros.
+	 * 
+	 * @param in
+	 * @param ret
+	 * @param flags
+	 * @param cix
+	 * @param rl
+	 * @param ru
+	 * @return
+	 */
+	private static long copyNonEmptyColumns(MatrixBlock in, MatrixBlock ret, boolean[] flags, int[] cix, int rl, int ru)
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		final int clen2 = ret.clen;
+		long lnnz = 0;
+		
+		if( in.sparse ) //* <- SPARSE 
+		{
+			SparseRow[] a = in.sparseRows;
+			
+			for( int i=rl; i<ru; i++ ) 
+				if ( a[i] != null && !a[i].isEmpty() ) {
+					int alen = a[i].size();
+					int[] aix = a[i].getIndexContainer();
+					double[] avals = a[i].getValueContainer();
+					if( ret.sparse ) {
+						SparseRow crow = new SparseRow(alen);
+						for( int j=0; j<alen; j++ )
+							if( flags[aix[j]] )
+								crow.append(cix[aix[j]], avals[j]);
+						if( !crow.isEmpty() ) {
+							ret.sparseRows[i] = crow;
+							lnnz += crow.size();
+						}
+					}
+					else {
+						double[] c = ret.denseBlock;
+						for( int j=0, lcix=i*clen2; j<alen; j++ )
+							if( flags[aix[j]] ) {
+								c[lcix+cix[aix[j]]] = avals[j];
+								lnnz++;
+							}
+					}
+				}
+		}
+		else if( !ret.sparse )  //DENSE <- DENSE
+		{
+			double[] a = in.denseBlock;
+			double[] c = ret.denseBlock;
+			
+			for(int i=rl, aix=rl*n, lcix=rl*clen2; i<ru; i++, lcix+=clen2)
+				for(int j=0; j<n; j++, aix++)
+					if( a[aix] != 0 && flags[j] ) {
+						c[ lcix+cix[j] ] = a[aix];
+						lnnz++;
+					}
+		}
+		else //SPARSE <- DENSE
+		{
+			double[] a = in.denseBlock;
+			SparseRow[] c = ret.sparseRows;
+			
+			for(int i=rl, aix=rl*n; i<ru; i++) {
+				SparseRow crow = new SparseRow((int)(in.nonZeros/m), clen2);
+				for(int j=0; j<n; j++, aix++)
+					if( a[aix] != 0 && flags[j] )
+						crow.append(cix[j], a[aix]);
+				if( !crow.isEmpty() ) {
+					c[i] = crow;
+					lnnz += crow.size();
+				}
+			}
+		}
+		
+		return lnnz;
+	}
+	
 	/**
 	 * 
 	 * @param in
@@ -2108,4 +3002,228 @@ public class LibMatrixReorg
 			return (val0 > val1 ? -1 : (val0 == val1 ? 0 : 1));
 		}		
 	}
+	
+	/////////////////////////////////////////////////////////
+	// Task Implementations for Multi-Threaded Operations  //
+	/////////////////////////////////////////////////////////
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class SortTask implements Callable<Object> 
+	{
+		private double[] _values = null;
+		private int[] _vix = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected SortTask( double[] values, int[] vix, int rl, int ru )
+		{
+			_values = values;
+			_vix = vix;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() 
+		{
+			if( _vix != null ) //stable sort w/ index vector
+				SortUtils.sortByValueStable(_rl, _ru, _values, _vix);
+			else //values only
+				Arrays.sort(_values, _rl, _ru);
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class MergeTask implements Callable<Object> 
+	{
+		private double[] _a = null;
+		private int[] _aix = null;
+		private double[] _c = null;
+		private int[] _cix = null;
+		private int _al = -1;
+		private int _au = -1;
+		private int _bl = -1;
+		private int _bu = -1;
+		private int _cl = -1;
+		
+		protected MergeTask( double[] a, int[] aix, double[] c, int[] cix, int al, int au, int bl, int bu, int cl )
+		{
+			_a = a;
+			_aix = aix;
+			_c = c;
+			_cix = cix;
+			_al = al;
+			_au = au;
+			_bl = bl;
+			_bu = bu;
+			_cl = cl;
+		}
+		
+		@Override
+		public Object call() 
+		{
+			mergeSortedRuns(_a, _aix, _c, _cix, _al, _au, _bl, _bu, _cl);
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class TransposeTask implements Callable<Object> 
+	{
+		private MatrixBlock _in = null;
+		private MatrixBlock _out = null;
+		private int _cl = -1;
+		private int _cu = -1;
+		
+		protected TransposeTask( MatrixBlock in, MatrixBlock out, int cl, int cu )
+		{
+			_in = in;
+			_out = out;
+			_cl = cl;
+			_cu = cu;
+		}
+		
+		@Override
+		public Object call() 
+		{
+			if( !_in.sparse && !_out.sparse )
+				transposeDenseToDense( _in, _out, _cl, _cu );
+			else if( _in.sparse && _out.sparse ) {
+				allocateTransposeSparseRows( _in, _out, _cl, _cu );
+				transposeSparseToSparse( _in, _out, _cl, _cu );
+			}
+			else if( _in.sparse )
+				transposeSparseToDense( _in, _out, _cl, _cu );
+			else
+				transposeDenseToSparse( _in, _out, _cl, _cu );
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class ReshapeTask implements Callable<Object> 
+	{
+		private MatrixBlock _in = null;
+		private MatrixBlock _out = null;
+		private int _rows = -1;
+		private int _cols = -1;
+		private boolean _rowwise = true;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected ReshapeTask( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int rl, int ru )
+		{
+			_in = in;
+			_out = out;
+			_rows = rows;
+			_cols = cols;
+			_rowwise = rowwise;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() 
+		{
+			reshape( _in, _out, _rows, _cols, _rowwise, _rl, _ru );
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class RemoveEmptyScanTask implements Callable<Object> 
+	{
+		private MatrixBlock _in = null;
+		private boolean[] _flags = null;
+		private boolean _rows = true;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected RemoveEmptyScanTask( MatrixBlock in, boolean[] flags, boolean rows, int rl, int ru )
+		{
+			_in = in;
+			_flags = flags;
+			_rows = rows;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() 
+		{
+			if( _rows )
+				scanNonEmptyRows( _in, _flags, _rl, _ru );
+			else
+				scanNonEmptyColumns( _in, _flags, _rl, _ru );
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class RemoveEmptyCopyTask implements Callable<Long> 
+	{
+		private MatrixBlock _in = null;
+		private MatrixBlock _ret = null;
+		private boolean[] _flags = null;
+		private int[] _cix = null; //column mapping (cols)
+		private int _off = -1;     //output row offset (rows)
+		private boolean _rows = true;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected RemoveEmptyCopyTask( MatrixBlock in, MatrixBlock ret, boolean[] flags, int off, boolean rows, int rl, int ru )
+		{
+			_in = in;
+			_ret = ret;
+			_flags = flags;
+			_off = off;
+			_rows = rows;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		protected RemoveEmptyCopyTask( MatrixBlock in, MatrixBlock ret, boolean[] flags, int[] cix, int rl, int ru )
+		{
+			_in = in;
+			_ret = ret;
+			_flags = flags;
+			_cix = cix;
+			_rows = false;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() 
+		{
+			if( _rows )
+				return copyNonEmptyRows( _in, _ret, _flags, _rl, _ru, _off );
+			else
+				return copyNonEmptyColumns( _in, _ret, _flags, _cix, _rl, _ru );
+		}
+	}
 }
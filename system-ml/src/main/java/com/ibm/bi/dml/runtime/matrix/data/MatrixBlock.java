@@ -29,7 +29,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.random.Well1024a;
 import org.apache.hadoop.io.DataInputBuffer;
@@ -77,6 +82,7 @@ import com.ibm.bi.dml.runtime.matrix.operators.Operator;
 import com.ibm.bi.dml.runtime.matrix.operators.QuaternaryOperator;
 import com.ibm.bi.dml.runtime.matrix.operators.ReorgOperator;
 import com.ibm.bi.dml.runtime.matrix.operators.ScalarOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.SimpleOperator;
 import com.ibm.bi.dml.runtime.matrix.operators.UnaryOperator;
 import com.ibm.bi.dml.runtime.util.DataConverter;
 import com.ibm.bi.dml.runtime.util.FastBufferedDataInputStream;
@@ -96,6 +102,9 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public static final double ULTRA_SPARSITY_TURN_POINT = 0.00004; 
 	//basic header (int rlen, int clen, byte type)
 	public static final int HEADER_SIZE = 9;
+	//min number of cells (non-zeros if sparse) for multi-threaded unary operations
+	private static final long PAR_UNARY_NUMCELL_THRESHOLD = 1024*1024; 
+	private static final long PAR_CTABLE_NUMCELL_THRESHOLD = 1024*1024; 
 	
 	public enum BlockType{
 		EMPTY_BLOCK,  
@@ -323,6 +332,89 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		maxcolumn = c;
 	}
 	
+	/**
+	 * Initializes this block as a dense r x c matrix that directly references
+	 * (i.e., does not copy) the given row-major array. Any subsequent modification
+	 * of the array is visible in this block and vice versa.
+	 *
+	 * NOTE: This method is designed for zero-copy input binding (e.g., JMLC),
+	 * where the caller guarantees to not modify the array during execution.
+	 *
+	 * @param arr
+	 * @param r
+	 * @param c
+	 * @throws DMLRuntimeException
+	 */
+	public void initDenseUnsafe(double[] arr, int r, int c)
+		throws DMLRuntimeException
+	{
+		//input checks
+		if( (long)r*c > arr.length )
+			throw new DMLRuntimeException("MatrixBlockDSM.initDenseUnsafe() invoked with too small array ("+arr.length+") for dimensions ("+r+","+c+")");
+		
+		//reset meta data and reference given array
+		rlen = r;
+		clen = c;
+		sparse = false;
+		sparseRows = null;
+		denseBlock = arr;
+		recomputeNonZeros();
+		
+		maxrow = r;
+		maxcolumn = c;
+	}
+	
+	/**
+	 * Initializes this block as a sparse r x c matrix from the given CSR
+	 * representation (row pointers, column indexes, values). Note that this is a
+	 * copying fallback: since the in-memory sparse representation uses one sparse 
+	 * row per row (MCSR), the given arrays cannot be referenced directly. Instead,
+	 * the indexes and values are copied once into exactly sized sparse rows, 
+	 * without intermediate buffers, reallocations, or sorting. Column indexes are 
+	 * expected to be sorted within each row.
+	 *
+	 * @param r
+	 * @param c
+	 * @param rowPtr
+	 * @param colIdx
+	 * @param values
+	 * @throws DMLRuntimeException
+	 */
+	public void initSparseCSR(int r, int c, int[] rowPtr, int[] colIdx, double[] values)
+		throws DMLRuntimeException
+	{
+		//input checks
+		if( rowPtr.length < r+1 )
+			throw new DMLRuntimeException("MatrixBlockDSM.initSparseCSR() invoked with too small row pointer array ("+rowPtr.length+") for "+r+" rows");
+		if( colIdx.length < rowPtr[r] || values.length < rowPtr[r] )
+			throw new DMLRuntimeException("MatrixBlockDSM.initSparseCSR() invoked with inconsistent CSR arrays ("+colIdx.length+","+values.length+") for "+rowPtr[r]+" non-zeros");
+		
+		//reset meta data and allocate sparse rows
+		rlen = r;
+		clen = c;
+		sparse = true;
+		denseBlock = null;
+		sparseRows = new SparseRow[r];
+		nonZeros = 0;
+		
+		//copy row segments into exactly sized sparse rows
+		for( int i=0; i<r; i++ ) {
+			int apos = rowPtr[i];
+			int alen = rowPtr[i+1] - apos;
+			if( alen > 0 ) {
+				SparseRow row = new SparseRow(alen);
+				System.arraycopy(colIdx, apos, row.getIndexContainer(), 0, alen);
+				System.arraycopy(values, apos, row.getValueContainer(), 0, alen);
+				row.setSize(alen);
+				sparseRows[i] = row;
+				nonZeros += alen;
+			}
+		}
+		
+		maxrow = r;
+		maxcolumn = c;
+	}
+	
 	/**
 	 * 
 	 * @param val
@@ -2994,7 +3086,10 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 			ret.reset(rlen, clen, sp, this.nonZeros);
 		
 		//core scalar operations
-		LibMatrixBincell.bincellOp(this, ret, op);
+		if( op.getNumThreads() > 1 )
+			LibMatrixBincell.bincellOp(this, ret, op, op.getNumThreads());
+		else
+			LibMatrixBincell.bincellOp(this, ret, op);
 		
 		return ret;
 	}
@@ -3023,12 +3118,17 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		if( LibMatrixAgg.isSupportedUnaryOperator(op) ) 
 		{
 			//e.g., cumsum/cumprod/cummin/cumax
-			LibMatrixAgg.aggregateUnaryMatrix(this, ret, op);
+			if( op.getNumThreads() > 1 )
+				LibMatrixAgg.aggregateUnaryMatrix(this, ret, op, op.getNumThreads());
+			else
+				LibMatrixAgg.aggregateUnaryMatrix(this, ret, op);
 		}
 		else
 		{
 			//default execute unary operations
-			if(op.sparseSafe)
+			if( op.getNumThreads() > 1 )
+				unaryOperations(op, ret, op.getNumThreads());
+			else if(op.sparseSafe)
 				sparseUnaryOperations(op, ret);
 			else
 				denseUnaryOperations(op, ret);
@@ -3095,6 +3195,141 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		}
 	}
 	
+	/**
+	 * Multi-threaded unary operations, where each thread processes a disjoint 
+	 * range of rows and the resulting nnz are merged after all tasks finished.
+	 * 
+	 * @param op
+	 * @param ret
+	 * @param k
+	 * @throws DMLUnsupportedOperationException
+	 * @throws DMLRuntimeException
+	 */
+	private void unaryOperations(UnaryOperator op, MatrixBlock ret, int k) 
+		throws DMLUnsupportedOperationException, DMLRuntimeException
+	{
+		final int m = rlen;
+		final int n = clen;
+		
+		//fall back to sequential execution for empty or small inputs
+		long work = sparse ? nonZeros : (long)m * n;
+		if( k <= 1 || isEmptyBlock(false) || m <= k || work < PAR_UNARY_NUMCELL_THRESHOLD ) {
+			if( op.sparseSafe )
+				sparseUnaryOperations(op, ret);
+			else
+				denseUnaryOperations(op, ret);
+			return;
+		}
+		
+		//prepare output (0-value init if sparse-unsafe on sparse input)
+		if( sparse && !op.sparseSafe ) {
+			double val0 = op.fn.execute(0);
+			if( val0 != 0 )
+				ret.init(val0, m, n);
+		}
+		ret.allocateDenseOrSparseBlock();
+		
+		//core multi-threaded unary operation
+		ExecutorService pool = Executors.newFixedThreadPool( k );
+		try
+		{
+			ArrayList<UnaryTask> tasks = new ArrayList<UnaryTask>();
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new UnaryTask(this, ret, op, i*blklen, Math.min((i+1)*blklen, m)));
+			List<Future<Long>> rt = pool.invokeAll(tasks);
+			
+			//aggregate partial nnz
+			long lnnz = 0;
+			for( Future<Long> task : rt )
+				lnnz += task.get();
+			ret.nonZeros = lnnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Unary operation on the row range [rl, ru) of this block, writing into 
+	 * the preallocated output. Returns the number of non-zeros in that range.
+	 * 
+	 * @param op
+	 * @param ret
+	 * @param rl
+	 * @param ru
+	 * @return
+	 * @throws DMLUnsupportedOperationException
+	 * @throws DMLRuntimeException
+	 */
+	private long unaryOperations(UnaryOperator op, MatrixBlock ret, int rl, int ru) 
+		throws DMLUnsupportedOperationException, DMLRuntimeException
+	{
+		final int n = clen;
+		long lnnz = 0;
+		
+		if( sparse && ret.sparse ) //SPARSE <- SPARSE
+		{
+			SparseRow[] a = sparseRows;
+			SparseRow[] c = ret.sparseRows;
+			
+			for( int i=rl; i<ru; i++ ) {
+				if( a[i]!=null && !a[i].isEmpty() )
+				{
+					int alen = a[i].size();
+					int[] aix = a[i].getIndexContainer();
+					double[] avals = a[i].getValueContainer();
+					
+					SparseRow crow = new SparseRow(alen);
+					for( int j=0; j<alen; j++ )
+						crow.append(aix[j], op.fn.execute(avals[j]));
+					if( !crow.isEmpty() ) {
+						c[i] = crow;
+						lnnz += crow.size();
+					}
+				}
+			}
+		}
+		else if( sparse ) //DENSE <- SPARSE
+		{
+			SparseRow[] a = sparseRows;
+			double[] c = ret.denseBlock;
+			
+			//update non-zero cells (zero cells already initialized)
+			for( int i=rl, cix=rl*n; i<ru; i++, cix+=n ) {
+				if( a[i]!=null && !a[i].isEmpty() )
+				{
+					int alen = a[i].size();
+					int[] aix = a[i].getIndexContainer();
+					double[] avals = a[i].getValueContainer();
+					
+					for( int j=0; j<alen; j++ )
+						c[cix+aix[j]] = op.fn.execute(avals[j]);
+				}
+			}
+			lnnz = ret.recomputeNonZeros(rl, ru-1, 0, n-1);
+		}
+		else //DENSE <- DENSE
+		{
+			double[] a = denseBlock;
+			double[] c = ret.denseBlock;
+			
+			//unary op, incl nnz maintenance
+			for( int i=rl, ix=rl*n; i<ru; i++ ) {
+				for( int j=0; j<n; j++, ix++ ) {
+					c[ix] = op.fn.execute(a[ix]);
+					if( c[ix] != 0 ) 
+						lnnz++;
+				}
+			}
+		}
+		
+		return lnnz;
+	}
+	
 	/**
 	 * 
 	 * @param op
@@ -3260,7 +3495,10 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 			ret.reset(rows, cols, resultSparse.sparse, resultSparse.estimatedNonZeros);
 		
 		//core binary cell operation
-		LibMatrixBincell.bincellOp( this, that, ret, op );
+		if( op.getNumThreads() > 1 )
+			LibMatrixBincell.bincellOp( this, that, ret, op, op.getNumThreads() );
+		else
+			LibMatrixBincell.bincellOp( this, that, ret, op );
 		
 		return ret;
 	}
@@ -4766,6 +5004,23 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 
 		return cmobj;
 	}
+	
+	/**
+	 * 
+	 * @param op
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public CM_COV_Object cmOperations(CMOperator op, int k) 
+		throws DMLRuntimeException 
+	{
+		//fallback to sequential for single thread, invalid dimensions, or empty blocks
+		if( k <= 1 || getNumColumns() != 1 || isEmptyBlock(false) )
+			return cmOperations(op);
+		
+		return LibMatrixAgg.aggregateCmCov(this, null, null, op, k);
+	}
 		
 	public CM_COV_Object cmOperations(CMOperator op, MatrixBlock weights) 
 		throws DMLRuntimeException 
@@ -4806,6 +5061,25 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		return cmobj;
 	}
 	
+	/**
+	 * 
+	 * @param op
+	 * @param weights
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public CM_COV_Object cmOperations(CMOperator op, MatrixBlock weights, int k) 
+		throws DMLRuntimeException 
+	{
+		//fallback to sequential for single thread, invalid dimensions, or empty blocks
+		if(    k <= 1 || getNumColumns() != 1 || weights.getNumColumns() != 1 
+			|| getNumRows() != weights.getNumRows() || isEmptyBlock(false) || weights.isEmptyBlock(false) )
+			return cmOperations(op, weights);
+		
+		return LibMatrixAgg.aggregateCmCov(this, weights, null, op, k);
+	}
+	
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that) 
 		throws DMLRuntimeException 
 	{
@@ -4845,6 +5119,25 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		return covobj;
 	}
 	
+	/**
+	 * 
+	 * @param op
+	 * @param that
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that, int k) 
+		throws DMLRuntimeException 
+	{
+		//fallback to sequential for single thread, invalid dimensions, or empty blocks
+		if(    k <= 1 || getNumColumns() != 1 || that.getNumColumns() != 1 
+			|| getNumRows() != that.getNumRows() || isEmptyBlock(false) || that.isEmptyBlock(false) )
+			return covOperations(op, that);
+		
+		return LibMatrixAgg.aggregateCmCov(this, that, null, op, k);
+	}
+	
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that, MatrixBlock weights) 
 		throws DMLRuntimeException 
 	{
@@ -4888,8 +5181,42 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		
 		return covobj;
 	}
+	
+	/**
+	 * 
+	 * @param op
+	 * @param that
+	 * @param weights
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that, MatrixBlock weights, int k) 
+		throws DMLRuntimeException 
+	{
+		//fallback to sequential for single thread, invalid dimensions, or empty blocks
+		if(    k <= 1 || getNumColumns() != 1 || that.getNumColumns() != 1 || weights.getNumColumns() != 1
+			|| getNumRows() != that.getNumRows() || getNumRows() != weights.getNumRows()
+			|| isEmptyBlock(false) || that.isEmptyBlock(false) || weights.isEmptyBlock(false) )
+			return covOperations(op, that, weights);
+		
+		return LibMatrixAgg.aggregateCmCov(this, that, weights, op, k);
+	}
 
 	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result) throws DMLRuntimeException, DMLUnsupportedOperationException {
+		return sortOperations(weights, result, 1);
+	}
+	
+	/**
+	 * 
+	 * @param weights
+	 * @param result
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 * @throws DMLUnsupportedOperationException
+	 */
+	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result, int k) throws DMLRuntimeException, DMLUnsupportedOperationException {
 		boolean wtflag = (weights!=null);
 		
 		MatrixBlock wts= (weights == null ? null : checkType(weights));
@@ -4947,7 +5274,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		
 		// Sort td and tw based on values inside td (ascending sort), incl copy into result
 		SortIndex sfn = SortIndex.getSortIndexFnObject(1, false, false);
-		ReorgOperator rop = new ReorgOperator(sfn);
+		ReorgOperator rop = new ReorgOperator(sfn, k);
 		LibMatrixReorg.reorg(tdw, (MatrixBlock)result, rop);
 		
 		return result;
@@ -5286,6 +5613,27 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	 */
 	public MatrixValue groupedAggOperations(MatrixValue tgt, MatrixValue wghts, MatrixValue ret, int ngroups, Operator op) 
 		throws DMLRuntimeException, DMLUnsupportedOperationException 
+	{
+		return groupedAggOperations(tgt, wghts, ret, ngroups, op, 1);
+	}
+	
+	/**
+	 * Invocation from CP instructions with a given degree of parallelism. For column 
+	 * vector targets and k>1, the aggregate is computed over row partitions of groups, 
+	 * target and weights, with per-thread group buffers that are merged afterwards.
+	 * 
+	 * @param tgt
+	 * @param wghts
+	 * @param ret
+	 * @param ngroups
+	 * @param op
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 * @throws DMLUnsupportedOperationException
+	 */
+	public MatrixValue groupedAggOperations(MatrixValue tgt, MatrixValue wghts, MatrixValue ret, int ngroups, Operator op, int k) 
+		throws DMLRuntimeException, DMLUnsupportedOperationException 
 	{
 		//setup input matrices
 		// this <- groups
@@ -5331,9 +5679,14 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		// Compute the result
 		double w = 1; // default weight
 		
+		//multi-threaded aggregate for column vector targets
+		if( k > 1 && target.getNumColumns() == 1 
+			&& (op instanceof CMOperator || op instanceof AggregateOperator) ) {
+			LibMatrixAgg.groupedAggregate(this, target, weights, result, numGroups, op, k);
+		}
 		//CM operator for count, mean, variance
 		//note: current support only for column vectors
-		if(op instanceof CMOperator) {
+		else if(op instanceof CMOperator) {
 			// initialize required objects for storing the result of CM operations
 			CM cmFn = CM.getCMFnObject(((CMOperator) op).getAggOpType());
 			CM_COV_Object[] cmValues = new CM_COV_Object[numGroups];
@@ -5476,6 +5829,23 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		return LibMatrixReorg.rmempty(this, result, rows, select);
 	}
 	
+	/**
+	 * 
+	 * @param ret
+	 * @param rows
+	 * @param select
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 * @throws DMLUnsupportedOperationException
+	 */
+	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, MatrixBlock select, int k )
+		throws DMLRuntimeException, DMLUnsupportedOperationException 
+	{	
+		MatrixBlock result = checkType(ret);
+		return LibMatrixReorg.rmempty(this, result, rows, select, k);
+	}
+	
 	/**
 	 * 
 	 * @param ret
@@ -5619,6 +5989,12 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		CTable ctable = CTable.getCTableFnObject();
 		double v2 = scalarThat;
 		
+		//multi-threaded ctable into partial maps (if applicable)
+		if( resultBlock == null && isParallelCTable(op) ) {
+			ternaryOperationsParallel(null, v2, that2, 0, false, resultMap, getNumThreads(op));
+			return;
+		}
+		
 		//sparse-unsafe ctable execution
 		//(because input values of 0 are invalid and have to result in errors) 
 		if ( resultBlock == null ) {
@@ -5659,6 +6035,12 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		double v2 = scalarThat;
 		double w = scalarThat2;
 		
+		//multi-threaded ctable into partial maps (if applicable)
+		if( resultBlock == null && isParallelCTable(op) ) {
+			ternaryOperationsParallel(null, v2, null, w, false, resultMap, getNumThreads(op));
+			return;
+		}
+		
 		//sparse-unsafe ctable execution
 		//(because input values of 0 are invalid and have to result in errors) 
 		if ( resultBlock == null ) { 
@@ -5743,6 +6125,12 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		CTable ctable = CTable.getCTableFnObject();
 		double w = scalarThat2;
 		
+		//multi-threaded ctable into partial maps (if applicable)
+		if( resultBlock == null && isParallelCTable(op) ) {
+			ternaryOperationsParallel(that, 0, null, w, ignoreZeros, resultMap, getNumThreads(op));
+			return;
+		}
+		
 		if( ignoreZeros //SPARSE-SAFE & SPARSE INPUTS
 			&& this.sparse && that.sparse )
 		{
@@ -5849,6 +6237,12 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		MatrixBlock that2 = checkType(that2Val);
 		CTable ctable = CTable.getCTableFnObject();
 		
+		//multi-threaded ctable into partial maps (if applicable)
+		if( resultBlock == null && isParallelCTable(op) ) {
+			ternaryOperationsParallel(that, 0, that2, 0, false, resultMap, getNumThreads(op));
+			return;
+		}
+		
 		//sparse-unsafe ctable execution
 		//(because input values of 0 are invalid and have to result in errors) 
 		if(resultBlock == null) 
@@ -5876,6 +6270,118 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		}
 	}
 	
+	/**
+	 * 
+	 * @param op
+	 * @return
+	 */
+	private boolean isParallelCTable(Operator op) 
+	{
+		return ( getNumThreads(op) > 1 && rlen > 1
+			&& (long)rlen*clen >= PAR_CTABLE_NUMCELL_THRESHOLD );
+	}
+	
+	/**
+	 * 
+	 * @param op
+	 * @return
+	 */
+	private static int getNumThreads(Operator op) 
+	{
+		return (op instanceof SimpleOperator) ? 
+			((SimpleOperator)op).getNumThreads() : 1;
+	}
+	
+	/**
+	 * Multi-threaded ctable over row partitions, where each thread aggregates 
+	 * into a partial ctable map, which are finally merged into the result map.
+	 * The second and third inputs are either matrices (that, that2) or scalars 
+	 * (v2, w) if the respective matrix is null.
+	 * 
+	 * @param that
+	 * @param v2
+	 * @param that2
+	 * @param w
+	 * @param ignoreZeros
+	 * @param resultMap
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	private void ternaryOperationsParallel(MatrixBlock that, double v2, MatrixBlock that2, double w, 
+			boolean ignoreZeros, CTableMap resultMap, int k) 
+		throws DMLRuntimeException
+	{
+		try
+		{
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<CTableTask> tasks = new ArrayList<CTableTask>();
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			for( int i=0; i<k & i*blklen<rlen; i++ )
+				tasks.add(new CTableTask(this, that, v2, that2, w, ignoreZeros, i*blklen, Math.min((i+1)*blklen, rlen)));
+			List<Future<CTableMap>> rt = pool.invokeAll(tasks);
+			pool.shutdown();
+			
+			//merge partial ctable maps
+			for( Future<CTableMap> task : rt )
+				resultMap.aggregate(task.get());
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Ctable over the row range [rl, ru) of this block into the given map.
+	 * 
+	 * @param that
+	 * @param v2
+	 * @param that2
+	 * @param w
+	 * @param ignoreZeros
+	 * @param resultMap
+	 * @param rl
+	 * @param ru
+	 * @throws DMLRuntimeException
+	 */
+	private void ternaryOperations(MatrixBlock that, double v2, MatrixBlock that2, double w, 
+			boolean ignoreZeros, CTableMap resultMap, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		CTable ctable = CTable.getCTableFnObject();
+		
+		if( ignoreZeros //SPARSE-SAFE & SPARSE INPUTS (see above)
+			&& that != null && that2 == null && this.sparse && that.sparse )
+		{
+			if( sparseRows == null || that.sparseRows == null )
+				return;
+			
+			for( int i=rl; i<ru; i++ )
+			{
+				SparseRow arow = sparseRows[i];
+				SparseRow brow = that.sparseRows[i];
+				if( arow != null && !arow.isEmpty() )
+				{
+					int alen = arow.size();
+					double[] avals = arow.getValueContainer();
+					double[] bvals = brow.getValueContainer();
+					for( int j=0; j<alen; j++ )
+						ctable.execute(avals[j], bvals[j], w, ignoreZeros, resultMap);
+				}
+			}
+		}
+		else //SPARSE-UNSAFE | GENERIC INPUTS
+		{
+			for( int i=rl; i<ru; i++ )
+				for( int j=0; j<clen; j++ )
+				{
+					double v1 = quickGetValue(i, j);
+					double lv2 = (that != null) ? that.quickGetValue(i, j) : v2;
+					double lw = (that2 != null) ? that2.quickGetValue(i, j) : w;
+					ctable.execute(v1, lv2, lw, ignoreZeros, resultMap);
+				}
+		}
+	}
+	
 	@Override
 	public MatrixValue quaternaryOperations(QuaternaryOperator qop, MatrixValue um, MatrixValue vm, MatrixValue wm, MatrixValue out)
 		throws DMLUnsupportedOperationException, DMLRuntimeException
@@ -6133,9 +6639,24 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	 */
 	public static MatrixBlock seqOperations(double from, double to, double incr) 
 		throws DMLRuntimeException 
+	{
+		return seqOperations(from, to, incr, 1);
+	}
+	
+	/**
+	 * 
+	 * @param from
+	 * @param to
+	 * @param incr
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock seqOperations(double from, double to, double incr, int k) 
+		throws DMLRuntimeException 
 	{
 		MatrixBlock out = new MatrixBlock();
-		LibMatrixDatagen.generateSequence( out, from, to, incr );
+		LibMatrixDatagen.generateSequence( out, from, to, incr, k );
 		
 		return out;
 	}
@@ -6166,9 +6687,25 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	 */
 	public static MatrixBlock sampleOperations(long range, int size, boolean replace, long seed) 
 		throws DMLRuntimeException 
+	{
+		return sampleOperations(range, size, replace, seed, 1);
+	}
+	
+	/**
+	 * 
+	 * @param range
+	 * @param size
+	 * @param replace
+	 * @param seed
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock sampleOperations(long range, int size, boolean replace, long seed, int k) 
+		throws DMLRuntimeException 
 	{
 		MatrixBlock out = new MatrixBlock();
-		LibMatrixDatagen.generateSample( out, range, size, replace, seed );
+		LibMatrixDatagen.generateSample( out, range, size, replace, seed, k );
 		
 		return out;
 	}
@@ -6275,6 +6812,68 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	///////////////////////////
 	// Helper classes
 
+	/**
+	 * Task for multi-threaded unary operations over a range of rows.
+	 */
+	private static class UnaryTask implements Callable<Long> 
+	{
+		private MatrixBlock _m1 = null;
+		private MatrixBlock _ret = null;
+		private UnaryOperator _op = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected UnaryTask( MatrixBlock m1, MatrixBlock ret, UnaryOperator op, int rl, int ru ) {
+			_m1 = m1;
+			_ret = ret;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() 
+			throws DMLUnsupportedOperationException, DMLRuntimeException
+		{
+			return _m1.unaryOperations(_op, _ret, _rl, _ru);
+		}
+	}
+	
+	/**
+	 * Task for multi-threaded ctable over a range of rows into a partial ctable map.
+	 */
+	private static class CTableTask implements Callable<CTableMap> 
+	{
+		private MatrixBlock _m1 = null;
+		private MatrixBlock _m2 = null;
+		private MatrixBlock _m3 = null;
+		private double _v2 = -1;
+		private double _w = -1;
+		private boolean _ignoreZeros = false;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected CTableTask( MatrixBlock m1, MatrixBlock m2, double v2, MatrixBlock m3, double w, boolean ignoreZeros, int rl, int ru ) {
+			_m1 = m1;
+			_m2 = m2;
+			_v2 = v2;
+			_m3 = m3;
+			_w = w;
+			_ignoreZeros = ignoreZeros;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public CTableMap call() 
+			throws DMLRuntimeException
+		{
+			CTableMap map = new CTableMap();
+			_m1.ternaryOperations(_m2, _v2, _m3, _w, _ignoreZeros, map, _rl, _ru);
+			return map;
+		}
+	}
+	
 	public static class SparsityEstimate
 	{
 		public long estimatedNonZeros=0;
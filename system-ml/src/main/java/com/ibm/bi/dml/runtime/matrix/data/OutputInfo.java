@@ -67,6 +67,8 @@ public class OutputInfo implements Serializable
 			MatrixIndexes.class, WeightedPair.class);
 	public static final OutputInfo CSVOutputInfo=new OutputInfo(UnPaddedOutputFormat.class, 
 			NullWritable.class, RowBlockForTextOutput.class);
+	public static final OutputInfo BinaryBlockIndexedOutputInfo=new OutputInfo(BinaryBlockIndexedOutputFormat.class, 
+			MatrixIndexes.class, MatrixBlock.class);
 
 	public static InputInfo getMatchingInputInfo(OutputInfo oi) throws DMLRuntimeException {
 		if ( oi == OutputInfo.BinaryBlockOutputInfo )
@@ -85,6 +87,8 @@ public class OutputInfo implements Serializable
 			return InputInfo.WeightedPairInputInfo;
 		else if ( oi == OutputInfo.CSVOutputInfo)
 			return InputInfo.CSVInputInfo;
+		else if ( oi == OutputInfo.BinaryBlockIndexedOutputInfo)
+			return InputInfo.BinaryBlockIndexedInputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + oi);
 	}
@@ -110,6 +114,8 @@ public class OutputInfo implements Serializable
 			return WeightedPairOutputInfo;
 		else if ( str.equalsIgnoreCase("csv") )
 			return CSVOutputInfo;
+		else if ( str.equalsIgnoreCase("binaryblockindexed") )
+			return BinaryBlockIndexedOutputInfo;
 		return null;
 	}
 	
@@ -132,6 +138,8 @@ public class OutputInfo implements Serializable
 			return "weightedpair";
 		else if ( oi == CSVOutputInfo )
 			return "csv";
+		else if ( oi == BinaryBlockIndexedOutputInfo )
+			return "binaryblockindexed";
 		else
 			throw new DMLRuntimeException("Unrecognized outputInfo: " + oi);
 	}
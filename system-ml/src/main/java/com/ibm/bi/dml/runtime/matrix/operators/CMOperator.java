@@ -33,10 +33,16 @@ public class CMOperator extends Operator
 
 	public ValueFunction fn;
 	public AggregateOperationTypes aggOpType;
+	private int k = 1; //num threads
 
 	public CMOperator(ValueFunction op, AggregateOperationTypes agg) {
+		this(op, agg, 1);
+	}
+	
+	public CMOperator(ValueFunction op, AggregateOperationTypes agg, int numThreads) {
 		fn = op;
 		aggOpType = agg;
+		k = numThreads;
 		sparseSafe = true;
 	}
 
@@ -44,6 +50,10 @@ public class CMOperator extends Operator
 		return aggOpType;
 	}
 	
+	public int getNumThreads() {
+		return k;
+	}
+	
 	public void setCMAggOp(int order) {
 		aggOpType = getCMAggOpType(order);
 		fn = CM.getCMFnObject(aggOpType);
@@ -27,10 +27,21 @@ public class COVOperator extends Operator
 
 	public COV fn;
 	public int constant;
+	private int k = 1; //num threads
 	
 	public COVOperator(COV op)
+	{
+		this(op, 1);
+	}
+	
+	public COVOperator(COV op, int numThreads)
 	{
 		fn=op;
+		k=numThreads;
 		sparseSafe=true; // TODO: check with YY
 	}
+	
+	public int getNumThreads() {
+		return k;
+	}
 }
\ No newline at end of file
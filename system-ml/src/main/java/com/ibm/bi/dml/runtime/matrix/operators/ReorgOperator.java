@@ -29,11 +29,22 @@ public class ReorgOperator  extends Operator implements Serializable
 	private static final long serialVersionUID = -5322516429026298404L;
 
 	public IndexFunction fn;
+	private int _numThreads = 1;
 	
 	public ReorgOperator(IndexFunction p)
+	{
+		this(p, 1);
+	}
+	
+	public ReorgOperator(IndexFunction p, int numThreads)
 	{
 		fn=p;
 		sparseSafe=true;
+		_numThreads = numThreads;
+	}
+	
+	public int getNumThreads() {
+		return _numThreads;
 	}
 
 }
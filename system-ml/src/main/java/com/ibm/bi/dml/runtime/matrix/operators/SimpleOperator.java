@@ -29,8 +29,18 @@ public class SimpleOperator extends Operator
 	private static final long serialVersionUID = 625147299273287379L;
 
 	public FunctionObject fn;
+	private int _numThreads = 1;
 	
 	public SimpleOperator ( FunctionObject f ) {
+		this(f, 1);
+	}
+	
+	public SimpleOperator ( FunctionObject f, int numThreads ) {
 		fn = f;
+		_numThreads = numThreads;
+	}
+	
+	public int getNumThreads() {
+		return _numThreads;
 	}
 }
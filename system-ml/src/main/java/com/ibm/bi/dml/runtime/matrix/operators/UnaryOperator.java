@@ -27,9 +27,17 @@ public class UnaryOperator extends Operator
 	private static final long serialVersionUID = 2441990876648978637L;
 
 	public ValueFunction fn;
+	private int k = 1; //num threads
+	
 	public UnaryOperator(ValueFunction p)
+	{
+		this(p, 1);
+	}
+	
+	public UnaryOperator(ValueFunction p, int numThreads)
 	{
 		fn = p;
+		k = numThreads;
 		sparseSafe = false;
 		
 		if(fn instanceof Builtin)
@@ -44,4 +52,8 @@ public class UnaryOperator extends Operator
 			}
 		}
 	}
+	
+	public int getNumThreads() {
+		return k;
+	}
 }
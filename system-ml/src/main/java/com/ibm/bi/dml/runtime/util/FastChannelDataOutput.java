@@ -0,0 +1,253 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.util;
+
+import java.io.Closeable;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlockDataOutput;
+import com.ibm.bi.dml.runtime.matrix.data.SparseRow;
+
+/**
+ * Data output over a file channel with a single direct output buffer. In
+ * contrast to FastBufferedDataOutputStream, dense double arrays are written
+ * via bulk transfers into the direct buffer (no per-value byte conversion) 
+ * and the buffer is written to the channel without intermediate heap copies.
+ * 
+ * The output format is identical to the default serialization (big-endian),
+ * and hence readable by all existing matrix block readers.
+ * 
+ */
+public class FastChannelDataOutput implements DataOutput, MatrixBlockDataOutput, Closeable
+{
+	private FileChannel _channel = null;
+	private ByteBuffer _buff = null;
+	
+	public FastChannelDataOutput(FileChannel channel, int size) 
+	{
+		if( size < 16 ) 
+			throw new IllegalArgumentException("Buffer size < 16.");
+		if( size%8 != 0 )    
+			throw new IllegalArgumentException("Buffer size not a multiple of 8.");
+		
+		_channel = channel;
+		_buff = ByteBuffer.allocateDirect(size); //big-endian
+	}
+	
+	/**
+	 * 
+	 * @throws IOException
+	 */
+	public void flush() 
+		throws IOException
+	{
+		flushBuffer();
+	}
+	
+	@Override
+	public void close() 
+		throws IOException
+	{
+		try {
+			flushBuffer();
+		}
+		finally {
+			_channel.close();
+		}
+	}
+	
+	/**
+	 * 
+	 * @throws IOException
+	 */
+	private void flushBuffer() 
+		throws IOException
+	{
+		_buff.flip();
+		while( _buff.hasRemaining() )
+			_channel.write(_buff);
+		_buff.clear();
+	}
+	
+	/**
+	 * 
+	 * @param len
+	 * @throws IOException
+	 */
+	private void ensureCapacity( int len ) 
+		throws IOException
+	{
+		if( _buff.remaining() < len )
+			flushBuffer();
+	}
+	
+	/////////////////////////////
+	// DataOutput Implementation
+	/////////////////////////////
+	
+	@Override
+	public void write(int b) 
+		throws IOException 
+	{
+		ensureCapacity(1);
+		_buff.put((byte)b);
+	}
+	
+	@Override
+	public void write(byte[] b) 
+		throws IOException 
+	{
+		write(b, 0, b.length);
+	}
+	
+	@Override
+	public void write(byte[] b, int off, int len) 
+		throws IOException 
+	{
+		while( len > 0 ) {
+			ensureCapacity(1);
+			int llen = Math.min(_buff.remaining(), len);
+			_buff.put(b, off, llen);
+			off += llen;
+			len -= llen;
+		}
+	}
+	
+	@Override
+	public void writeBoolean(boolean v) 
+		throws IOException 
+	{
+		ensureCapacity(1);
+		_buff.put((byte)(v ? 1 : 0));
+	}
+	
+	@Override
+	public void writeByte(int v) 
+		throws IOException 
+	{
+		ensureCapacity(1);
+		_buff.put((byte)v);
+	}
+	
+	@Override
+	public void writeInt(int v) 
+		throws IOException 
+	{
+		ensureCapacity(4);
+		_buff.putInt(v);
+	}
+	
+	@Override
+	public void writeLong(long v) 
+		throws IOException 
+	{
+		ensureCapacity(8);
+		_buff.putLong(v);
+	}
+	
+	@Override
+	public void writeDouble(double v) 
+		throws IOException 
+	{
+		ensureCapacity(8);
+		_buff.putDouble(v);
+	}
+	
+	@Override
+	public void writeBytes(String s) throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	@Override
+	public void writeChar(int v) throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	@Override
+	public void writeChars(String s) throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	@Override
+	public void writeFloat(float v) throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	@Override
+	public void writeShort(int v) throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	@Override
+	public void writeUTF(String s) throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	///////////////////////////////////////////////
+	// Implementation of MatrixBlockDataOutput
+	///////////////////////////////////////////////	
+	
+	@Override
+	public void writeDoubleArray(int len, double[] varr) 
+		throws IOException
+	{
+		//bulk transfer of buffer-sized chunks via double view
+		for( int i=0; i<len; ) {
+			ensureCapacity(8);
+			int lblen = Math.min(_buff.remaining()/8, len-i);
+			_buff.asDoubleBuffer().put(varr, i, lblen);
+			_buff.position(_buff.position() + 8*lblen);
+			i += lblen;
+		}
+	}
+	
+	@Override
+	public void writeSparseRows(int rlen, SparseRow[] rows) 
+		throws IOException
+	{
+		int lrlen = Math.min(rows.length, rlen);
+		
+		//process existing rows
+		for( int i=0; i<lrlen; i++ )
+		{
+			SparseRow arow = rows[i];
+			if( arow!=null && !arow.isEmpty() )
+			{
+				int alen = arow.size();
+				int[] aix = arow.getIndexContainer();
+				double[] avals = arow.getValueContainer();
+				
+				writeInt( alen );
+				for( int j=0; j<alen; j++ ) {
+					ensureCapacity(12);
+					_buff.putInt(aix[j]);
+					_buff.putDouble(avals[j]);
+				}
+			}
+			else 
+				writeInt( 0 );
+		}
+		
+		//process remaining empty rows
+		for( int i=lrlen; i<rlen; i++ )
+			writeInt( 0 );
+	}
+}
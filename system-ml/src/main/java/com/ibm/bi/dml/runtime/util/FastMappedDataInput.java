@@ -0,0 +1,270 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.runtime.util;
+
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlockDataInput;
+import com.ibm.bi.dml.runtime.matrix.data.SparseRow;
+
+/**
+ * Data input over a memory-mapped file channel. The file is mapped in 
+ * segments of at most SEGMENT_SIZE bytes (remapped on demand), which 
+ * allows reading files larger than the max buffer capacity. Dense double 
+ * arrays are read via bulk transfers from the mapped region.
+ * 
+ * The input format is the default serialization (big-endian), i.e., 
+ * files written by FastBufferedDataOutputStream or FastChannelDataOutput.
+ * 
+ */
+public class FastMappedDataInput implements DataInput, MatrixBlockDataInput, Closeable
+{
+	private static final long SEGMENT_SIZE = 256L*1024*1024; //256MB
+	
+	private FileChannel _channel = null;
+	private long _len = -1;
+	private long _off = -1; //file offset of current segment
+	private MappedByteBuffer _buff = null;
+	
+	public FastMappedDataInput(FileChannel channel) 
+		throws IOException
+	{
+		_channel = channel;
+		_len = channel.size();
+		remap(0);
+	}
+	
+	@Override
+	public void close() 
+		throws IOException
+	{
+		_buff = null;
+		_channel.close();
+	}
+	
+	/**
+	 * 
+	 * @param pos
+	 * @throws IOException
+	 */
+	private void remap( long pos ) 
+		throws IOException
+	{
+		_off = pos;
+		_buff = _channel.map(MapMode.READ_ONLY, pos, Math.min(SEGMENT_SIZE, _len-pos)); //big-endian
+	}
+	
+	/**
+	 * 
+	 * @param len
+	 * @throws IOException
+	 */
+	private void ensureAvailable( int len ) 
+		throws IOException
+	{
+		if( _buff.remaining() < len ) {
+			long pos = _off + _buff.position();
+			if( pos + len > _len )
+				throw new EOFException();
+			remap(pos);
+		}
+	}
+	
+	/////////////////////////////
+	// DataInput Implementation
+	/////////////////////////////
+	
+	@Override
+	public void readFully(byte[] b) 
+		throws IOException 
+	{
+		readFully(b, 0, b.length);
+	}
+	
+	@Override
+	public void readFully(byte[] b, int off, int len) 
+		throws IOException 
+	{
+		if (len < 0)
+			throw new IndexOutOfBoundsException();
+		while( len > 0 ) {
+			ensureAvailable(1);
+			int llen = Math.min(_buff.remaining(), len);
+			_buff.get(b, off, llen);
+			off += llen;
+			len -= llen;
+		}
+	}
+	
+	@Override
+	public int skipBytes(int n) 
+		throws IOException 
+	{
+		long pos = _off + _buff.position();
+		int lskip = (int)Math.max(Math.min(n, _len - pos), 0);
+		if( lskip <= _buff.remaining() )
+			_buff.position(_buff.position() + lskip);
+		else
+			remap(pos + lskip);
+		return lskip;
+	}
+	
+	@Override
+	public boolean readBoolean() 
+		throws IOException 
+	{
+		ensureAvailable(1);
+		return (_buff.get() != 0);
+	}
+	
+	@Override
+	public byte readByte() 
+		throws IOException 
+	{
+		ensureAvailable(1);
+		return _buff.get();
+	}
+	
+	@Override
+	public int readUnsignedByte() 
+		throws IOException 
+	{
+		return readByte() & 0xFF;
+	}
+	
+	@Override
+	public int readInt() 
+		throws IOException 
+	{
+		ensureAvailable(4);
+		return _buff.getInt();
+	}
+	
+	@Override
+	public long readLong() 
+		throws IOException 
+	{
+		ensureAvailable(8);
+		return _buff.getLong();
+	}
+	
+	@Override
+	public double readDouble() 
+		throws IOException 
+	{
+		ensureAvailable(8);
+		return _buff.getDouble();
+	}
+	
+	@Override
+	public short readShort() throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	@Override
+	public int readUnsignedShort() throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	@Override
+	public char readChar() throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	@Override
+	public float readFloat() throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	@Override
+	public String readLine() throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	@Override
+	public String readUTF() throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	///////////////////////////////////////////////
+	// Implementation of MatrixBlockDataInput
+	///////////////////////////////////////////////	
+	
+	@Override
+	public long readDoubleArray(int len, double[] varr) 
+		throws IOException 
+	{
+		//counter for non-zero elements
+		long nnz = 0;
+		
+		//bulk transfer of mapped chunks via double view
+		for( int i=0; i<len; ) {
+			ensureAvailable(8);
+			int lblen = Math.min(_buff.remaining()/8, len-i);
+			_buff.asDoubleBuffer().get(varr, i, lblen);
+			_buff.position(_buff.position() + 8*lblen);
+			
+			//nnz maintenance
+			for( int ix=i; ix<i+lblen; ix++ )
+				nnz += (varr[ix]!=0) ? 1 : 0;
+			i += lblen;
+		}
+		
+		return nnz;
+	}
+	
+	@Override
+	public long readSparseRows(int rlen, SparseRow[] rows) 
+		throws IOException 
+	{
+		//counter for non-zero elements
+		long nnz = 0;
+		
+		//read all individual sparse rows from input
+		for( int i=0; i<rlen; i++ )
+		{
+			int lnnz = readInt();
+			
+			if( lnnz > 0 ) //non-zero row
+			{
+				//get handle to sparse (allocate if necessary)
+				if( rows[i] == null )
+					rows[i] = new SparseRow(lnnz);
+				SparseRow arow = rows[i];
+				
+				//read single sparse row (index-value pairs)
+				for( int j=0; j<lnnz; j++ ) {
+					ensureAvailable(12);
+					int aix = _buff.getInt();
+					double aval = _buff.getDouble();
+					arow.append(aix, aval);
+				}
+				
+				nnz += lnnz;
+			}
+		}
+		
+		return nnz;
+	}
+}
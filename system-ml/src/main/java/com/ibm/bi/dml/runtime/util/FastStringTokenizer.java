@@ -20,6 +20,8 @@ package com.ibm.bi.dml.runtime.util;
 import java.io.Serializable;
 import java.util.NoSuchElementException;
 
+import com.ibm.bi.dml.runtime.io.IOUtilFunctions;
+
 /**
  * This string tokenizer is essentially a simplified StringTokenizer. 
  * In addition to the default functionality it allows to reset the tokenizer and it makes
@@ -66,6 +68,20 @@ public class FastStringTokenizer implements Serializable
      *                if no tokens remain
      */
     public String nextToken() 
+    {
+    	int start = nextTokenStart();
+    	return _string.substring(start, _pos);
+    }
+    
+    /**
+     * Finds the next token without materializing it as a string, and returns
+     * its start position; the exclusive end position is the new _pos.
+     * 
+     * @return start position of the next token 
+     * @exception NoSuchElementException
+     *                if no tokens remain
+     */
+    private int nextTokenStart()
     {
     	int len = _string.length();
     	int start = _pos;	
@@ -74,13 +90,12 @@ public class FastStringTokenizer implements Serializable
     	while(start < len && _del == _string.charAt(start) )
     		start++;
     	
-    	//find end (next delimiter) and return
+    	//find end (next delimiter or end of string)
     	if(start < len) {
         	_pos = _string.indexOf(_del, start);
-        	if( start < _pos && _pos < len )
-        		return _string.substring(start, _pos);
-        	else 
-        		return _string.substring(start);
+        	if( _pos < 0 )
+        		_pos = len;
+        	return start;
         }
   
     	//no next token
@@ -93,17 +108,23 @@ public class FastStringTokenizer implements Serializable
     
     public int nextInt()
     {
-    	return Integer.parseInt( nextToken() );
+    	int start = nextTokenStart();
+    	long ret = IOUtilFunctions.parseLong(_string, start, _pos);
+    	if( ret < Integer.MIN_VALUE || ret > Integer.MAX_VALUE )
+    		return Integer.parseInt( _string.substring(start, _pos) ); //throws exception
+    	return (int) ret;
     }
     
     public long nextLong()
     {
-    	return Long.parseLong( nextToken() );
+    	int start = nextTokenStart();
+    	return IOUtilFunctions.parseLong(_string, start, _pos);
     }
     
     public double nextDouble()
     {
-    	return Double.parseDouble( nextToken() );
+    	int start = nextTokenStart();
+    	return IOUtilFunctions.parseDouble(_string, start, _pos);
     
     	//see nextDoubleForParallel, we use the same double parsing
     	//for sequential and parallel parsing because (1) it is faster (~10%)
@@ -117,7 +138,9 @@ public class FastStringTokenizer implements Serializable
     	//JDK 8 floating decimal, which removes a severe scalability bottleneck
     	//(synchronized static cache) in JDK7
     	//return FloatingDecimal.parseDouble(nextToken());
-    	return Double.parseDouble( nextToken() );
+    	//note: allocation-free parsing w/ identical results to Double.parseDouble
+    	int start = nextTokenStart();
+    	return IOUtilFunctions.parseDouble(_string, start, _pos);
     	
     	/*
     	//return Double.parseDouble( nextToken() );
@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.util.HashMap;
 
 import com.ibm.bi.dml.api.DMLScript;
@@ -39,6 +40,11 @@ public class LocalFileUtils
 {
 	public static final int BUFFER_SIZE = 8192;
 	
+	//channel-based i/o for large blocks (direct buffer writes, memory-mapped reads)
+	public static final boolean USE_CHANNEL_IO = true;
+	public static final int CHANNEL_BUFFER_SIZE = 1024*1024; //1MB direct buffer
+	public static final long CHANNEL_IO_THRESHOLD = 1024*1024; //min 1MB file size
+	
 	//unique IDs per JVM for tmp files
 	private static IDSequence _seq = null;
 	private static String _workingDir = null;
@@ -75,6 +81,10 @@ public class LocalFileUtils
 	public static MatrixBlock readMatrixBlockFromLocal(String filePathAndName, MatrixBlock ret)
 		throws IOException
 	{
+		//memory-mapped read for large blocks
+		if( USE_CHANNEL_IO && new File(filePathAndName).length() >= CHANNEL_IO_THRESHOLD )
+			return readMatrixBlockFromLocalChannel(filePathAndName, ret);
+		
 		FileInputStream fis = new FileInputStream( filePathAndName );
 		//BufferedInputStream bis = new BufferedInputStream( fis, BUFFER_SIZE );
 		//DataInputStream in = new DataInputStream( bis );
@@ -93,6 +103,37 @@ public class LocalFileUtils
 		return ret;
 	}
 	
+	/**
+	 * Reads a matrix block from local file system via a memory-mapped file 
+	 * channel, where dense blocks are read via bulk transfers. The file format
+	 * is the default serialization (see writeMatrixBlockToLocal).
+	 * 
+	 * @param filePathAndName
+	 * @param ret
+	 * @return
+	 * @throws IOException
+	 */
+	public static MatrixBlock readMatrixBlockFromLocalChannel(String filePathAndName, MatrixBlock ret)
+		throws IOException
+	{
+		RandomAccessFile raf = new RandomAccessFile( filePathAndName, "r" );
+		FastMappedDataInput in = null;
+		
+		try
+		{
+			in = new FastMappedDataInput(raf.getChannel());
+			ret.readFields(in);
+		}
+		finally
+		{
+			if( in != null )
+				in.close();
+			raf.close();
+		}
+		
+		return ret;
+	}
+	
 	/**
 	 * 
 	 * @param filePathAndName
@@ -102,6 +143,12 @@ public class LocalFileUtils
 	public static void writeMatrixBlockToLocal (String filePathAndName, MatrixBlock mb)
 		throws IOException
 	{	
+		//direct buffer channel write for large blocks
+		if( USE_CHANNEL_IO && mb.getExactSizeOnDisk() >= CHANNEL_IO_THRESHOLD ) {
+			writeMatrixBlockToLocalChannel(filePathAndName, mb);
+			return;
+		}
+		
 		FileOutputStream fos = new FileOutputStream( filePathAndName );
 		//BufferedOutputStream bos = new BufferedOutputStream( fos, BUFFER_SIZE );
 		//DataOutputStream out = new DataOutputStream( bos );
@@ -118,6 +165,31 @@ public class LocalFileUtils
 		}	
 	}
 	
+	/**
+	 * Writes a matrix block to local file system via a file channel and direct
+	 * output buffer, where dense blocks are written via bulk transfers. The file
+	 * format is identical to the default serialization.
+	 * 
+	 * @param filePathAndName
+	 * @param mb
+	 * @throws IOException
+	 */
+	public static void writeMatrixBlockToLocalChannel (String filePathAndName, MatrixBlock mb)
+		throws IOException
+	{
+		FileOutputStream fos = new FileOutputStream( filePathAndName );
+		FastChannelDataOutput out = new FastChannelDataOutput(fos.getChannel(), CHANNEL_BUFFER_SIZE);
+		
+		try 
+		{
+			mb.write(out);
+		}
+		finally
+		{
+			out.close();
+			fos.close();
+		}
+	}
 	
 	/**
 	 * 
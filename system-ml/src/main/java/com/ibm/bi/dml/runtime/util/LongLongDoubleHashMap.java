@@ -18,6 +18,7 @@
 package com.ibm.bi.dml.runtime.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * This native long long - double hashmap is specifically designed for
@@ -26,19 +27,32 @@ import java.util.ArrayList;
  * to be more memory-efficient which is important for large maps in order
  * to keep data in the caches and prevent high-latency random memory access. 
  * 
+ * The map uses open addressing with linear probing over parallel arrays of 
+ * keys and values, i.e., addValue does not allocate any entry objects. Since 
+ * ctable row/column indexes are positive, we reserve Long.MIN_VALUE as 
+ * marker of empty slots.
+ * 
  */
 public class LongLongDoubleHashMap 
 {
 	private static final int INIT_CAPACITY = 8;
 	private static final int RESIZE_FACTOR = 2;
 	private static final float LOAD_FACTOR = 0.75f;
+	private static final long EMPTY = Long.MIN_VALUE;
 
-	private LLDoubleEntry[] data = null;
+	private long[] keys1 = null;
+	private long[] keys2 = null;
+	private double[] values = null;
 	private int size = -1;
 	
 	public LongLongDoubleHashMap()
 	{
-		data = new LLDoubleEntry[INIT_CAPACITY];
+		this(INIT_CAPACITY);
+	}
+	
+	public LongLongDoubleHashMap(int capacity)
+	{
+		allocate(Math.max(INIT_CAPACITY, Integer.highestOneBit(capacity-1)<<1));
 		size = 0;
 	}
 
@@ -54,70 +68,119 @@ public class LongLongDoubleHashMap
 	 */
 	public void addValue(long key1, long key2, double value)
 	{
-		//compute entry index position
-		int hash = hash(key1, key2);
-		int ix = indexFor(hash, data.length);
-
-		//find existing entry and add value
-		for( LLDoubleEntry e = data[ix]; e!=null; e = e.next ) {
-			if( e.key1==key1 && e.key2==key2 ) {
-				e.value += value;
+		//find existing entry or empty slot
+		int ix = indexFor(hash(key1, key2), keys1.length);
+		while( keys1[ix] != EMPTY ) {
+			if( keys1[ix]==key1 && keys2[ix]==key2 ) {
+				values[ix] += value;
 				return; //no need to append or resize
 			}
+			ix = (ix+1) & (keys1.length-1);
 		}
 		
 		//add non-existing entry (constant time)
-		LLDoubleEntry enew = new LLDoubleEntry(key1, key2, value);
-		enew.next = data[ix]; //colliding entries / null
-		data[ix] = enew;
+		keys1[ix] = key1;
+		keys2[ix] = key2;
+		values[ix] = value;
 		size++;
 		
 		//resize if necessary
-		if( size >= LOAD_FACTOR*data.length )
+		if( size >= LOAD_FACTOR*keys1.length )
 			resize();
 	}
 	
+	/**
+	 * Adds all entries of the given map to this map.
+	 * 
+	 * @param that
+	 */
+	public void addAll(LongLongDoubleHashMap that)
+	{
+		for( int i=0; i<that.keys1.length; i++ )
+			if( that.keys1[i] != EMPTY )
+				addValue(that.keys1[i], that.keys2[i], that.values[i]);
+	}
+	
+	/**
+	 * Returns the number of slots, i.e., the exclusive upper bound of 
+	 * slot positions for allocation-free iteration via isUsed and 
+	 * getKey1/getKey2/getValue.
+	 * 
+	 * @return
+	 */
+	public int getCapacity() {
+		return keys1.length;
+	}
+	
+	public boolean isUsed(int pos) {
+		return keys1[pos] != EMPTY;
+	}
+	
+	public long getKey1(int pos) {
+		return keys1[pos];
+	}
+	
+	public long getKey2(int pos) {
+		return keys2[pos];
+	}
+	
+	public double getValue(int pos) {
+		return values[pos];
+	}
+	
 	/**
 	 * 
 	 * @return
 	 */
 	public ArrayList<LLDoubleEntry> extractValues()
 	{
-		ArrayList<LLDoubleEntry> ret = new ArrayList<LLDoubleEntry>();
-		for( LLDoubleEntry e : data ) {
-			if( e != null ) {
-				while( e.next!=null ) {
-					ret.add(e);
-					e = e.next;
-				}
-				ret.add(e);	
-			}
-		}
+		ArrayList<LLDoubleEntry> ret = new ArrayList<LLDoubleEntry>(size);
+		for( int i=0; i<keys1.length; i++ )
+			if( keys1[i] != EMPTY )
+				ret.add(new LLDoubleEntry(keys1[i], keys2[i], values[i]));
 
 		return ret;
 	}
 	
 	/**
+	 * 
+	 * @param capacity
+	 */
+	private void allocate(int capacity) {
+		keys1 = new long[capacity];
+		keys2 = new long[capacity];
+		values = new double[capacity];
+		Arrays.fill(keys1, EMPTY);
+	}
+	
+	/**
+	 * Doubles the number of slots and rehashes all entries. Since linear 
+	 * probing requires at least one empty slot for termination, we fail 
+	 * if the capacity cannot be increased anymore.
 	 * 
 	 */
 	private void resize() {
 		//check for integer overflow on resize
-		if( data.length > Integer.MAX_VALUE/RESIZE_FACTOR )
-			return;
+		if( keys1.length > Integer.MAX_VALUE/RESIZE_FACTOR )
+			throw new RuntimeException("LongLongDoubleHashMap capacity exceeded: "
+					+ "cannot resize beyond "+keys1.length+" slots ("+size+" entries).");
 		
-		//resize data array and copy existing contents
-		LLDoubleEntry[] olddata = data;
-		data = new LLDoubleEntry[data.length*RESIZE_FACTOR];
-		size = 0;
+		//resize data arrays and copy existing contents
+		long[] okeys1 = keys1;
+		long[] okeys2 = keys2;
+		double[] ovalues = values;
+		allocate(keys1.length*RESIZE_FACTOR);
 		
-		//rehash all entries
-		for( LLDoubleEntry e : olddata ) {
-			if( e != null ) {
-				while( e.next!=null ) {
-					addValue(e.key1, e.key2, e.value);
-					e = e.next;
-				}
-				addValue(e.key1, e.key2, e.value);	
+		//rehash all entries (keys are unique, no probe for existing)
+		int mask = keys1.length-1;
+		for( int i=0; i<okeys1.length; i++ ) {
+			if( okeys1[i] != EMPTY ) {
+				int ix = indexFor(hash(okeys1[i], okeys2[i]), keys1.length);
+				while( keys1[ix] != EMPTY )
+					ix = (ix+1) & mask;
+				keys1[ix] = okeys1[i];
+				keys2[ix] = okeys2[i];
+				values[ix] = ovalues[i];
 			}
 		}
 	}
@@ -130,14 +193,17 @@ public class LongLongDoubleHashMap
 	 */
 	private static int hash(long key1, long key2) {
 		//basic hash mixing of two longs hashes (w/o object creation)
-		int h = (int)(key1 ^ (key1 >>> 32));
-		h = h*31 + (int)(key2 ^ (key2 >>> 32));
+		long h = key1 * 0x9E3779B97F4A7C15L + key2;
 		
-		// This function ensures that hashCodes that differ only by
-		// constant multiples at each bit position have a bounded
-		// number of collisions (approximately 8 at default load factor).
-		h ^= (h >>> 20) ^ (h >>> 12);
-		return h ^ (h >>> 7) ^ (h >>> 4);
+		// Since linear probing is sensitive to clustering of similar 
+		// keys, we apply a full avalanche finalizer (murmur3 fmix64) in 
+		// order to spread the bits of both keys over the lower index bits.
+		h ^= (h >>> 33);
+		h *= 0xff51afd7ed558ccdL;
+		h ^= (h >>> 33);
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= (h >>> 33);
+		return (int)h;
 	}
 
 	/**
@@ -157,13 +223,11 @@ public class LongLongDoubleHashMap
 		public long key1 = Long.MAX_VALUE;
 		public long key2 = Long.MAX_VALUE;
 		public double value = Double.MAX_VALUE;
-		public LLDoubleEntry next = null;
 		
 		public LLDoubleEntry(long k1, long k2, double val) {
 			key1 = k1;
 			key2 = k2;
 			value = val;
-			next = null;
 		}
 	}
 }
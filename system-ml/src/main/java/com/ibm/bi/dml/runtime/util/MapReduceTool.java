@@ -474,7 +474,7 @@ public class MapReduceTool
           "    ,\"" +  DataExpression.READROWPARAM 			+  "\": " + mc.getRows() + "\n" + 
 		  "    ,\"" + DataExpression.READCOLPARAM 			+  "\": " + mc.getCols() + "\n";
           // only output rows_in_block and cols_in_block for binary format 
-          if ( outinfo == OutputInfo.BinaryBlockOutputInfo)  {
+          if ( outinfo == OutputInfo.BinaryBlockOutputInfo || outinfo == OutputInfo.BinaryBlockIndexedOutputInfo )  {
          	 line += "    ,\"" + DataExpression.ROWBLOCKCOUNTPARAM	+  "\": " + mc.getRowsPerBlock() + "\n" + 
 		            "    ,\"" + DataExpression.COLUMNBLOCKCOUNTPARAM +  "\": " + mc.getColsPerBlock() + "\n";
           }
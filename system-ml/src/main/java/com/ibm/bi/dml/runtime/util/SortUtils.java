@@ -297,11 +297,11 @@ public class SortUtils
     	sortByValue(start, end, values, indexes);
     	
     	// Maintain the stability of the index order.
-		for( int i=0; i<values.length-1; i++ ) {
+		for( int i=start; i<end-1; i++ ) {
 			double tmp = values[i];
 			//determine run of equal values
 			int len = 0;
-			while( i+len+1<values.length && tmp==values[i+len+1] )
+			while( i+len+1<end && tmp==values[i+len+1] )
 				len++;
 			//unstable sort of run indexes (equal value guaranteed)
 			if( len>0 ) {
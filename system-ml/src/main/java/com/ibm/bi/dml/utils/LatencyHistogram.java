@@ -0,0 +1,166 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-linear buckets (16 linear sub-buckets
+ * per power of two), i.e., a relative error of at most 1/16 for recorded
+ * values. All recorders only issue atomic increments and hence can be used 
+ * concurrently by parfor workers without any synchronization.
+ * 
+ */
+public class LatencyHistogram 
+{
+	private static final int SUB_BITS = 4;
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+	public static final int NUM_BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+	
+	private final AtomicLongArray _buckets;
+	private final AtomicLong _count;
+	private final AtomicLong _total;
+	private final AtomicLong _max;
+	
+	public LatencyHistogram()
+	{
+		_buckets = new AtomicLongArray(NUM_BUCKETS);
+		_count = new AtomicLong(0);
+		_total = new AtomicLong(0);
+		_max = new AtomicLong(0);
+	}
+	
+	/**
+	 * Records a single value (e.g., latency in nanoseconds); negative
+	 * values are recorded as 0.
+	 * 
+	 * @param value
+	 */
+	public void record( long value )
+	{
+		long v = Math.max(value, 0);
+		_buckets.incrementAndGet(getBucketIndex(v));
+		_count.incrementAndGet();
+		_total.addAndGet(v);
+		
+		//maintain max via cas (rarely contended after warmup)
+		long lmax = _max.get();
+		while( v > lmax && !_max.compareAndSet(lmax, v) )
+			lmax = _max.get();
+	}
+	
+	public long getCount()
+	{
+		return _count.get();
+	}
+	
+	public long getTotal()
+	{
+		return _total.get();
+	}
+	
+	public long getMax()
+	{
+		return _max.get();
+	}
+	
+	public double getMean()
+	{
+		long cnt = _count.get();
+		return (cnt > 0) ? (double)_total.get() / cnt : 0;
+	}
+	
+	/**
+	 * Returns the approximate value at the given percentile (0-100], i.e., 
+	 * the upper bound of the bucket holding the p-th percentile, capped by 
+	 * the observed maximum.
+	 * 
+	 * @param p
+	 * @return
+	 */
+	public long getPercentile( double p )
+	{
+		//take snapshot of bucket counts (consistent enough for reporting)
+		long[] counts = new long[NUM_BUCKETS];
+		long cnt = 0;
+		for( int i=0; i<NUM_BUCKETS; i++ ) {
+			counts[i] = _buckets.get(i);
+			cnt += counts[i];
+		}
+		if( cnt == 0 )
+			return 0;
+		
+		long target = Math.max((long)Math.ceil(Math.min(p, 100) / 100 * cnt), 1);
+		long lsum = 0;
+		for( int i=0; i<NUM_BUCKETS; i++ ) {
+			lsum += counts[i];
+			if( lsum >= target )
+				return Math.min(getBucketLowerBound(i+1)-1, _max.get());
+		}
+		
+		return _max.get();
+	}
+	
+	/**
+	 * 
+	 */
+	public void reset()
+	{
+		for( int i=0; i<NUM_BUCKETS; i++ )
+			_buckets.set(i, 0);
+		_count.set(0);
+		_total.set(0);
+		_max.set(0);
+	}
+	
+	/**
+	 * Returns the index of the bucket holding the given value, where 
+	 * values below 16 have their own buckets.
+	 * 
+	 * @param v non-negative value
+	 * @return
+	 */
+	public static int getBucketIndex( long v )
+	{
+		if( v < SUB_COUNT )
+			return (int)v;
+		
+		int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+		return (shift + 1) * SUB_COUNT + (int)((v >>> shift) - SUB_COUNT);
+	}
+	
+	/**
+	 * Returns the smallest value of the given bucket, or Long.MAX_VALUE
+	 * for indexes beyond the last bucket.
+	 * 
+	 * @param ix
+	 * @return
+	 */
+	public static long getBucketLowerBound( int ix )
+	{
+		if( ix < SUB_COUNT )
+			return ix;
+		if( ix >= NUM_BUCKETS )
+			return Long.MAX_VALUE;
+		
+		int shift = ix / SUB_COUNT - 1;
+		long sub = ix % SUB_COUNT;
+		return (SUB_COUNT + sub) << shift;
+	}
+}
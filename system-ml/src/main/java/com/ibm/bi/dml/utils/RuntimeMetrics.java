@@ -0,0 +1,321 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.ibm.bi.dml.runtime.controlprogram.caching.CacheStatistics;
+
+/**
+ * Optional runtime metrics beyond the aggregate heavy hitter statistics:
+ * per-opcode latency histograms (percentiles), per-opcode allocated bytes
+ * of the executing thread, and buffer pool hit rates. Spark instructions and 
+ * MR jobs are covered via their extended opcodes (e.g., sp_ba+*, MR-Job_GMR).
+ * 
+ * All recorders are lock-free (concurrent map of atomics) in order to allow
+ * concurrent updates from parfor workers. The metrics are exposed via JMX 
+ * and optionally dumped periodically to the log.
+ * 
+ */
+public class RuntimeMetrics implements RuntimeMetricsMBean
+{
+	private static final Log LOG = LogFactory.getLog(RuntimeMetrics.class.getName());
+	
+	public static final String MBEAN_NAME = "com.ibm.bi.dml:type=RuntimeMetrics";
+	
+	//global flag for cheap checks in the instruction execution path
+	private static volatile boolean _enabled = false;
+	
+	private static final ConcurrentHashMap<String, InstMetrics> _instMetrics = 
+			new ConcurrentHashMap<String, InstMetrics>();
+	
+	private static ScheduledExecutorService _dumper = null;
+	private static ObjectName _mbeanName = null;
+	
+	//hotspot-specific per-thread allocation counter (via reflection, if available)
+	private static final ThreadMXBean _threadBean = ManagementFactory.getThreadMXBean();
+	private static Method _allocBytes = null;
+	
+	static 
+	{
+		try {
+			Class<?> cla = Class.forName("com.sun.management.ThreadMXBean");
+			if( cla.isInstance(_threadBean) ) {
+				Method m = cla.getMethod("getThreadAllocatedBytes", long.class);
+				Method supp = cla.getMethod("isThreadAllocatedMemorySupported");
+				if( (Boolean)supp.invoke(_threadBean) )
+					_allocBytes = m;
+			}
+		}
+		catch(Exception ex) {
+			//allocation metrics not supported by this jvm
+			_allocBytes = null;
+		}
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public static boolean isEnabled()
+	{
+		return _enabled;
+	}
+	
+	/**
+	 * Enables the runtime metrics, registers the JMX bean, and starts the 
+	 * periodic log dump if the given interval (in seconds) is positive.
+	 * 
+	 * @param dumpInterval
+	 */
+	public static synchronized void enable( int dumpInterval )
+	{
+		if( _enabled )
+			return;
+		
+		//register mbean (failures are non-critical)
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(MBEAN_NAME);
+			if( !server.isRegistered(name) )
+				server.registerMBean(new RuntimeMetrics(), name);
+			_mbeanName = name;
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to register runtime metrics mbean: "+ex.getMessage());
+		}
+		
+		//start periodic dump to log
+		if( dumpInterval > 0 ) {
+			_dumper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "RuntimeMetricsDump");
+					t.setDaemon(true);
+					return t;
+				}
+			});
+			_dumper.scheduleAtFixedRate(new Runnable() {
+				public void run() {
+					LOG.info("Runtime metrics:\n"+display());
+				}
+			}, dumpInterval, dumpInterval, TimeUnit.SECONDS);
+		}
+		
+		_enabled = true;
+	}
+	
+	/**
+	 * Disables the runtime metrics, stops the periodic dump and unregisters
+	 * the JMX bean. Collected metrics are kept until reset.
+	 */
+	public static synchronized void disable()
+	{
+		_enabled = false;
+		
+		if( _dumper != null ) {
+			_dumper.shutdownNow();
+			_dumper = null;
+		}
+		
+		if( _mbeanName != null ) {
+			try {
+				MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+				if( server.isRegistered(_mbeanName) )
+					server.unregisterMBean(_mbeanName);
+			}
+			catch(Exception ex) {
+				LOG.warn("Failed to unregister runtime metrics mbean: "+ex.getMessage());
+			}
+			_mbeanName = null;
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	public static void resetMetrics()
+	{
+		_instMetrics.clear();
+	}
+	
+	/**
+	 * Returns the total number of bytes allocated by the current thread,
+	 * or -1 if not supported by the jvm.
+	 * 
+	 * @return
+	 */
+	public static long getThreadAllocatedBytes()
+	{
+		if( _allocBytes == null )
+			return -1;
+		
+		try {
+			return (Long)_allocBytes.invoke(_threadBean, Thread.currentThread().getId());
+		}
+		catch(Exception ex) {
+			return -1;
+		}
+	}
+	
+	/**
+	 * 
+	 * @param opcode
+	 * @param timeNanos
+	 * @param allocBytes allocated bytes, negative if unknown
+	 */
+	public static void maintainInstructionMetrics( String opcode, long timeNanos, long allocBytes )
+	{
+		InstMetrics im = _instMetrics.get(opcode);
+		if( im == null ) {
+			InstMetrics tmp = new InstMetrics();
+			im = _instMetrics.putIfAbsent(opcode, tmp);
+			if( im == null )
+				im = tmp;
+		}
+		
+		im.latency.record(timeNanos);
+		if( allocBytes > 0 )
+			im.allocated.addAndGet(allocBytes);
+	}
+	
+	/**
+	 * Returns the buffer pool hit rate, i.e., the fraction of acquires served
+	 * from memory or the buffer pool (in-memory write buffer) instead of local 
+	 * fs or hdfs reads.
+	 * 
+	 * @return
+	 */
+	public static double getBufferPoolHitRateValue()
+	{
+		long hits = CacheStatistics.getMemHits() + CacheStatistics.getFSBuffHits();
+		long total = hits + CacheStatistics.getFSHits() + CacheStatistics.getHDFSHits();
+		return (total > 0) ? (double)hits / total : 0;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public static String display()
+	{
+		StringBuilder sb = new StringBuilder();
+		
+		String[] opcodes = _instMetrics.keySet().toArray(new String[0]);
+		Arrays.sort(opcodes);
+		sb.append("Instruction latency (ms) [count, mean, p50, p90, p99, max, alloc MB]:\n");
+		for( String opcode : opcodes ) {
+			InstMetrics im = _instMetrics.get(opcode);
+			LatencyHistogram h = im.latency;
+			sb.append("-- ");
+			sb.append(opcode);
+			sb.append(" \t");
+			sb.append(h.getCount());
+			sb.append(String.format(" \t%.3f \t%.3f \t%.3f \t%.3f \t%.3f \t%.3f\n", 
+					h.getMean()/1000000, (double)h.getPercentile(50)/1000000, 
+					(double)h.getPercentile(90)/1000000, (double)h.getPercentile(99)/1000000, 
+					(double)h.getMax()/1000000, (double)im.allocated.get()/(1024*1024)));
+		}
+		
+		sb.append("Buffer pool hit rate:\t\t");
+		sb.append(String.format("%.3f", getBufferPoolHitRateValue()));
+		sb.append(" (");
+		sb.append(CacheStatistics.displayHits());
+		sb.append(").\n");
+		
+		return sb.toString();
+	}
+	
+	///////////////////////////////////////////
+	// JMX interface
+	
+	@Override
+	public String[] getOpcodes() {
+		String[] ret = _instMetrics.keySet().toArray(new String[0]);
+		Arrays.sort(ret);
+		return ret;
+	}
+	
+	@Override
+	public long getCount(String opcode) {
+		InstMetrics im = _instMetrics.get(opcode);
+		return (im != null) ? im.latency.getCount() : 0;
+	}
+	
+	@Override
+	public double getMeanMillis(String opcode) {
+		InstMetrics im = _instMetrics.get(opcode);
+		return (im != null) ? im.latency.getMean()/1000000 : 0;
+	}
+	
+	@Override
+	public double getPercentileMillis(String opcode, double p) {
+		InstMetrics im = _instMetrics.get(opcode);
+		return (im != null) ? (double)im.latency.getPercentile(p)/1000000 : 0;
+	}
+	
+	@Override
+	public double getMaxMillis(String opcode) {
+		InstMetrics im = _instMetrics.get(opcode);
+		return (im != null) ? (double)im.latency.getMax()/1000000 : 0;
+	}
+	
+	@Override
+	public long getAllocatedBytes(String opcode) {
+		InstMetrics im = _instMetrics.get(opcode);
+		return (im != null) ? im.allocated.get() : 0;
+	}
+	
+	@Override
+	public double getBufferPoolHitRate() {
+		return getBufferPoolHitRateValue();
+	}
+	
+	@Override
+	public String getReport() {
+		return display();
+	}
+	
+	@Override
+	public void reset() {
+		resetMetrics();
+	}
+	
+	/**
+	 * 
+	 */
+	private static class InstMetrics
+	{
+		public final LatencyHistogram latency = new LatencyHistogram();
+		public final AtomicLong allocated = new AtomicLong(0);
+	}
+}
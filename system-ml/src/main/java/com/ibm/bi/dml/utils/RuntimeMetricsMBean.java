@@ -0,0 +1,44 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.utils;
+
+/**
+ * JMX management interface of the runtime metrics, registered as 
+ * 'com.ibm.bi.dml:type=RuntimeMetrics' if runtime metrics are enabled.
+ * 
+ */
+public interface RuntimeMetricsMBean 
+{
+	public String[] getOpcodes();
+	
+	public long getCount( String opcode );
+	
+	public double getMeanMillis( String opcode );
+	
+	public double getPercentileMillis( String opcode, double p );
+	
+	public double getMaxMillis( String opcode );
+	
+	public long getAllocatedBytes( String opcode );
+	
+	public double getBufferPoolHitRate();
+	
+	public String getReport();
+	
+	public void reset();
+}
@@ -26,11 +26,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.ibm.bi.dml.api.DMLScript;
 import com.ibm.bi.dml.hops.OptimizerUtils;
 import com.ibm.bi.dml.runtime.controlprogram.caching.CacheStatistics;
+import com.ibm.bi.dml.runtime.controlprogram.caching.CacheableData;
 import com.ibm.bi.dml.runtime.controlprogram.context.SparkExecutionContext;
 import com.ibm.bi.dml.runtime.instructions.Instruction;
 import com.ibm.bi.dml.runtime.instructions.InstructionUtils;
@@ -81,10 +83,13 @@ public class Statistics
 	private static long parforOptCount = 0; //count
 	private static long parforInitTime = 0; //in milli sec
 	private static long parforMergeTime = 0; //in milli sec
+	private static double parforBusyTime = 0; //in milli sec, sum over local workers
+	private static double parforIdleTime = 0; //in milli sec, sum over local workers
 	
 	//heavy hitter counts and times 
-	private static HashMap<String,Long> _cpInstTime   =  new HashMap<String, Long>();
-	private static HashMap<String,Long> _cpInstCounts =  new HashMap<String, Long>();
+	//note: concurrent maps of atomics in order to avoid a global lock for parfor workers
+	private static ConcurrentHashMap<String,AtomicLong> _cpInstTime   =  new ConcurrentHashMap<String, AtomicLong>();
+	private static ConcurrentHashMap<String,AtomicLong> _cpInstCounts =  new ConcurrentHashMap<String, AtomicLong>();
 	
 	public static synchronized void setNoOfExecutedMRJobs(int iNoOfExecutedMRJobs) {
 		Statistics.iNoOfExecutedMRJobs = iNoOfExecutedMRJobs;
@@ -240,6 +245,11 @@ public class Statistics
 	public static synchronized void incrementParForMergeTime( long time ) {
 		parforMergeTime += time;
 	}
+	
+	public static synchronized void incrementParForWorkerTime( double busyTime, double idleTime ) {
+		parforBusyTime += busyTime;
+		parforIdleTime += idleTime;
+	}
 
 	public static void startCompileTimer() {
 		if( DMLScript.STATISTICS )
@@ -290,6 +300,8 @@ public class Statistics
 		parforOptTime = 0;
 		parforInitTime = 0;
 		parforMergeTime = 0;
+		parforBusyTime = 0;
+		parforIdleTime = 0;
 		
 		resetJITCompileTime();
 		resetJVMgcTime();
@@ -359,15 +371,29 @@ public class Statistics
 		return opcode;
 	}
 	
-	public synchronized static void maintainCPHeavyHitters( String key, long timeNanos )
+	public static void maintainCPHeavyHitters( String key, long timeNanos )
 	{
-		Long oldVal = _cpInstTime.get(key);
-		Long newVal = timeNanos + ((oldVal!=null) ? oldVal : 0);
-		_cpInstTime.put(key, newVal);
-
-		Long oldCnt = _cpInstCounts.get(key);
-		Long newCnt = 1 + ((oldCnt!=null) ? oldCnt : 0);
-		_cpInstCounts.put(key, newCnt);
+		//note: not synchronized due to use of concurrent maps and atomics
+		getOrCreateCounter(_cpInstTime, key).addAndGet(timeNanos);
+		getOrCreateCounter(_cpInstCounts, key).incrementAndGet();
+	}
+	
+	/**
+	 * 
+	 * @param map
+	 * @param key
+	 * @return
+	 */
+	private static AtomicLong getOrCreateCounter( ConcurrentHashMap<String,AtomicLong> map, String key )
+	{
+		AtomicLong ret = map.get(key);
+		if( ret == null ) {
+			AtomicLong tmp = new AtomicLong(0);
+			ret = map.putIfAbsent(key, tmp);
+			if( ret == null )
+				ret = tmp;
+		}
+		return ret;
 	}
 	
 	public static Set<String> getCPHeavyHitterOpCodes()
@@ -387,11 +413,15 @@ public class Statistics
 		if( num <= 0 || len <= 0 )
 			return "-";
 		
-		//get top k via sort
-		Entry<String,Long>[] tmp = _cpInstTime.entrySet().toArray(new Entry[len]);
-		Arrays.sort(tmp, new Comparator<Entry<String, Long>>() {
-		    public int compare(Entry<String, Long> e1, Entry<String, Long> e2) {
-		        return e1.getValue().compareTo(e2.getValue());
+		//get top k via sort (over consistent snapshot of concurrently updated times)
+		Entry<String,AtomicLong>[] tmp = _cpInstTime.entrySet().toArray(new Entry[0]);
+		len = tmp.length;
+		final HashMap<String,Long> times = new HashMap<String,Long>();
+		for( Entry<String,AtomicLong> e : tmp )
+			times.put(e.getKey(), e.getValue().get());
+		Arrays.sort(tmp, new Comparator<Entry<String, AtomicLong>>() {
+		    public int compare(Entry<String, AtomicLong> e1, Entry<String, AtomicLong> e2) {
+		        return times.get(e1.getKey()).compareTo(times.get(e2.getKey()));
 		    }
 		});
 		
@@ -402,7 +432,7 @@ public class Statistics
 			sb.append("-- "+(i+1)+") \t");
 			sb.append(key);
 			sb.append(" \t");
-			sb.append(String.format("%.3f", ((double)tmp[len-1-i].getValue())/1000000000));
+			sb.append(String.format("%.3f", ((double)times.get(key))/1000000000));
 			sb.append(" sec \t");
 			sb.append(_cpInstCounts.get(key));
 			sb.append("\n");
@@ -488,6 +518,14 @@ public class Statistics
 	public static long getParforMergeTime(){
 		return parforMergeTime;
 	}
+	
+	public static double getParforBusyTime(){
+		return parforBusyTime;
+	}
+	
+	public static double getParforIdleTime(){
+		return parforIdleTime;
+	}
 
 	/**
 	 * Prints statistics.
@@ -520,6 +558,11 @@ public class Statistics
 		{
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
+			sb.append("Cache WB policy (hits/misses):\t" + CacheStatistics.displayBuffPolicyHits() + ".\n");
+			if( CacheableData.CACHING_BUFFER_COMPRESSION )
+				sb.append("Cache WB compr (blocks, ratio):\t" + CacheStatistics.displayBuffCompression() + ".\n");
+			if( CacheableData.CACHING_PREFETCH )
+				sb.append("Cache prefetch (all,hit,wst,s):\t" + CacheStatistics.displayPrefetch() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
 			sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getHopRecompileTime())/1000000000) + " sec.\n");
@@ -538,6 +581,10 @@ public class Statistics
 				sb.append("ParFor initialize time:\t\t" + String.format("%.3f", ((double)getParforInitTime())/1000) + " sec.\n");	
 				sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getParforMergeTime())/1000) + " sec.\n");	
 			}
+			if( parforBusyTime>0 ){
+				sb.append("ParFor worker busy/idle time:\t" + String.format("%.3f", getParforBusyTime()/1000) + "/" 
+						+ String.format("%.3f", getParforIdleTime()/1000) + " sec.\n");
+			}
 			sb.append("Total JIT compile time:\t\t" + ((double)getJITCompileTime())/1000 + " sec.\n");
 			sb.append("Total JVM GC count:\t\t" + getJVMgcCount() + ".\n");
 			sb.append("Total JVM GC time:\t\t" + ((double)getJVMgcTime())/1000 + " sec.\n");
@@ -0,0 +1,151 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.aggregate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.lops.PartialAggregate.CorrectionLocationType;
+import com.ibm.bi.dml.runtime.functionobjects.CM;
+import com.ibm.bi.dml.runtime.functionobjects.COV;
+import com.ibm.bi.dml.runtime.functionobjects.KahanPlus;
+import com.ibm.bi.dml.runtime.instructions.cp.CM_COV_Object;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.operators.AggregateOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.CMOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import com.ibm.bi.dml.runtime.matrix.operators.COVOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.Operator;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for the multi-threaded central moment, 
+ * covariance, and grouped aggregate kernels. The number of rows exceeds the 
+ * parallelization threshold of 1M rows in order to compare the multi-threaded 
+ * against the single-threaded results.
+ * 
+ */
+public class ParallelCmCovGroupedAggTest extends AutomatedTestBase 
+{
+	private final static int rows = 1200000; //above 1M rows threshold
+	private final static int numGroups = 7;
+	private final static int maxWeight = 10;
+	private final static int threads = 4;
+	private final static double eps = 1e-8;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testCentralMomentVariance() {
+		runCmCovGroupedAggTest(AggregateOperationTypes.VARIANCE, false, false);
+	}
+	
+	@Test
+	public void testCentralMomentVarianceWeights() {
+		runCmCovGroupedAggTest(AggregateOperationTypes.VARIANCE, true, false);
+	}
+	
+	@Test
+	public void testCentralMomentCM4Weights() {
+		runCmCovGroupedAggTest(AggregateOperationTypes.CM4, true, false);
+	}
+	
+	@Test
+	public void testCovariance() {
+		runCmCovGroupedAggTest(null, false, false);
+	}
+	
+	@Test
+	public void testCovarianceWeights() {
+		runCmCovGroupedAggTest(null, true, false);
+	}
+	
+	@Test
+	public void testGroupedAggSum() {
+		runCmCovGroupedAggTest(AggregateOperationTypes.SUM, false, true);
+	}
+	
+	@Test
+	public void testGroupedAggSumWeights() {
+		runCmCovGroupedAggTest(AggregateOperationTypes.SUM, true, true);
+	}
+	
+	@Test
+	public void testGroupedAggMean() {
+		runCmCovGroupedAggTest(AggregateOperationTypes.MEAN, false, true);
+	}
+	
+	@Test
+	public void testGroupedAggVarianceWeights() {
+		runCmCovGroupedAggTest(AggregateOperationTypes.VARIANCE, true, true);
+	}
+	
+	/**
+	 * 
+	 * @param type central moment aggregate type, null for covariance
+	 * @param weights
+	 * @param grouped
+	 */
+	private void runCmCovGroupedAggTest( AggregateOperationTypes type, boolean weights, boolean grouped )
+	{
+		try
+		{
+			//data generation
+			MatrixBlock A = DataConverter.convertToMatrixBlock(getRandomMatrix(rows, 1, -5, 5, 1.0, 7)); 
+			MatrixBlock B = DataConverter.convertToMatrixBlock(getRandomMatrix(rows, 1, -5, 5, 1.0, 3)); 
+			MatrixBlock W = weights ? DataConverter.convertToMatrixBlock(
+					TestUtils.round(getRandomMatrix(rows, 1, 1, maxWeight, 1.0, 13))) : null;
+			
+			if( grouped ) {
+				MatrixBlock G = DataConverter.convertToMatrixBlock(
+						TestUtils.round(getRandomMatrix(rows, 1, 1, numGroups, 1.0, 11)));
+				Operator op = (type == AggregateOperationTypes.SUM) ? 
+						new AggregateOperator(0, KahanPlus.getKahanPlusFnObject(), true, CorrectionLocationType.LASTCOLUMN) :
+						new CMOperator(CM.getCMFnObject(type), type);
+				MatrixBlock ret1 = (MatrixBlock) G.groupedAggOperations(A, W, new MatrixBlock(), numGroups, op, 1);
+				MatrixBlock ret2 = (MatrixBlock) G.groupedAggOperations(A, W, new MatrixBlock(), numGroups, op, threads);
+				double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+				double[][] C2 = DataConverter.convertToDoubleMatrix(ret2);
+				TestUtils.compareMatrices(C1, C2, numGroups, 1, eps);
+			}
+			else if( type != null ) {
+				CMOperator op = new CMOperator(CM.getCMFnObject(type), type);
+				CM_COV_Object ret1 = weights ? A.cmOperations(op, W, 1) : A.cmOperations(op, 1);
+				CM_COV_Object ret2 = weights ? A.cmOperations(op, W, threads) : A.cmOperations(op, threads);
+				Assert.assertEquals(ret1.getWeight(), ret2.getWeight(), eps);
+				Assert.assertEquals(ret1.getRequiredResult(op), ret2.getRequiredResult(op), eps);
+			}
+			else {
+				COVOperator op = new COVOperator(COV.getCOMFnObject());
+				CM_COV_Object ret1 = weights ? A.covOperations(op, B, W, 1) : A.covOperations(op, B, 1);
+				CM_COV_Object ret2 = weights ? A.covOperations(op, B, W, threads) : A.covOperations(op, B, threads);
+				Assert.assertEquals(ret1.getWeight(), ret2.getWeight(), eps);
+				Assert.assertEquals(ret1.getRequiredResult(op), ret2.getRequiredResult(op), eps);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.binary.matrix_full_cellwise;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.functionobjects.GreaterThan;
+import com.ibm.bi.dml.runtime.functionobjects.Minus;
+import com.ibm.bi.dml.runtime.functionobjects.Multiply;
+import com.ibm.bi.dml.runtime.functionobjects.Plus;
+import com.ibm.bi.dml.runtime.functionobjects.ValueFunction;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.operators.BinaryOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.RightScalarOperator;
+import com.ibm.bi.dml.runtime.matrix.operators.ScalarOperator;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for the multi-threaded cell-wise 
+ * matrix-scalar, matrix-vector, and matrix-matrix operations. The inputs 
+ * exceed the parallelization threshold of 1M cells (or non-zeros for sparse 
+ * inputs) in order to compare the multi-threaded against the single-threaded 
+ * results.
+ * 
+ */
+public class ParallelBinaryCellwiseTest extends AutomatedTestBase 
+{
+	private final static int rows = 4000;
+	private final static int cols = 1000;
+	private final static double spSparse = 0.3; //above 1M non-zeros
+	private final static double spDense = 0.9;
+	private final static int threads = 4;
+	private final static double eps = 1e-10;
+	
+	private enum InputType {
+		SCALAR,
+		COL_VECTOR,
+		ROW_VECTOR,
+		MATRIX
+	}
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testMultiplyScalarDense() {
+		runParallelBinaryCellwiseTest(Multiply.getMultiplyFnObject(), InputType.SCALAR, false, false);
+	}
+	
+	@Test
+	public void testMultiplyScalarSparse() {
+		runParallelBinaryCellwiseTest(Multiply.getMultiplyFnObject(), InputType.SCALAR, true, false);
+	}
+	
+	@Test
+	public void testPlusScalarDense() {
+		runParallelBinaryCellwiseTest(Plus.getPlusFnObject(), InputType.SCALAR, false, false);
+	}
+	
+	@Test
+	public void testPlusScalarSparse() {
+		runParallelBinaryCellwiseTest(Plus.getPlusFnObject(), InputType.SCALAR, true, false);
+	}
+	
+	@Test
+	public void testMinusColVectorDense() {
+		runParallelBinaryCellwiseTest(Minus.getMinusFnObject(), InputType.COL_VECTOR, false, false);
+	}
+	
+	@Test
+	public void testMultiplyRowVectorDense() {
+		runParallelBinaryCellwiseTest(Multiply.getMultiplyFnObject(), InputType.ROW_VECTOR, false, false);
+	}
+	
+	@Test
+	public void testGreaterRowVectorDense() {
+		runParallelBinaryCellwiseTest(GreaterThan.getGreaterThanFnObject(), InputType.ROW_VECTOR, false, false);
+	}
+	
+	@Test
+	public void testPlusMatrixDenseDense() {
+		runParallelBinaryCellwiseTest(Plus.getPlusFnObject(), InputType.MATRIX, false, false);
+	}
+	
+	@Test
+	public void testGreaterMatrixDenseDense() {
+		runParallelBinaryCellwiseTest(GreaterThan.getGreaterThanFnObject(), InputType.MATRIX, false, false);
+	}
+	
+	@Test
+	public void testPlusMatrixSparseDense() {
+		runParallelBinaryCellwiseTest(Plus.getPlusFnObject(), InputType.MATRIX, true, false);
+	}
+	
+	@Test
+	public void testMinusMatrixDenseSparse() {
+		runParallelBinaryCellwiseTest(Minus.getMinusFnObject(), InputType.MATRIX, false, true);
+	}
+	
+	@Test
+	public void testMultiplyMatrixSparseDense() {
+		runParallelBinaryCellwiseTest(Multiply.getMultiplyFnObject(), InputType.MATRIX, true, false);
+	}
+	
+	/**
+	 * 
+	 * @param fn
+	 * @param type
+	 * @param sparseM1
+	 * @param sparseM2
+	 */
+	private void runParallelBinaryCellwiseTest( ValueFunction fn, InputType type, boolean sparseM1, boolean sparseM2 )
+	{
+		try
+		{
+			//data generation
+			int rows2 = (type==InputType.ROW_VECTOR) ? 1 : rows;
+			int cols2 = (type==InputType.COL_VECTOR) ? 1 : cols;
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(
+					getRandomMatrix(rows, cols, -1, 1, sparseM1?spSparse:spDense, 7));
+			MatrixBlock mbB = (type==InputType.SCALAR) ? null : DataConverter.convertToMatrixBlock(
+					getRandomMatrix(rows2, cols2, -1, 1, sparseM2?spSparse:spDense, 3));
+			Assert.assertEquals(sparseM1, mbA.isInSparseFormat());
+			
+			//compare single- and multi-threaded results
+			MatrixBlock ret1 = executeBinaryCellwise(mbA, mbB, fn, 1);
+			MatrixBlock ret2 = executeBinaryCellwise(mbA, mbB, fn, threads);
+			double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] C2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(C1, C2, rows, cols, eps);
+			
+			//check aggregated partial nnz of multi-threaded result
+			long nnz = ret2.getNonZeros();
+			ret2.recomputeNonZeros();
+			Assert.assertEquals(ret2.getNonZeros(), nnz);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param in1
+	 * @param in2 matrix or vector, null for scalar operations
+	 * @param fn
+	 * @param k
+	 * @return
+	 * @throws Exception
+	 */
+	private static MatrixBlock executeBinaryCellwise( MatrixBlock in1, MatrixBlock in2, ValueFunction fn, int k ) 
+		throws Exception
+	{
+		if( in2 == null ) {
+			ScalarOperator op = new RightScalarOperator(fn, 7);
+			op.setNumThreads(k);
+			return (MatrixBlock) in1.scalarOperations(op, new MatrixBlock());
+		}
+		else {
+			BinaryOperator op = new BinaryOperator(fn);
+			op.setNumThreads(k);
+			return (MatrixBlock) in1.binaryOperations(op, in2, new MatrixBlock());
+		}
+	}
+}
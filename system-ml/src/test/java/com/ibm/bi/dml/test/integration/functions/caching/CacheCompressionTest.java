@@ -0,0 +1,151 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.caching;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.controlprogram.caching.CacheCompression;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+
+/**
+ * This is a component test for the segment-wise compression of serialized
+ * buffers, which checks the round trip of compressible and incompressible 
+ * data of single and multiple segments, with sequential and multi-threaded 
+ * (de)compression via the shared thread pool.
+ * 
+ */
+public class CacheCompressionTest extends AutomatedTestBase 
+{
+	private final static int len1 = 1000; //single segment
+	private final static int len2 = 2*CacheCompression.SEGMENT_SIZE; //full segments
+	private final static int len3 = 3*CacheCompression.SEGMENT_SIZE + 1234; //partial last segment
+	private final static int numThreads = 4;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testCompressibleSingleSegmentSP() {
+		runCompressionTest(len1, true, 1);
+	}
+	
+	@Test
+	public void testCompressibleSingleSegmentMT() {
+		runCompressionTest(len1, true, numThreads);
+	}
+	
+	@Test
+	public void testCompressibleFullSegmentsSP() {
+		runCompressionTest(len2, true, 1);
+	}
+	
+	@Test
+	public void testCompressibleFullSegmentsMT() {
+		runCompressionTest(len2, true, numThreads);
+	}
+	
+	@Test
+	public void testCompressiblePartialSegmentSP() {
+		runCompressionTest(len3, true, 1);
+	}
+	
+	@Test
+	public void testCompressiblePartialSegmentMT() {
+		runCompressionTest(len3, true, numThreads);
+	}
+	
+	@Test
+	public void testIncompressibleSingleSegmentSP() {
+		runCompressionTest(len1, false, 1);
+	}
+	
+	@Test
+	public void testIncompressiblePartialSegmentSP() {
+		runCompressionTest(len3, false, 1);
+	}
+	
+	@Test
+	public void testIncompressiblePartialSegmentMT() {
+		runCompressionTest(len3, false, numThreads);
+	}
+	
+	/**
+	 * 
+	 * @param len
+	 * @param compressible
+	 * @param k
+	 */
+	private void runCompressionTest( int len, boolean compressible, int k )
+	{
+		try
+		{
+			CacheCompression.init(k);
+			byte[] data = createData(len, compressible);
+			
+			//compress and check segments
+			byte[][] cdata = CacheCompression.compress(data, k);
+			int nseg = (int)Math.ceil((double)len/CacheCompression.SEGMENT_SIZE);
+			Assert.assertEquals("Wrong number of segments", nseg, cdata.length);
+			long csize = CacheCompression.getCompressedSize(cdata);
+			if( compressible )
+				Assert.assertTrue("Data not compressed: "+csize+" vs "+len, csize < len/2);
+			
+			//decompress (with different degree of parallelism) and compare
+			byte[] out1 = new byte[len];
+			CacheCompression.decompress(cdata, out1, k);
+			Assert.assertTrue("Wrong decompressed data", Arrays.equals(data, out1));
+			byte[] out2 = new byte[len];
+			CacheCompression.decompress(cdata, out2, (k>1) ? 1 : 4);
+			Assert.assertTrue("Wrong decompressed data", Arrays.equals(data, out2));
+		}
+		catch(IOException ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheCompression.cleanup();
+		}
+	}
+	
+	/**
+	 * 
+	 * @param len
+	 * @param compressible
+	 * @return
+	 */
+	private static byte[] createData( int len, boolean compressible )
+	{
+		byte[] ret = new byte[len];
+		Random rand = new Random(7);
+		if( compressible ) {
+			//serialized doubles of few distinct values
+			for( int i=0; i<len; i++ )
+				ret[i] = (byte)((i%8==7) ? rand.nextInt(4) : 0);
+		}
+		else {
+			rand.nextBytes(ret);
+		}
+		return ret;
+	}
+}
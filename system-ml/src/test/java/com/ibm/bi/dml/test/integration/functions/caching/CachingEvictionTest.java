@@ -0,0 +1,318 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.caching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.api.DMLScript;
+import com.ibm.bi.dml.runtime.controlprogram.caching.CacheStatistics;
+import com.ibm.bi.dml.runtime.controlprogram.caching.CacheableData;
+import com.ibm.bi.dml.runtime.controlprogram.caching.LazyWriteBuffer;
+import com.ibm.bi.dml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.util.LocalFileUtils;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+
+/**
+ * This is a component test for the eviction of matrices from the striped write 
+ * buffer to local FS (synchronously and asynchronously, with and without compressed 
+ * buffers), which checks the contents of evicted matrices under concurrent writes/reads, 
+ * re-evictions of the same file after deletes or reads of pending evictions, and the 
+ * buffer size accounting.
+ * 
+ */
+public class CachingEvictionTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = TEST_DATA_DIR + "functions/caching/CachingEvictionTest/";
+	
+	private final static int rows = 1000;
+	private final static int cols = 1000; //8MB per dense matrix
+	private final static int numThreads = 4;
+	private final static int numRounds = 3;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testEvictionFIFOSync() {
+		runEvictionTest(RPolicy.FIFO, false, false);
+	}
+	
+	@Test
+	public void testEvictionFIFOAsync() {
+		runEvictionTest(RPolicy.FIFO, true, false);
+	}
+	
+	@Test
+	public void testEvictionLRUAsync() {
+		runEvictionTest(RPolicy.LRU, true, false);
+	}
+	
+	@Test
+	public void testEvictionCostAsync() {
+		runEvictionTest(RPolicy.COST, true, false);
+	}
+	
+	@Test
+	public void testEvictionSizeAsync() {
+		runEvictionTest(RPolicy.SIZE, true, false);
+	}
+	
+	@Test
+	public void testEvictionFIFOSyncCompressed() {
+		runEvictionTest(RPolicy.FIFO, false, true);
+	}
+	
+	@Test
+	public void testEvictionLRUAsyncCompressed() {
+		runEvictionTest(RPolicy.LRU, true, true);
+	}
+	
+	@Test
+	public void testReEvictionAfterDeleteAsync() {
+		runReEvictionTest(true);
+	}
+	
+	@Test
+	public void testReEvictionAfterReadAsync() {
+		runReEvictionTest(false);
+	}
+	
+	/**
+	 * 
+	 * @param policy
+	 * @param async
+	 * @param compress
+	 */
+	private void runEvictionTest( RPolicy policy, boolean async, boolean compress )
+	{
+		RPolicy oldPolicy = CacheableData.CACHING_BUFFER_POLICY;
+		boolean oldAsync = CacheableData.CACHING_BUFFER_ASYNC_EVICTION;
+		boolean oldCompress = CacheableData.CACHING_BUFFER_COMPRESSION;
+		boolean oldStats = DMLScript.STATISTICS;
+		
+		try
+		{
+			DMLScript.STATISTICS = true;
+			CacheableData.CACHING_BUFFER_POLICY = policy;
+			CacheableData.CACHING_BUFFER_ASYNC_EVICTION = async;
+			CacheableData.CACHING_BUFFER_COMPRESSION = compress;
+			CacheStatistics.reset();
+			LazyWriteBuffer.init();
+			LocalFileUtils.createLocalFileIfNotExist(TEST_DIR);
+			
+			//concurrent writes/reads of distinct matrices (exceeding the buffer)
+			int numMatrices = getNumMatricesToExceedBuffer() / numThreads + 2;
+			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			ArrayList<EvictionTask> tasks = new ArrayList<EvictionTask>();
+			for( int i=0; i<numThreads; i++ )
+				tasks.add(new EvictionTask(i, numMatrices));
+			List<Future<Object>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> rtask : rtasks )
+				rtask.get(); //check for errors
+			
+			//check compressed buffers, evictions (after pending writes) 
+			//and release of reserved memory
+			LazyWriteBuffer.cleanup();
+			Assert.assertEquals("Wrong number of compressed buffers", compress ? 
+				CacheStatistics.getFSBuffWrites() : 0, CacheStatistics.getBuffCompressed());
+			Assert.assertTrue("No evictions", CacheStatistics.getFSWrites() > 0);
+			Assert.assertEquals("Buffer memory not released", 0, LazyWriteBuffer.getBufferedSize());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LazyWriteBuffer.cleanup();
+			CacheableData.CACHING_BUFFER_POLICY = oldPolicy;
+			CacheableData.CACHING_BUFFER_ASYNC_EVICTION = oldAsync;
+			CacheableData.CACHING_BUFFER_COMPRESSION = oldCompress;
+			DMLScript.STATISTICS = oldStats;
+			LocalFileUtils.deleteFileIfExists(TEST_DIR);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param delete delete before re-eviction, otherwise read before re-eviction
+	 */
+	private void runReEvictionTest( boolean delete )
+	{
+		RPolicy oldPolicy = CacheableData.CACHING_BUFFER_POLICY;
+		boolean oldAsync = CacheableData.CACHING_BUFFER_ASYNC_EVICTION;
+		
+		try
+		{
+			CacheableData.CACHING_BUFFER_POLICY = RPolicy.FIFO;
+			CacheableData.CACHING_BUFFER_ASYNC_EVICTION = true;
+			LazyWriteBuffer.init();
+			LocalFileUtils.createLocalFileIfNotExist(TEST_DIR);
+			
+			//repeatedly evict new versions of the same file, where the old 
+			//version is deleted or read (potentially from pending eviction)
+			String fname = TEST_DIR + "reevict";
+			for( int r=0; r<numRounds; r++ ) 
+			{
+				LazyWriteBuffer.writeMatrix(fname, createMatrix(r+1));
+				evictBuffer("fill"+r);
+				if( delete )
+					LazyWriteBuffer.deleteMatrix(fname);
+				else
+					checkMatrix(LazyWriteBuffer.readMatrix(fname), r+1);
+			}
+			
+			//evict final version and wait for pending writes
+			LazyWriteBuffer.writeMatrix(fname, createMatrix(numRounds+1));
+			evictBuffer("fill"+numRounds);
+			checkMatrix(LazyWriteBuffer.readMatrix(fname), numRounds+1);
+			LazyWriteBuffer.cleanup();
+			
+			//check that the file holds the final version (neither deleted 
+			//nor overwritten by writes of old versions)
+			checkMatrix(LocalFileUtils.readMatrixBlockFromLocal(fname), numRounds+1);
+			LazyWriteBuffer.deleteMatrix(fname);
+			Assert.assertEquals("Buffer memory not released", 0, LazyWriteBuffer.getBufferedSize());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LazyWriteBuffer.cleanup();
+			CacheableData.CACHING_BUFFER_POLICY = oldPolicy;
+			CacheableData.CACHING_BUFFER_ASYNC_EVICTION = oldAsync;
+			LocalFileUtils.deleteFileIfExists(TEST_DIR);
+		}
+	}
+	
+	/**
+	 * Writes and deletes filler matrices in order to evict all 
+	 * previously buffered matrices (fifo).
+	 * 
+	 * @param prefix
+	 * @throws Exception
+	 */
+	private static void evictBuffer( String prefix ) 
+		throws Exception
+	{
+		int numMatrices = getNumMatricesToExceedBuffer();
+		MatrixBlock mb = createMatrix(-1);
+		for( int i=0; i<numMatrices; i++ )
+			LazyWriteBuffer.writeMatrix(TEST_DIR + prefix + "_" + i, mb);
+		for( int i=0; i<numMatrices; i++ )
+			LazyWriteBuffer.deleteMatrix(TEST_DIR + prefix + "_" + i);
+	}
+	
+	/**
+	 * Returns the number of matrices that exceed twice the buffer size
+	 * (in order to force evictions of compressed buffers as well).
+	 * 
+	 * @return
+	 */
+	private static int getNumMatricesToExceedBuffer()
+	{
+		long size = MatrixBlock.estimateSizeOnDisk(rows, cols, (long)rows*cols);
+		return (int)(2 * LazyWriteBuffer.getWriteBufferSize() / size) + 1;
+	}
+	
+	/**
+	 * Creates a dense matrix of random values in [val, val+1), 
+	 * seeded by the given value.
+	 * 
+	 * @param val
+	 * @return
+	 * @throws Exception
+	 */
+	private static MatrixBlock createMatrix( double val ) 
+		throws Exception
+	{
+		MatrixBlock mb = new MatrixBlock(rows, cols, false);
+		mb.allocateDenseBlock();
+		Random rand = new Random((long)val);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				mb.setValueDenseUnsafe(i, j, val + rand.nextDouble());
+		mb.recomputeNonZeros();
+		return mb;
+	}
+	
+	/**
+	 * 
+	 * @param mb
+	 * @param val
+	 */
+	private static void checkMatrix( MatrixBlock mb, double val )
+	{
+		Assert.assertEquals("Wrong number of rows", rows, mb.getNumRows());
+		Assert.assertEquals("Wrong number of columns", cols, mb.getNumColumns());
+		Random rand = new Random((long)val);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				double expected = val + rand.nextDouble();
+				if( mb.quickGetValue(i, j) != expected )
+					Assert.fail("Wrong value at ("+i+","+j+"): "+mb.quickGetValue(i, j)+" vs "+expected);
+			}
+	}
+	
+	/**
+	 * Task for writing, reading and deleting a disjoint set of matrices.
+	 * 
+	 */
+	private static class EvictionTask implements Callable<Object>
+	{
+		private int _id = -1;
+		private int _num = -1;
+		
+		protected EvictionTask( int id, int num ) {
+			_id = id;
+			_num = num;
+		}
+		
+		@Override
+		public Object call() 
+			throws Exception
+		{
+			for( int i=0; i<_num; i++ )
+				LazyWriteBuffer.writeMatrix(getFilename(i), createMatrix(getValue(i)));
+			for( int i=0; i<_num; i++ )
+				checkMatrix(LazyWriteBuffer.readMatrix(getFilename(i)), getValue(i));
+			for( int i=0; i<_num; i++ )
+				LazyWriteBuffer.deleteMatrix(getFilename(i));
+			return null;
+		}
+		
+		private String getFilename( int i ) {
+			return TEST_DIR + "evict" + _id + "_" + i;
+		}
+		
+		private double getValue( int i ) {
+			return _id * _num + i + 1;
+		}
+	}
+}
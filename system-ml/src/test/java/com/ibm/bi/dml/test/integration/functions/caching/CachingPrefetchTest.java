@@ -0,0 +1,123 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.caching;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.api.DMLScript;
+import com.ibm.bi.dml.runtime.controlprogram.caching.CacheStatistics;
+import com.ibm.bi.dml.runtime.controlprogram.caching.CacheableData;
+import com.ibm.bi.dml.runtime.controlprogram.caching.LazyWriteBuffer;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.runtime.util.LocalFileUtils;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the asynchronous prefetch of evicted matrices
+ * from local FS, which checks the prefetch statistics (prefetches, hits, wasted)
+ * and the accounting of prefetched matrices against the buffer limit.
+ * 
+ */
+public class CachingPrefetchTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = TEST_DATA_DIR + "functions/caching/CachingPrefetchTest/";
+	
+	private final static int rows = 321;
+	private final static int cols = 123;
+	private final static double sparsity = 0.7;
+	private final static int numMatrices = 4; //below max in-flight prefetches
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testPrefetchHits() {
+		runPrefetchTest(true);
+	}
+	
+	@Test
+	public void testPrefetchWasted() {
+		runPrefetchTest(false);
+	}
+	
+	/**
+	 * 
+	 * @param read read prefetched matrices, otherwise delete before use
+	 */
+	private void runPrefetchTest( boolean read )
+	{
+		boolean oldStats = DMLScript.STATISTICS;
+		boolean oldPrefetch = CacheableData.CACHING_PREFETCH;
+		
+		try
+		{
+			DMLScript.STATISTICS = true;
+			CacheableData.CACHING_PREFETCH = true;
+			CacheStatistics.reset();
+			LazyWriteBuffer.init();
+			
+			//write matrices to local FS (i.e., evicted matrices)
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			LocalFileUtils.createLocalFileIfNotExist(TEST_DIR);
+			String[] fnames = new String[numMatrices];
+			for( int i=0; i<numMatrices; i++ ) {
+				fnames[i] = TEST_DIR + "prefetch" + i;
+				LocalFileUtils.writeMatrixBlockToLocal(fnames[i], mb);
+			}
+			
+			//asynchronous prefetch (size counted against buffer limit)
+			for( String fname : fnames )
+				LazyWriteBuffer.prefetchMatrix(fname);
+			Assert.assertEquals("Wrong number of prefetches", numMatrices, CacheStatistics.getPrefetches());
+			Assert.assertTrue("Prefetched matrices not accounted", LazyWriteBuffer.getPrefetchSize() > 0);
+			
+			//consume or invalidate prefetched matrices
+			for( String fname : fnames ) {
+				if( read ) {
+					MatrixBlock ret = LazyWriteBuffer.readMatrix(fname);
+					double[][] C = DataConverter.convertToDoubleMatrix(ret);
+					TestUtils.compareMatrices(A, C, rows, cols, eps);
+				}
+				else
+					LazyWriteBuffer.deleteMatrix(fname);
+			}
+			
+			Assert.assertEquals("Wrong number of prefetch hits", 
+					read ? numMatrices : 0, CacheStatistics.getPrefetchHits());
+			Assert.assertEquals("Wrong number of wasted prefetches", 
+					read ? 0 : numMatrices, CacheStatistics.getPrefetchesWasted());
+			Assert.assertEquals("Prefetched matrices not released", 0, LazyWriteBuffer.getPrefetchSize());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LazyWriteBuffer.cleanup();
+			CacheableData.CACHING_PREFETCH = oldPrefetch;
+			DMLScript.STATISTICS = oldStats;
+			LocalFileUtils.deleteFileIfExists(TEST_DIR);
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.data;
+
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.DMLRuntimeException;
+import com.ibm.bi.dml.runtime.matrix.data.LibMatrixDatagen;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.data.RandomMatrixGenerator;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * Tests that multi-threaded rand, seq, and sample produce results identical
+ * to the single-threaded execution (deterministic block-level seeds).
+ */
+public class DatagenMultiThreadedTest extends AutomatedTestBase 
+{
+	private final static int rows = 1200;
+	private final static int cols = 1000;
+	private final static int blksz = 1000;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static long seed = 7;
+	private final static int k = 4;
+	
+	@Override
+	public void setUp() 
+	{
+		//no test configuration required (direct runtime api)
+	}
+	
+	@Test
+	public void testRandUniformDense() throws DMLRuntimeException 
+	{
+		runRandTest(LibMatrixDatagen.RAND_PDF_UNIFORM, rows, cols, sparsity1);
+	}
+	
+	@Test
+	public void testRandUniformSparse() throws DMLRuntimeException 
+	{
+		runRandTest(LibMatrixDatagen.RAND_PDF_UNIFORM, rows, cols, sparsity2);
+	}
+	
+	@Test
+	public void testRandNormalDense() throws DMLRuntimeException 
+	{
+		runRandTest(LibMatrixDatagen.RAND_PDF_NORMAL, rows, cols, sparsity1);
+	}
+	
+	@Test
+	public void testRandPoissonDense() throws DMLRuntimeException 
+	{
+		runRandTest(LibMatrixDatagen.RAND_PDF_POISSON, rows, cols, sparsity1);
+	}
+	
+	@Test
+	public void testRandNormalRowVector() throws DMLRuntimeException 
+	{
+		runRandTest(LibMatrixDatagen.RAND_PDF_NORMAL, 1, rows*cols, 1.0);
+	}
+	
+	@Test
+	public void testSeq() throws DMLRuntimeException 
+	{
+		MatrixBlock ret1 = MatrixBlock.seqOperations(1, rows*cols, 1, 1);
+		MatrixBlock ret2 = MatrixBlock.seqOperations(1, rows*cols, 1, k);
+		compareResults(ret1, ret2);
+		TestUtils.compareScalars(rows*cols, ret2.quickGetValue(rows*cols-1, 0), 0);
+	}
+	
+	@Test
+	public void testSampleWithReplacement() throws DMLRuntimeException 
+	{
+		MatrixBlock ret1 = MatrixBlock.sampleOperations(rows, rows*cols/4, true, seed, 1);
+		MatrixBlock ret2 = MatrixBlock.sampleOperations(rows, rows*cols/4, true, seed, k);
+		compareResults(ret1, ret2);
+	}
+	
+	/**
+	 * 
+	 * @param pdf
+	 * @param rlen
+	 * @param clen
+	 * @param sparsity
+	 * @throws DMLRuntimeException
+	 */
+	private void runRandTest( String pdf, int rlen, int clen, double sparsity ) 
+		throws DMLRuntimeException
+	{
+		RandomMatrixGenerator rgen = LibMatrixDatagen.createRandomMatrixGenerator(
+				pdf, rlen, clen, blksz, blksz, sparsity, 0, 1, "3");
+		MatrixBlock ret1 = MatrixBlock.randOperations(rgen, seed, 1);
+		MatrixBlock ret2 = MatrixBlock.randOperations(rgen, seed, k);
+		compareResults(ret1, ret2);
+	}
+	
+	/**
+	 * 
+	 * @param ret1
+	 * @param ret2
+	 * @throws DMLRuntimeException
+	 */
+	private void compareResults( MatrixBlock ret1, MatrixBlock ret2 ) 
+		throws DMLRuntimeException
+	{
+		TestUtils.compareScalars(ret1.getNonZeros(), ret2.getNonZeros(), 0);
+		double[][] m1 = DataConverter.convertToDoubleMatrix(ret1);
+		double[][] m2 = DataConverter.convertToDoubleMatrix(ret2);
+		TestUtils.compareMatrices(m1, m2, ret1.getNumRows(), ret1.getNumColumns(), 0);
+	}
+}
@@ -0,0 +1,152 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.runtime.util.LocalFileUtils;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the channel-based local I/O of matrix blocks
+ * (FastChannelDataOutput, FastMappedDataInput), which checks the round trip 
+ * through LocalFileUtils of dense and sparse blocks above the channel I/O 
+ * threshold of 1MB, as well as the compatibility with the default stream 
+ * serialization in both directions.
+ * 
+ */
+public class LocalChannelIOTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = TEST_DATA_DIR + "functions/io/LocalChannelIOTest/";
+	
+	private final static int rows = 2000;
+	private final static int cols = 1000; //16MB dense, 2.4MB sparse
+	private final static double spSparse = 0.1;
+	private final static double spDense = 0.9;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testRoundTripDense() {
+		runLocalChannelIOTest(false, false, false);
+	}
+	
+	@Test
+	public void testRoundTripSparse() {
+		runLocalChannelIOTest(true, false, false);
+	}
+	
+	@Test
+	public void testChannelWriteStreamReadDense() {
+		runLocalChannelIOTest(false, true, false);
+	}
+	
+	@Test
+	public void testChannelWriteStreamReadSparse() {
+		runLocalChannelIOTest(true, true, false);
+	}
+	
+	@Test
+	public void testStreamWriteChannelReadDense() {
+		runLocalChannelIOTest(false, false, true);
+	}
+	
+	@Test
+	public void testStreamWriteChannelReadSparse() {
+		runLocalChannelIOTest(true, false, true);
+	}
+	
+	/**
+	 * 
+	 * @param sparse
+	 * @param streamRead read via default stream deserialization
+	 * @param streamWrite write via default stream serialization
+	 */
+	private void runLocalChannelIOTest( boolean sparse, boolean streamRead, boolean streamWrite )
+	{
+		try
+		{
+			//data generation (above channel i/o threshold)
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparse?spSparse:spDense, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			Assert.assertEquals(sparse, mb.isInSparseFormat());
+			Assert.assertTrue(mb.getExactSizeOnDisk() >= LocalFileUtils.CHANNEL_IO_THRESHOLD);
+			
+			//write matrix block to local FS
+			LocalFileUtils.createLocalFileIfNotExist(TEST_DIR);
+			String fname = TEST_DIR + "block";
+			if( streamWrite ) {
+				DataOutputStream out = new DataOutputStream(
+						new BufferedOutputStream(new FileOutputStream(fname)));
+				try {
+					mb.write(out);
+				}
+				finally {
+					out.close();
+				}
+			}
+			else
+				LocalFileUtils.writeMatrixBlockToLocal(fname, mb);
+			Assert.assertEquals(mb.getExactSizeOnDisk(), new File(fname).length());
+			
+			//read matrix block from local FS
+			MatrixBlock ret = null;
+			if( streamRead ) {
+				ret = new MatrixBlock();
+				DataInputStream in = new DataInputStream(
+						new BufferedInputStream(new FileInputStream(fname)));
+				try {
+					ret.readFields(in);
+				}
+				finally {
+					in.close();
+				}
+			}
+			else
+				ret = LocalFileUtils.readMatrixBlockFromLocal(fname);
+			
+			//compare matrices
+			Assert.assertEquals(mb.isInSparseFormat(), ret.isInSparseFormat());
+			Assert.assertEquals(mb.getNonZeros(), ret.getNonZeros());
+			double[][] C = DataConverter.convertToDoubleMatrix(ret);
+			TestUtils.compareMatrices(A, C, rows, cols, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LocalFileUtils.deleteFileIfExists(TEST_DIR);
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.io.binary;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.io.MatrixReaderFactory;
+import com.ibm.bi.dml.runtime.io.ReaderBinaryBlockIndexed;
+import com.ibm.bi.dml.runtime.io.ReaderBinaryBlockIndexedParallel;
+import com.ibm.bi.dml.runtime.matrix.MatrixCharacteristics;
+import com.ibm.bi.dml.runtime.matrix.data.InputInfo;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.data.OutputInfo;
+import com.ibm.bi.dml.runtime.matrix.data.SparseRow;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.runtime.util.IndexRange;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.integration.TestConfiguration;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * Write/read roundtrip and block-wise range reads of the indexed binary block format,
+ * covering all block encodings (empty, raw, dictionary, run-length, sparse).
+ */
+public class IndexedBinaryBlockTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "IndexedBinaryBlockTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	
+	private final static int rows = 2345;
+	private final static int cols = 1432;
+	private final static int blksz = 1000;
+	
+	private final static double eps = 1e-14;
+	
+	private enum DataType {
+		RANDOM,
+		LOW_CARDINALITY,
+		RUNS,
+	}
+	
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_DIR, TEST_NAME, new String[] { "X" })   );  
+	}
+	
+	@Test
+	public void testEmpty() 
+	{ 
+		runIndexedBinaryBlockTest( DataType.RANDOM, 0.0 ); 
+	}
+	
+	@Test
+	public void testDenseRandom() 
+	{ 
+		runIndexedBinaryBlockTest( DataType.RANDOM, 0.9 ); 
+	}
+	
+	@Test
+	public void testDenseLowCardinality() 
+	{ 
+		runIndexedBinaryBlockTest( DataType.LOW_CARDINALITY, 0.9 ); 
+	}
+	
+	@Test
+	public void testDenseRuns() 
+	{ 
+		runIndexedBinaryBlockTest( DataType.RUNS, 1.0 ); 
+	}
+	
+	@Test
+	public void testSparseRandom() 
+	{ 
+		runIndexedBinaryBlockTest( DataType.RANDOM, 0.05 ); 
+	}
+	
+	@Test
+	public void testSparseLowCardinality() 
+	{ 
+		runIndexedBinaryBlockTest( DataType.LOW_CARDINALITY, 0.05 ); 
+	}
+	
+	@Test
+	public void testSparseRangeAcrossColumnBlocksParallel() 
+	{ 
+		runIndexedBinaryBlockRangeTest( 0.05 ); 
+	}
+	
+	/**
+	 * 
+	 * @param type
+	 * @param sparsity
+	 */
+	private void runIndexedBinaryBlockTest( DataType type, double sparsity ) 
+	{
+		try
+		{	
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			String fname = SCRIPT_DIR + TEST_DIR + OUTPUT_DIR + "X";
+	
+			//generate actual dataset 
+			double[][] X = getRandomMatrix(rows, cols, -1.0, 1.0, sparsity, 7); 
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ ) {
+					if( type == DataType.LOW_CARDINALITY && X[i][j] != 0 )
+						X[i][j] = Math.round(X[i][j]*10);
+					else if( type == DataType.RUNS )
+						X[i][j] = i % 7;
+				}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			
+			//write and read full matrix
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blksz, blksz);
+			DataConverter.writeMatrixToHDFS(mb, fname, OutputInfo.BinaryBlockIndexedOutputInfo, mc);
+			MatrixBlock mb2 = DataConverter.readMatrixFromHDFS(fname, InputInfo.BinaryBlockIndexedInputInfo, rows, cols, blksz, blksz);
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(mb2), rows, cols, eps);
+			
+			//read index range across block boundaries (1-based, inclusive)
+			IndexRange ixrange = new IndexRange(900, 2100, 950, 1010);
+			ReaderBinaryBlockIndexed reader = (ReaderBinaryBlockIndexed) 
+					MatrixReaderFactory.createMatrixReader(InputInfo.BinaryBlockIndexedInputInfo);
+			MatrixBlock mb3 = reader.readMatrixRangeFromHDFS(fname, rows, cols, blksz, blksz, ixrange);
+			MatrixBlock mb4 = mb.sliceOperations(899, 2099, 949, 1009, new MatrixBlock());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb4), 
+					DataConverter.convertToDoubleMatrix(mb3), mb4.getNumRows(), mb4.getNumColumns(), eps);
+		}
+		catch(Exception ex)
+		{
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Multi-threaded read of a narrow sparse range (narrower than the block size)
+	 * that nevertheless crosses a column block boundary, i.e., multiple tasks 
+	 * append into the same sparse rows.
+	 * 
+	 * @param sparsity
+	 */
+	private void runIndexedBinaryBlockRangeTest( double sparsity ) 
+	{
+		int blksz2 = 100;
+		
+		try
+		{	
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			String fname = SCRIPT_DIR + TEST_DIR + OUTPUT_DIR + "X";
+	
+			//generate and write actual dataset with small blocks 
+			double[][] X = getRandomMatrix(rows, cols, -1.0, 1.0, sparsity, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blksz2, blksz2);
+			DataConverter.writeMatrixToHDFS(mb, fname, OutputInfo.BinaryBlockIndexedOutputInfo, mc);
+			
+			//read all rows of a 61-column range across the column block boundary at 1000
+			IndexRange ixrange = new IndexRange(1, rows, 950, 1010);
+			ReaderBinaryBlockIndexedParallel reader = new ReaderBinaryBlockIndexedParallel(false);
+			MatrixBlock mb3 = reader.readMatrixRangeFromHDFS(fname, rows, cols, blksz2, blksz2, ixrange);
+			MatrixBlock mb4 = mb.sliceOperations(0, rows-1, 949, 1009, new MatrixBlock());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb4), 
+					DataConverter.convertToDoubleMatrix(mb3), mb4.getNumRows(), mb4.getNumColumns(), eps);
+			Assert.assertEquals(mb4.getNonZeros(), mb3.getNonZeros());
+			
+			//check sorted column indexes of all sparse rows
+			Assert.assertTrue("Expected sparse output.", mb3.isInSparseFormat());
+			SparseRow[] srows = mb3.getSparseRows();
+			for( int i=0; srows!=null && i<srows.length; i++ )
+				if( srows[i] != null ) {
+					int[] ix = srows[i].getIndexContainer();
+					for( int j=1; j<srows[i].size(); j++ )
+						Assert.assertTrue("Unsorted sparse row "+i+".", ix[j-1] < ix[j]);
+				}
+		}
+		catch(Exception ex)
+		{
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
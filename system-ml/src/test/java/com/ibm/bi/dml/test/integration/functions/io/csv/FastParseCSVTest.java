@@ -0,0 +1,322 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.io.csv;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Locale;
+import java.util.Random;
+
+import org.apache.commons.lang.mutable.MutableBoolean;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.io.IOUtilFunctions;
+import com.ibm.bi.dml.runtime.io.ReaderTextCSVParallel;
+import com.ibm.bi.dml.runtime.matrix.data.CSVFileFormatProperties;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.integration.TestConfiguration;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * Component test for the allocation-free CSV parsing primitives (double, long, 
+ * and delimited lines), which are required to produce results identical to 
+ * Double.parseDouble/Long.parseLong, as well as the single-pass parallel CSV 
+ * read with multi-character delimiters and unknown or known dimensions.
+ * 
+ */
+public class FastParseCSVTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "FastParseCSVTest";
+	private final static String TEST_DIR = "functions/io/csv/";
+	
+	private final static String[] DOUBLES = new String[] {
+		"0", "-0", "+0", "0.0", "-0.0", "1", "-1", "+1", "1.", "-1.", ".5", "-.5", 
+		"000123", "-000123.4500", "0000.000125", "00.0e5",
+		"123456789012345", "1234567890123456", "12345678901234567", "9007199254740993",
+		"0.123456789012345", "0.1234567890123456", "1.00000000000000011102230246251565",
+		"1e22", "1e23", "1e-22", "1e-23", "1E22", "-1E-22", "1.5e+10", "2.5E-3", "1e0", "1e-0",
+		"123456789012345e22", "123456789012345e-22", "0.000000000000000000000001e22",
+		"1e308", "1.7976931348623157E308", "1e309", "-1e309", "4.9e-324", "1e-400", 
+		"2.2250738585072014E-308", "1e100000000",
+		"0.1", "0.2", "0.3", "3.141592653589793", "2.718281828459045", "-273.15",
+		"NaN", "Infinity", "-Infinity", "+Infinity",
+		"1d", "1D", "1.5f", "-2.5F", "1e5d", " 1.5", "1.5 ",
+	};
+	
+	private final static String[] INVALID_DOUBLES = new String[] {
+		"", "-", "+", ".", "1e", "1e+", "1e-", "e5", "1..5", "--1", "1.5x", "abc", "1,5",
+	};
+	
+	private final static String[] LONGS = new String[] {
+		"0", "-0", "7", "-7", "123456789", "000000000000000000012", "123456789012345678", 
+		"1234567890123456789", "9223372036854775807", "-9223372036854775808",
+	};
+	
+	private final static String[] INVALID_LONGS = new String[] {
+		"", "-", "12a", "1.5", "9223372036854775808", "-9223372036854775809",
+	};
+	
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_DIR, TEST_NAME, new String[] { "X" })   );  
+	}
+	
+	@Test
+	public void testParseDoubleSpecialCases() 
+	{
+		for( String str : DOUBLES )
+			checkParseDouble(str);
+	}
+	
+	@Test
+	public void testParseDoubleInvalid() 
+	{
+		for( String str : INVALID_DOUBLES ) {
+			try {
+				IOUtilFunctions.parseDouble(str, 0, str.length());
+				Assert.fail("Expected NumberFormatException for '"+str+"'.");
+			}
+			catch(NumberFormatException ex) {
+				//expected
+			}
+			try {
+				byte[] buf = str.getBytes();
+				IOUtilFunctions.parseDouble(buf, 0, buf.length);
+				Assert.fail("Expected NumberFormatException for '"+str+"' (bytes).");
+			}
+			catch(NumberFormatException ex) {
+				//expected
+			}
+		}
+	}
+	
+	@Test
+	public void testParseDoubleRandom() 
+	{
+		Random rand = new Random(7);
+		for( int i=0; i<100000; i++ ) {
+			//random doubles in shortest, fixed, and scientific representation
+			double val = (rand.nextDouble()-0.5) * Math.pow(10, rand.nextInt(60)-30);
+			checkParseDouble(Double.toString(val));
+			checkParseDouble(String.format(Locale.US, "%."+rand.nextInt(18)+"f", val));
+			checkParseDouble(String.format(Locale.US, "%."+rand.nextInt(18)+"e", val));
+			
+			//random digit sequences with decimal point and exponent
+			StringBuilder sb = new StringBuilder();
+			int ndigits = 1 + rand.nextInt(20);
+			int dot = rand.nextInt(ndigits+1);
+			for( int j=0; j<ndigits; j++ ) {
+				if( j == dot )
+					sb.append('.');
+				sb.append((char)('0'+rand.nextInt(10)));
+			}
+			sb.append('e');
+			sb.append(rand.nextInt(60)-30);
+			checkParseDouble(sb.toString());
+		}
+	}
+	
+	@Test
+	public void testParseLong() 
+	{
+		for( String str : LONGS )
+			Assert.assertEquals("Wrong long for '"+str+"'.", Long.parseLong(str), 
+					IOUtilFunctions.parseLong(str, 0, str.length()));
+		
+		//parse from within a larger sequence
+		String str = "ab-1234cd";
+		Assert.assertEquals(-1234, IOUtilFunctions.parseLong(str, 2, 7));
+		
+		for( String str2 : INVALID_LONGS ) {
+			try {
+				IOUtilFunctions.parseLong(str2, 0, str2.length());
+				Assert.fail("Expected NumberFormatException for '"+str2+"'.");
+			}
+			catch(NumberFormatException ex) {
+				//expected
+			}
+		}
+	}
+	
+	@Test
+	public void testParseDelimitedLineSingleCharDelim() 
+	{
+		checkParseDelimitedLine(" 1, 2.5 ,,-3 \r", ",", new double[]{1, 2.5, 7, -3}, true);
+		checkParseDelimitedLine("1e22,.5,1.,-0", ",", new double[]{1e22, 0.5, 1, -0d}, false);
+		checkParseDelimitedLine("1\t2\t3", "\t", new double[]{1, 2, 3}, false);
+		checkParseDelimitedLine("4", ",", new double[]{4}, false);
+		checkParseDelimitedLine("", ",", new double[]{7}, true);
+	}
+	
+	@Test
+	public void testParseDelimitedLineMultiCharDelim() 
+	{
+		checkParseDelimitedLine("1||2.5||||-3", "||", new double[]{1, 2.5, 7, -3}, true);
+		checkParseDelimitedLine("1|2||3", "||", null, false); //'1|2' is a single (invalid) field
+		checkParseDelimitedLine("-1-|-2-|3e-1", "-|", new double[]{-1, -2, 0.3}, false);
+		checkParseDelimitedLine("1 :: 2::3 ", "::", new double[]{1, 2, 3}, false);
+	}
+	
+	@Test
+	public void testParseDelimitedLineMaxFields() 
+	{
+		byte[] buf = "1,2,3,4,5".getBytes();
+		byte[] delim = ",".getBytes();
+		
+		//count only
+		Assert.assertEquals(5, IOUtilFunctions.parseDelimitedLine(
+				buf, 0, buf.length, delim, null, 0, 0, 0, new MutableBoolean(false)));
+		
+		//parse first 3 fields into offset, but count all fields
+		double[] out = new double[5];
+		Assert.assertEquals(5, IOUtilFunctions.parseDelimitedLine(
+				buf, 0, buf.length, delim, out, 2, 3, 0, new MutableBoolean(false)));
+		double[] expected = new double[]{0, 0, 1, 2, 3};
+		for( int i=0; i<out.length; i++ )
+			Assert.assertEquals("Wrong field "+i+".", Double.doubleToLongBits(expected[i]), Double.doubleToLongBits(out[i]));
+	}
+	
+	@Test
+	public void testReadCSVMultiCharDelimUnknownDims() 
+	{
+		runReadCSVTest(false);
+	}
+	
+	@Test
+	public void testReadCSVMultiCharDelimKnownDims() 
+	{
+		runReadCSVTest(true);
+	}
+	
+	/**
+	 * 
+	 * @param str
+	 */
+	private void checkParseDouble( String str )
+	{
+		double expected = Double.parseDouble(str);
+		double ret1 = IOUtilFunctions.parseDouble(str, 0, str.length());
+		byte[] buf = ("#"+str+"#").getBytes();
+		double ret2 = IOUtilFunctions.parseDouble(buf, 1, buf.length-1);
+		
+		Assert.assertEquals("Wrong double for '"+str+"'.", 
+				Double.doubleToLongBits(expected), Double.doubleToLongBits(ret1));
+		Assert.assertEquals("Wrong double for '"+str+"' (bytes).", 
+				Double.doubleToLongBits(expected), Double.doubleToLongBits(ret2));
+	}
+	
+	/**
+	 * 
+	 * @param line
+	 * @param delim
+	 * @param expected expected values, or null if a NumberFormatException is expected
+	 * @param emptyExpected
+	 */
+	private void checkParseDelimitedLine( String line, String delim, double[] expected, boolean emptyExpected )
+	{
+		byte[] buf = line.getBytes();
+		byte[] bdelim = delim.getBytes();
+		MutableBoolean empty = new MutableBoolean(false);
+		
+		if( expected == null ) {
+			try {
+				IOUtilFunctions.parseDelimitedLine(buf, 0, buf.length, bdelim, new double[4], 0, 4, 7, empty);
+				Assert.fail("Expected NumberFormatException for '"+line+"'.");
+			}
+			catch(NumberFormatException ex) {
+				//expected
+			}
+			return;
+		}
+		
+		double[] out = new double[expected.length];
+		int nfields = IOUtilFunctions.parseDelimitedLine(buf, 0, buf.length, bdelim, 
+				out, 0, expected.length, 7, empty);
+		Assert.assertEquals("Wrong number of fields for '"+line+"'.", expected.length, nfields);
+		Assert.assertEquals("Wrong empty field indicator for '"+line+"'.", emptyExpected, empty.booleanValue());
+		for( int i=0; i<expected.length; i++ )
+			Assert.assertEquals("Wrong field "+i+" for '"+line+"'.", 
+					Double.doubleToLongBits(expected[i]), Double.doubleToLongBits(out[i]));
+	}
+	
+	/**
+	 * 
+	 * @param knownDims
+	 */
+	private void runReadCSVTest( boolean knownDims ) 
+	{
+		int rows = 1234;
+		int cols = 17;
+		
+		try
+		{	
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			String fname = SCRIPT_DIR + TEST_DIR + OUTPUT_DIR + "X";
+			
+			//write csv file with mixed number formats and empty cells
+			Random rand = new Random(7);
+			double[][] X = new double[rows][cols];
+			File f = new File(fname);
+			f.getParentFile().mkdirs();
+			BufferedWriter bw = new BufferedWriter(new FileWriter(f));
+			try {
+				for( int i=0; i<rows; i++ ) {
+					for( int j=0; j<cols; j++ ) {
+						String str = null;
+						switch( rand.nextInt(5) ) {
+							case 0: str = ""; X[i][j] = 3; break; //fill value
+							case 1: str = "0"; break;
+							case 2: str = Double.toString(rand.nextGaussian()); break;
+							case 3: str = String.format(Locale.US, "%.3e", rand.nextGaussian()*1e10); break;
+							default: str = String.valueOf(rand.nextInt(1000)-500); break;
+						}
+						if( X[i][j] == 0 )
+							X[i][j] = Double.parseDouble(str);
+						bw.write((j>0) ? "||"+str : str);
+					}
+					bw.write("\n");
+				}
+			}
+			finally {
+				bw.close();
+			}
+			
+			//read via single-pass parallel reader
+			CSVFileFormatProperties props = new CSVFileFormatProperties(false, "||", true, 3, null);
+			ReaderTextCSVParallel reader = new ReaderTextCSVParallel(props);
+			MatrixBlock mb = reader.readMatrixFromHDFS(fname, 
+					knownDims ? rows : -1, knownDims ? cols : -1, 1000, 1000, -1);
+			
+			Assert.assertEquals(rows, mb.getNumRows());
+			Assert.assertEquals(cols, mb.getNumColumns());
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(mb), rows, cols, 0);
+		}
+		catch(Exception ex)
+		{
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,209 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.api.DMLException;
+import com.ibm.bi.dml.api.jmlc.BatchResult;
+import com.ibm.bi.dml.api.jmlc.BatchResult.ResultRow;
+import com.ibm.bi.dml.api.jmlc.BatchScorer;
+import com.ibm.bi.dml.api.jmlc.Connection;
+import com.ibm.bi.dml.api.jmlc.PreparedScript;
+import com.ibm.bi.dml.api.jmlc.ResultVariables;
+import com.ibm.bi.dml.runtime.controlprogram.parfor.stat.Timing;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.integration.TestConfiguration;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * Tests the batched JMLC scoring APIs (list of bindings, stacked row vectors,
+ * and micro-batching scorer) against row-by-row scoring.
+ */
+public class JMLCBatchScoringTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "m-svm-score";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String MODEL_FILE = "sentiment_model.mtx";
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 107;
+	private final static int cols = 46; //fixed
+	
+	private final static int nRequests = 200;
+	private final static double sparsity = 0.7;
+	
+	@Override
+	public void setUp() 
+	{
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_DIR, TEST_NAME, new String[] { "predicted_y" })   ); 
+	}
+	
+	@Test
+	public void testJMLCBatchBindings() 
+		throws IOException
+	{
+		runJMLCBatchScoringTest(BatchType.BINDINGS);
+	}
+	
+	@Test
+	public void testJMLCBatchStacked() 
+		throws IOException
+	{
+		runJMLCBatchScoringTest(BatchType.STACKED);
+	}
+	
+	@Test
+	public void testJMLCBatchScorer() 
+		throws IOException
+	{
+		runJMLCBatchScoringTest(BatchType.SCORER);
+	}
+	
+	@Test
+	public void testJMLCBatchScorerClosed() 
+		throws IOException
+	{
+		Connection conn = new Connection();
+		
+		try
+		{
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml");	
+			PreparedScript pstmt = conn.prepareScript(script, 
+					new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			BatchScorer scorer = new BatchScorer(pstmt, "X", "predicted_y", 32, 5);
+			scorer.close();
+			
+			try {
+				scorer.score(new double[cols]);
+				Assert.fail("Expected rejected request after close.");
+			}
+			catch(DMLException ex) {
+				//expected
+			}
+		}
+		catch(DMLException ex)
+		{
+			throw new IOException(ex);
+		}
+		finally
+		{
+			conn.close();
+		}
+	}
+	
+	private enum BatchType {
+		BINDINGS,
+		STACKED,
+		SCORER,
+	}
+	
+	/**
+	 * 
+	 * @param type
+	 * @throws IOException
+	 */
+	private void runJMLCBatchScoringTest( BatchType type ) 
+		throws IOException
+	{
+		Connection conn = new Connection();
+		
+		try
+		{
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml");	
+			String modelData = conn.readScript(SCRIPT_DIR + TEST_DIR + MODEL_FILE );
+			double[][] W = conn.convertToDoubleMatrix(modelData, rows, cols);
+			double[][] X = getRandomMatrix(nRequests, cols, -1, 1, sparsity, 7);
+			
+			//compute reference results row by row
+			PreparedScript pstmt = conn.prepareScript(script, 
+					new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			pstmt.setMatrix("W", W);
+			double[][] Yref = new double[nRequests][];
+			for( int i=0; i<nRequests; i++ ) {
+				pstmt.setMatrix("X", new double[][]{X[i]});
+				Yref[i] = pstmt.executeScript().getMatrix("predicted_y")[0];
+			}
+			
+			//compute batch results
+			Timing time = new Timing(true);
+			double[][] Y = new double[nRequests][];
+			PreparedScript pstmt2 = conn.prepareScript(script, 
+					new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			pstmt2.setMatrix("W", W);
+			
+			switch( type ) {
+				case BINDINGS: {
+					List<HashMap<String, MatrixBlock>> bindings = new ArrayList<HashMap<String, MatrixBlock>>();
+					for( int i=0; i<nRequests; i++ ) {
+						HashMap<String, MatrixBlock> binding = new HashMap<String, MatrixBlock>();
+						binding.put("X", DataConverter.convertToMatrixBlock(new double[][]{X[i]}));
+						bindings.add(binding);
+					}
+					ArrayList<ResultVariables> rvars = pstmt2.executeBatch(bindings);
+					for( int i=0; i<nRequests; i++ )
+						Y[i] = rvars.get(i).getMatrix("predicted_y")[0];
+					break;
+				}
+				case STACKED: {
+					List<double[]> rowList = new ArrayList<double[]>();
+					for( int i=0; i<nRequests; i++ )
+						rowList.add(X[i]);
+					BatchResult res = pstmt2.executeBatch("X", rowList, "predicted_y");
+					Assert.assertEquals(nRequests, res.getNumRows());
+					for( int i=0; i<nRequests; i++ )
+						Y[i] = res.getRow(i).toArray();
+					break;
+				}
+				case SCORER: {
+					BatchScorer scorer = new BatchScorer(pstmt2, "X", "predicted_y", 32, 5);
+					ArrayList<Future<ResultRow>> futures = new ArrayList<Future<ResultRow>>();
+					for( int i=0; i<nRequests; i++ )
+						futures.add(scorer.score(X[i]));
+					for( int i=0; i<nRequests; i++ )
+						Y[i] = futures.get(i).get().toArray();
+					scorer.close();
+					break;
+				}
+			}
+			
+			System.out.println("JMLC batch scoring ("+type.name()+") of "
+					+nRequests+" requests in "+time.stop()+"ms.");
+			
+			TestUtils.compareMatrices(Yref, Y, nRequests, 1, eps);
+		}
+		catch(Exception ex)
+		{
+			ex.printStackTrace();
+			throw new IOException(ex);
+		}
+		finally
+		{
+			conn.close();
+		}
+	}
+}
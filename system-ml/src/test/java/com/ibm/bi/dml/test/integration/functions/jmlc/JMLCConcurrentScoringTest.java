@@ -0,0 +1,192 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.api.jmlc.Connection;
+import com.ibm.bi.dml.api.jmlc.PreparedScript;
+import com.ibm.bi.dml.api.jmlc.ResultVariables;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.integration.TestConfiguration;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * Multi-threaded test for concurrent JMLC scoring, where all
+ * threads share a single connection (and hence the cached compiled program)
+ * but execute their own prepared scripts without global locks.
+ */
+public class JMLCConcurrentScoringTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "m-svm-score";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String MODEL_FILE = "sentiment_model.mtx";
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 107;
+	private final static int cols = 46; //fixed
+	
+	private final static int nRuns = 50;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	@Override
+	public void setUp() 
+	{
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_DIR, TEST_NAME, new String[] { "predicted_y" })   ); 
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreDense1Thread() 
+		throws IOException
+	{
+		runJMLCConcurrentScoringTest(false, 1);
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreDense8Threads() 
+		throws IOException
+	{
+		runJMLCConcurrentScoringTest(false, 8);
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreSparse8Threads() 
+		throws IOException
+	{
+		runJMLCConcurrentScoringTest(true, 8);
+	}
+	
+	/**
+	 * 
+	 * @param sparse
+	 * @param numThreads
+	 * @throws IOException
+	 */
+	private void runJMLCConcurrentScoringTest( boolean sparse, int numThreads ) 
+		throws IOException
+	{
+		Connection conn = new Connection();
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		
+		try
+		{
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml");	
+			String modelData = conn.readScript(SCRIPT_DIR + TEST_DIR + MODEL_FILE );
+			double[][] W = conn.convertToDoubleMatrix(modelData, rows, cols);
+			
+			ArrayList<double[][]> Xset = new ArrayList<double[][]>();
+			for( int i=0; i<nRuns; i++ )
+				Xset.add(getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7+i));
+			
+			//compute reference results sequentially
+			ArrayList<double[][]> Yref = new ArrayList<double[][]>();
+			PreparedScript pstmt = conn.prepareScript(script, 
+					new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			for( int i=0; i<nRuns; i++ )
+				Yref.add(score(pstmt, W, Xset.get(i)));
+			
+			//score concurrently, each thread with its own prepared script
+			ArrayList<ScoringTask> tasks = new ArrayList<ScoringTask>();
+			for( int i=0; i<numThreads; i++ )
+				tasks.add(new ScoringTask(conn, script, W, Xset, i, numThreads));
+			List<Future<ArrayList<double[][]>>> rtasks = pool.invokeAll(tasks);
+			
+			//compare results to reference results
+			for( int i=0; i<numThreads; i++ ) {
+				ArrayList<double[][]> Y = rtasks.get(i).get();
+				for( int j=i, pos=0; j<nRuns; j+=numThreads, pos++ )
+					TestUtils.compareMatrices(Yref.get(j), Y.get(pos), rows, 1, eps);
+			}
+			
+			//all threads reused the single compiled program
+			Assert.assertEquals(1, conn.getPlanCacheMisses());
+			Assert.assertEquals(numThreads, conn.getPlanCacheHits());
+		}
+		catch(Exception ex)
+		{
+			ex.printStackTrace();
+			throw new IOException(ex);
+		}
+		finally
+		{
+			pool.shutdown();
+			conn.close();
+		}
+	}
+	
+	/**
+	 * 
+	 * @param pstmt
+	 * @param W
+	 * @param X
+	 * @return
+	 * @throws Exception
+	 */
+	private static double[][] score( PreparedScript pstmt, double[][] W, double[][] X ) 
+		throws Exception
+	{
+		pstmt.setMatrix("W", W);
+		pstmt.setMatrix("X", X);
+		ResultVariables rs = pstmt.executeScript();
+		return rs.getMatrix("predicted_y");
+	}
+	
+	/**
+	 * Scores all inputs with index i, i+k, i+2k, ... 
+	 */
+	private static class ScoringTask implements Callable<ArrayList<double[][]>>
+	{
+		private Connection _conn = null;
+		private String _script = null;
+		private double[][] _W = null;
+		private ArrayList<double[][]> _Xset = null;
+		private int _offset = -1;
+		private int _incr = -1;
+		
+		public ScoringTask( Connection conn, String script, double[][] W, ArrayList<double[][]> Xset, int offset, int incr ) {
+			_conn = conn;
+			_script = script;
+			_W = W;
+			_Xset = Xset;
+			_offset = offset;
+			_incr = incr;
+		}
+		
+		@Override
+		public ArrayList<double[][]> call() 
+			throws Exception 
+		{
+			ArrayList<double[][]> ret = new ArrayList<double[][]>();
+			PreparedScript pstmt = _conn.prepareScript(_script, 
+					new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			for( int i=_offset; i<_Xset.size(); i+=_incr )
+				ret.add(score(pstmt, _W, _Xset.get(i)));
+			return ret;
+		}
+	}
+}
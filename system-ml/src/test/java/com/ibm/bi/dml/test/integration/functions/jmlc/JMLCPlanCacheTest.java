@@ -0,0 +1,139 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.api.jmlc.Connection;
+import com.ibm.bi.dml.api.jmlc.PreparedScript;
+import com.ibm.bi.dml.api.jmlc.ResultVariables;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.integration.TestConfiguration;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * Tests the reuse of compiled programs across repeated prepareScript calls
+ * via the JMLC plan cache, including LRU eviction and cache bypass.
+ */
+public class JMLCPlanCacheTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "m-svm-score";
+	private final static String TEST_NAME2 = "m-svm-score-parfor";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String MODEL_FILE = "sentiment_model.mtx";
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 107;
+	private final static int cols = 46; //fixed
+	
+	private final static int nRuns = 10;
+	private final static double sparsity = 0.7;
+	
+	@Override
+	public void setUp() 
+	{
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_DIR, TEST_NAME, new String[] { "predicted_y" })   ); 
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_DIR, TEST_NAME2, new String[] { "predicted_y" })   ); 
+	}
+	
+	@Test
+	public void testJMLCPlanCacheHits() 
+		throws IOException
+	{
+		runJMLCPlanCacheTest(TEST_NAME, Connection.DEFAULT_PLAN_CACHE_SIZE, nRuns-1, 1);
+	}
+	
+	@Test
+	public void testJMLCPlanCacheDisabled() 
+		throws IOException
+	{
+		runJMLCPlanCacheTest(TEST_NAME, 0, 0, nRuns);
+	}
+	
+	@Test
+	public void testJMLCPlanCacheParFor() 
+		throws IOException
+	{
+		//parfor programs are modified during execution, hence never cached
+		runJMLCPlanCacheTest(TEST_NAME2, Connection.DEFAULT_PLAN_CACHE_SIZE, 0, nRuns);
+	}
+	
+	/**
+	 * 
+	 * @param testname
+	 * @param cacheSize
+	 * @param expHits
+	 * @param expMisses
+	 * @throws IOException
+	 */
+	private void runJMLCPlanCacheTest( String testname, int cacheSize, long expHits, long expMisses ) 
+		throws IOException
+	{
+		Connection conn = new Connection(cacheSize);
+		boolean cached = testname.equals(TEST_NAME);
+		
+		try
+		{
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + testname + ".dml");	
+			String modelData = conn.readScript(SCRIPT_DIR + TEST_DIR + MODEL_FILE );
+			double[][] W = conn.convertToDoubleMatrix(modelData, rows, cols);
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			
+			//prepare and execute the same script multiple times
+			double[][] Y0 = null;
+			for( int i=0; i<nRuns; i++ )
+			{
+				PreparedScript pstmt = conn.prepareScript(script, 
+						new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+				pstmt.setMatrix("W", W);
+				pstmt.setMatrix("X", X);
+				ResultVariables rs = pstmt.executeScript();
+				double[][] Y = rs.getMatrix("predicted_y");
+				
+				//results of cached and compiled scripts must be equivalent
+				if( Y0 == null )
+					Y0 = Y;
+				else
+					TestUtils.compareMatrices(Y0, Y, rows, 1, eps);
+			}
+			
+			Assert.assertEquals(expHits, conn.getPlanCacheHits());
+			Assert.assertEquals(expMisses, conn.getPlanCacheMisses());
+			Assert.assertEquals(cached ? Math.min(cacheSize, 1) : 0, conn.getPlanCacheSize());
+			
+			//different outputs must not hit the cached plan
+			if( cached && cacheSize > 0 ) {
+				conn.prepareScript(script, new String[]{"X","W"}, new String[]{}, false);
+				Assert.assertEquals(expMisses+1, conn.getPlanCacheMisses());
+				Assert.assertEquals(2, conn.getPlanCacheSize());
+			}
+		}
+		catch(Exception ex)
+		{
+			ex.printStackTrace();
+			throw new IOException(ex);
+		}
+		finally
+		{
+			conn.close();
+		}
+	}
+}
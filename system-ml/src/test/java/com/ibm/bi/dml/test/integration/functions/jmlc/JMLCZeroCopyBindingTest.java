@@ -0,0 +1,135 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.ibm.bi.dml.api.jmlc.Connection;
+import com.ibm.bi.dml.api.jmlc.PreparedScript;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.integration.TestConfiguration;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * Tests the zero-copy JMLC input bindings (row-major dense array, CSR arrays)
+ * and dense array output views against the double[][] binding.
+ */
+public class JMLCZeroCopyBindingTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "m-svm-score";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String MODEL_FILE = "sentiment_model.mtx";
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 107;
+	private final static int cols = 46; //fixed
+	
+	private final static int nRows = 50;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	@Override
+	public void setUp() 
+	{
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_DIR, TEST_NAME, new String[] { "predicted_y" })   ); 
+	}
+	
+	@Test
+	public void testJMLCDenseArrayBinding() 
+		throws IOException
+	{
+		runJMLCZeroCopyBindingTest(false);
+	}
+	
+	@Test
+	public void testJMLCSparseCSRBinding() 
+		throws IOException
+	{
+		runJMLCZeroCopyBindingTest(true);
+	}
+	
+	/**
+	 * 
+	 * @param sparse
+	 * @throws IOException
+	 */
+	private void runJMLCZeroCopyBindingTest( boolean sparse ) 
+		throws IOException
+	{
+		Connection conn = new Connection();
+		
+		try
+		{
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml");	
+			String modelData = conn.readScript(SCRIPT_DIR + TEST_DIR + MODEL_FILE );
+			double[][] W = conn.convertToDoubleMatrix(modelData, rows, cols);
+			double[][] X = getRandomMatrix(nRows, cols, -1, 1, sparse?sparsity2:sparsity1, 7);
+			
+			//compute reference results via double[][] binding
+			PreparedScript pstmt = conn.prepareScript(script, 
+					new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			pstmt.setMatrix("W", W);
+			pstmt.setMatrix("X", X);
+			double[][] Yref = pstmt.executeScript().getMatrix("predicted_y");
+			
+			//compute results via zero-copy bindings
+			if( sparse ) {
+				int[] rowPtr = new int[nRows+1];
+				int nnz = 0;
+				for( int i=0; i<nRows; i++ ) {
+					for( int j=0; j<cols; j++ )
+						nnz += (X[i][j]!=0) ? 1 : 0;
+					rowPtr[i+1] = nnz;
+				}
+				int[] colIdx = new int[nnz];
+				double[] values = new double[nnz];
+				for( int i=0, pos=0; i<nRows; i++ )
+					for( int j=0; j<cols; j++ )
+						if( X[i][j]!=0 ) {
+							colIdx[pos] = j;
+							values[pos++] = X[i][j];
+						}
+				pstmt.setMatrix("X", nRows, cols, rowPtr, colIdx, values);
+			}
+			else {
+				double[] Xa = new double[nRows*cols];
+				for( int i=0; i<nRows; i++ )
+					System.arraycopy(X[i], 0, Xa, i*cols, cols);
+				pstmt.setMatrix("X", Xa, nRows, cols);
+			}
+			double[] Ya = pstmt.executeScript().getDenseArray("predicted_y");
+			
+			double[][] Y = new double[nRows][1];
+			for( int i=0; i<nRows; i++ )
+				Y[i][0] = Ya[i];
+			
+			TestUtils.compareMatrices(Yref, Y, nRows, 1, eps);
+		}
+		catch(Exception ex)
+		{
+			ex.printStackTrace();
+			throw new IOException(ex);
+		}
+		finally
+		{
+			conn.close();
+		}
+	}
+}
@@ -0,0 +1,161 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.misc;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.utils.LatencyHistogram;
+
+/**
+ * This is a component test for the log-linear latency histogram of the
+ * optional runtime metrics, which checks the bucket boundaries (0, values 
+ * below 16, Long.MAX_VALUE) and the max relative error of 1/16 for percentiles.
+ * 
+ */
+public class LatencyHistogramTest extends AutomatedTestBase 
+{
+	private final static int numValues = 10000;
+	private final static double maxRelError = 1.0/16;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testBucketIndexSmallValues() {
+		//values below 16 have their own buckets (exact)
+		for( long v=0; v<16; v++ ) {
+			Assert.assertEquals(v, LatencyHistogram.getBucketIndex(v));
+			Assert.assertEquals(v, LatencyHistogram.getBucketLowerBound((int)v));
+		}
+		Assert.assertEquals(16, LatencyHistogram.getBucketIndex(16));
+	}
+	
+	@Test
+	public void testBucketIndexMaxValue() {
+		int ix = LatencyHistogram.getBucketIndex(Long.MAX_VALUE);
+		Assert.assertEquals(LatencyHistogram.NUM_BUCKETS-1, ix);
+		Assert.assertTrue(LatencyHistogram.getBucketLowerBound(ix) <= Long.MAX_VALUE);
+		Assert.assertEquals(Long.MAX_VALUE, LatencyHistogram.getBucketLowerBound(ix+1));
+	}
+	
+	@Test
+	public void testBucketBoundsPowersOfTwo() {
+		for( int i=0; i<63; i++ ) {
+			long v = 1L << i;
+			checkBucketBounds(v-1);
+			checkBucketBounds(v);
+			checkBucketBounds(v+1);
+		}
+	}
+	
+	@Test
+	public void testBucketBoundsRandomValues() {
+		Random rand = new Random(7);
+		for( int i=0; i<numValues; i++ ) {
+			checkBucketBounds(rand.nextLong() & Long.MAX_VALUE);
+			checkBucketBounds(rand.nextInt(1000000));
+		}
+	}
+	
+	@Test
+	public void testPercentileEmpty() {
+		LatencyHistogram h = new LatencyHistogram();
+		Assert.assertEquals(0, h.getPercentile(50));
+		Assert.assertEquals(0, h.getCount());
+	}
+	
+	@Test
+	public void testPercentileZeroAndMax() {
+		LatencyHistogram h = new LatencyHistogram();
+		h.record(0);
+		h.record(-3); //recorded as 0
+		Assert.assertEquals(0, h.getPercentile(100));
+		h.record(Long.MAX_VALUE);
+		Assert.assertEquals(0, h.getPercentile(50));
+		Assert.assertTrue(h.getPercentile(100) >= Long.MAX_VALUE - Long.MAX_VALUE/16);
+		Assert.assertEquals(Long.MAX_VALUE, h.getMax());
+	}
+	
+	@Test
+	public void testPercentileRelativeError() {
+		Random rand = new Random(3);
+		for( int i=0; i<numValues; i++ ) {
+			//a single value below the median and larger values above
+			long v = rand.nextInt(Integer.MAX_VALUE);
+			LatencyHistogram h = new LatencyHistogram();
+			h.record(v);
+			h.record(Long.MAX_VALUE/2);
+			long p = h.getPercentile(50);
+			Assert.assertTrue("Percentile "+p+" below value "+v, p >= v);
+			Assert.assertTrue("Relative error of percentile "+p+" for value "+v+" above 1/16", 
+					p - v <= v * maxRelError);
+		}
+	}
+	
+	@Test
+	public void testPercentileCounts() {
+		LatencyHistogram h = new LatencyHistogram();
+		for( int i=1; i<=100; i++ )
+			h.record(i);
+		Assert.assertEquals(100, h.getCount());
+		Assert.assertEquals(5050, h.getTotal());
+		Assert.assertEquals(100, h.getMax());
+		checkPercentile(h.getPercentile(10), 10);
+		checkPercentile(h.getPercentile(50), 50);
+		checkPercentile(h.getPercentile(99), 99);
+		Assert.assertEquals(100, h.getPercentile(100));
+		
+		h.reset();
+		Assert.assertEquals(0, h.getCount());
+		Assert.assertEquals(0, h.getPercentile(99));
+	}
+	
+	/**
+	 * 
+	 * @param v
+	 */
+	private static void checkBucketBounds( long v ) {
+		int ix = LatencyHistogram.getBucketIndex(v);
+		long lower = LatencyHistogram.getBucketLowerBound(ix);
+		long upper = LatencyHistogram.getBucketLowerBound(ix+1);
+		Assert.assertTrue("Invalid bucket index "+ix+" for value "+v, 
+				ix >= 0 && ix < LatencyHistogram.NUM_BUCKETS);
+		Assert.assertTrue("Value "+v+" below bucket lower bound "+lower, lower <= v);
+		Assert.assertTrue("Value "+v+" above bucket upper bound "+upper, 
+				v < upper || (v == Long.MAX_VALUE && upper == Long.MAX_VALUE));
+		Assert.assertTrue("Relative bucket width above 1/16 for value "+v, 
+				(upper - 1 - lower) <= lower * maxRelError);
+	}
+	
+	/**
+	 * 
+	 * @param p
+	 * @param v
+	 */
+	private static void checkPercentile( long p, long v ) {
+		Assert.assertTrue("Percentile "+p+" below "+v, p >= v);
+		Assert.assertTrue("Relative error of percentile "+p+" for "+v+" above 1/16", 
+				p - v <= v * maxRelError);
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.misc;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.api.DMLScript.RUNTIME_PLATFORM;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.integration.TestConfiguration;
+import com.ibm.bi.dml.test.utils.TestUtils;
+import com.ibm.bi.dml.utils.RuntimeMetrics;
+
+/**
+ * Runs a script with runtime.metrics=true and checks the per-opcode 
+ * instruction counts of the collected runtime metrics.
+ * 
+ */
+public class RuntimeMetricsTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "RuntimeMetrics";
+	private final static String TEST_DIR = "functions/misc/";
+	private final static String TEST_CONF = "SystemML-config-metrics.xml";
+	
+	private final static int iterations = 17;
+	private final static int dim = 10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_DIR, TEST_NAME, new String[] {}));
+	}
+	
+	@Test
+	public void testRuntimeMetricsOpcodeCounts() 
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-config="+HOME+TEST_CONF, 
+					"-args", String.valueOf(iterations), String.valueOf(dim) };
+			
+			loadTestConfiguration(config);
+			
+			RuntimeMetrics.resetMetrics();
+			runTest(true, false, null, -1); 
+			
+			//check per-opcode counts (one transpose and plus per iteration)
+			RuntimeMetrics metrics = new RuntimeMetrics();
+			Assert.assertEquals("Wrong count of r'", iterations, metrics.getCount("r'"));
+			Assert.assertEquals("Wrong count of +", iterations, metrics.getCount("+"));
+			Assert.assertEquals("Wrong count of rand", 1, metrics.getCount("rand"));
+			Assert.assertTrue("Wrong percentile of r'", 
+					metrics.getPercentileMillis("r'", 99) <= metrics.getMaxMillis("r'"));
+			
+			//check disabled metrics after execution
+			Assert.assertFalse("Runtime metrics still enabled", RuntimeMetrics.isEnabled());
+		}
+		finally {
+			rtplatform = platformOld;
+			RuntimeMetrics.resetMetrics();
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.parfor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.parser.Expression.DataType;
+import com.ibm.bi.dml.parser.Expression.ValueType;
+import com.ibm.bi.dml.runtime.controlprogram.caching.CacheableData;
+import com.ibm.bi.dml.runtime.controlprogram.caching.MatrixObject;
+import com.ibm.bi.dml.runtime.controlprogram.parfor.ResultMergeLocalMemory;
+import com.ibm.bi.dml.runtime.matrix.MatrixCharacteristics;
+import com.ibm.bi.dml.runtime.matrix.MatrixFormatMetaData;
+import com.ibm.bi.dml.runtime.matrix.data.InputInfo;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.data.OutputInfo;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the local in-memory result merge of parfor, 
+ * which compares the serial merge, the row-partitioned parallel merge, and 
+ * the parallel in-place merge (update of the unreferenced old output) against 
+ * the expected result. Each worker result updates a disjoint set of rows of 
+ * an empty or existing old output (merge without or with compare).
+ * 
+ */
+public class ParForLocalMemoryResultMergeTest extends AutomatedTestBase 
+{
+	private final static int rows = 1013;
+	private final static int cols = 517;
+	private final static double spSparse = 0.05;
+	private final static double spDense = 0.7;
+	private final static int numInputs = 5;
+	private final static int par = 4;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testResultMergeDenseWithoutCompare() {
+		runResultMergeTest(false, false);
+	}
+	
+	@Test
+	public void testResultMergeDenseWithCompare() {
+		runResultMergeTest(false, true);
+	}
+	
+	@Test
+	public void testResultMergeSparseWithoutCompare() {
+		runResultMergeTest(true, false);
+	}
+	
+	@Test
+	public void testResultMergeSparseWithCompare() {
+		runResultMergeTest(true, true);
+	}
+	
+	/**
+	 * 
+	 * @param sparse
+	 * @param compare existing data in old output
+	 */
+	private void runResultMergeTest( boolean sparse, boolean compare )
+	{
+		boolean oldCaching = CacheableData.isCachingActive();
+		
+		try
+		{
+			//keep all matrix objects in memory
+			CacheableData.disableCaching();
+			
+			//data generation: old output and worker results, where each 
+			//worker overwrites a disjoint set of rows (incl non-zeros to zero)
+			double sp = sparse ? spSparse : spDense;
+			double[][] X = compare ? getRandomMatrix(rows, cols, -1, 1, sp, 7) : new double[rows][cols];
+			double[][] Y = getRandomMatrix(rows, cols, 1, 2, sp, 3);
+			double[][] R = new double[rows][];
+			double[][][] W = new double[numInputs][rows][];
+			for( int i=0; i<rows; i++ ) {
+				R[i] = Y[i].clone();
+				for( int j=0; j<numInputs; j++ )
+					W[j][i] = (i % numInputs == j) ? Y[i].clone() : X[i].clone();
+			}
+			
+			//serial, parallel, and parallel in-place merge 
+			for( int m=0; m<3; m++ ) 
+			{
+				MatrixBlock outMB = DataConverter.convertToMatrixBlock(X);
+				MatrixObject out = createMatrixObject(outMB, "R");
+				MatrixObject[] in = new MatrixObject[numInputs];
+				for( int j=0; j<numInputs; j++ )
+					in[j] = createMatrixObject(DataConverter.convertToMatrixBlock(W[j]), "R_t"+j);
+				
+				ResultMergeLocalMemory rm = new ResultMergeLocalMemory(out, in, "./tmp/R");
+				rm.setInPlace(m==2);
+				MatrixObject ret = (m==0) ? rm.executeSerialMerge() : rm.executeParallelMerge(par);
+				
+				//compare merged result and check in-place update
+				MatrixBlock retMB = ret.acquireRead();
+				double[][] C = DataConverter.convertToDoubleMatrix(retMB);
+				TestUtils.compareMatrices(R, C, rows, cols, eps);
+				long nnz = retMB.getNonZeros();
+				retMB.recomputeNonZeros();
+				Assert.assertEquals(retMB.getNonZeros(), nnz);
+				if( m==2 && compare )
+					Assert.assertSame(outMB, retMB);
+				else
+					Assert.assertNotSame(outMB, retMB);
+				ret.release();
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			if( oldCaching )
+				CacheableData.enableCaching();
+		}
+	}
+	
+	/**
+	 * 
+	 * @param mb
+	 * @param varname
+	 * @return
+	 * @throws Exception
+	 */
+	private static MatrixObject createMatrixObject( MatrixBlock mb, String varname ) 
+		throws Exception
+	{
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000);
+		MatrixObject mo = new MatrixObject(ValueType.DOUBLE, "./tmp/"+varname, 
+				new MatrixFormatMetaData(mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+		mo.setVarName(varname);
+		mo.setDataType(DataType.MATRIX);
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+}
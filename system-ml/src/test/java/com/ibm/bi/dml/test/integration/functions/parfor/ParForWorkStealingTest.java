@@ -0,0 +1,100 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.matrix.data.MatrixValue.CellIndex;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.integration.TestConfiguration;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+public class ParForWorkStealingTest extends AutomatedTestBase 
+{
+	
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME = "parfor_workstealing";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForWorkStealingTest.class.getSimpleName() + "/";
+	
+	private final static double eps = 0;
+	
+	private final static int rows1 = 1000;
+	private final static int rows2 = 3; //less iterations than workers
+	
+	
+	@Override
+	public void setUp() 
+	{
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testParForWorkStealingTasksize1() 
+	{
+		runParForWorkStealingTest(rows1, 1, 1);
+	}
+	
+	@Test
+	public void testParForWorkStealingTasksize7() 
+	{
+		runParForWorkStealingTest(rows1, 1, 7);
+	}
+	
+	@Test
+	public void testParForWorkStealingIncrement3() 
+	{
+		runParForWorkStealingTest(rows1, 3, 2);
+	}
+	
+	@Test
+	public void testParForWorkStealingFewIterations() 
+	{
+		runParForWorkStealingTest(rows2, 1, 1);
+	}
+	
+	/**
+	 * 
+	 * @param rows number of rows and max iteration
+	 * @param incr loop increment
+	 * @param tasksize min grain size
+	 */
+	private void runParForWorkStealingTest( int rows, int incr, int tasksize )
+	{	
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		config.addVariable("rows", rows);
+		config.addVariable("cols", 1);
+		loadTestConfiguration(config);
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[]{"-args", String.valueOf(rows), 
+			String.valueOf(incr), String.valueOf(tasksize), output("R") };
+		
+		//run test
+		runTest(true, false, null, -1);
+	
+		//compare matrices (each iteration executed exactly once)
+		HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+		HashMap<CellIndex, Double> expected = new HashMap<CellIndex, Double>();
+		for( long i=1; i<=rows; i+=incr )
+			expected.put(new CellIndex((int)i, 1), (double)(i*(i+1)/2));
+		TestUtils.compareMatrices(dmlfile, expected, eps, "DML", "Expected");	
+	}
+}
@@ -0,0 +1,198 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.reorg;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.functionobjects.SwapIndex;
+import com.ibm.bi.dml.runtime.matrix.data.LibMatrixReorg;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.operators.ReorgOperator;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for the multi-threaded transpose, 
+ * reshape, and removeEmpty operations. The inputs exceed the parallelization 
+ * threshold of 1M cells (or non-zeros for sparse inputs) in order to compare 
+ * the multi-threaded against the single-threaded results.
+ * 
+ */
+public class ParallelReorgTest extends AutomatedTestBase 
+{
+	private final static int rows = 4000;
+	private final static int cols = 1000;
+	private final static double spSparse = 0.3; //above 1M non-zeros
+	private final static double spDense = 0.9;
+	private final static int threads = 4;
+	private final static double eps = 1e-10;
+	
+	private enum ReorgType {
+		TRANSPOSE,
+		RESHAPE_ROWWISE,
+		RESHAPE_COLWISE,
+		RMEMPTY_ROWS,
+		RMEMPTY_COLS,
+		RMEMPTY_ROWS_SELECT,
+	}
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testTransposeDense() {
+		runParallelReorgTest(ReorgType.TRANSPOSE, false);
+	}
+	
+	@Test
+	public void testTransposeSparse() {
+		runParallelReorgTest(ReorgType.TRANSPOSE, true);
+	}
+	
+	@Test
+	public void testReshapeRowwiseDense() {
+		runParallelReorgTest(ReorgType.RESHAPE_ROWWISE, false);
+	}
+	
+	@Test
+	public void testReshapeRowwiseSparse() {
+		runParallelReorgTest(ReorgType.RESHAPE_ROWWISE, true);
+	}
+	
+	@Test
+	public void testReshapeColwiseDense() {
+		runParallelReorgTest(ReorgType.RESHAPE_COLWISE, false);
+	}
+	
+	@Test
+	public void testReshapeColwiseSparse() {
+		runParallelReorgTest(ReorgType.RESHAPE_COLWISE, true);
+	}
+	
+	@Test
+	public void testRemoveEmptyRowsDense() {
+		runParallelReorgTest(ReorgType.RMEMPTY_ROWS, false);
+	}
+	
+	@Test
+	public void testRemoveEmptyRowsSparse() {
+		runParallelReorgTest(ReorgType.RMEMPTY_ROWS, true);
+	}
+	
+	@Test
+	public void testRemoveEmptyColsDense() {
+		runParallelReorgTest(ReorgType.RMEMPTY_COLS, false);
+	}
+	
+	@Test
+	public void testRemoveEmptyColsSparse() {
+		runParallelReorgTest(ReorgType.RMEMPTY_COLS, true);
+	}
+	
+	@Test
+	public void testRemoveEmptyRowsSelectDense() {
+		runParallelReorgTest(ReorgType.RMEMPTY_ROWS_SELECT, false);
+	}
+	
+	@Test
+	public void testRemoveEmptyRowsSelectSparse() {
+		runParallelReorgTest(ReorgType.RMEMPTY_ROWS_SELECT, true);
+	}
+	
+	/**
+	 * 
+	 * @param type
+	 * @param sparse
+	 */
+	private void runParallelReorgTest( ReorgType type, boolean sparse )
+	{
+		try
+		{
+			//data generation (incl empty rows and columns for removeEmpty)
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparse?spSparse:spDense, 7);
+			if( type == ReorgType.RMEMPTY_ROWS )
+				for( int i=0; i<rows; i+=3 )
+					Arrays.fill(A[i], 0);
+			if( type == ReorgType.RMEMPTY_COLS )
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j+=3 )
+						A[i][j] = 0;
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			Assert.assertEquals(sparse, mbA.isInSparseFormat());
+			
+			//compare single- and multi-threaded results
+			MatrixBlock ret1 = executeReorg(mbA, type, 1);
+			MatrixBlock ret2 = executeReorg(mbA, type, threads);
+			Assert.assertEquals(ret1.getNumRows(), ret2.getNumRows());
+			Assert.assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+			double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] C2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(C1, C2, ret1.getNumRows(), ret1.getNumColumns(), eps);
+			
+			//check nnz of multi-threaded result
+			long nnz = ret2.getNonZeros();
+			ret2.recomputeNonZeros();
+			Assert.assertEquals(ret2.getNonZeros(), nnz);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param in
+	 * @param type
+	 * @param k
+	 * @return
+	 * @throws Exception
+	 */
+	private static MatrixBlock executeReorg( MatrixBlock in, ReorgType type, int k ) 
+		throws Exception
+	{
+		switch( type ) {
+			case TRANSPOSE:
+				ReorgOperator op = new ReorgOperator(SwapIndex.getSwapIndexFnObject(), k);
+				return (MatrixBlock) in.reorgOperations(op, new MatrixBlock(), 0, 0, 0);
+			case RESHAPE_ROWWISE:
+				return LibMatrixReorg.reshape(in, new MatrixBlock(), rows/2, cols*2, true, k);
+			case RESHAPE_COLWISE:
+				return LibMatrixReorg.reshape(in, new MatrixBlock(), rows/2, cols*2, false, k);
+			case RMEMPTY_ROWS:
+				return in.removeEmptyOperations(new MatrixBlock(), true, null, k);
+			case RMEMPTY_COLS:
+				return in.removeEmptyOperations(new MatrixBlock(), false, null, k);
+			case RMEMPTY_ROWS_SELECT:
+				//select every other row via a 0/1 selection vector
+				double[][] S = new double[rows][1];
+				for( int i=0; i<rows; i+=2 )
+					S[i][0] = 1;
+				MatrixBlock select = DataConverter.convertToMatrixBlock(S);
+				return in.removeEmptyOperations(new MatrixBlock(), true, select, k);
+			default:
+				throw new RuntimeException("Unsupported reorg type: "+type);
+		}
+	}
+}
@@ -0,0 +1,227 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.reorg;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.functionobjects.SortIndex;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.operators.ReorgOperator;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for the multi-threaded stable sort 
+ * used by order() and the quantile sort. The number of rows exceeds the 
+ * parallelization threshold of 1M rows in order to compare the multi-threaded 
+ * against the single-threaded results. The values are rounded to few distinct 
+ * values, such that the outputs also depend on stable handling of ties.
+ * 
+ */
+public class ParallelSortTest extends AutomatedTestBase 
+{
+	private final static int rows = 1100000; //above 1M rows threshold
+	private final static int cols = 30;
+	private final static double spSparse = 0.02;
+	private final static int maxValue = 100;
+	private final static int threads = 4;
+	private final static double eps = 1e-10;
+	
+	private enum InputType {
+		COL_VECTOR,
+		MATRIX_DENSE,
+		MATRIX_SPARSE,
+	}
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testSortDataColVectorAsc() {
+		runParallelSortTest(InputType.COL_VECTOR, false, false);
+	}
+	
+	@Test
+	public void testSortDataColVectorDesc() {
+		runParallelSortTest(InputType.COL_VECTOR, true, false);
+	}
+	
+	@Test
+	public void testSortIndexColVectorAsc() {
+		runParallelSortTest(InputType.COL_VECTOR, false, true);
+	}
+	
+	@Test
+	public void testSortIndexColVectorDesc() {
+		runParallelSortTest(InputType.COL_VECTOR, true, true);
+	}
+	
+	@Test
+	public void testSortDataMatrixDenseAsc() {
+		runParallelSortTest(InputType.MATRIX_DENSE, false, false);
+	}
+	
+	@Test
+	public void testSortDataMatrixDenseDesc() {
+		runParallelSortTest(InputType.MATRIX_DENSE, true, false);
+	}
+	
+	@Test
+	public void testSortIndexMatrixDenseDesc() {
+		runParallelSortTest(InputType.MATRIX_DENSE, true, true);
+	}
+	
+	@Test
+	public void testSortDataMatrixSparseAsc() {
+		runParallelSortTest(InputType.MATRIX_SPARSE, false, false);
+	}
+	
+	@Test
+	public void testSortIndexMatrixSparseDesc() {
+		runParallelSortTest(InputType.MATRIX_SPARSE, true, true);
+	}
+	
+	@Test
+	public void testQuantileSort() {
+		runParallelQuantileSortTest(false);
+	}
+	
+	@Test
+	public void testQuantileSortWeights() {
+		runParallelQuantileSortTest(true);
+	}
+	
+	/**
+	 * 
+	 * @param type
+	 * @param desc
+	 * @param ixret
+	 */
+	private void runParallelSortTest( InputType type, boolean desc, boolean ixret )
+	{
+		try
+		{
+			//data generation
+			MatrixBlock mbA = null;
+			switch( type ) {
+				case COL_VECTOR: 
+					mbA = DataConverter.convertToMatrixBlock(
+							TestUtils.round(getRandomMatrix(rows, 1, 1, maxValue, 1.0, 7))); 
+					break;
+				case MATRIX_DENSE: 
+					mbA = DataConverter.convertToMatrixBlock(
+							TestUtils.round(getRandomMatrix(rows, 2, 1, maxValue, 1.0, 7))); 
+					break;
+				case MATRIX_SPARSE:
+					mbA = createSparseMatrix(rows, cols, spSparse, 7);
+					Assert.assertTrue(mbA.isInSparseFormat());
+					break;
+			}
+			
+			//compare single- and multi-threaded results (by last column)
+			int by = mbA.getNumColumns();
+			MatrixBlock ret1 = executeSort(mbA, by, desc, ixret, 1);
+			MatrixBlock ret2 = executeSort(mbA, by, desc, ixret, threads);
+			Assert.assertEquals(ret1.getNumRows(), ret2.getNumRows());
+			Assert.assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+			double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] C2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(C1, C2, ret1.getNumRows(), ret1.getNumColumns(), eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param weights
+	 */
+	private void runParallelQuantileSortTest( boolean weights )
+	{
+		try
+		{
+			//data generation
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(
+					TestUtils.round(getRandomMatrix(rows, 1, 1, maxValue, 1.0, 7)));
+			MatrixBlock mbW = weights ? DataConverter.convertToMatrixBlock(
+					TestUtils.round(getRandomMatrix(rows, 1, 1, 10, 1.0, 3))) : null;
+			
+			//compare single- and multi-threaded results
+			MatrixBlock ret1 = (MatrixBlock) mbA.sortOperations(mbW, new MatrixBlock(), 1);
+			MatrixBlock ret2 = (MatrixBlock) mbA.sortOperations(mbW, new MatrixBlock(), threads);
+			Assert.assertEquals(ret1.getNumRows(), ret2.getNumRows());
+			Assert.assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+			double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] C2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(C1, C2, ret1.getNumRows(), ret1.getNumColumns(), eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param in
+	 * @param by
+	 * @param desc
+	 * @param ixret
+	 * @param k
+	 * @return
+	 * @throws Exception
+	 */
+	private static MatrixBlock executeSort( MatrixBlock in, int by, boolean desc, boolean ixret, int k ) 
+		throws Exception
+	{
+		ReorgOperator op = new ReorgOperator(SortIndex.getSortIndexFnObject(by, desc, ixret), k);
+		return (MatrixBlock) in.reorgOperations(op, new MatrixBlock(), 0, 0, 0);
+	}
+	
+	/**
+	 * Creates a sparse matrix block with rounded values directly, in order 
+	 * to avoid the dense intermediate of the given (large) dimensions.
+	 * 
+	 * @param rows
+	 * @param cols
+	 * @param sparsity
+	 * @param seed
+	 * @return
+	 * @throws Exception
+	 */
+	private static MatrixBlock createSparseMatrix( int rows, int cols, double sparsity, long seed ) 
+		throws Exception
+	{
+		MatrixBlock ret = new MatrixBlock(rows, cols, true);
+		Random rand = new Random(seed);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				if( rand.nextDouble() < sparsity )
+					ret.appendValue(i, j, 1 + rand.nextInt(maxValue));
+		ret.examSparsity();
+		return ret;
+	}
+}
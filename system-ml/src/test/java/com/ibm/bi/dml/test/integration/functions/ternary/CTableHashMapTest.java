@@ -0,0 +1,138 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.ternary;
+
+import java.util.HashMap;
+import java.util.Map.Entry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.matrix.data.MatrixValue.CellIndex;
+import com.ibm.bi.dml.runtime.util.LongLongDoubleHashMap;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+
+/**
+ * This is a component test for the open-addressing ctable hash map, which 
+ * checks linear probing on collisions, resizing, and merging of maps 
+ * against a java.util.HashMap reference.
+ * 
+ */
+public class CTableHashMapTest extends AutomatedTestBase 
+{
+	private final static int numKeys = 10000;
+	private final static int numRows = 113;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testCollisionsSmallCapacity() {
+		//initial capacity of 8 slots enforces collisions before resize
+		LongLongDoubleHashMap map = new LongLongDoubleHashMap(8);
+		HashMap<CellIndex,Double> ref = new HashMap<CellIndex,Double>();
+		for( int i=0; i<7; i++ )
+			add(map, ref, 1, i+1, i+1);
+		checkEquals(map, ref);
+	}
+	
+	@Test
+	public void testDuplicateKeysAccumulate() {
+		LongLongDoubleHashMap map = new LongLongDoubleHashMap();
+		HashMap<CellIndex,Double> ref = new HashMap<CellIndex,Double>();
+		for( int i=0; i<numKeys; i++ )
+			add(map, ref, i%numRows+1, i%7+1, 0.5);
+		checkEquals(map, ref);
+	}
+	
+	@Test
+	public void testResize() {
+		LongLongDoubleHashMap map = new LongLongDoubleHashMap();
+		HashMap<CellIndex,Double> ref = new HashMap<CellIndex,Double>();
+		int capacity = map.getCapacity();
+		for( int i=0; i<numKeys; i++ ) {
+			add(map, ref, i/numRows+1, i%numRows+1, i);
+			int ncap = map.getCapacity();
+			Assert.assertTrue("Capacity shrunk", ncap >= capacity);
+			Assert.assertEquals("Capacity not a power of two", ncap, Integer.highestOneBit(ncap));
+			Assert.assertTrue("No empty slots", map.size() < ncap);
+			capacity = ncap;
+		}
+		Assert.assertTrue("Map not resized", capacity > numKeys);
+		checkEquals(map, ref);
+	}
+	
+	@Test
+	public void testAddAll() {
+		LongLongDoubleHashMap map1 = new LongLongDoubleHashMap();
+		LongLongDoubleHashMap map2 = new LongLongDoubleHashMap();
+		HashMap<CellIndex,Double> ref = new HashMap<CellIndex,Double>();
+		//overlapping key ranges, i.e., existing and new keys on merge
+		for( int i=0; i<numKeys; i++ ) {
+			add(map1, ref, i%numRows+1, i%11+1, 1);
+			add(map2, ref, i%numRows+7, i%11+1, 2);
+		}
+		map1.addAll(map2);
+		checkEquals(map1, ref);
+	}
+	
+	/**
+	 * 
+	 * @param map
+	 * @param ref
+	 * @param key1
+	 * @param key2
+	 * @param value
+	 */
+	private static void add(LongLongDoubleHashMap map, HashMap<CellIndex,Double> ref, long key1, long key2, double value) {
+		map.addValue(key1, key2, value);
+		CellIndex ix = new CellIndex((int)key1, (int)key2);
+		Double old = ref.get(ix);
+		ref.put(ix, (old != null) ? old + value : value);
+	}
+	
+	/**
+	 * 
+	 * @param map
+	 * @param ref
+	 */
+	private static void checkEquals(LongLongDoubleHashMap map, HashMap<CellIndex,Double> ref) {
+		Assert.assertEquals("Wrong size", ref.size(), map.size());
+		
+		//check all used slots via allocation-free iteration
+		int count = 0;
+		for( int i=0; i<map.getCapacity(); i++ ) 
+			if( map.isUsed(i) ) {
+				Double val = ref.get(new CellIndex((int)map.getKey1(i), (int)map.getKey2(i)));
+				Assert.assertNotNull("Unexpected key ("+map.getKey1(i)+","+map.getKey2(i)+")", val);
+				Assert.assertEquals(val, map.getValue(i), eps);
+				count++;
+			}
+		Assert.assertEquals("Wrong number of used slots", ref.size(), count);
+		
+		//check extracted entries
+		HashMap<CellIndex,Double> tmp = new HashMap<CellIndex,Double>();
+		for( LongLongDoubleHashMap.LLDoubleEntry e : map.extractValues() )
+			tmp.put(new CellIndex((int)e.key1, (int)e.key2), e.value);
+		for( Entry<CellIndex,Double> e : ref.entrySet() )
+			Assert.assertEquals(e.getValue(), tmp.get(e.getKey()), eps);
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.ternary;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.matrix.data.CTableMap;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.operators.SimpleOperator;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for the multi-threaded ctable into 
+ * ctable maps. The number of cells exceeds the parallelization threshold of 
+ * 1M cells in order to compare the multi-threaded against the single-threaded 
+ * results.
+ * 
+ */
+public class ParallelCTableTest extends AutomatedTestBase 
+{
+	private final static int rows = 1200; 
+	private final static int cols = 1000; //1.2M cells, above 1M threshold
+	private final static int maxValue = 37;
+	private final static int maxWeight = 10;
+	private final static int threads = 4;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testParallelCTableScalarWeight() {
+		runParallelCTableTest(false);
+	}
+	
+	@Test
+	public void testParallelCTableMatrixWeights() {
+		runParallelCTableTest(true);
+	}
+	
+	/**
+	 * 
+	 * @param weights
+	 */
+	private void runParallelCTableTest( boolean weights )
+	{
+		try
+		{
+			//data generation (positive integer indexes)
+			MatrixBlock A = DataConverter.convertToMatrixBlock(
+					TestUtils.round(getRandomMatrix(rows, cols, 1, maxValue, 1.0, 7))); 
+			MatrixBlock B = DataConverter.convertToMatrixBlock(
+					TestUtils.round(getRandomMatrix(rows, cols, 1, maxValue, 1.0, 3))); 
+			MatrixBlock W = DataConverter.convertToMatrixBlock(
+					TestUtils.round(getRandomMatrix(rows, cols, 1, maxWeight, 1.0, 13)));
+			
+			//single- and multi-threaded ctable
+			CTableMap map1 = new CTableMap();
+			CTableMap map2 = new CTableMap();
+			if( weights ) {
+				A.ternaryOperations(new SimpleOperator(null, 1), B, W, map1);
+				A.ternaryOperations(new SimpleOperator(null, threads), B, W, map2);
+			}
+			else {
+				A.ternaryOperations(new SimpleOperator(null, 1), B, 2, false, map1, null);
+				A.ternaryOperations(new SimpleOperator(null, threads), B, 2, false, map2, null);
+			}
+			
+			//compare ctable maps and resulting matrices
+			Assert.assertEquals("Wrong number of ctable entries", map1.size(), map2.size());
+			Assert.assertEquals("Wrong max row", map1.getMaxRow(), map2.getMaxRow());
+			Assert.assertEquals("Wrong max column", map1.getMaxColumn(), map2.getMaxColumn());
+			int rlen = (int)map1.getMaxRow();
+			int clen = (int)map1.getMaxColumn();
+			double[][] C1 = DataConverter.convertToDoubleMatrix(map1.toMatrixBlock(rlen, clen));
+			double[][] C2 = DataConverter.convertToDoubleMatrix(map2.toMatrixBlock(rlen, clen));
+			TestUtils.compareMatrices(C1, C2, rlen, clen, eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.unary.matrix;
+
+import org.junit.Test;
+
+import com.ibm.bi.dml.api.DMLScript.RUNTIME_PLATFORM;
+import com.ibm.bi.dml.runtime.matrix.MatrixCharacteristics;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.integration.TestConfiguration;
+
+public class CholeskyTest extends AutomatedTestBase 
+{
+	
+	private final static String TEST_NAME1 = "cholesky";
+	private final static String TEST_DIR = "functions/unary/matrix/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + CholeskyTest.class.getSimpleName() + "/";
+	
+	private final static int rows1 = 500;
+	private final static int rows2 = 1200;
+	private final static double sparsity = 0.9;
+	
+	@Override
+	public void setUp() 
+	{
+		addTestConfiguration(
+				TEST_NAME1, 
+				new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, 
+				new String[] { "D" })   ); 
+	}
+	
+	@Test
+	public void testCholeskyDenseCP() 
+	{
+		runTestCholesky( rows1, RUNTIME_PLATFORM.SINGLE_NODE );
+	}
+	
+	@Test
+	public void testCholeskyDenseSP() 
+	{
+		if(rtplatform == RUNTIME_PLATFORM.SPARK)
+			runTestCholesky( rows1, RUNTIME_PLATFORM.SPARK );
+	}
+	
+	@Test
+	public void testCholeskyDenseMR() 
+	{
+		runTestCholesky( rows1, RUNTIME_PLATFORM.HADOOP );
+	}
+	
+	@Test
+	public void testCholeskyDenseHybrid() 
+	{
+		runTestCholesky( rows1, RUNTIME_PLATFORM.HYBRID );
+	}
+	
+	@Test
+	public void testLargeCholeskyDenseCP() 
+	{
+		runTestCholesky( rows2, RUNTIME_PLATFORM.SINGLE_NODE );
+	}
+	
+	@Test
+	public void testLargeCholeskyDenseSP() 
+	{
+		if(rtplatform == RUNTIME_PLATFORM.SPARK)
+			runTestCholesky( rows2, RUNTIME_PLATFORM.SPARK );
+	}
+	
+	@Test
+	public void testLargeCholeskyDenseMR() 
+	{
+		runTestCholesky( rows2, RUNTIME_PLATFORM.HADOOP );
+	}
+	
+	@Test
+	public void testLargeCholeskyDenseHybrid() 
+	{
+		runTestCholesky( rows2, RUNTIME_PLATFORM.HYBRID );
+	}
+	
+	private void runTestCholesky( int rows, RUNTIME_PLATFORM rt)
+	{		
+		RUNTIME_PLATFORM rtold = rtplatform;
+		rtplatform = rt;
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-args", input("A"), output("D") };
+			
+			//construct symmetric positive definite input A = X %*% t(X) + n*I
+			double[][] X = getRandomMatrix(rows, rows, 0, 1, sparsity, 10);
+			double[][] A = new double[rows][rows];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<=i; j++ ) {
+					double val = (i==j) ? rows : 0;
+					for( int p=0; p<rows; p++ )
+						val += X[i][p] * X[j][p];
+					A[i][j] = A[j][i] = val;
+				}
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, rows, -1, -1, -1);
+			writeInputMatrixWithMTD("A", A, false, mc);
+			
+			// Expected matrix = 1x1 zero matrix 
+			double[][] D  = new double[1][1];
+			D[0][0] = 0.0;
+			writeExpectedMatrix("D", D);		
+			
+			boolean exceptionExpected = false;
+			runTest(true, exceptionExpected, null, -1);
+			compareResults(1e-8);
+		}
+		finally
+		{
+			rtplatform = rtold;
+		}
+	}
+	
+}
\ No newline at end of file
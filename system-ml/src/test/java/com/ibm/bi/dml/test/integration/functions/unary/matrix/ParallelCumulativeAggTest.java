@@ -0,0 +1,162 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.unary.matrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.functionobjects.Builtin;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.operators.UnaryOperator;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for the multi-threaded cumulative 
+ * aggregates (cumsum, cumprod, cummin, cummax). The inputs exceed the 
+ * parallelization threshold of 1M cells and have more rows than threads, 
+ * in order to compare the multi-threaded against the single-threaded results.
+ * 
+ */
+public class ParallelCumulativeAggTest extends AutomatedTestBase 
+{
+	private final static int rows = 2100;
+	private final static int cols = 600; //above 1M cells threshold
+	private final static double spSparse = 0.1;
+	private final static double spDense = 0.9;
+	private final static int threads = 4;
+	private final static double eps = 1e-8;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testCumsumDense() {
+		runParallelCumulativeAggTest("ucumk+", false);
+	}
+	
+	@Test
+	public void testCumsumSparse() {
+		runParallelCumulativeAggTest("ucumk+", true);
+	}
+	
+	@Test
+	public void testCumprodDense() {
+		runParallelCumulativeAggTest("ucum*", false);
+	}
+	
+	@Test
+	public void testCumprodSparse() {
+		runParallelCumulativeAggTest("ucum*", true);
+	}
+	
+	@Test
+	public void testCumminDense() {
+		runParallelCumulativeAggTest("ucummin", false);
+	}
+	
+	@Test
+	public void testCumminSparse() {
+		runParallelCumulativeAggTest("ucummin", true);
+	}
+	
+	@Test
+	public void testCummaxDense() {
+		runParallelCumulativeAggTest("ucummax", false);
+	}
+	
+	@Test
+	public void testCummaxSparse() {
+		runParallelCumulativeAggTest("ucummax", true);
+	}
+	
+	@Test
+	public void testCumsumKahanCorrection() 
+	{
+		try
+		{
+			//large first row and small increments, which are lost w/o Kahan 
+			//correction (incl the correction carried across row partitions)
+			double[][] A = getRandomMatrix(rows, cols, 1, 1, 1.0, 7);
+			for( int j=0; j<cols; j++ )
+				A[0][j] = 1e16;
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			
+			double[][] C1 = executeCumulativeAgg(mbA, "ucumk+", 1);
+			double[][] C2 = executeCumulativeAgg(mbA, "ucumk+", threads);
+			
+			//compare with exact results (up to the double precision of 1e16)
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ ) {
+					Assert.assertEquals(1e16+i, C1[i][j], 4);
+					Assert.assertEquals(1e16+i, C2[i][j], 4);
+				}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param opcode
+	 * @param sparse
+	 */
+	private void runParallelCumulativeAggTest( String opcode, boolean sparse )
+	{
+		try
+		{
+			//data generation (values around 1 for bounded cumprod)
+			double sparsity = sparse ? spSparse : spDense;
+			double min = opcode.equals("ucum*") ? 0.9 : -1;
+			double max = opcode.equals("ucum*") ? 1.1 : 1;
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(
+					getRandomMatrix(rows, cols, min, max, sparsity, 7));
+			Assert.assertEquals(sparse, mbA.isInSparseFormat());
+			
+			//compare single- and multi-threaded results
+			double[][] C1 = executeCumulativeAgg(mbA, opcode, 1);
+			double[][] C2 = executeCumulativeAgg(mbA, opcode, threads);
+			TestUtils.compareMatrices(C1, C2, rows, cols, eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param in
+	 * @param opcode
+	 * @param k
+	 * @return
+	 * @throws Exception
+	 */
+	private static double[][] executeCumulativeAgg( MatrixBlock in, String opcode, int k ) 
+		throws Exception
+	{
+		UnaryOperator op = new UnaryOperator(Builtin.getBuiltinFnObject(opcode), k);
+		MatrixBlock ret = (MatrixBlock) in.unaryOperations(op, new MatrixBlock());
+		return DataConverter.convertToDoubleMatrix(ret);
+	}
+}
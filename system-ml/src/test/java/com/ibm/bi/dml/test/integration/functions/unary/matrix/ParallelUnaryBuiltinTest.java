@@ -0,0 +1,137 @@
+/**
+ * (C) Copyright IBM Corp. 2010, 2015
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.ibm.bi.dml.test.integration.functions.unary.matrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.bi.dml.runtime.functionobjects.Builtin;
+import com.ibm.bi.dml.runtime.matrix.data.MatrixBlock;
+import com.ibm.bi.dml.runtime.matrix.operators.UnaryOperator;
+import com.ibm.bi.dml.runtime.util.DataConverter;
+import com.ibm.bi.dml.test.integration.AutomatedTestBase;
+import com.ibm.bi.dml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for the multi-threaded unary builtin
+ * operations (sparse-safe and sparse-unsafe). The inputs exceed the 
+ * parallelization threshold of 1M cells (or non-zeros for sparse inputs) 
+ * in order to compare the multi-threaded against the single-threaded results.
+ * 
+ */
+public class ParallelUnaryBuiltinTest extends AutomatedTestBase 
+{
+	private final static int rows = 4000;
+	private final static int cols = 1000;
+	private final static double spSparse = 0.3; //above 1M non-zeros
+	private final static double spDense = 0.9;
+	private final static int threads = 4;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testSqrtDense() {
+		runParallelUnaryBuiltinTest("sqrt", false);
+	}
+	
+	@Test
+	public void testSqrtSparse() {
+		runParallelUnaryBuiltinTest("sqrt", true);
+	}
+	
+	@Test
+	public void testRoundDense() {
+		runParallelUnaryBuiltinTest("round", false);
+	}
+	
+	@Test
+	public void testRoundSparse() {
+		runParallelUnaryBuiltinTest("round", true);
+	}
+	
+	@Test
+	public void testExpDense() {
+		runParallelUnaryBuiltinTest("exp", false);
+	}
+	
+	@Test
+	public void testExpSparse() {
+		runParallelUnaryBuiltinTest("exp", true);
+	}
+	
+	@Test
+	public void testLogDense() {
+		runParallelUnaryBuiltinTest("log", false);
+	}
+	
+	@Test
+	public void testLogSparse() {
+		runParallelUnaryBuiltinTest("log", true);
+	}
+	
+	/**
+	 * 
+	 * @param opcode
+	 * @param sparse
+	 */
+	private void runParallelUnaryBuiltinTest( String opcode, boolean sparse )
+	{
+		try
+		{
+			//data generation (positive values for sqrt and log)
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(
+					getRandomMatrix(rows, cols, 0.1, 10, sparse?spSparse:spDense, 7));
+			Assert.assertEquals(sparse, mbA.isInSparseFormat());
+			
+			//compare single- and multi-threaded results
+			MatrixBlock ret1 = executeUnaryBuiltin(mbA, opcode, 1);
+			MatrixBlock ret2 = executeUnaryBuiltin(mbA, opcode, threads);
+			double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] C2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(C1, C2, rows, cols, eps);
+			
+			//check aggregated partial nnz of multi-threaded result
+			long nnz = ret2.getNonZeros();
+			ret2.recomputeNonZeros();
+			Assert.assertEquals(ret2.getNonZeros(), nnz);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param in
+	 * @param opcode
+	 * @param k
+	 * @return
+	 * @throws Exception
+	 */
+	private static MatrixBlock executeUnaryBuiltin( MatrixBlock in, String opcode, int k ) 
+		throws Exception
+	{
+		UnaryOperator op = new UnaryOperator(Builtin.getBuiltinFnObject(opcode), k);
+		return (MatrixBlock) in.unaryOperations(op, new MatrixBlock());
+	}
+}
@@ -30,6 +30,7 @@ import org.junit.runners.Suite;
 	FullVectorVectorCellwiseOperationTest.class,
 	FullVectorVectorCellwiseCompareOperationTest.class,
 	FullMinus1MultTest.class,
+	ParallelBinaryCellwiseTest.class,
 })
 
 
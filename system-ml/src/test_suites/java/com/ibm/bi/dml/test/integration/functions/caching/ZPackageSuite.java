@@ -24,6 +24,9 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	CacheCompressionTest.class,
+	CachingEvictionTest.class,
+	CachingPrefetchTest.class,
 	CachingPWriteExportTest.class
 })
 
@@ -24,6 +24,7 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	DatagenMultiThreadedTest.class,
 	FullReblockTest.class,
 	FullStringInitializeTest.class,
 	RandTest1.class,
@@ -30,6 +30,7 @@ import org.junit.runners.Suite;
 	IOTest3.class,
 	IOTest4.class,
 	IOTest5.class,
+	LocalChannelIOTest.class,
 	ScalarIOTest.class,
 	SeqParReadTest.class
 })
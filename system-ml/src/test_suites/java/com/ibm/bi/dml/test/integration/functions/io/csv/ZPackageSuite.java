@@ -25,6 +25,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	CSVParametersTest.class,
+	FastParseCSVTest.class,
 	FormatChangeTest.class,
 	ReadCSVTest.class,
 	WriteCSVTest.class
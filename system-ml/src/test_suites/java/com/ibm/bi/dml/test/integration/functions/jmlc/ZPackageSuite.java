@@ -24,7 +24,11 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-	SystemTMulticlassSVMScoreTest.class
+	JMLCBatchScoringTest.class,
+	JMLCConcurrentScoringTest.class,
+	JMLCPlanCacheTest.class,
+	SystemTMulticlassSVMScoreTest.class,
+	JMLCZeroCopyBindingTest.class
 })
 
 
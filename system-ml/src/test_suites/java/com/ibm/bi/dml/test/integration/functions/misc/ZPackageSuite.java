@@ -32,6 +32,7 @@ import org.junit.runners.Suite;
 	IPALiteralReplacementTest.class,
 	IPAScalarRecursionTest.class,
 	IPAUnknownRecursionTest.class,
+	LatencyHistogramTest.class,
 	LongOverflowTest.class,
 	NrowNcolStringTest.class,
 	NrowNcolUnknownCSVReadTest.class,
@@ -40,6 +41,7 @@ import org.junit.runners.Suite;
 	PrintMatrixTest.class,
 	ReadAfterWriteTest.class,
 	RewriteSimplifyRowColSumMVMultTest.class,
+	RuntimeMetricsTest.class,
 	ScalarAssignmentTest.class,
 	ScalarFunctionTest.class,
 	SetWorkingDirTest.class,
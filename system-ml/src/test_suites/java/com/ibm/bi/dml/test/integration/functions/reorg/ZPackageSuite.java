@@ -28,7 +28,9 @@ import org.junit.runners.Suite;
 	FullTransposeTest.class,
 	FullOrderTest.class,
 	
-	MatrixReshapeTest.class
+	MatrixReshapeTest.class,
+	ParallelReorgTest.class,
+	ParallelSortTest.class
 })
 
 
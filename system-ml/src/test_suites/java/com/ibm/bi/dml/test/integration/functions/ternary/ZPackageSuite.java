@@ -26,8 +26,10 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	CentralMomentWeightsTest.class,
 	CovarianceWeightsTest.class,
+	CTableHashMapTest.class,
 	CTableMatrixIgnoreZerosTest.class,
 	CTableSequenceTest.class,
+	ParallelCTableTest.class,
 	QuantileWeightsTest.class,
 	TableOutputTest.class
 })
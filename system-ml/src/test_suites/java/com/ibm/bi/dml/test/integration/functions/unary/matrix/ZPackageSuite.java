@@ -29,6 +29,7 @@ import org.junit.runners.Suite;
 	ASinTest.class,
 	ATanTest.class,
 	CastAsScalarTest.class,
+	CholeskyTest.class,
 	CosTest.class,
 	DiagTest.class,
 	IQMTest.class,
@@ -51,6 +52,8 @@ import org.junit.runners.Suite;
 	FullCumsumTest.class,
 	FullSelectPosTest.class,
 	LUFactorizeTest.class,
+	ParallelCumulativeAggTest.class,
+	ParallelUnaryBuiltinTest.class,
 	RemoveEmptyTest.class,
 	MLUnaryBuiltinTest.class
 })